@@ -110,7 +110,8 @@
             option("NullAway:CheckOptionalEmptiness")
             option("NullAway:AcknowledgeRestrictiveAnnotations")
 
-            excludedPaths = ".*/jmh_generated/.*"
+            // Skip code generated by JMH and our Lua function processor.
+            excludedPaths = ".*/(jmh_generated|generated/sources/annotationProcessor)/.*"
         }
     }
 }
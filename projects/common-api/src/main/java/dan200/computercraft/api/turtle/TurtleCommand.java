@@ -17,6 +17,10 @@ public interface TurtleCommand {
      * <p>
      * The handler should either perform the work of the command, and return success, or return
      * failure with an error message to indicate the command cannot be executed at this time.
+     * <p>
+     * Commands which take time to complete (such as moving or swinging a tool) should
+     * {@linkplain ITurtleAccess#playAnimation(TurtleAnimation) play an animation}, which delays any further commands
+     * until it has finished. Otherwise, the turtle may run its next command within the same tick.
      *
      * @param turtle Access to the turtle for whom the command was issued.
      * @return A result, indicating whether this action succeeded or not.
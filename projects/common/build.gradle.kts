@@ -47,6 +47,7 @@
     clientCompileOnly(variantOf(libs.emi) { classifier("api") })
 
     annotationProcessorEverywhere(libs.autoService)
+    annotationProcessorEverywhere(project(":processor"))
     testFixturesAnnotationProcessor(libs.autoService)
 
     testImplementation(testFixtures(project(":core")))
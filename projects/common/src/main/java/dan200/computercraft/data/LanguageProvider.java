@@ -157,6 +157,25 @@ private void addTranslations() {
         add("commands.computercraft.track.dump.desc", "Dump the latest results of computer tracking.");
         add("commands.computercraft.track.dump.no_timings", "No timings available");
         add("commands.computercraft.track.dump.computer", "Computer");
+        add("commands.computercraft.track.owners.synopsis", "Dump the latest track results for each owner");
+        add("commands.computercraft.track.owners.desc", "Dump the latest results of computer tracking, combining the results of each player's computers. This shows which players are using the most execution time.");
+        add("commands.computercraft.track.owners.owner", "Owner");
+        add("commands.computercraft.track.owners.computers", "Computers");
+        add("commands.computercraft.track.owners.none", "No owner");
+        add("commands.computercraft.profile.synopsis", "Profile the Lua code running on a computer.");
+        add("commands.computercraft.profile.desc", "Periodically sample which Lua functions a computer is running, and save the results in a format suitable for flame graph tools. This can be useful for finding which part of a program is causing lag.");
+        add("commands.computercraft.profile.start.synopsis", "Start profiling a computer");
+        add("commands.computercraft.profile.start.desc", "Start sampling a computer's Lua call stack. This will discard the results of previous runs.");
+        add("commands.computercraft.profile.start.stop", "Profiling computer %s. Run %s to stop profiling and save the results");
+        add("commands.computercraft.profile.stop.synopsis", "Stop profiling a computer");
+        add("commands.computercraft.profile.stop.desc", "Stop profiling a computer, and save the results to a file.");
+        add("commands.computercraft.profile.stop.action", "Click to stop profiling");
+        add("commands.computercraft.profile.stop.not_enabled", "Not currently profiling this computer");
+        add("commands.computercraft.profile.dump.synopsis", "Save the current profile of a computer");
+        add("commands.computercraft.profile.dump.desc", "Save the samples recorded so far to a file, without stopping the profiler.");
+        add("commands.computercraft.profile.dump.saved", "Saved %s samples to %s");
+        add("commands.computercraft.profile.dump.no_samples", "No samples have been recorded yet");
+        add("commands.computercraft.profile.dump.failed", "Failed to save profile to %s");
         add("commands.computercraft.queue.synopsis", "Send a computer_command event to a command computer");
         add("commands.computercraft.queue.desc", "Send a computer_command event to a command computer, passing through the additional arguments. This is mostly designed for map makers, acting as a more computer-friendly version of /trigger. Any player can run the command, which would most likely be done through a text component's click event.");
 
@@ -183,6 +202,7 @@ private void addTranslations() {
         add(Metrics.COMPUTER_TASKS, "Tasks");
         add(Metrics.SERVER_TASKS, "Server tasks");
         add(Metrics.JAVA_ALLOCATION, "Java Allocations");
+        add(Metrics.LUA_HEAP, "Lua heap size");
         add(Metrics.PERIPHERAL_OPS, "Peripheral calls");
         add(Metrics.FS_OPS, "Filesystem operations");
         add(Metrics.HTTP_REQUESTS, "HTTP requests");
@@ -191,10 +211,15 @@ private void addTranslations() {
         add(Metrics.WEBSOCKET_INCOMING, "Websocket incoming");
         add(Metrics.WEBSOCKET_OUTGOING, "Websocket outgoing");
         add(Metrics.TURTLE_OPS, "Turtle operations");
+        add(Metrics.TERMINAL_ENCODED, "Terminal bytes encoded");
+        add(Metrics.TERMINAL_SENT, "Terminal bytes sent");
 
         add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.MAX.id(), "%s (max)");
         add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.AVG.id(), "%s (avg)");
         add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.COUNT.id(), "%s (count)");
+        add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.P50.id(), "%s (median)");
+        add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.P95.id(), "%s (95th percentile)");
+        add(AggregatedMetric.TRANSLATION_PREFIX + Aggregate.P99.id(), "%s (99th percentile)");
 
         // Additional UI elements
         add("gui.computercraft.terminal", "Computer terminal");
@@ -229,8 +254,18 @@ private void addTranslations() {
 
         addConfigGroup(ConfigSpec.serverSpec, "execution", "Execution");
         addConfigEntry(ConfigSpec.computerThreads, "Computer threads");
+        addConfigEntry(ConfigSpec.maxComputerThreads, "Maximum computer threads");
+        addConfigEntry(ConfigSpec.computerThreadsMaxTickTime, "Computer threads tick time limit");
         addConfigEntry(ConfigSpec.maxMainGlobalTime, "Server tick global time limit");
         addConfigEntry(ConfigSpec.maxMainComputerTime, "Server tick computer time limit");
+        addConfigEntry(ConfigSpec.targetTickTime, "Target server tick time");
+        addConfigEntry(ConfigSpec.minMainGlobalTime, "Minimum server tick global time limit");
+        addConfigEntry(ConfigSpec.scheduleByOwner, "Schedule by owner");
+        addConfigEntry(ConfigSpec.luaMemorySoftLimit, "Lua memory soft limit (bytes)");
+        addConfigEntry(ConfigSpec.luaMemoryHardLimit, "Lua memory hard limit (bytes)");
+        addConfigEntry(ConfigSpec.metricsPort, "Metrics port");
+        addConfigEntry(ConfigSpec.metricsFile, "Metrics file");
+        addConfigEntry(ConfigSpec.metricsMaxComputers, "Max computers in metrics");
 
         addConfigGroup(ConfigSpec.serverSpec, "http", "HTTP");
         addConfigEntry(ConfigSpec.httpEnabled, "Enable the HTTP API");
@@ -255,6 +290,7 @@ private void addTranslations() {
         addConfigEntry(ConfigSpec.modemHighAltitudeRangeDuringStorm, "Modem range (high-altitude, bad weather)");
         addConfigEntry(ConfigSpec.maxNotesPerTick, "Maximum notes that a computer can play at once");
         addConfigEntry(ConfigSpec.monitorBandwidth, "Monitor bandwidth");
+        addConfigEntry(ConfigSpec.inventorySnapshots, "Inventory snapshots");
 
         addConfigGroup(ConfigSpec.serverSpec, "turtle", "Turtles");
         addConfigEntry(ConfigSpec.turtlesNeedFuel, "Enable fuel");
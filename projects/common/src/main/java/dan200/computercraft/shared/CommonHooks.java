@@ -11,6 +11,9 @@
 import dan200.computercraft.shared.computer.core.ResourceMount;
 import dan200.computercraft.shared.computer.core.ServerContext;
 import dan200.computercraft.shared.computer.metrics.ComputerMBean;
+import dan200.computercraft.shared.computer.metrics.OpenMetricsExporter;
+import dan200.computercraft.shared.details.ItemDetails;
+import dan200.computercraft.shared.peripheral.generic.methods.InventorySnapshots;
 import dan200.computercraft.shared.peripheral.monitor.MonitorWatcher;
 import dan200.computercraft.shared.util.DropConsumer;
 import dan200.computercraft.shared.util.TickScheduler;
@@ -52,6 +55,7 @@ public static void onServerTickStart(MinecraftServer server) {
 
     public static void onServerTickEnd() {
         MonitorWatcher.onTick();
+        InventorySnapshots.onTick();
     }
 
     public static void onServerStarting(MinecraftServer server) {
@@ -62,6 +66,7 @@ public static void onServerStarting(MinecraftServer server) {
         resetState();
         ServerContext.create(server);
         ComputerMBean.start(server);
+        OpenMetricsExporter.start(server);
     }
 
     public static void onServerStopped() {
@@ -69,8 +74,11 @@ public static void onServerStopped() {
     }
 
     private static void resetState() {
+        OpenMetricsExporter.stop();
         ServerContext.close();
         NetworkUtils.reset();
+        ItemDetails.invalidateCache();
+        InventorySnapshots.reset();
     }
 
     public static void onServerChunkUnload(LevelChunk chunk) {
@@ -117,6 +125,10 @@ public static void onDatapackReload(BiConsumer<String, PreparableReloadListener>
         addReload.accept("pocket_upgrades", PocketUpgrades.instance());
     }
 
+    public static void onTagsUpdated() {
+        ItemDetails.invalidateCache();
+    }
+
     public static boolean onEntitySpawn(Entity entity) {
         return DropConsumer.onEntitySpawn(entity);
     }
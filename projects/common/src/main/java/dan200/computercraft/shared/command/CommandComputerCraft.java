@@ -4,12 +4,15 @@
 
 package dan200.computercraft.shared.command;
 
+import com.mojang.authlib.GameProfile;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import dan200.computercraft.core.computer.ComputerSide;
+import dan200.computercraft.core.lua.LuaProfiler;
+import dan200.computercraft.core.metrics.Metric;
 import dan200.computercraft.core.metrics.Metrics;
 import dan200.computercraft.shared.ModRegistry;
 import dan200.computercraft.shared.command.arguments.ComputerArgumentType;
@@ -36,14 +39,24 @@
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 import static dan200.computercraft.shared.command.CommandUtils.isPlayer;
+import static dan200.computercraft.shared.command.Exceptions.NOT_PROFILING_EXCEPTION;
 import static dan200.computercraft.shared.command.Exceptions.NOT_TRACKING_EXCEPTION;
+import static dan200.computercraft.shared.command.Exceptions.NO_SAMPLES_EXCEPTION;
 import static dan200.computercraft.shared.command.Exceptions.NO_TIMINGS_EXCEPTION;
+import static dan200.computercraft.shared.command.Exceptions.PROFILE_SAVE_EXCEPTION;
 import static dan200.computercraft.shared.command.arguments.TrackingFieldArgumentType.metric;
 import static dan200.computercraft.shared.command.builder.CommandBuilder.args;
 import static dan200.computercraft.shared.command.builder.CommandBuilder.command;
@@ -52,6 +65,8 @@
 import static net.minecraft.commands.Commands.literal;
 
 public final class CommandComputerCraft {
+    private static final Logger LOG = LoggerFactory.getLogger(CommandComputerCraft.class);
+
     public static final UUID SYSTEM_UUID = new UUID(0, 0);
 
     /**
@@ -107,7 +122,20 @@ public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
                 .then(command("stop").executes(c -> trackStop(c.getSource())))
                 .then(command("dump")
                     .argManyValue("fields", metric(), DEFAULT_FIELDS)
-                    .executes((c, f) -> trackDump(c.getSource(), f))))
+                    .executes((c, f) -> trackDump(c.getSource(), f)))
+                .then(command("owners").executes(c -> trackOwners(c.getSource()))))
+
+            .then(choice("profile")
+                .requires(ModRegistry.Permissions.PERMISSION_PROFILE)
+                .then(command("start")
+                    .arg("computer", ComputerArgumentType.get())
+                    .executes(c -> profileStart(c.getSource(), ComputerArgumentType.getOne(c, "computer"))))
+                .then(command("stop")
+                    .arg("computer", ComputerArgumentType.get())
+                    .executes(c -> profileStop(c.getSource(), ComputerArgumentType.getOne(c, "computer"))))
+                .then(command("dump")
+                    .arg("computer", ComputerArgumentType.get())
+                    .executes(c -> profileDump(c.getSource(), ComputerArgumentType.getOne(c, "computer")))))
         );
     }
 
@@ -330,6 +358,142 @@ private static int trackDump(CommandSourceStack source, List<AggregatedMetric> f
         return displayTimings(source, getMetricsInstance(source).getTimings(), sort, fields);
     }
 
+    private static final List<AggregatedMetric> OWNER_FIELDS = List.of(
+        new AggregatedMetric(Metrics.COMPUTER_TASKS, Aggregate.COUNT),
+        new AggregatedMetric(Metrics.COMPUTER_TASKS, Aggregate.NONE),
+        new AggregatedMetric(Metrics.SERVER_TASKS, Aggregate.NONE)
+    );
+
+    /**
+     * Display the latest metrics for the current player, combining the metrics of each owner's computers.
+     *
+     * @param source The thing that executed this command.
+     * @return The number of owners.
+     */
+    private static int trackOwners(CommandSourceStack source) throws CommandSyntaxException {
+        var timings = getMetricsInstance(source).getTimings();
+        if (timings.isEmpty()) throw NO_TIMINGS_EXCEPTION.create();
+
+        var owners = new HashMap<UUID, OwnerMetrics>();
+        var unowned = new OwnerMetrics(null);
+        for (var entry : timings) {
+            var owner = entry.owner();
+            var metrics = owner == null ? unowned : owners.computeIfAbsent(owner.getId(), x -> new OwnerMetrics(owner));
+            metrics.computers++;
+            for (var i = 0; i < OWNER_FIELDS.size(); i++) {
+                var field = OWNER_FIELDS.get(i);
+                metrics.totals[i] += entry.get(field.metric(), field.aggregate());
+            }
+        }
+
+        var sorted = new ArrayList<>(owners.values());
+        if (unowned.computers > 0) sorted.add(unowned);
+        sorted.sort(Comparator.<OwnerMetrics>comparingLong(x -> x.totals[1]).reversed());
+
+        var headers = new Component[2 + OWNER_FIELDS.size()];
+        headers[0] = Component.translatable("commands.computercraft.track.owners.owner");
+        headers[1] = Component.translatable("commands.computercraft.track.owners.computers");
+        for (var i = 0; i < OWNER_FIELDS.size(); i++) headers[i + 2] = OWNER_FIELDS.get(i).displayName();
+        var table = new TableBuilder("OwnerMetrics", headers);
+
+        for (var entry : sorted) {
+            var row = new Component[2 + OWNER_FIELDS.size()];
+            row[0] = entry.owner == null ? Component.translatable("commands.computercraft.track.owners.none") : text(entry.owner.getName());
+            row[1] = text(Integer.toString(entry.computers));
+            for (var i = 0; i < OWNER_FIELDS.size(); i++) {
+                var field = OWNER_FIELDS.get(i);
+                var value = entry.totals[i];
+                row[i + 2] = text(field.aggregate() == Aggregate.COUNT ? Metric.formatDefault(value) : field.metric().format(value));
+            }
+            table.row(row);
+        }
+
+        table.display(source);
+        return sorted.size();
+    }
+
+    private static final class OwnerMetrics {
+        final @Nullable GameProfile owner;
+        int computers;
+        final long[] totals = new long[OWNER_FIELDS.size()];
+
+        OwnerMetrics(@Nullable GameProfile owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Start profiling a computer, discarding any previous profile.
+     *
+     * @param source   The thing that executed this command.
+     * @param computer The computer to profile.
+     * @return The constant {@code 1}.
+     */
+    private static int profileStart(CommandSourceStack source, ServerComputer computer) {
+        computer.setProfiler(new LuaProfiler());
+
+        var stopCommand = makeComputerCommand("profile stop", computer);
+        source.sendSuccess(() -> Component.translatable(
+            "commands.computercraft.profile.start.stop",
+            makeComputerDumpCommand(computer),
+            link(text("/computercraft profile stop"), stopCommand, Component.translatable("commands.computercraft.profile.stop.action"))
+        ), false);
+        return 1;
+    }
+
+    /**
+     * Stop profiling a computer, and save the results.
+     *
+     * @param source   The thing that executed this command.
+     * @param computer The computer to stop profiling.
+     * @return The number of samples recorded.
+     */
+    private static int profileStop(CommandSourceStack source, ServerComputer computer) throws CommandSyntaxException {
+        var profiler = computer.getProfiler();
+        if (profiler == null) throw NOT_PROFILING_EXCEPTION.create();
+
+        computer.setProfiler(null);
+        return saveProfile(source, computer, profiler);
+    }
+
+    /**
+     * Save the current results of profiling a computer, without stopping the profiler.
+     *
+     * @param source   The thing that executed this command.
+     * @param computer The computer being profiled.
+     * @return The number of samples recorded.
+     */
+    private static int profileDump(CommandSourceStack source, ServerComputer computer) throws CommandSyntaxException {
+        var profiler = computer.getProfiler();
+        if (profiler == null) throw NOT_PROFILING_EXCEPTION.create();
+
+        return saveProfile(source, computer, profiler);
+    }
+
+    private static final DateTimeFormatter PROFILE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
+
+    private static int saveProfile(CommandSourceStack source, ServerComputer computer, LuaProfiler profiler) throws CommandSyntaxException {
+        var samples = profiler.getSampleCount();
+        if (samples == 0) throw NO_SAMPLES_EXCEPTION.create();
+
+        var directory = ServerContext.get(source.getServer()).storageDir().resolve("profiles");
+        var file = directory.resolve("computer_" + computer.getID() + "_" + PROFILE_DATE.format(LocalDateTime.now()) + ".txt");
+        try {
+            Files.createDirectories(directory);
+            try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                profiler.write(writer);
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to save profile to {}", file, e);
+            throw PROFILE_SAVE_EXCEPTION.create(file.toString());
+        }
+
+        source.sendSuccess(() -> Component.translatable(
+            "commands.computercraft.profile.dump.saved", samples, copy(file.toString())
+        ), false);
+        return (int) Math.min(samples, Integer.MAX_VALUE);
+    }
+
     // Additional helper functions.
 
     private static Component linkComputer(CommandSourceStack source, @Nullable ServerComputer computer, int computerId) {
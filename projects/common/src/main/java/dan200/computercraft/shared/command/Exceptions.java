@@ -20,6 +20,10 @@ public final class Exceptions {
     static final SimpleCommandExceptionType NOT_TRACKING_EXCEPTION = translated("commands.computercraft.track.stop.not_enabled");
     static final SimpleCommandExceptionType NO_TIMINGS_EXCEPTION = translated("commands.computercraft.track.dump.no_timings");
 
+    static final SimpleCommandExceptionType NOT_PROFILING_EXCEPTION = translated("commands.computercraft.profile.stop.not_enabled");
+    static final SimpleCommandExceptionType NO_SAMPLES_EXCEPTION = translated("commands.computercraft.profile.dump.no_samples");
+    static final DynamicCommandExceptionType PROFILE_SAVE_EXCEPTION = translated1("commands.computercraft.profile.dump.failed");
+
     public static final SimpleCommandExceptionType ARGUMENT_EXPECTED = translated("argument.computercraft.argument_expected");
 
     public static final DynamicCommandExceptionType UNKNOWN_FAMILY = translated1("argument.computercraft.unknown_computer_family");
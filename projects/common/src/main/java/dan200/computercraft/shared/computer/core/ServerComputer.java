@@ -4,6 +4,7 @@
 
 package dan200.computercraft.shared.computer.core;
 
+import com.mojang.authlib.GameProfile;
 import dan200.computercraft.api.ComputerCraftAPI;
 import dan200.computercraft.api.component.AdminComputer;
 import dan200.computercraft.api.component.ComputerComponents;
@@ -13,6 +14,8 @@
 import dan200.computercraft.core.computer.Computer;
 import dan200.computercraft.core.computer.ComputerEnvironment;
 import dan200.computercraft.core.computer.ComputerSide;
+import dan200.computercraft.core.lua.LuaProfiler;
+import dan200.computercraft.core.metrics.Metrics;
 import dan200.computercraft.core.metrics.MetricsObserver;
 import dan200.computercraft.impl.ApiFactories;
 import dan200.computercraft.shared.computer.menu.ComputerMenu;
@@ -47,9 +50,12 @@ public class ServerComputer implements InputHandler, ComputerEnvironment {
 
     private final NetworkedTerminal terminal;
     private final AtomicBoolean terminalChanged = new AtomicBoolean(false);
+    private @Nullable TerminalState terminalState;
 
     private int ticksSincePing;
 
+    private volatile @Nullable GameProfile owningPlayer;
+
     public ServerComputer(
         ServerLevel level, BlockPos position, int computerID, @Nullable String label, ComputerFamily family, int terminalWidth, int terminalHeight,
         ComponentMap baseComponents
@@ -110,15 +116,43 @@ protected void markTerminalChanged() {
     protected void tickServer() {
         ticksSincePing++;
         computer.tick();
-        if (terminalChanged.getAndSet(false)) onTerminalChanged();
+        if (terminalChanged.getAndSet(false)) {
+            terminalState = null;
+            onTerminalChanged();
+        }
     }
 
     protected void onTerminalChanged() {
-        sendToAllInteracting(c -> new ComputerTerminalClientMessage(c, getTerminalState()));
+        var state = getTerminalState();
+        var players = sendToAllInteracting(c -> new ComputerTerminalClientMessage(c, state));
+        onTerminalSent(state, players);
     }
 
+    /**
+     * Get a snapshot of this computer's terminal.
+     * <p>
+     * The snapshot is cached until the terminal next changes, so a terminal is only encoded once per change, no matter
+     * how many players are viewing it.
+     *
+     * @return The current terminal state.
+     */
     public TerminalState getTerminalState() {
-        return new TerminalState(terminal);
+        var state = terminalState;
+        if (state == null) {
+            state = terminalState = new TerminalState(terminal);
+            metrics.observe(Metrics.TERMINAL_ENCODED, state.size());
+        }
+        return state;
+    }
+
+    /**
+     * Record that a {@linkplain #getTerminalState() terminal snapshot} was sent to one or more players.
+     *
+     * @param state   The terminal state that was sent.
+     * @param players The number of players the state was sent to.
+     */
+    public final void onTerminalSent(TerminalState state, int players) {
+        if (players > 0) metrics.observe(Metrics.TERMINAL_SENT, (long) state.size() * players);
     }
 
     public void keepAlive() {
@@ -163,14 +197,18 @@ public final boolean checkUsable(Player player) {
             && getFamily().checkUsable(player);
     }
 
-    private void sendToAllInteracting(Function<AbstractContainerMenu, NetworkMessage<ClientNetworkContext>> createPacket) {
+    private int sendToAllInteracting(Function<AbstractContainerMenu, NetworkMessage<ClientNetworkContext>> createPacket) {
         var server = level.getServer();
 
+        var players = 0;
         for (var player : server.getPlayerList().getPlayers()) {
             if (player.containerMenu instanceof ComputerMenu && ((ComputerMenu) player.containerMenu).getComputer() == this) {
                 ServerNetworking.sendToPlayer(createPacket.apply(player.containerMenu), player);
+                players++;
             }
         }
+
+        return players;
     }
 
     protected void onRemoved() {
@@ -265,6 +303,33 @@ public MetricsObserver getMetrics() {
         return metrics;
     }
 
+    /**
+     * Get the player who owns this computer.
+     *
+     * @return This computer's owner, or {@code null} if not known.
+     */
+    public @Nullable GameProfile getOwningPlayer() {
+        return owningPlayer;
+    }
+
+    public void setOwningPlayer(@Nullable GameProfile owningPlayer) {
+        this.owningPlayer = owningPlayer;
+    }
+
+    @Override
+    public @Nullable UUID getOwner() {
+        var owner = owningPlayer;
+        return Config.scheduleByOwner && owner != null ? owner.getId() : null;
+    }
+
+    public @Nullable LuaProfiler getProfiler() {
+        return computer.getProfiler();
+    }
+
+    public void setProfiler(@Nullable LuaProfiler profiler) {
+        computer.setProfiler(profiler);
+    }
+
     public WorkMonitor getMainThreadMonitor() {
         return computer.getMainThreadMonitor();
     }
@@ -10,6 +10,8 @@
 import dan200.computercraft.api.network.PacketNetwork;
 import dan200.computercraft.core.ComputerContext;
 import dan200.computercraft.core.computer.GlobalEnvironment;
+import dan200.computercraft.core.computer.computerthread.ComputerThread;
+import dan200.computercraft.core.computer.computerthread.ComputerThreadConfig;
 import dan200.computercraft.core.computer.mainthread.MainThread;
 import dan200.computercraft.core.computer.mainthread.MainThreadConfig;
 import dan200.computercraft.core.lua.CobaltLuaMachine;
@@ -60,6 +62,7 @@ public final class ServerContext {
     private final ServerComputerRegistry registry = new ServerComputerRegistry();
     private final GlobalMetrics metrics = new GlobalMetrics();
     private final ComputerContext context;
+    private final ComputerThread computerThread;
     private final MainThread mainThread;
     private final IDAssigner idAssigner;
     private final WirelessNetwork wirelessNetwork = new WirelessNetwork();
@@ -68,9 +71,10 @@ public final class ServerContext {
     private ServerContext(MinecraftServer server) {
         this.server = server;
         storageDir = server.getWorldPath(FOLDER);
-        mainThread = new MainThread(mainThreadConfig);
+        computerThread = new ComputerThread(computerThreadConfig(server));
+        mainThread = new MainThread(mainThreadConfig(server));
         context = ComputerContext.builder(new Environment(server))
-            .computerThreads(ConfigSpec.computerThreads.get())
+            .computerScheduler(computerThread)
             .mainThreadScheduler(mainThread)
             .luaFactory(luaMachine)
             .genericMethods(GenericSources.getAllMethods())
@@ -196,6 +200,24 @@ public GlobalMetrics metrics() {
         return metrics;
     }
 
+    /**
+     * Get the thread pool on which computers are run.
+     *
+     * @return The current computer thread.
+     */
+    public ComputerThread computerThread() {
+        return computerThread;
+    }
+
+    /**
+     * Get the scheduler for tasks which run on the server thread.
+     *
+     * @return The current main thread scheduler.
+     */
+    public MainThread mainThread() {
+        return mainThread;
+    }
+
     /**
      * Get the global wireless network.
      * <p>
@@ -230,15 +252,65 @@ public String getUserAgent() {
         }
     }
 
-    private static final MainThreadConfig mainThreadConfig = new MainThreadConfig() {
-        @Override
-        public long maxGlobalTime() {
-            return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.maxMainGlobalTime.get());
-        }
+    private static MainThreadConfig mainThreadConfig(MinecraftServer server) {
+        return new MainThreadConfig() {
+            @Override
+            public long maxGlobalTime() {
+                return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.maxMainGlobalTime.get());
+            }
 
-        @Override
-        public long maxComputerTime() {
-            return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.maxMainComputerTime.get());
-        }
-    };
+            @Override
+            public long maxComputerTime() {
+                return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.maxMainComputerTime.get());
+            }
+
+            @Override
+            public long targetTickTime() {
+                return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.targetTickTime.get());
+            }
+
+            @Override
+            public long minGlobalTime() {
+                return TimeUnit.MILLISECONDS.toNanos(ConfigSpec.minMainGlobalTime.get());
+            }
+
+            @Override
+            public long tickTime() {
+                // getAverageTickTime is an exponential moving average of recent tick times, in milliseconds.
+                return (long) (server.getAverageTickTime() * 1_000_000);
+            }
+        };
+    }
+
+    private static ComputerThreadConfig computerThreadConfig(MinecraftServer server) {
+        var minThreads = ConfigSpec.computerThreads.get();
+        var maxThreads = Math.max(minThreads, ConfigSpec.maxComputerThreads.get());
+        return new ComputerThreadConfig() {
+            @Override
+            public int minThreads() {
+                return minThreads;
+            }
+
+            @Override
+            public int maxThreads() {
+                return maxThreads;
+            }
+
+            @Override
+            public long growDelay() {
+                return DEFAULT_GROW_DELAY;
+            }
+
+            @Override
+            public long shrinkDelay() {
+                return DEFAULT_SHRINK_DELAY;
+            }
+
+            @Override
+            public boolean isHostBusy() {
+                var maxTickTime = ConfigSpec.computerThreadsMaxTickTime.get();
+                return maxTickTime > 0 && server.getAverageTickTime() > maxTickTime;
+            }
+        };
+    }
 }
@@ -11,6 +11,7 @@
 import dan200.computercraft.shared.computer.core.ServerContext;
 import dan200.computercraft.shared.computer.metrics.basic.Aggregate;
 import dan200.computercraft.shared.computer.metrics.basic.AggregatedMetric;
+import dan200.computercraft.shared.computer.metrics.basic.Histogram;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.server.MinecraftServer;
@@ -24,7 +25,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
 
 /**
@@ -33,6 +34,13 @@
 public final class ComputerMBean implements DynamicMBean, ComputerMetricsObserver {
     private static final Logger LOG = LoggerFactory.getLogger(ComputerMBean.class);
 
+    private static final Aggregate[] PERCENTILES = { Aggregate.P50, Aggregate.P95, Aggregate.P99 };
+
+    /**
+     * The number of stripes to use for each {@link Counter}'s histogram. This must be a power of two.
+     */
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
     private static @Nullable ComputerMBean instance;
 
     private final Map<String, LongSupplier> attributes = new HashMap<>();
@@ -108,10 +116,11 @@ public MBeanInfo getMBeanInfo() {
         return info;
     }
 
-    private void observe(Metric field, long change) {
+    private Counter observe(Metric field, long change) {
         var counter = values.get(field.id());
-        counter.value.addAndGet(change);
-        counter.count.incrementAndGet();
+        counter.value.add(change);
+        counter.count.increment();
+        return counter;
     }
 
     @Override
@@ -121,7 +130,7 @@ public void observe(ServerComputer computer, Metric.Counter counter) {
 
     @Override
     public void observe(ServerComputer computer, Metric.Event event, long value) {
-        observe(event, value);
+        observe(event, value).record(value);
     }
 
     private MBeanAttributeInfo addAttribute(String name, String description, LongSupplier value) {
@@ -138,11 +147,47 @@ private void add(String name, Metric field, List<MBeanAttributeInfo> attributes)
         if (field instanceof Metric.Event) {
             var countName = new AggregatedMetric(field, Aggregate.COUNT).displayName().getString();
             attributes.add(addAttribute(name + "Count", countName, counter.count::longValue));
+
+            for (var aggregate : PERCENTILES) {
+                var percentileName = new AggregatedMetric(field, aggregate).displayName().getString();
+                attributes.add(addAttribute(
+                    name + CaseFormat.LOWER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, aggregate.id()), percentileName,
+                    () -> counter.percentile(aggregate.percentile())
+                ));
+            }
         }
     }
 
     private static final class Counter {
-        final AtomicLong value = new AtomicLong();
-        final AtomicLong count = new AtomicLong();
+        final LongAdder value = new LongAdder();
+        final LongAdder count = new LongAdder();
+
+        /**
+         * Histograms of observed values, used to compute percentiles. This is striped by thread, so that computer
+         * threads do not contend on a single lock. The stripes are merged when computing a percentile.
+         */
+        private final Histogram[] histograms;
+
+        Counter() {
+            histograms = new Histogram[STRIPES];
+            for (var i = 0; i < STRIPES; i++) histograms[i] = new Histogram();
+        }
+
+        void record(long value) {
+            var histogram = histograms[(int) (Thread.currentThread().getId() & (STRIPES - 1))];
+            synchronized (histogram) {
+                histogram.record(value);
+            }
+        }
+
+        long percentile(double percentile) {
+            var merged = new Histogram();
+            for (var histogram : histograms) {
+                synchronized (histogram) {
+                    merged.add(histogram);
+                }
+            }
+            return merged.percentile(percentile);
+        }
     }
 }
@@ -10,9 +10,10 @@
 import dan200.computercraft.shared.computer.core.ServerContext;
 import dan200.computercraft.shared.computer.metrics.basic.BasicComputerMetricsObserver;
 
+import javax.annotation.concurrent.GuardedBy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,10 +22,19 @@
  * @see ServerContext#metrics() To obtain an instance of this system.
  */
 public final class GlobalMetrics {
-    volatile boolean enabled = false;
-    final Object lock = new Object();
-    final List<ComputerMetricsObserver> trackers = new ArrayList<>();
+    private static final ComputerMetricsObserver[] NO_OBSERVERS = new ComputerMetricsObserver[0];
 
+    private final Object lock = new Object();
+
+    /**
+     * The currently registered observers.
+     * <p>
+     * This array is never modified. Instead, we replace it (while holding the {@link #lock}) whenever an observer is
+     * added or removed. This means {@link DispatchObserver} can read it without any locking.
+     */
+    private volatile ComputerMetricsObserver[] observers = NO_OBSERVERS;
+
+    @GuardedBy("lock")
     private final HashMap<UUID, BasicComputerMetricsObserver> instances = new HashMap<>();
 
     /**
@@ -50,9 +60,12 @@ public BasicComputerMetricsObserver getMetricsInstance(UUID uuid) {
      */
     public boolean addObserver(ComputerMetricsObserver tracker) {
         synchronized (lock) {
-            if (trackers.contains(tracker)) return false;
-            trackers.add(tracker);
-            enabled = true;
+            var observers = this.observers;
+            if (Arrays.asList(observers).contains(tracker)) return false;
+
+            var newObservers = Arrays.copyOf(observers, observers.length + 1);
+            newObservers[observers.length] = tracker;
+            this.observers = newObservers;
             return true;
         }
     }
@@ -65,9 +78,11 @@ public boolean addObserver(ComputerMetricsObserver tracker) {
      */
     public boolean removeObserver(ComputerMetricsObserver tracker) {
         synchronized (lock) {
-            var changed = trackers.remove(tracker);
-            enabled = !trackers.isEmpty();
-            return changed;
+            var observers = new ArrayList<>(Arrays.asList(this.observers));
+            if (!observers.remove(tracker)) return false;
+
+            this.observers = observers.toArray(NO_OBSERVERS);
+            return true;
         }
     }
 
@@ -90,21 +105,12 @@ private DispatchObserver(ServerComputer computer) {
 
         @Override
         public void observe(Metric.Counter counter) {
-            if (!enabled) return;
-            synchronized (lock) {
-                // TODO: The lock here is nasty and aggressive. However, in my benchmarks I've found it has about
-                //  equivalent performance to a CoW list and atomics. Would be good to drill into this, as locks do not
-                //  scale well.
-                for (var observer : trackers) observer.observe(computer, counter);
-            }
+            for (var observer : observers) observer.observe(computer, counter);
         }
 
         @Override
         public void observe(Metric.Event event, long value) {
-            if (!enabled) return;
-            synchronized (lock) {
-                for (var observer : trackers) observer.observe(computer, event, value);
-            }
+            for (var observer : observers) observer.observe(computer, event, value);
         }
     }
 }
@@ -0,0 +1,172 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics;
+
+import dan200.computercraft.core.apis.http.NetworkUtils;
+import dan200.computercraft.shared.computer.core.ServerContext;
+import dan200.computercraft.shared.config.ConfigSpec;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.*;
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes an {@link OpenMetricsObserver} to external monitoring tools.
+ * <p>
+ * Metrics may either be served over HTTP (on {@code localhost} only) or periodically written to a file, depending on
+ * the server's config. Both are disabled by default.
+ */
+public final class OpenMetricsExporter {
+    private static final Logger LOG = LoggerFactory.getLogger(OpenMetricsExporter.class);
+
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String PATH = "/metrics";
+    private static final int FILE_INTERVAL = 15;
+
+    private static @Nullable Channel channel;
+    private static @Nullable ScheduledFuture<?> fileWriter;
+
+    private OpenMetricsExporter() {
+    }
+
+    public static void start(MinecraftServer server) {
+        stop();
+
+        var port = ConfigSpec.metricsPort.get();
+        var file = ConfigSpec.metricsFile.get();
+        if (port == 0 && file.isEmpty()) return;
+
+        var context = ServerContext.get(server);
+        var observer = new OpenMetricsObserver(ConfigSpec.metricsMaxComputers.get());
+        context.metrics().addObserver(observer);
+
+        var computerThread = context.computerThread();
+        observer.addGauge("computer_thread_workers", "", computerThread::getWorkerCount);
+        observer.addGauge("computer_thread_queue", "", computerThread::getQueueSize);
+        observer.addGauge("computer_thread_period", "ns", computerThread::getPeriod);
+
+        var mainThread = context.mainThread();
+        observer.addGauge("main_thread_budget", "ns", mainThread::getGlobalBudget);
+        observer.addGauge("main_thread_computer_budget", "ns", mainThread::getComputerBudget);
+
+        if (port != 0) startServer(observer, port);
+        if (!file.isEmpty()) {
+            var path = Path.of(file).toAbsolutePath();
+            fileWriter = NetworkUtils.LOOP_GROUP.scheduleAtFixedRate(
+                () -> writeFile(observer, path), FILE_INTERVAL, FILE_INTERVAL, TimeUnit.SECONDS
+            );
+        }
+    }
+
+    public static void stop() {
+        var channel = OpenMetricsExporter.channel;
+        if (channel != null) {
+            channel.close();
+            OpenMetricsExporter.channel = null;
+        }
+
+        var fileWriter = OpenMetricsExporter.fileWriter;
+        if (fileWriter != null) {
+            fileWriter.cancel(false);
+            OpenMetricsExporter.fileWriter = null;
+        }
+    }
+
+    private static void startServer(OpenMetricsObserver observer, int port) {
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        var future = new ServerBootstrap()
+            .group(NetworkUtils.LOOP_GROUP)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(
+                        new HttpServerCodec(),
+                        new HttpObjectAggregator(4096),
+                        new Handler(observer)
+                    );
+                }
+            })
+            .bind(address);
+
+        channel = future.channel();
+        future.addListener(f -> {
+            if (f.isSuccess()) {
+                LOG.info("Serving computer metrics on http://{}:{}{}", address.getHostString(), port, PATH);
+            } else {
+                LOG.error("Failed to start metrics server on port {}", port, f.cause());
+            }
+        });
+    }
+
+    private static void writeFile(OpenMetricsObserver observer, Path path) {
+        try {
+            var contents = new StringBuilder();
+            observer.write(contents);
+
+            // Write to a temporary file and then move it, so tools never observe a partially written file.
+            var temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temp, contents);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("Failed to write metrics to {}", path, e);
+        }
+    }
+
+    private static final class Handler extends SimpleChannelInboundHandler<FullHttpRequest> {
+        private final OpenMetricsObserver observer;
+
+        private Handler(OpenMetricsObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            FullHttpResponse response;
+            if (request.method() != HttpMethod.GET || !new QueryStringDecoder(request.uri()).path().equals(PATH)) {
+                response = new DefaultFullHttpResponse(request.protocolVersion(), HttpResponseStatus.NOT_FOUND);
+            } else {
+                var contents = new StringBuilder();
+                try {
+                    observer.write(contents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // StringBuilder never throws.
+                }
+
+                response = new DefaultFullHttpResponse(
+                    request.protocolVersion(), HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(contents, StandardCharsets.UTF_8)
+                );
+                response.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+            }
+
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOG.error("Error handling metrics request", cause);
+            ctx.close();
+        }
+    }
+}
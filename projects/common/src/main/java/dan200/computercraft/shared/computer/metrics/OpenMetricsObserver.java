@@ -0,0 +1,266 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics;
+
+import dan200.computercraft.core.metrics.Metric;
+import dan200.computercraft.core.metrics.Metrics;
+import dan200.computercraft.shared.computer.core.ServerComputer;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link ComputerMetricsObserver} which records every {@link Metric} and renders it in the
+ * <a href="https://openmetrics.io/">OpenMetrics</a> text format, for consumption by Prometheus and similar tools.
+ * <p>
+ * For each metric, we report:
+ * <ul>
+ *     <li>
+ *         A global series, summed over all computers. {@linkplain Metric.Event Events} are reported as a histogram,
+ *         with a fixed set of buckets chosen based on the metric's unit.
+ *     </li>
+ *     <li>
+ *         A per-computer series (with a {@code computer} label). To keep the number of series reasonable, events only
+ *         report their count and sum, and we track at most {@code maxComputers} computers. Any further computers are
+ *         grouped together under {@code computer="other"}.
+ *     </li>
+ * </ul>
+ * <p>
+ * We also report any {@linkplain #addGauge(String, String, LongSupplier) gauges}, which describe global state (such
+ * as the number of computer threads) rather than events on a specific computer.
+ *
+ * @see OpenMetricsExporter
+ */
+public final class OpenMetricsObserver implements ComputerMetricsObserver {
+    private static final String PREFIX = "computercraft_";
+    static final String OTHER = "other";
+
+    private static final long[] TIME_BUCKETS = {
+        TimeUnit.MICROSECONDS.toNanos(100), TimeUnit.MICROSECONDS.toNanos(500),
+        TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(5),
+        TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(50),
+        TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(500),
+        TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(5),
+    };
+    private static final long[] BYTE_BUCKETS = {
+        256, 1 << 10, 4 << 10, 16 << 10, 64 << 10, 256 << 10, 1 << 20, 4 << 20, 16 << 20,
+    };
+    private static final long[] DEFAULT_BUCKETS = { 1, 10, 100, 1_000, 10_000 };
+
+    private final int maxComputers;
+    private final Metric[] metrics;
+    private final Series global;
+    private final Series other;
+
+    /**
+     * The histogram buckets for each event. Each array has one more entry than {@link #buckets(Metric)}, holding values
+     * larger than the last bucket.
+     */
+    private final LongAdder[][] globalBuckets;
+    private final Map<Integer, Series> computers = new ConcurrentHashMap<>();
+    private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a new observer.
+     *
+     * @param maxComputers The maximum number of computers to report individually.
+     */
+    public OpenMetricsObserver(int maxComputers) {
+        this.maxComputers = maxComputers;
+
+        Metrics.init();
+        metrics = Metric.metrics().values().stream().sorted(Comparator.comparingInt(Metric::id)).toArray(Metric[]::new);
+        global = new Series(metrics.length);
+        other = new Series(metrics.length);
+
+        globalBuckets = new LongAdder[metrics.length][];
+        for (var metric : metrics) {
+            if (metric instanceof Metric.Event) globalBuckets[metric.id()] = adders(buckets(metric).length + 1);
+        }
+    }
+
+    /**
+     * Add a gauge, which reports the current value of some global state when {@linkplain #write(Appendable) written}.
+     *
+     * @param name  The name of this gauge, without the {@code computercraft_} prefix or unit.
+     * @param unit  The unit of this gauge's value. This uses the same units as {@link Metric#unit()}.
+     * @param value A function to compute the gauge's current value.
+     */
+    public void addGauge(String name, String unit, LongSupplier value) {
+        gauges.add(new Gauge(name, unit, value));
+    }
+
+    private Series getSeries(int id) {
+        var series = computers.get(id);
+        if (series != null) return series;
+
+        if (computers.size() >= maxComputers) return other;
+        return computers.computeIfAbsent(id, x -> new Series(metrics.length));
+    }
+
+    @Override
+    public void observe(ServerComputer computer, Metric.Counter counter) {
+        observe(computer.getID(), counter);
+    }
+
+    @Override
+    public void observe(ServerComputer computer, Metric.Event event, long value) {
+        observe(computer.getID(), event, value);
+    }
+
+    void observe(int computer, Metric.Counter counter) {
+        if (counter.id() >= metrics.length) return;
+        global.counts[counter.id()].increment();
+        getSeries(computer).counts[counter.id()].increment();
+    }
+
+    void observe(int computer, Metric.Event event, long value) {
+        if (event.id() >= metrics.length) return;
+        global.observe(event, value);
+        getSeries(computer).observe(event, value);
+
+        var bounds = buckets(event);
+        var bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) bucket++;
+        globalBuckets[event.id()][bucket].increment();
+    }
+
+    /**
+     * Write all metrics in the OpenMetrics text format.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output could not be written to.
+     */
+    public void write(Appendable out) throws IOException {
+        var computers = this.computers.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList();
+
+        for (var metric : metrics) {
+            var id = metric.id();
+            var unit = unit(metric.unit());
+            var name = PREFIX + metric.name() + (unit == null ? "" : "_" + unit);
+            var perComputer = PREFIX + metric.name() + "_by_computer" + (unit == null ? "" : "_" + unit);
+
+            if (metric instanceof Metric.Counter) {
+                out.append("# TYPE ").append(name).append(" counter\n");
+                writeSample(out, name + "_total", null, null, global.counts[id].sum());
+
+                out.append("# TYPE ").append(perComputer).append(" counter\n");
+                for (var entry : computers) {
+                    writeSample(out, perComputer + "_total", "computer", entry.getKey().toString(), entry.getValue().counts[id].sum());
+                }
+                var otherCount = other.counts[id].sum();
+                if (otherCount > 0) writeSample(out, perComputer + "_total", "computer", OTHER, otherCount);
+            } else {
+                var scale = scale(metric.unit());
+                var buckets = buckets(metric);
+
+                out.append("# TYPE ").append(name).append(" histogram\n");
+                if (unit != null) out.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+                var bucketCounts = globalBuckets[id];
+                long cumulative = 0;
+                for (var i = 0; i < buckets.length; i++) {
+                    cumulative += bucketCounts[i].sum();
+                    writeSample(out, name + "_bucket", "le", formatValue(buckets[i], scale), cumulative);
+                }
+                cumulative += bucketCounts[buckets.length].sum();
+                writeSample(out, name + "_bucket", "le", "+Inf", cumulative);
+                writeSample(out, name + "_count", null, null, cumulative);
+                writeSample(out, name + "_sum", null, null, formatValue(global.totals[id].sum(), scale));
+
+                out.append("# TYPE ").append(perComputer).append(" summary\n");
+                if (unit != null) out.append("# UNIT ").append(perComputer).append(' ').append(unit).append('\n');
+                for (var entry : computers) writeSummary(out, perComputer, entry.getKey().toString(), entry.getValue(), id, scale);
+                if (other.counts[id].sum() > 0) writeSummary(out, perComputer, OTHER, other, id, scale);
+            }
+        }
+
+        for (var gauge : gauges) {
+            var unit = unit(gauge.unit());
+            var name = PREFIX + gauge.name() + (unit == null ? "" : "_" + unit);
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            if (unit != null) out.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+            writeSample(out, name, null, null, formatValue(gauge.value().getAsLong(), scale(gauge.unit())));
+        }
+
+        out.append("# EOF\n");
+    }
+
+    private static void writeSummary(Appendable out, String name, String computer, Series series, int id, double scale) throws IOException {
+        writeSample(out, name + "_count", "computer", computer, series.counts[id].sum());
+        writeSample(out, name + "_sum", "computer", computer, formatValue(series.totals[id].sum(), scale));
+    }
+
+    private static void writeSample(Appendable out, String name, @Nullable String label, @Nullable String labelValue, Object value) throws IOException {
+        out.append(name);
+        if (label != null) out.append('{').append(label).append("=\"").append(labelValue).append("\"}");
+        out.append(' ').append(value.toString()).append('\n');
+    }
+
+    private static String formatValue(long value, double scale) {
+        return scale == 1 ? Long.toString(value) : Double.toString(value * scale);
+    }
+
+    /**
+     * Get the OpenMetrics unit for a metric's {@linkplain Metric#unit() unit}. Times are converted to seconds, as
+     * recommended by the specification.
+     *
+     * @param unit The metric's unit.
+     * @return The OpenMetrics unit, or {@code null} if it has none.
+     */
+    private static @Nullable String unit(String unit) {
+        return switch (unit) {
+            case "ns" -> "seconds";
+            case "bytes" -> "bytes";
+            default -> null;
+        };
+    }
+
+    private static double scale(String unit) {
+        return unit.equals("ns") ? 1e-9 : 1;
+    }
+
+    private static long[] buckets(Metric metric) {
+        return switch (metric.unit()) {
+            case "ns" -> TIME_BUCKETS;
+            case "bytes" -> BYTE_BUCKETS;
+            default -> DEFAULT_BUCKETS;
+        };
+    }
+
+    private static LongAdder[] adders(int length) {
+        var adders = new LongAdder[length];
+        for (var i = 0; i < length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    /**
+     * The values for a single series (either global or for a specific computer).
+     */
+    private static final class Series {
+        final LongAdder[] counts;
+        final LongAdder[] totals;
+
+        Series(int size) {
+            counts = adders(size);
+            totals = adders(size);
+        }
+
+        void observe(Metric.Event event, long value) {
+            counts[event.id()].increment();
+            totals[event.id()].add(value);
+        }
+    }
+
+    private record Gauge(String name, String unit, LongSupplier value) {
+    }
+}
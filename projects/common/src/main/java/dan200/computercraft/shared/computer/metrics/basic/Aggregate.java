@@ -15,15 +15,34 @@ public enum Aggregate {
     NONE("none"),
     COUNT("count"),
     AVG("avg"),
-    MAX("max");
+    MAX("max"),
+    P50("p50", 0.5),
+    P95("p95", 0.95),
+    P99("p99", 0.99);
 
     private final String id;
+    private final double percentile;
 
     Aggregate(String id) {
+        this(id, Double.NaN);
+    }
+
+    Aggregate(String id, double percentile) {
         this.id = id;
+        this.percentile = percentile;
     }
 
     public String id() {
         return id;
     }
+
+    /**
+     * The percentile this aggregate computes, as a value between 0 and 1.
+     *
+     * @return This aggregate's percentile, or {@link Double#NaN} if this is not a percentile.
+     * @see Histogram#percentile(double)
+     */
+    public double percentile() {
+        return percentile;
+    }
 }
@@ -13,71 +13,83 @@
 import javax.annotation.concurrent.GuardedBy;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Tracks timing information about computers, including how long they ran for and the number of events they handled.
  * <p>
  * Note that this will retain timings for computers which have been deleted.
+ * <p>
+ * This is called from every computer thread, and so avoids any global locks. Each computer's {@link ComputerMetrics}
+ * is updated independently, and so computers only contend with themselves.
  */
 public class BasicComputerMetricsObserver implements ComputerMetricsObserver {
     private final GlobalMetrics owner;
 
-    @GuardedBy("this")
-    private final List<ComputerMetrics> timings = new ArrayList<>();
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private boolean running;
 
-    @GuardedBy("this")
-    private final Map<ServerComputer, ComputerMetrics> timingLookup = new MapMaker().weakKeys().makeMap();
+    private final Queue<ComputerMetrics> timings = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<ServerComputer, ComputerMetrics> timingLookup = new MapMaker().weakKeys().makeMap();
 
     public BasicComputerMetricsObserver(GlobalMetrics owner) {
         this.owner = owner;
     }
 
     public void start() {
-        if (!owner.addObserver(this)) return;
+        synchronized (lock) {
+            if (running) return;
 
-        synchronized (this) {
+            // Clear the previous results before registering, so we never discard metrics for the new session.
             timings.clear();
             timingLookup.clear();
+            running = owner.addObserver(this);
         }
     }
 
     public boolean stop() {
-        if (!owner.removeObserver(this)) return false;
-        synchronized (this) {
+        synchronized (lock) {
+            if (!running) return false;
+
+            running = false;
+            owner.removeObserver(this);
             timingLookup.clear();
+            return true;
         }
-        return true;
     }
 
-    public synchronized List<ComputerMetrics> getSnapshot() {
-        var timings = new ArrayList<ComputerMetrics>(this.timings.size());
+    public List<ComputerMetrics> getSnapshot() {
+        var timings = new ArrayList<ComputerMetrics>();
         for (var timing : this.timings) timings.add(new ComputerMetrics(timing));
         return timings;
     }
 
-    public synchronized List<ComputerMetrics> getTimings() {
+    public List<ComputerMetrics> getTimings() {
         return new ArrayList<>(timings);
     }
 
-    @GuardedBy("this")
     private ComputerMetrics getMetrics(ServerComputer computer) {
         var existing = timingLookup.get(computer);
         if (existing != null) return existing;
 
         var metrics = new ComputerMetrics(computer);
-        timingLookup.put(computer, metrics);
+        existing = timingLookup.putIfAbsent(computer, metrics);
+        if (existing != null) return existing;
+
         timings.add(metrics);
         return metrics;
     }
 
     @Override
-    public synchronized void observe(ServerComputer computer, Metric.Counter counter) {
+    public void observe(ServerComputer computer, Metric.Counter counter) {
         getMetrics(computer).observe(counter);
     }
 
     @Override
-    public synchronized void observe(ServerComputer computer, Metric.Event event, long value) {
+    public void observe(ServerComputer computer, Metric.Event event, long value) {
         getMetrics(computer).observe(event, value);
     }
 }
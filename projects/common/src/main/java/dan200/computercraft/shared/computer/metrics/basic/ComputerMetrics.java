@@ -4,39 +4,55 @@
 
 package dan200.computercraft.shared.computer.metrics.basic;
 
+import com.mojang.authlib.GameProfile;
 import dan200.computercraft.core.metrics.Metric;
 import dan200.computercraft.shared.computer.core.ServerComputer;
 
 import javax.annotation.Nullable;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Metrics for an individual computer.
+ * <p>
+ * This is thread-safe, and may be observed from multiple threads at once (for instance, the computer thread and the
+ * main thread). Counts, totals and maximums are updated without locking. Each event's {@link Histogram} has its own
+ * lock, which is only contended when this computer observes the same event on two threads at once.
  */
 public final class ComputerMetrics {
-    private static final int DEFAULT_LEN = 16;
-
     private final WeakReference<ServerComputer> computer;
     private final int computerId;
-    private long[] counts;
-    private long[] totals;
-    private long[] max;
+    private final @Nullable GameProfile owner;
+
+    /**
+     * The values for each metric, indexed by {@link Metric#id()}. Entries may be {@code null} if the metric has not
+     * been observed yet.
+     * <p>
+     * This array is never modified once published. Instead, new entries are added by copying the array (see
+     * {@link #createEntry(Metric)}), which only happens the first time each metric is observed.
+     */
+    private volatile Entry[] entries = new Entry[0];
 
     ComputerMetrics(ServerComputer computer) {
         this.computer = new WeakReference<>(computer);
         computerId = computer.getID();
-        counts = new long[DEFAULT_LEN];
-        totals = new long[DEFAULT_LEN];
-        max = new long[DEFAULT_LEN];
+        owner = computer.getOwningPlayer();
     }
 
     ComputerMetrics(ComputerMetrics other) {
         computer = other.computer;
         computerId = other.computerId;
-        counts = Arrays.copyOf(other.counts, other.counts.length);
-        totals = Arrays.copyOf(other.totals, other.totals.length);
-        max = Arrays.copyOf(other.max, other.max.length);
+        owner = other.owner;
+
+        var otherEntries = other.entries;
+        var entries = new Entry[otherEntries.length];
+        for (var i = 0; i < entries.length; i++) {
+            var entry = otherEntries[i];
+            if (entry != null) entries[i] = new Entry(entry);
+        }
+        this.entries = entries;
     }
 
     @Nullable
@@ -48,8 +64,15 @@ public int computerId() {
         return computerId;
     }
 
-    private static long get(long[] values, Metric metric) {
-        return metric.id() >= values.length ? 0 : values[metric.id()];
+    /**
+     * The owner of this computer, at the time we started tracking it.
+     *
+     * @return The computer's owner, or {@code null} if it has none.
+     * @see ServerComputer#getOwningPlayer()
+     */
+    @Nullable
+    public GameProfile owner() {
+        return owner;
     }
 
     private long avg(long total, long count) {
@@ -57,13 +80,18 @@ private long avg(long total, long count) {
     }
 
     public long get(Metric metric, Aggregate aggregate) {
-        if (metric instanceof Metric.Counter) return get(counts, metric);
+        var entries = this.entries;
+        var entry = metric.id() < entries.length ? entries[metric.id()] : null;
+
+        if (metric instanceof Metric.Counter) return entry == null ? 0 : entry.count.sum();
         if (metric instanceof Metric.Event) {
+            if (entry == null) return 0;
             return switch (aggregate) {
-                case NONE -> get(totals, metric);
-                case COUNT -> get(counts, metric);
-                case AVG -> avg(get(totals, metric), get(counts, metric));
-                case MAX -> get(max, metric);
+                case NONE -> entry.total.sum();
+                case COUNT -> entry.count.sum();
+                case AVG -> avg(entry.total.sum(), entry.count.sum());
+                case MAX -> entry.max.get();
+                case P50, P95, P99 -> entry.percentile(aggregate.percentile());
             };
         }
 
@@ -74,28 +102,73 @@ public String getFormatted(Metric field, Aggregate aggregate) {
         var value = get(field, aggregate);
         return switch (aggregate) {
             case COUNT -> Metric.formatDefault(value);
-            case AVG, MAX, NONE -> field.format(value);
+            case AVG, MAX, NONE, P50, P95, P99 -> field.format(value);
         };
     }
 
-    private void ensureCapacity(Metric metric) {
-        if (metric.id() < counts.length) return;
+    private Entry getEntry(Metric metric) {
+        var entries = this.entries;
+        var entry = metric.id() < entries.length ? entries[metric.id()] : null;
+        return entry != null ? entry : createEntry(metric);
+    }
 
-        var newCapacity = Math.max(metric.id(), counts.length * 2);
-        counts = Arrays.copyOf(counts, newCapacity);
-        totals = Arrays.copyOf(totals, newCapacity);
-        max = Arrays.copyOf(max, newCapacity);
+    private synchronized Entry createEntry(Metric metric) {
+        var entries = this.entries;
+        var id = metric.id();
+        if (id < entries.length) {
+            var entry = entries[id];
+            if (entry != null) return entry;
+        }
+
+        var entry = new Entry();
+        var newEntries = Arrays.copyOf(entries, Math.max(entries.length, id + 1));
+        newEntries[id] = entry;
+        this.entries = newEntries;
+        return entry;
     }
 
     void observe(Metric.Counter counter) {
-        ensureCapacity(counter);
-        counts[counter.id()]++;
+        getEntry(counter).count.increment();
     }
 
     void observe(Metric.Event event, long value) {
-        ensureCapacity(event);
-        counts[event.id()]++;
-        totals[event.id()] += value;
-        if (value > max[event.id()]) max[event.id()] = value;
+        var entry = getEntry(event);
+        entry.count.increment();
+        entry.total.add(value);
+        entry.max.accumulate(value);
+        synchronized (entry.histogram) {
+            entry.histogram.record(value);
+        }
+    }
+
+    private static final class Entry {
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * A histogram of observed values, used to compute percentiles. This is only used for {@link Metric.Event}s.
+         * Histograms are not thread-safe, so all accesses synchronize on the histogram itself.
+         */
+        final Histogram histogram;
+
+        Entry() {
+            histogram = new Histogram();
+        }
+
+        Entry(Entry other) {
+            count.add(other.count.sum());
+            total.add(other.total.sum());
+            max.accumulate(other.max.get());
+            synchronized (other.histogram) {
+                histogram = new Histogram(other.histogram);
+            }
+        }
+
+        long percentile(double percentile) {
+            synchronized (histogram) {
+                return histogram.percentile(percentile);
+            }
+        }
     }
 }
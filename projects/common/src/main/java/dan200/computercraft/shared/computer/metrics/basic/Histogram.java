@@ -0,0 +1,146 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics.basic;
+
+import java.util.Arrays;
+
+/**
+ * A compact histogram of non-negative values, used to compute percentiles of a {@link dan200.computercraft.core.metrics.Metric.Event}.
+ * <p>
+ * Values are sorted into log-linear buckets: each power of two is split into {@link #SUB_BUCKETS} equally sized
+ * buckets. This means percentiles are accurate to within {@code 1/SUB_BUCKETS} (12.5%) of the true value, while the
+ * histogram never uses more than a few kilobytes of memory, no matter how many values are recorded.
+ * <p>
+ * The bucket array is grown on demand, so histograms which only record small values (such as most timings) stay
+ * small.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+
+    /**
+     * The total number of buckets needed to cover all non-negative {@code long}s.
+     */
+    static final int MAX_BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private int[] buckets = new int[SUB_BUCKETS * 2];
+    private long count;
+    private long max;
+
+    public Histogram() {
+    }
+
+    public Histogram(Histogram other) {
+        buckets = Arrays.copyOf(other.buckets, other.buckets.length);
+        count = other.count;
+        max = other.max;
+    }
+
+    /**
+     * Get the bucket a value belongs to.
+     *
+     * @param value The value, which must be non-negative.
+     * @return The index of this value's bucket.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+        var shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * Get the largest value which belongs to a bucket.
+     *
+     * @param index The bucket's index.
+     * @return The largest value in this bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        var shift = (index >>> SUB_BUCKET_BITS) - 1;
+        var lower = (long) (SUB_BUCKETS + (index & SUB_BUCKET_MASK)) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+
+    /**
+     * Record a single value.
+     *
+     * @param value The value to record. Negative values are treated as 0.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+
+        var index = bucketIndex(value);
+        if (index >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.min(MAX_BUCKETS, Math.max(index + 1, buckets.length * 2)));
+        }
+
+        // Saturate rather than overflow. This will only happen after billions of events, at which point the
+        // percentiles are still meaningful.
+        if (buckets[index] != Integer.MAX_VALUE) buckets[index]++;
+        count++;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Add all values recorded by another histogram to this one.
+     *
+     * @param other The histogram to merge into this one.
+     */
+    public void add(Histogram other) {
+        if (other.buckets.length > buckets.length) buckets = Arrays.copyOf(buckets, other.buckets.length);
+        for (var i = 0; i < other.buckets.length; i++) {
+            buckets[i] = (int) Math.min(Integer.MAX_VALUE, (long) buckets[i] + other.buckets[i]);
+        }
+
+        count += other.count;
+        if (other.max > max) max = other.max;
+    }
+
+    /**
+     * The number of values recorded by this histogram.
+     *
+     * @return The number of recorded values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * The largest value recorded by this histogram.
+     *
+     * @return The largest value, or {@code 0} if no values have been recorded.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Estimate a percentile of the recorded values.
+     *
+     * @param percentile The percentile to compute, between 0 and 1.
+     * @return The estimated value at this percentile, or {@code 0} if no values have been recorded. This is the upper
+     * bound of the percentile's bucket, and so will never underestimate the true value.
+     */
+    public long percentile(double percentile) {
+        long total = 0;
+        for (var bucket : buckets) total += bucket;
+        if (total == 0) return 0;
+
+        var target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (var i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) return Math.min(bucketUpperBound(i), max);
+        }
+
+        return max;
+    }
+}
@@ -17,6 +17,9 @@
  * This is somewhat memory inefficient (we build a buffer, only to write it elsewhere), however it means we get a
  * complete and accurate description of a terminal, which avoids a lot of complexities with resizing terminals, dirty
  * states, etc...
+ * <p>
+ * States are immutable, and so may be shared between several messages (for instance, when sending a terminal to every
+ * player viewing a computer). Reading a state never modifies the underlying buffer.
  */
 public class TerminalState {
     private final boolean colour;
@@ -61,12 +64,12 @@ public int size() {
 
     public void apply(NetworkedTerminal terminal) {
         terminal.resize(width, height);
-        terminal.read(new FriendlyByteBuf(buffer));
+        terminal.read(new FriendlyByteBuf(buffer.duplicate()));
     }
 
     public NetworkedTerminal create() {
         var terminal = new NetworkedTerminal(width, height, colour);
-        terminal.read(new FriendlyByteBuf(buffer));
+        terminal.read(new FriendlyByteBuf(buffer.duplicate()));
         return terminal;
     }
 }
@@ -16,6 +16,7 @@ public final class Config {
     public static int floppySpaceLimit = 125 * 1000;
     public static int uploadMaxSize = 512 * 1024; // 512 KB
     public static boolean commandRequireCreative = true;
+    public static boolean scheduleByOwner = false;
 
     public static boolean enableCommandBlock = false;
     public static int modemRange = 64;
@@ -26,6 +27,7 @@ public final class Config {
     public static MonitorRenderer monitorRenderer = MonitorRenderer.BEST;
     public static int monitorDistance = 65;
     public static long monitorBandwidth = 1_000_000;
+    public static boolean inventorySnapshots = false;
 
     public static boolean turtlesNeedFuel = true;
     public static int turtleFuelLimit = 20000;
@@ -37,8 +37,18 @@ public final class ConfigSpec {
     public static final ConfigFile.Value<List<? extends String>> disabledGenericMethods;
 
     public static final ConfigFile.Value<Integer> computerThreads;
+    public static final ConfigFile.Value<Integer> maxComputerThreads;
+    public static final ConfigFile.Value<Integer> computerThreadsMaxTickTime;
     public static final ConfigFile.Value<Integer> maxMainGlobalTime;
     public static final ConfigFile.Value<Integer> maxMainComputerTime;
+    public static final ConfigFile.Value<Integer> minMainGlobalTime;
+    public static final ConfigFile.Value<Integer> targetTickTime;
+    public static final ConfigFile.Value<Boolean> scheduleByOwner;
+    public static final ConfigFile.Value<Integer> luaMemorySoftLimit;
+    public static final ConfigFile.Value<Integer> luaMemoryHardLimit;
+    public static final ConfigFile.Value<Integer> metricsPort;
+    public static final ConfigFile.Value<String> metricsFile;
+    public static final ConfigFile.Value<Integer> metricsMaxComputers;
 
     public static final ConfigFile.Value<Boolean> httpEnabled;
     public static final ConfigFile.Value<Boolean> httpWebsocketEnabled;
@@ -61,6 +71,7 @@ public final class ConfigSpec {
     public static final ConfigFile.Value<Integer> modemHighAltitudeRangeDuringStorm;
     public static final ConfigFile.Value<Integer> maxNotesPerTick;
     public static final ConfigFile.Value<Integer> monitorBandwidth;
+    public static final ConfigFile.Value<Boolean> inventorySnapshots;
 
     public static final ConfigFile.Value<Boolean> turtlesNeedFuel;
     public static final ConfigFile.Value<Integer> turtleFuelLimit;
@@ -162,6 +173,22 @@ or a single method (computercraft:inventory#pushItems).
                 .worldRestart()
                 .defineInRange("computer_threads", 1, 1, Integer.MAX_VALUE);
 
+            maxComputerThreads = builder
+                .comment("""
+                    The maximum number of threads computers can run on. If this is larger than
+                    computer_threads, we start with computer_threads threads, and add more when
+                    computers are waiting to run (removing them again when idle). Set to 0 to always
+                    use computer_threads threads.""")
+                .worldRestart()
+                .defineInRange("max_computer_threads", 0, 0, Integer.MAX_VALUE);
+
+            computerThreadsMaxTickTime = builder
+                .comment("""
+                    When using more than computer_threads threads, stop adding threads (and remove
+                    existing ones) while the server's average tick time is above this value, in
+                    milliseconds. Set to 0 to disable.""")
+                .defineInRange("computer_threads_max_tick_time", 40, 0, Integer.MAX_VALUE);
+
             maxMainGlobalTime = builder
                 .comment("""
                     The maximum time that can be spent executing tasks in a single tick, in
@@ -177,6 +204,67 @@ or a single method (computercraft:inventory#pushItems).
                     long a will take - this aims to be the upper bound of the average time.""")
                 .defineInRange("max_main_computer_time", (int) TimeUnit.NANOSECONDS.toMillis(MainThreadConfig.DEFAULT_MAX_COMPUTER_TIME), 1, Integer.MAX_VALUE);
 
+            targetTickTime = builder
+                .comment("""
+                    The target time for a server tick, in milliseconds. While the server's average
+                    tick time is above this, the time computers can spend executing tasks on the
+                    server thread (max_main_global_time and max_main_computer_time) is gradually
+                    reduced, and then restored once the server has recovered. Set to 0 to disable.""")
+                .defineInRange("target_tick_time", 0, 0, Integer.MAX_VALUE);
+
+            minMainGlobalTime = builder
+                .comment("""
+                    The minimum time that can be spent executing tasks in a single tick when the
+                    server is over its target_tick_time, in milliseconds. This ensures computers can
+                    always do some work, even when the server is lagging.""")
+                .defineInRange("min_main_global_time", (int) TimeUnit.NANOSECONDS.toMillis(MainThreadConfig.DEFAULT_MIN_GLOBAL_TIME), 1, Integer.MAX_VALUE);
+
+            scheduleByOwner = builder
+                .comment("""
+                    Share execution time fairly between the owners of computers, rather than between
+                    individual computers. This prevents one player slowing down everyone else's
+                    computers by placing many of their own. Currently only turtles record an owner,
+                    other computers are always scheduled individually.""")
+                .define("schedule_by_owner", Config.scheduleByOwner);
+
+            luaMemorySoftLimit = builder
+                .comment("""
+                    The approximate amount of memory (in bytes) a computer's Lua programs may use
+                    before an "Out of memory" error is thrown. Set to 0 to disable (the default).
+                    Memory usage is estimated every few seconds while a limit is set. Without a limit,
+                    it is only estimated occasionally, for the "lua_heap" metric.""")
+                .defineInRange("lua_memory_soft_limit", CoreConfig.luaMemorySoftLimit, 0, Integer.MAX_VALUE);
+
+            luaMemoryHardLimit = builder
+                .comment("""
+                    The approximate amount of memory (in bytes) a computer's Lua programs may use
+                    before the computer is shut down. Set to 0 to disable (the default). This should
+                    be larger than the soft limit, so programs can recover from running out of memory.""")
+                .defineInRange("lua_memory_hard_limit", CoreConfig.luaMemoryHardLimit, 0, Integer.MAX_VALUE);
+
+            metricsPort = builder
+                .comment("""
+                    Serve metrics about computers in the OpenMetrics (Prometheus) text format on
+                    http://localhost:<port>/metrics. The server only listens on the loopback address.
+                    Set to 0 to disable.""")
+                .worldRestart()
+                .defineInRange("metrics_port", 0, 0, 65535);
+
+            metricsFile = builder
+                .comment("""
+                    Periodically write metrics about computers in the OpenMetrics (Prometheus) text
+                    format to this file, relative to the server's working directory. Leave empty to
+                    disable.""")
+                .worldRestart()
+                .define("metrics_file", "");
+
+            metricsMaxComputers = builder
+                .comment("""
+                    The maximum number of computers to report individual metrics for. Any additional
+                    computers are grouped together, to avoid producing an unbounded number of series.""")
+                .worldRestart()
+                .defineInRange("metrics_max_computers", 256, 0, Integer.MAX_VALUE);
+
             builder.pop();
         }
 
@@ -308,6 +396,14 @@ or a single method (computercraft:inventory#pushItems).
                     Set to 0 to disable.""")
                 .defineInRange("monitor_bandwidth", (int) Config.monitorBandwidth, 0, Integer.MAX_VALUE);
 
+            inventorySnapshots = builder
+                .comment("""
+                    Serve read-only inventory methods (size, list and getItemLimit) from a snapshot
+                    of the inventory taken at the end of each tick, rather than waiting for the main
+                    thread. This makes reading inventories much faster, but the results may be up to
+                    one tick out-of-date.""")
+                .define("inventory_snapshots", Config.inventorySnapshots);
+
             builder.pop();
         }
 
@@ -391,6 +487,11 @@ public static void syncServer(@Nullable Path path) {
         CoreConfig.defaultComputerSettings = defaultComputerSettings.get();
         Config.commandRequireCreative = commandRequireCreative.get();
 
+        // Execution
+        Config.scheduleByOwner = scheduleByOwner.get();
+        CoreConfig.luaMemorySoftLimit = luaMemorySoftLimit.get();
+        CoreConfig.luaMemoryHardLimit = luaMemoryHardLimit.get();
+
         // Update our log filter if needed.
         var logFilter = MarkerFilter.createFilter(
             Logging.COMPUTER_ERROR.getName(),
@@ -429,6 +530,7 @@ public static void syncServer(@Nullable Path path) {
         Config.modemRangeDuringStorm = modemRangeDuringStorm.get();
         Config.modemHighAltitudeRangeDuringStorm = modemHighAltitudeRangeDuringStorm.get();
         Config.monitorBandwidth = monitorBandwidth.get();
+        Config.inventorySnapshots = inventorySnapshots.get();
 
         // Turtles
         Config.turtlesNeedFuel = turtlesNeedFuel.get();
@@ -4,18 +4,23 @@
 
 package dan200.computercraft.shared.details;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonParseException;
 import dan200.computercraft.shared.platform.RegistryWrappers;
 import dan200.computercraft.shared.util.NBTUtil;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Data providers for items.
@@ -28,7 +33,51 @@ public static void fillBasic(Map<? super String, Object> data, ItemStack stack)
         if (hash != null) data.put("nbt", hash);
     }
 
+    /**
+     * A cache of item and NBT to the {@linkplain #fill(Map, ItemStack) details} for that item.
+     * <p>
+     * Building the full details of an item is fairly expensive (parsing lore, computing tags, etc...), and inventory
+     * systems tend to request the same few items many times. This information only depends on the item and its NBT (and
+     * not the count), and so can be safely cached and shared between stacks.
+     * <p>
+     * The keys of this cache hold a private copy of the stack's NBT, as the original tag may be mutated. The cache is
+     * {@linkplain #invalidateCache() cleared} when tags are reloaded.
+     */
+    private static final Cache<CacheKey, Map<String, Object>> DETAIL_CACHE = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumSize(1024)
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .build();
+
+    private record CacheKey(Item item, @Nullable CompoundTag tag) {
+    }
+
     public static void fill(Map<? super String, Object> data, ItemStack stack) {
+        var tag = stack.getTag();
+        var key = new CacheKey(stack.getItem(), tag);
+        var details = DETAIL_CACHE.getIfPresent(key);
+        if (details == null) {
+            details = computeDetails(stack);
+            DETAIL_CACHE.put(tag == null ? key : new CacheKey(stack.getItem(), tag.copy()), details);
+        }
+
+        data.putAll(details);
+
+        // Durability may be derived from data outside the item's NBT (such as capabilities), so is never cached.
+        if (stack.getItem().isBarVisible(stack)) {
+            data.put("durability", stack.getItem().getBarWidth(stack) / 13.0);
+        }
+    }
+
+    /**
+     * Clear the cache of item details. This should be called whenever tags are reloaded.
+     */
+    public static void invalidateCache() {
+        DETAIL_CACHE.invalidateAll();
+    }
+
+    private static Map<String, Object> computeDetails(ItemStack stack) {
+        Map<String, Object> data = new HashMap<>();
         data.put("displayName", stack.getHoverName().getString());
         data.put("maxCount", stack.getMaxStackSize());
 
@@ -37,11 +86,7 @@ public static void fill(Map<? super String, Object> data, ItemStack stack) {
             data.put("maxDamage", stack.getMaxDamage());
         }
 
-        if (stack.getItem().isBarVisible(stack)) {
-            data.put("durability", stack.getItem().getBarWidth(stack) / 13.0);
-        }
-
-        data.put("tags", DetailHelpers.getTags(stack.getTags()));
+        data.put("tags", Map.copyOf(DetailHelpers.getTags(stack.getTags())));
 
         // Include deprecated itemGroups field
         data.put("itemGroups", List.of());
@@ -67,11 +112,13 @@ public static void fill(Map<? super String, Object> data, ItemStack stack) {
         var hideFlags = tag != null ? tag.getInt("HideFlags") : 0;
 
         var enchants = getAllEnchants(stack, hideFlags);
-        if (!enchants.isEmpty()) data.put("enchantments", enchants);
+        if (!enchants.isEmpty()) data.put("enchantments", List.copyOf(enchants));
 
         if (tag != null && tag.getBoolean("Unbreakable") && (hideFlags & 4) == 0) {
             data.put("unbreakable", true);
         }
+
+        return Collections.unmodifiableMap(data);
     }
 
     @Nullable
@@ -125,11 +172,11 @@ private static void addEnchantments(ListTag rawEnchants, ArrayList<Map<String, O
         for (var entry : EnchantmentHelper.deserializeEnchantments(rawEnchants).entrySet()) {
             var enchantment = entry.getKey();
             var level = entry.getValue();
-            var enchant = new HashMap<String, Object>(3);
-            enchant.put("name", DetailHelpers.getId(RegistryWrappers.ENCHANTMENTS, enchantment));
-            enchant.put("level", level);
-            enchant.put("displayName", enchantment.getFullname(level).getString());
-            enchants.add(enchant);
+            enchants.add(Map.of(
+                "name", DetailHelpers.getId(RegistryWrappers.ENCHANTMENTS, enchantment),
+                "level", level,
+                "displayName", enchantment.getFullname(level).getString()
+            ));
         }
     }
 }
@@ -5,16 +5,29 @@
 package dan200.computercraft.shared.peripheral.generic.methods;
 
 import dan200.computercraft.api.ComputerCraftAPI;
+import dan200.computercraft.api.detail.VanillaDetailRegistries;
 import dan200.computercraft.api.lua.ILuaContext;
 import dan200.computercraft.api.lua.LuaException;
 import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.api.lua.MethodResult;
 import dan200.computercraft.api.peripheral.GenericPeripheral;
 import dan200.computercraft.api.peripheral.IComputerAccess;
+import dan200.computercraft.api.peripheral.IPeripheral;
 import dan200.computercraft.api.peripheral.PeripheralType;
+import net.minecraft.world.item.ItemStack;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static dan200.computercraft.api.lua.LuaValues.badTableItem;
+import static dan200.computercraft.api.lua.LuaValues.getType;
+import static dan200.computercraft.core.apis.TableHelper.*;
+import static dan200.computercraft.core.util.ArgumentHelpers.assertBetween;
 
 /**
  * Methods for interacting with inventories.
@@ -24,6 +37,23 @@
  * @cc.since 1.94.0
  */
 public abstract class AbstractInventoryMethods<T> implements GenericPeripheral {
+    private final InventorySnapshots<T> snapshots = new InventorySnapshots<>(new InventorySnapshots.Reader<>() {
+        @Override
+        public int size(T inventory) {
+            return getSize(inventory);
+        }
+
+        @Override
+        public ItemStack getItem(T inventory, int slot) {
+            return getStack(inventory, slot);
+        }
+
+        @Override
+        public long getItemLimit(T inventory, int slot) {
+            return getSlotLimit(inventory, slot);
+        }
+    });
+
     @Override
     public final PeripheralType getType() {
         return PeripheralType.ofAdditional("inventory");
@@ -38,10 +68,19 @@ public final String id() {
      * Get the size of this inventory.
      *
      * @param inventory The current inventory.
+     * @param computer  The current computer.
+     * @param context   The current Lua context.
      * @return The number of slots in this inventory.
+     * @throws LuaException If the task could not be queued on the main thread.
+     * @cc.treturn number The number of slots in this inventory.
      */
-    @LuaFunction(mainThread = true)
-    public abstract int size(T inventory);
+    @LuaFunction
+    public final MethodResult size(T inventory, IComputerAccess computer, ILuaContext context) throws LuaException {
+        var snapshot = snapshots.get(inventory, computer);
+        if (snapshot != null) return MethodResult.of(snapshot.size());
+
+        return context.executeMainThreadTask(() -> new Object[]{ getSize(inventory) });
+    }
 
     /**
      * List all items in this inventory. This returns a table, with an entry for each slot.
@@ -56,7 +95,10 @@ public final String id() {
      * rather than [`ipairs`].
      *
      * @param inventory The current inventory.
+     * @param computer  The current computer.
+     * @param context   The current Lua context.
      * @return All items in this inventory.
+     * @throws LuaException If the task could not be queued on the main thread.
      * @cc.treturn { (table|nil)... } All items in this inventory.
      * @cc.usage Find an adjacent chest and print all items in it.
      *
@@ -67,8 +109,29 @@ public final String id() {
      * end
      * }</pre>
      */
-    @LuaFunction(mainThread = true)
-    public abstract Map<Integer, Map<String, ?>> list(T inventory);
+    @LuaFunction
+    public final MethodResult list(T inventory, IComputerAccess computer, ILuaContext context) throws LuaException {
+        var snapshot = snapshots.get(inventory, computer);
+        if (snapshot != null) {
+            Map<Integer, Map<String, ?>> result = new HashMap<>();
+            var size = snapshot.size();
+            for (var i = 0; i < size; i++) {
+                var stack = snapshot.getItem(i);
+                if (!stack.isEmpty()) result.put(i + 1, VanillaDetailRegistries.ITEM_STACK.getBasicDetails(stack));
+            }
+            return MethodResult.of(result);
+        }
+
+        return context.executeMainThreadTask(() -> {
+            Map<Integer, Map<String, ?>> result = new HashMap<>();
+            var size = getSize(inventory);
+            for (var i = 0; i < size; i++) {
+                var stack = getStack(inventory, i);
+                if (!stack.isEmpty()) result.put(i + 1, VanillaDetailRegistries.ITEM_STACK.getBasicDetails(stack));
+            }
+            return new Object[]{ result };
+        });
+    }
 
     /**
      * Get detailed information about an item.
@@ -118,9 +181,12 @@ public final String id() {
      * hundreds or thousands of items in one slot.
      *
      * @param inventory Inventory to probe.
+     * @param computer  The current computer.
+     * @param context   The current Lua context.
      * @param slot      The slot
      * @return The maximum number of items in this slot.
      * @throws LuaException If the slot is out of range.
+     * @cc.treturn number The maximum number of items in this slot.
      * @cc.usage Count the maximum number of items an adjacent chest can hold.
      * <pre>{@code
      * local chest = peripheral.find("minecraft:chest")
@@ -132,8 +198,19 @@ public final String id() {
      * }</pre>
      * @cc.since 1.96.0
      */
-    @LuaFunction(mainThread = true)
-    public abstract long getItemLimit(T inventory, int slot) throws LuaException;
+    @LuaFunction
+    public final MethodResult getItemLimit(T inventory, IComputerAccess computer, ILuaContext context, int slot) throws LuaException {
+        var snapshot = snapshots.get(inventory, computer);
+        if (snapshot != null) {
+            assertBetween(slot, 1, snapshot.size(), "Slot out of range (%s)");
+            return MethodResult.of(snapshot.getItemLimit(slot - 1));
+        }
+
+        return context.executeMainThreadTask(() -> {
+            assertBetween(slot, 1, getSize(inventory), "Slot out of range (%s)");
+            return new Object[]{ getSlotLimit(inventory, slot - 1) };
+        });
+    }
 
     /**
      * Push items from one inventory to another connected one.
@@ -161,9 +238,12 @@ public final String id() {
      * }</pre>
      */
     @LuaFunction(mainThread = true)
-    public abstract int pushItems(
+    public final int pushItems(
         T from, IComputerAccess computer, String toName, int fromSlot, Optional<Integer> limit, Optional<Integer> toSlot
-    ) throws LuaException;
+    ) throws LuaException {
+        var to = getInventory(computer, toName, "Target");
+        return transfer(from, fromSlot, to, toSlot, limit.orElse(Integer.MAX_VALUE));
+    }
 
     /**
      * Pull items from a connected inventory into this one.
@@ -191,7 +271,185 @@ public abstract int pushItems(
      * }</pre>
      */
     @LuaFunction(mainThread = true)
-    public abstract int pullItems(
+    public final int pullItems(
         T to, IComputerAccess computer, String fromName, int fromSlot, Optional<Integer> limit, Optional<Integer> toSlot
-    ) throws LuaException;
+    ) throws LuaException {
+        var from = getInventory(computer, fromName, "Source");
+        return transfer(from, fromSlot, to, toSlot, limit.orElse(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Move items between several inventories at once.
+     * <p>
+     * This accepts a list of transfers, each of which behaves like a call to {@link #pushItems} or
+     * {@link #pullItems}. Each transfer is a table with the following fields:
+     * <ul>
+     *   <li>{@code from}: The name of the inventory to move items from. Defaults to this inventory.</li>
+     *   <li>{@code to}: The name of the inventory to move items to. Defaults to this inventory.</li>
+     *   <li>{@code fromSlot}: The slot in the source inventory to move items from.</li>
+     *   <li>{@code limit}: The maximum number of items to move. Defaults to the current stack limit.</li>
+     *   <li>{@code toSlot}: The slot in the target inventory to move to. If not given, the item will be inserted into
+     *   any slot.</li>
+     * </ul>
+     * <p>
+     * All transfers are performed within a single server tick, which is much faster than calling
+     * {@link #pushItems} once for each item. However, transfers count towards the computer's main thread time limit.
+     * Once this computer has used up its time for this tick, any remaining transfers are skipped, and the returned list
+     * will be shorter than the list of transfers. Programs should check the length of the result, and resubmit any
+     * skipped transfers.
+     *
+     * @param inventory  The current inventory.
+     * @param computer   The current computer.
+     * @param operations The list of transfers to perform.
+     * @return The result of each transfer which was performed.
+     * @throws LuaException If any transfer is malformed.
+     * @cc.treturn { (number|string)... } The result of each transfer which was performed. This is either the number of
+     * items transferred, or an error message if the transfer failed.
+     * @cc.usage Move the first five slots of one chest into another.
+     * <pre>{@code
+     * local chest = peripheral.wrap("minecraft:chest_0")
+     * local transfers = {}
+     * for slot = 1, 5 do
+     *   transfers[slot] = { to = "minecraft:chest_1", fromSlot = slot }
+     * end
+     *
+     * local results = chest.transferItems(transfers)
+     * print(("Performed %d of %d transfers"):format(#results, #transfers))
+     * }</pre>
+     * @cc.since 1.114.0
+     */
+    @LuaFunction(mainThread = true)
+    public final List<Object> transferItems(T inventory, IComputerAccess computer, Map<?, ?> operations) throws LuaException {
+        var transfers = parseTransfers(operations);
+        var monitor = computer.getMainThreadMonitor();
+
+        List<Object> results = new ArrayList<>(transfers.size());
+        for (var transfer : transfers) {
+            // Always try to perform the first transfer, but stop once this computer no longer has time for more.
+            if (results.isEmpty() ? !monitor.canWork() : !monitor.shouldWork()) break;
+
+            var start = System.nanoTime();
+            try {
+                var fromName = transfer.from();
+                var toName = transfer.to();
+                var from = fromName == null ? inventory : getInventory(computer, fromName, "Source");
+                var to = toName == null ? inventory : getInventory(computer, toName, "Target");
+                results.add(transfer(from, transfer.fromSlot(), to, transfer.toSlot(), transfer.limit()));
+            } catch (LuaException e) {
+                results.add(e.getMessage());
+            } finally {
+                monitor.trackWork(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        return results;
+    }
+
+    private static List<Transfer> parseTransfers(Map<?, ?> operations) throws LuaException {
+        List<Transfer> transfers = new ArrayList<>();
+        for (var i = 1; ; i++) {
+            var value = operations.get((double) i);
+            if (value == null) break;
+            if (!(value instanceof Map<?, ?> operation)) throw badTableItem(i, "table", getType(value));
+
+            var from = optStringField(operation, "from", null);
+            var to = optStringField(operation, "to", null);
+            var fromSlot = getIntField(operation, "fromSlot");
+            var limit = optIntField(operation, "limit", Integer.MAX_VALUE);
+            Optional<Integer> toSlot = operation.get("toSlot") == null
+                ? Optional.empty() : Optional.of(getIntField(operation, "toSlot"));
+            transfers.add(new Transfer(from, to, fromSlot, limit, toSlot));
+        }
+        return transfers;
+    }
+
+    private T getInventory(IComputerAccess computer, String name, String kind) throws LuaException {
+        var location = computer.getAvailablePeripheral(name);
+        if (location == null) throw new LuaException(kind + " '" + name + "' does not exist");
+
+        var inventory = extractInventory(location);
+        if (inventory == null) throw new LuaException(kind + " '" + name + "' is not an inventory");
+        return inventory;
+    }
+
+    /**
+     * Validate and perform a single transfer.
+     *
+     * @param from     The inventory to move from.
+     * @param fromSlot The slot to move from, starting at 1.
+     * @param to       The inventory to move to.
+     * @param toSlot   The slot to move to, starting at 1. If not given, the item will be inserted into any slot.
+     * @param limit    The max number to move.
+     * @return The number of items moved.
+     * @throws LuaException If either slot is out of range.
+     */
+    private int transfer(T from, int fromSlot, T to, Optional<Integer> toSlot, int limit) throws LuaException {
+        assertBetween(fromSlot, 1, getSize(from), "From slot out of range (%s)");
+        if (toSlot.isPresent()) assertBetween(toSlot.get(), 1, getSize(to), "To slot out of range (%s)");
+
+        if (limit <= 0) return 0;
+
+        invalidateSnapshot(from);
+        invalidateSnapshot(to);
+        return moveItem(from, fromSlot - 1, to, toSlot.orElse(0) - 1, limit);
+    }
+
+    private record Transfer(@Nullable String from, @Nullable String to, int fromSlot, int limit, Optional<Integer> toSlot) {
+    }
+
+    /**
+     * Get the number of slots in an inventory. This is only called on the main thread.
+     *
+     * @param inventory The inventory.
+     * @return The number of slots in this inventory.
+     */
+    protected abstract int getSize(T inventory);
+
+    /**
+     * Get the item in a slot. This is only called on the main thread.
+     *
+     * @param inventory The inventory.
+     * @param slot      The slot, between 0 and {@link #getSize(Object)}.
+     * @return The item in this slot. This must not be modified.
+     */
+    protected abstract ItemStack getStack(T inventory, int slot);
+
+    /**
+     * Get the maximum number of items in a slot. This is only called on the main thread.
+     *
+     * @param inventory The inventory.
+     * @param slot      The slot, between 0 and {@link #getSize(Object)}.
+     * @return The maximum number of items in this slot.
+     */
+    protected abstract long getSlotLimit(T inventory, int slot);
+
+    /**
+     * Find the inventory provided by a peripheral. This is only called on the main thread.
+     *
+     * @param peripheral The peripheral to extract an inventory from.
+     * @return The peripheral's inventory, or {@code null} if it is not an inventory.
+     */
+    protected abstract @Nullable T extractInventory(IPeripheral peripheral);
+
+    /**
+     * Move an item from one inventory to another. This is only called on the main thread.
+     *
+     * @param from     The inventory to move from.
+     * @param fromSlot The slot to move from, between 0 and {@link #getSize(Object)}.
+     * @param to       The inventory to move to.
+     * @param toSlot   The slot to move to. Use any number < 0 to represent any slot.
+     * @param limit    The max number to move. {@link Integer#MAX_VALUE} for no limit.
+     * @return The number of items moved.
+     */
+    protected abstract int moveItem(T from, int fromSlot, T to, int toSlot, int limit);
+
+    /**
+     * Mark an inventory as having been modified by a computer, discarding any {@linkplain InventorySnapshots snapshot}
+     * of it. This should be called on the main thread.
+     *
+     * @param inventory The inventory which was modified.
+     */
+    protected final void invalidateSnapshot(T inventory) {
+        snapshots.invalidate(inventory);
+    }
 }
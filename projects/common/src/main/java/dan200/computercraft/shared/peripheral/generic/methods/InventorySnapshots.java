@@ -0,0 +1,273 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.peripheral.generic.methods;
+
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import dan200.computercraft.api.peripheral.WorkMonitor;
+import dan200.computercraft.shared.config.Config;
+import net.minecraft.world.item.ItemStack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only snapshots of inventories, allowing {@linkplain AbstractInventoryMethods inventory methods} to be run on the
+ * computer thread rather than the main thread.
+ * <p>
+ * When {@linkplain Config#inventorySnapshots enabled}, any inventory which is read by a computer is tracked. At the end
+ * of every server tick, we capture a snapshot of each tracked inventory, which read-only methods (such as
+ * {@link AbstractInventoryMethods#list}) can then use without waiting for the main thread. Inventories which have not
+ * been read for {@link #EXPIRY_TICKS} ticks are no longer tracked. Inventories are only weakly referenced, so
+ * tracking an inventory does not keep it (or its block entity) loaded.
+ * <p>
+ * Capturing a snapshot is charged to the {@linkplain IComputerAccess#getMainThreadMonitor() main thread budget} of the
+ * computer which most recently read the inventory. If that computer is out of time, we skip the capture and discard
+ * the old snapshot, so the computer falls back to (equally budgeted) main thread tasks.
+ * <p>
+ * Snapshots are copy-on-write: if a slot has not changed since the previous snapshot, we reuse the existing copy of
+ * its item. This means capturing a snapshot of an unchanged inventory does not copy any items.
+ * <p>
+ * As snapshots are taken at the end of the tick, they may be up to one tick out-of-date. Methods which modify an
+ * inventory should {@linkplain #invalidate(Object) invalidate} its snapshot, so that later reads from the same
+ * computer see the effect of the modification.
+ *
+ * @param <T> The type of inventories.
+ */
+public final class InventorySnapshots<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(InventorySnapshots.class);
+
+    /**
+     * The number of ticks an inventory can go without being read before we stop capturing snapshots of it.
+     */
+    private static final int EXPIRY_TICKS = 5 * 20;
+
+    /**
+     * The maximum number of inventories we will track at once.
+     */
+    private static final int MAX_TRACKED = 4096;
+
+    private static final List<InventorySnapshots<?>> instances = new CopyOnWriteArrayList<>();
+    private static volatile int currentTick = 0;
+
+    private final Reader<T> reader;
+    private final Map<WeakKey<T>, Tracked> tracked = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+    public InventorySnapshots(Reader<T> reader) {
+        this.reader = reader;
+        instances.add(this);
+    }
+
+    /**
+     * Get the most recent snapshot of an inventory, and mark it as in-use.
+     *
+     * @param inventory The inventory to get a snapshot of.
+     * @param computer  The computer reading this inventory. Future snapshots are charged to this computer.
+     * @return The snapshot of this inventory, or {@code null} if snapshots are disabled or no snapshot is available.
+     */
+    public @Nullable Snapshot get(T inventory, IComputerAccess computer) {
+        if (!Config.inventorySnapshots) return null;
+
+        var key = new WeakKey<>(inventory, collected);
+        var entry = tracked.get(key);
+        if (entry == null) {
+            if (tracked.size() >= MAX_TRACKED) return null;
+            entry = tracked.computeIfAbsent(key, x -> new Tracked());
+        }
+
+        entry.lastAccess = currentTick;
+        entry.monitor = computer.getMainThreadMonitor();
+        return entry.snapshot;
+    }
+
+    /**
+     * Discard the current snapshot of an inventory. This should be called (on the main thread) whenever a computer
+     * modifies an inventory.
+     *
+     * @param inventory The inventory to invalidate.
+     */
+    public void invalidate(T inventory) {
+        var entry = tracked.get(new WeakKey<>(inventory, null));
+        if (entry != null) entry.snapshot = null;
+    }
+
+    private void capture(int tick) {
+        if (!Config.inventorySnapshots) {
+            tracked.clear();
+            return;
+        }
+
+        for (Reference<?> key; (key = collected.poll()) != null; ) tracked.remove(key);
+
+        for (var iterator = tracked.entrySet().iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            var inventory = entry.getKey().get();
+            var state = entry.getValue();
+            if (inventory == null || tick - state.lastAccess > EXPIRY_TICKS) {
+                iterator.remove();
+                continue;
+            }
+
+            var monitor = state.monitor;
+            if (monitor != null && !monitor.canWork()) {
+                state.snapshot = null;
+                continue;
+            }
+
+            var start = System.nanoTime();
+            try {
+                state.snapshot = Snapshot.capture(reader, inventory, state.snapshot);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to capture snapshot of inventory {}", inventory, e);
+                iterator.remove();
+            } finally {
+                if (monitor != null) monitor.trackWork(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Capture snapshots of all tracked inventories. This should be called at the end of every server tick.
+     */
+    public static void onTick() {
+        var tick = ++currentTick;
+        for (var instance : instances) instance.capture(tick);
+    }
+
+    /**
+     * Stop tracking all inventories.
+     */
+    public static void reset() {
+        for (var instance : instances) instance.tracked.clear();
+    }
+
+    /**
+     * Reads the contents of an inventory. This is only ever called on the main thread.
+     *
+     * @param <T> The type of inventories.
+     */
+    public interface Reader<T> {
+        int size(T inventory);
+
+        ItemStack getItem(T inventory, int slot);
+
+        long getItemLimit(T inventory, int slot);
+    }
+
+    /**
+     * An immutable snapshot of an inventory.
+     * <p>
+     * The items in this snapshot are private copies, and must never be modified.
+     */
+    public static final class Snapshot {
+        private final ItemStack[] items;
+        private final long[] limits;
+
+        private Snapshot(ItemStack[] items, long[] limits) {
+            this.items = items;
+            this.limits = limits;
+        }
+
+        public int size() {
+            return items.length;
+        }
+
+        /**
+         * Get the item in a slot.
+         *
+         * @param slot The slot, between 0 and {@link #size()}.
+         * @return The item in this slot. This must not be modified.
+         */
+        public ItemStack getItem(int slot) {
+            return items[slot];
+        }
+
+        public long getItemLimit(int slot) {
+            return limits[slot];
+        }
+
+        private static <T> Snapshot capture(Reader<T> reader, T inventory, @Nullable Snapshot previous) {
+            var size = reader.size(inventory);
+            if (previous == null || previous.items.length != size) {
+                var items = new ItemStack[size];
+                var limits = new long[size];
+                for (var slot = 0; slot < size; slot++) {
+                    items[slot] = reader.getItem(inventory, slot).copy();
+                    limits[slot] = reader.getItemLimit(inventory, slot);
+                }
+                return new Snapshot(items, limits);
+            }
+
+            // Copy any slots which have changed, only allocating new arrays if needed.
+            var items = previous.items;
+            var limits = previous.limits;
+            for (var slot = 0; slot < size; slot++) {
+                var item = reader.getItem(inventory, slot);
+                var limit = reader.getItemLimit(inventory, slot);
+                if (limit == limits[slot] && ItemStack.matches(item, items[slot])) continue;
+
+                if (items == previous.items) {
+                    items = items.clone();
+                    limits = limits.clone();
+                }
+
+                items[slot] = item.copy();
+                limits[slot] = limit;
+            }
+
+            return items == previous.items ? previous : new Snapshot(items, limits);
+        }
+    }
+
+    private static final class Tracked {
+        volatile int lastAccess;
+        volatile @Nullable Snapshot snapshot;
+
+        /**
+         * The main thread monitor of the computer which most recently read this inventory.
+         */
+        volatile @Nullable WorkMonitor monitor;
+    }
+
+    /**
+     * A weak reference to an inventory, used as the key of {@link #tracked}.
+     * <p>
+     * Unlike most weak maps, this compares inventories with {@link Object#equals(Object)} rather than by identity, as
+     * some platforms create a new (but equal) wrapper each time an inventory is looked up.
+     *
+     * @param <T> The type of inventories.
+     */
+    private static final class WeakKey<T> extends WeakReference<T> {
+        private final int hash;
+
+        WeakKey(T inventory, @Nullable ReferenceQueue<? super T> queue) {
+            super(inventory, queue);
+            hash = inventory.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof WeakKey<?> other) || hash != other.hash) return false;
+
+            var inventory = get();
+            return inventory != null && inventory.equals(other.get());
+        }
+    }
+}
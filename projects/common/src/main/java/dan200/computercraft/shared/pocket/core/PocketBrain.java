@@ -81,6 +81,7 @@ public void updateHolder(PocketHolder newHolder) {
         var oldPlayer = oldHolder instanceof PocketHolder.PlayerHolder p ? p.entity() : null;
         if (newHolder instanceof PocketHolder.PlayerHolder player && player.entity() != oldPlayer) {
             ServerNetworking.sendToPlayer(new PocketComputerDataMessage(computer, true), player.entity());
+            computer.onTerminalSent(computer.getTerminalState(), 1);
         }
     }
 
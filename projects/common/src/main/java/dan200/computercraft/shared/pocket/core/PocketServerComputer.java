@@ -88,6 +88,7 @@ protected void onTerminalChanged() {
         if (brain.holder() instanceof PocketHolder.PlayerHolder holder && holder.isValid(this)) {
             // Broadcast the terminal to the current player.
             ServerNetworking.sendToPlayer(new PocketComputerDataMessage(this, true), holder.entity());
+            onTerminalSent(getTerminalState(), 1);
         }
     }
 
@@ -100,6 +100,7 @@ public ComputerFamily getFamily() {
     }
 
     public void setupComputer(ServerComputer computer) {
+        computer.setOwningPlayer(owningPlayer);
         updatePeripherals(computer);
     }
 
@@ -473,6 +474,9 @@ public int getColour() {
 
     public void setOwningPlayer(GameProfile profile) {
         owningPlayer = profile;
+
+        var computer = owner.getServerComputer();
+        if (computer != null) computer.setOwningPlayer(profile);
     }
 
     @Nullable
@@ -609,6 +613,18 @@ private void updateCommands() {
         var computer = owner.getServerComputer();
         if (computer != null && !computer.getMainThreadMonitor().canWork()) return;
 
+        // Commands which don't play an animation (such as turtle.inspect()) finish immediately, so there's no need to
+        // wait until the next tick to run the next one. Keep running commands until one plays an animation or the
+        // computer runs out of time. Turtles without a computer have no time budget, so only run one command a tick.
+        do {
+            runCommand(computer);
+        } while (
+            computer != null && animation == TurtleAnimation.NONE && !commandQueue.isEmpty() && !owner.isRemoved()
+                && computer.getMainThreadMonitor().shouldWork()
+        );
+    }
+
+    private void runCommand(@Nullable ServerComputer computer) {
         // Pull a new command
         var nextCommand = commandQueue.poll();
         if (nextCommand == null) return;
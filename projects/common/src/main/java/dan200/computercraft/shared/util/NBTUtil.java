@@ -5,6 +5,8 @@
 package dan200.computercraft.shared.util;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.BaseEncoding;
 import dan200.computercraft.core.util.Nullability;
 import dan200.computercraft.shared.platform.PlatformHelper;
@@ -20,6 +22,7 @@
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public final class NBTUtil {
     private static final Logger LOG = LoggerFactory.getLogger(NBTUtil.class);
@@ -28,6 +31,21 @@ public final class NBTUtil {
 
     private static final CompoundTag EMPTY_TAG;
 
+    /**
+     * A cache of tags to their {@linkplain #getNBTHash(CompoundTag) hash}.
+     * <p>
+     * Inventory methods hash the tag of every item they return, and storage systems tend to see the same few items
+     * over and over again. Comparing tags structurally is much cheaper than serialising them and computing their MD5,
+     * so we cache the hashes of recently seen tags.
+     * <p>
+     * Tags are mutable, so the keys of this cache are private copies of the original tag, and so are never modified.
+     */
+    private static final Cache<CompoundTag, String> HASH_CACHE = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumSize(1024)
+        .expireAfterAccess(60, TimeUnit.SECONDS)
+        .build();
+
     static {
         // If in a development environment, create a magic immutable compound tag.
         // We avoid doing this in prod, as I fear it might mess up the JIT inlining things.
@@ -183,10 +201,29 @@ public static CompoundTag getCompoundOrEmpty(CompoundTag tag, String key) {
         return objects;
     }
 
+    /**
+     * Compute a stable hash of a {@link CompoundTag}. This is used to distinguish items with the same id but different
+     * NBT.
+     * <p>
+     * Hashes are cached, so repeatedly hashing equivalent tags is relatively cheap.
+     *
+     * @param tag The tag to hash.
+     * @return The hex-encoded MD5 hash of this tag, or {@code null} if the tag is {@code null} or cannot be hashed.
+     */
     @Nullable
     public static String getNBTHash(@Nullable CompoundTag tag) {
         if (tag == null) return null;
 
+        var cached = HASH_CACHE.getIfPresent(tag);
+        if (cached != null) return cached;
+
+        var hash = computeNBTHash(tag);
+        if (hash != null) HASH_CACHE.put(tag.copy(), hash);
+        return hash;
+    }
+
+    @VisibleForTesting
+    static @Nullable String computeNBTHash(CompoundTag tag) {
         try {
             var digest = MessageDigest.getInstance("MD5");
             DataOutput output = new DataOutputStream(new DigestOutputStream(digest));
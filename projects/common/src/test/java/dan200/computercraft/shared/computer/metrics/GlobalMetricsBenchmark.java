@@ -0,0 +1,92 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics;
+
+import dan200.computercraft.core.metrics.Metric;
+import dan200.computercraft.core.metrics.Metrics;
+import dan200.computercraft.core.metrics.MetricsObserver;
+import dan200.computercraft.shared.computer.core.ServerComputer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost of dispatching metrics from several computer threads at once.
+ * <p>
+ * {@link #dispatch(Computer)} uses {@link GlobalMetrics}, while {@link #locked(Computer)} mirrors the previous
+ * implementation, which held a global lock while notifying observers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Threads(4)
+public class GlobalMetricsBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(GlobalMetricsBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    public void dispatch(Computer computer) {
+        computer.observer.observe(Metrics.COMPUTER_TASKS, 1000);
+    }
+
+    @Benchmark
+    public void locked(Computer computer) {
+        var state = computer.metrics;
+        synchronized (state.lock) {
+            for (var observer : state.observers) observer.observe(null, Metrics.COMPUTER_TASKS, 1000);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Global {
+        final GlobalMetrics metrics = new GlobalMetrics();
+        final Object lock = new Object();
+        final List<ComputerMetricsObserver> observers = List.of(new CountingObserver());
+
+        @Setup
+        public void setup() {
+            for (var observer : observers) metrics.addObserver(observer);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Computer {
+        Global metrics;
+        MetricsObserver observer;
+
+        @Setup
+        public void setup(Global metrics) {
+            this.metrics = metrics;
+            observer = metrics.metrics.createMetricObserver(null);
+        }
+    }
+
+    private static final class CountingObserver implements ComputerMetricsObserver {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        @Override
+        public void observe(ServerComputer computer, Metric.Counter counter) {
+            count.increment();
+        }
+
+        @Override
+        public void observe(ServerComputer computer, Metric.Event event, long value) {
+            count.increment();
+            total.add(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics;
+
+import dan200.computercraft.core.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class OpenMetricsObserverTest {
+    private static String write(OpenMetricsObserver observer) throws IOException {
+        var out = new StringBuilder();
+        observer.write(out);
+        return out.toString();
+    }
+
+    @Test
+    public void testCounters() throws IOException {
+        var observer = new OpenMetricsObserver(16);
+        observer.observe(1, Metrics.HTTP_REQUESTS);
+        observer.observe(1, Metrics.HTTP_REQUESTS);
+        observer.observe(2, Metrics.HTTP_REQUESTS);
+
+        var output = write(observer);
+        assertThat(output, containsString("# TYPE computercraft_http_requests counter\ncomputercraft_http_requests_total 3\n"));
+        assertThat(output, containsString("computercraft_http_requests_by_computer_total{computer=\"1\"} 2\n"));
+        assertThat(output, containsString("computercraft_http_requests_by_computer_total{computer=\"2\"} 1\n"));
+        assertThat(output, endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testHistograms() throws IOException {
+        var observer = new OpenMetricsObserver(16);
+        observer.observe(1, Metrics.COMPUTER_TASKS, TimeUnit.MILLISECONDS.toNanos(2));
+        observer.observe(1, Metrics.COMPUTER_TASKS, TimeUnit.SECONDS.toNanos(10));
+
+        var output = write(observer);
+        assertThat(output, containsString("# TYPE computercraft_computer_tasks_seconds histogram\n# UNIT computercraft_computer_tasks_seconds seconds\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_seconds_bucket{le=\"0.001\"} 0\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_seconds_bucket{le=\"0.005\"} 1\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_seconds_bucket{le=\"5.0\"} 1\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_seconds_bucket{le=\"+Inf\"} 2\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_seconds_count 2\n"));
+        assertThat(output, containsString("computercraft_computer_tasks_by_computer_seconds_count{computer=\"1\"} 2\n"));
+    }
+
+    @Test
+    public void testLimitsComputers() throws IOException {
+        var observer = new OpenMetricsObserver(1);
+        observer.observe(1, Metrics.TURTLE_OPS);
+        observer.observe(2, Metrics.TURTLE_OPS);
+        observer.observe(3, Metrics.TURTLE_OPS);
+
+        var output = write(observer);
+        assertThat(output, containsString("computercraft_turtle_ops_by_computer_total{computer=\"1\"} 1\n"));
+        assertThat(output, containsString("computercraft_turtle_ops_by_computer_total{computer=\"other\"} 2\n"));
+        assertThat(output, not(containsString("{computer=\"2\"}")));
+    }
+
+    @Test
+    public void testGauges() throws IOException {
+        var observer = new OpenMetricsObserver(16);
+        observer.addGauge("workers", "", () -> 3);
+        observer.addGauge("period", "ns", () -> TimeUnit.MILLISECONDS.toNanos(50));
+
+        var output = write(observer);
+        assertThat(output, containsString("# TYPE computercraft_workers gauge\ncomputercraft_workers 3\n"));
+        assertThat(output, containsString("# TYPE computercraft_period_seconds gauge\n# UNIT computercraft_period_seconds seconds\ncomputercraft_period_seconds 0.05\n"));
+        assertThat(output, endsWith("# EOF\n"));
+    }
+}
@@ -0,0 +1,86 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.computer.metrics.basic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HistogramTest {
+    @Test
+    public void testBucketsAreContiguous() {
+        assertEquals(0, Histogram.bucketIndex(0));
+        assertEquals(Long.MAX_VALUE, Histogram.bucketUpperBound(Histogram.MAX_BUCKETS - 1));
+
+        for (var i = 0; i < Histogram.MAX_BUCKETS; i++) {
+            var upper = Histogram.bucketUpperBound(i);
+            assertEquals(i, Histogram.bucketIndex(upper), () -> "Upper bound of bucket " + i);
+            if (upper != Long.MAX_VALUE) assertEquals(i + 1, Histogram.bucketIndex(upper + 1), () -> "Start of bucket " + (i + 1));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        var histogram = new Histogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void testPercentiles() {
+        var histogram = new Histogram();
+        for (var i = 1; i <= 1000; i++) histogram.record(i * 1000L);
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertWithin(500_000, histogram.percentile(0.5));
+        assertWithin(950_000, histogram.percentile(0.95));
+        assertWithin(990_000, histogram.percentile(0.99));
+        assertEquals(1_000_000, histogram.percentile(1));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        var histogram = new Histogram();
+        for (var i = 0; i < 4; i++) histogram.record(i);
+        assertEquals(1, histogram.percentile(0.5));
+        assertEquals(3, histogram.percentile(0.99));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        var histogram = new Histogram();
+        histogram.record(10);
+
+        var copy = new Histogram(histogram);
+        histogram.record(1_000_000);
+
+        assertEquals(1, copy.count());
+        assertEquals(10, copy.percentile(1));
+    }
+
+    @Test
+    public void testMerge() {
+        var small = new Histogram();
+        for (var i = 0; i < 50; i++) small.record(5);
+
+        var large = new Histogram();
+        for (var i = 0; i < 50; i++) large.record(1_000_000);
+
+        small.add(large);
+        assertEquals(100, small.count());
+        assertEquals(1_000_000, small.max());
+        assertEquals(5, small.percentile(0.5));
+        assertEquals(1_000_000, small.percentile(0.51));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(
+            actual >= expected && actual <= expected + expected / Histogram.SUB_BUCKETS,
+            () -> "Expected " + actual + " to be within " + (100 / Histogram.SUB_BUCKETS) + "% of " + expected
+        );
+    }
+}
@@ -29,6 +29,22 @@ public void testRoundTrip() {
         assertEquals(0, buffer.readableBytes());
     }
 
+    @RepeatedTest(5)
+    public void testShared() {
+        var terminal = randomTerminal();
+        var state = new TerminalState(terminal);
+
+        // Reading a state should not consume it, so it can be shared between multiple messages.
+        checkEqual(terminal, state.create());
+        checkEqual(terminal, state.create());
+
+        for (var i = 0; i < 2; i++) {
+            var buffer = new FriendlyByteBuf(Unpooled.directBuffer());
+            state.write(buffer);
+            checkEqual(terminal, read(buffer));
+        }
+    }
+
     private static NetworkedTerminal randomTerminal() {
         var random = new Random();
         var terminal = new NetworkedTerminal(10, 5, true);
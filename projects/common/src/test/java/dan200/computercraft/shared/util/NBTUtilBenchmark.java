@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.shared.util;
+
+import dan200.computercraft.test.shared.WithMinecraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of {@link NBTUtil#getNBTHash(CompoundTag)} with and without the hash cache, using a tag
+ * similar to that of a full shulker box.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class NBTUtilBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(NBTUtilBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    public String uncached(ShulkerTag state) {
+        return NBTUtil.computeNBTHash(state.tag);
+    }
+
+    @Benchmark
+    public String cached(ShulkerTag state) {
+        return NBTUtil.getNBTHash(state.tag);
+    }
+
+    @State(Scope.Thread)
+    public static class ShulkerTag {
+        CompoundTag tag;
+
+        @Setup
+        public void setup() {
+            WithMinecraft.Setup.bootstrap();
+
+            var items = new ListTag();
+            for (var slot = 0; slot < 27; slot++) {
+                var enchantment = new CompoundTag();
+                enchantment.putString("id", "minecraft:sharpness");
+                enchantment.putShort("lvl", (short) 5);
+
+                var enchantments = new ListTag();
+                enchantments.add(enchantment);
+
+                var itemTag = new CompoundTag();
+                itemTag.putInt("Damage", slot);
+                itemTag.put("Enchantments", enchantments);
+
+                var item = new CompoundTag();
+                item.putByte("Slot", (byte) slot);
+                item.putString("id", "minecraft:diamond_sword");
+                item.putByte("Count", (byte) 1);
+                item.put("tag", itemTag);
+                items.add(item);
+            }
+
+            var blockEntityTag = new CompoundTag();
+            blockEntityTag.put("Items", items);
+
+            tag = new CompoundTag();
+            tag.put("BlockEntityTag", blockEntityTag);
+        }
+    }
+}
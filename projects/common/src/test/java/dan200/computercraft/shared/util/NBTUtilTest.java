@@ -73,6 +73,25 @@ public void testHashEquivalentForBasicValues() {
         assertEquals(getNBTHash(nbt), getNBTHashDefault(nbt));
     }
 
+    @Test
+    public void testCachedHashMatchesComputed() {
+        var nbt = makeCompoundTag(false);
+        assertEquals(NBTUtil.computeNBTHash(nbt), getNBTHash(nbt));
+        assertEquals(NBTUtil.computeNBTHash(nbt), getNBTHash(nbt), "Cached hash should match computed hash");
+    }
+
+    @Test
+    public void testHashChangesWhenTagMutated() {
+        var nbt = makeCompoundTag(false);
+        var hash1 = getNBTHash(nbt);
+
+        nbt.putString("Slot", "Slot 2");
+        var hash2 = getNBTHash(nbt);
+
+        assertNotEquals(hash1, hash2, "Hash should change after tag is modified");
+        assertEquals(NBTUtil.computeNBTHash(nbt), hash2);
+    }
+
     private static CompoundTag makeCompoundTag(boolean grow) {
         var nbt = new CompoundTag();
 
@@ -85,4 +85,28 @@ fun Double_chest_size(helper: GameTestHelper) = helper.sequence {
                 .assertArrayEquals(32, message = "Moved 32 items into a double chest")
         }
     }
+
+    /**
+     * Checks that `transferItems` performs each transfer in order, reporting errors for individual transfers.
+     */
+    @GameTest(template = "inventory_test.double_chest_size")
+    fun Transfer_items(helper: GameTestHelper) = helper.sequence {
+        thenOnComputer {
+            val transfers = mapOf(
+                1.0 to mapOf("to" to "right", "fromSlot" to 1.0, "limit" to 8.0),
+                2.0 to mapOf("to" to "right", "fromSlot" to 1.0),
+                3.0 to mapOf("to" to "right", "fromSlot" to 99.0),
+                4.0 to mapOf("to" to "missing", "fromSlot" to 1.0),
+                5.0 to mapOf("fromSlot" to 1.0, "toSlot" to 0.0),
+            )
+            getApi<PeripheralAPI>().call(context, ObjectArguments("left", "transferItems", transfers)).await()
+                .assertArrayEquals(
+                    listOf(
+                        8, 24, "From slot out of range (between 1 and 54)", "Target 'missing' does not exist",
+                        "To slot out of range (between 1 and 54)",
+                    ),
+                    message = "Performs all transfers",
+                )
+        }
+    }
 }
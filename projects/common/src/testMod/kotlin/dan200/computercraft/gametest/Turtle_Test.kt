@@ -8,6 +8,8 @@
 import dan200.computercraft.api.detail.VanillaDetailRegistries
 import dan200.computercraft.api.lua.ObjectArguments
 import dan200.computercraft.api.turtle.ITurtleUpgrade
+import dan200.computercraft.api.turtle.TurtleAnimation
+import dan200.computercraft.api.turtle.TurtleCommandResult
 import dan200.computercraft.api.turtle.TurtleSide
 import dan200.computercraft.api.upgrades.UpgradeData
 import dan200.computercraft.core.apis.PeripheralAPI
@@ -557,6 +559,41 @@ fun Move_obstruct(helper: GameTestHelper) = helper.sequence {
         }
     }
 
+    /**
+     * Test commands which don't play an animation run in the same tick, and commands which do play one wait until it
+     * has finished.
+     */
+    @GameTest(template = "turtle_test.move_obstruct")
+    fun Commands_run_in_same_tick(helper: GameTestHelper) = helper.sequence {
+        val ran = CopyOnWriteArrayList<Pair<Int, Long>>()
+        val turtlePos = BlockPos(2, 2, 2)
+        // Turtles without a computer only run one command a tick, so wait for the computer to be created.
+        thenWaitUntil {
+            val turtle = helper.getBlockEntity(turtlePos, ModRegistry.BlockEntities.TURTLE_NORMAL.get())
+            if (turtle.serverComputer == null) helper.fail("Turtle has no computer", turtlePos)
+        }
+        thenExecute {
+            val turtle = helper.getBlockEntity(turtlePos, ModRegistry.BlockEntities.TURTLE_NORMAL.get()).access
+            for (i in 0 until 5) {
+                turtle.executeCommand {
+                    ran.add(i to helper.level.gameTime)
+                    if (i == 2) it.playAnimation(TurtleAnimation.WAIT)
+                    TurtleCommandResult.success()
+                }
+            }
+        }
+        thenWaitUntil { if (ran.size < 5) helper.fail("Only ran ${ran.size} commands") }
+        thenExecute {
+            assertEquals(listOf(0, 1, 2, 3, 4), ran.map { it.first }, "Commands run in order")
+
+            val ticks = ran.map { it.second }
+            assertEquals(ticks[0], ticks[1], "Commands without animations run in the same tick")
+            assertEquals(ticks[0], ticks[2], "Commands without animations run in the same tick")
+            assertThat("Animations delay the next command", ticks[3], greaterThan(ticks[2]))
+            assertEquals(ticks[3], ticks[4], "Commands without animations run in the same tick")
+        }
+    }
+
     /**
      * Test a turtle can attack an entity and capture its drops.
      */
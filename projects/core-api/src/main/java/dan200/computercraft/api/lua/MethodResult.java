@@ -48,8 +48,8 @@ public static MethodResult of() {
      * Return a single value immediately.
      * <p>
      * Integers, doubles, floats, strings, booleans, {@link Map}, {@link Collection}s, arrays and {@code null} will be
-     * converted to their corresponding Lua type. {@code byte[]} and {@link ByteBuffer} will be treated as binary
-     * strings. {@link ILuaFunction} will be treated as a function.
+     * converted to their corresponding Lua type. {@code byte[]}, {@link ByteBuffer} and {@link OwnedBytes} will be
+     * treated as binary strings. {@link ILuaFunction} will be treated as a function.
      * <p>
      * In order to provide a custom object with methods, one may return a {@link IDynamicLuaObject}, or an arbitrary
      * class with {@link LuaFunction} annotations. Anything else will be converted to {@code nil}.
@@ -0,0 +1,112 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.api.lua;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A byte array which may be converted to a Lua string without being copied.
+ * <p>
+ * When a {@code byte[]} or {@link ByteBuffer} is returned to Lua, its contents are copied, as the original array may
+ * be modified later. Returning {@link OwnedBytes} instead transfers ownership of the array to Lua, allowing it to be
+ * used as the string's backing storage directly.
+ * <p>
+ * As Lua strings are immutable, the wrapped array <strong>MUST NOT</strong> be modified once it has been wrapped. This
+ * is intended for arrays which have just been created to hold a result (such as the contents of a file), and are not
+ * referenced anywhere else.
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * @LuaFunction
+ * public final OwnedBytes readAll() {
+ *   return OwnedBytes.of(Files.readAllBytes(path));
+ * }
+ * }</pre>
+ *
+ * @see MethodResult#of(Object)
+ */
+public final class OwnedBytes {
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private OwnedBytes(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Take ownership of a byte array.
+     *
+     * @param bytes The byte array. This must not be modified after calling this method.
+     * @return The wrapped byte array.
+     */
+    public static OwnedBytes of(byte[] bytes) {
+        return new OwnedBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Take ownership of a region of a byte array.
+     *
+     * @param bytes  The byte array. This must not be modified after calling this method.
+     * @param offset The start of the region.
+     * @param length The length of the region.
+     * @return The wrapped byte array.
+     * @throws IndexOutOfBoundsException If the region is out of bounds of the array.
+     */
+    public static OwnedBytes of(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return new OwnedBytes(bytes, offset, length);
+    }
+
+    /**
+     * Get the underlying byte array. Only the region from {@link #offset()} to {@link #offset()} + {@link #length()}
+     * is part of this value.
+     *
+     * @return The backing byte array. This must not be modified.
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * Get the offset of this value within the {@linkplain #array() backing array}.
+     *
+     * @return The offset of this value.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Get the number of bytes in this value.
+     *
+     * @return The length of this value.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Get a read-only view of this value.
+     *
+     * @return A read-only {@link ByteBuffer} containing this value.
+     */
+    public ByteBuffer asBuffer() {
+        return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Copy this value into a new byte array.
+     *
+     * @return A copy of this value.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+}
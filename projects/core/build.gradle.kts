@@ -27,6 +27,7 @@
     implementation(libs.netty.socks)
     implementation(libs.netty.proxy)
     implementation(libs.slf4j)
+    annotationProcessor(project(":processor"))
 
     testFixturesImplementation(libs.slf4j)
     testFixturesApi(platform(libs.kotlin.platform))
@@ -35,6 +36,9 @@
 
     testImplementation(libs.asm)
     testImplementation(libs.bundles.test)
+    testImplementation(libs.jmh)
+    testAnnotationProcessor(libs.jmh.processor)
+    testAnnotationProcessor(project(":processor"))
     testRuntimeOnly(libs.bundles.testRuntime)
     testRuntimeOnly(libs.slf4j.simple)
 }
@@ -24,6 +24,9 @@ private CoreConfig() {
     public static int maximumFilesOpen = 128;
     public static String defaultComputerSettings = "";
 
+    public static int luaMemorySoftLimit = 0;
+    public static int luaMemoryHardLimit = 0;
+
     public static boolean httpEnabled = true;
     public static boolean httpWebsocketEnabled = true;
     public static List<AddressRule> httpRules = List.of(
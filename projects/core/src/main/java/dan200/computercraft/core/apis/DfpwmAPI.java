@@ -0,0 +1,37 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.ILuaAPI;
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.core.lua.LuaDfpwm;
+
+/**
+ * A native implementation of the DFPWM codec. This is used by {@code cc.audio.dfpwm}, and should not be used directly.
+ *
+ * @cc.module cc.internal.dfpwm
+ * @hidden
+ */
+public class DfpwmAPI implements ILuaAPI {
+    @Override
+    public String[] getNames() {
+        return new String[0];
+    }
+
+    @Override
+    public String getModuleName() {
+        return "cc.internal.dfpwm";
+    }
+
+    @LuaFunction("make_encoder")
+    public final LuaDfpwm.Encoder makeEncoder() {
+        return new LuaDfpwm.Encoder();
+    }
+
+    @LuaFunction("make_decoder")
+    public final LuaDfpwm.Decoder makeDecoder() {
+        return new LuaDfpwm.Decoder();
+    }
+}
@@ -0,0 +1,218 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.core.terminal.Terminal;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * An off-screen terminal, used by the {@code window} API to store the contents of a window.
+ * <p>
+ * In addition to the standard {@link TermMethods}, this tracks which parts of the terminal have changed since it was
+ * last drawn (see {@link #getDirty()}), allowing the window to only redraw those on its parent.
+ *
+ * @see FramebufferAPI
+ */
+public final class Framebuffer extends TermMethods {
+    /**
+     * The maximum number of cells in a framebuffer. Larger windows store their contents in Lua instead.
+     */
+    private static final int MAX_CELLS = 1 << 18;
+
+    private final DirtyTerminal terminal;
+
+    private Framebuffer(int width, int height) {
+        terminal = new DirtyTerminal(width, height);
+    }
+
+    /**
+     * Create a new framebuffer.
+     *
+     * @param width  The width of the framebuffer.
+     * @param height The height of the framebuffer.
+     * @return The new framebuffer, or {@code null} if the dimensions are invalid or too large.
+     */
+    static @Nullable Framebuffer create(double width, double height) {
+        return isValidSize(width, height) ? new Framebuffer((int) width, (int) height) : null;
+    }
+
+    private static boolean isValidSize(double width, double height) {
+        return width >= 0 && height >= 0 && Math.floor(width) * Math.floor(height) <= MAX_CELLS;
+    }
+
+    @Override
+    public Terminal getTerminal() {
+        return terminal;
+    }
+
+    /**
+     * Get the contents of a line in this framebuffer.
+     *
+     * @param y The line to get.
+     * @return The line's text, text colours and background colours.
+     * @throws LuaException If the line is out of range.
+     * @cc.treturn string The textual content of this line.
+     * @cc.treturn string The text colours of this line.
+     * @cc.treturn string The background colours of this line.
+     */
+    @LuaFunction
+    public final Object[] getLine(int y) throws LuaException {
+        var terminal = this.terminal;
+        synchronized (terminal) {
+            if (y < 1 || y > terminal.getHeight()) throw new LuaException("Line is out of range.");
+            return new Object[]{
+                terminal.getLine(y - 1).toString(),
+                terminal.getTextColourLine(y - 1).toString(),
+                terminal.getBackgroundColourLine(y - 1).toString(),
+            };
+        }
+    }
+
+    /**
+     * Resize this framebuffer, preserving its existing contents.
+     *
+     * @param width  The new width.
+     * @param height The new height.
+     * @return Whether the framebuffer was resized. This is false if the new size is too large.
+     */
+    @LuaFunction
+    public final boolean resize(double width, double height) {
+        if (!isValidSize(width, height)) return false;
+        terminal.resize((int) width, (int) height);
+        return true;
+    }
+
+    /**
+     * Get the area of the framebuffer which has changed since this function was last called.
+     * <p>
+     * This is a rectangle covering every change. Writing to the framebuffer only marks the written span of that line
+     * as changed, while clearing or scrolling marks whole lines.
+     *
+     * @return The changed lines and columns, or {@code null} if nothing has changed.
+     * @cc.treturn [1] number The first line which has changed.
+     * @cc.treturn number The last line which has changed.
+     * @cc.treturn number The first column which has changed.
+     * @cc.treturn number The last column which has changed.
+     * @cc.treturn [2] nil If nothing has changed.
+     */
+    @LuaFunction
+    public final @Nullable Object[] getDirty() {
+        return terminal.takeDirty();
+    }
+
+    /**
+     * A {@link Terminal} which tracks the area that has been modified.
+     */
+    private static final class DirtyTerminal extends Terminal {
+        private int dirtyFirst = Integer.MAX_VALUE;
+        private int dirtyLast = -1;
+        private int dirtyStartX = Integer.MAX_VALUE;
+        private int dirtyEndX = -1;
+
+        DirtyTerminal(int width, int height) {
+            super(width, height, true);
+        }
+
+        private void markDirty(int first, int last, int startX, int endX) {
+            if (first < dirtyFirst) dirtyFirst = first;
+            if (last > dirtyLast) dirtyLast = last;
+            if (startX < dirtyStartX) dirtyStartX = startX;
+            if (endX > dirtyEndX) dirtyEndX = endX;
+        }
+
+        private void markDirty(int first, int last) {
+            markDirty(first, last, 0, width - 1);
+        }
+
+        private void markCursorLine() {
+            if (cursorY >= 0 && cursorY < height) markDirty(cursorY, cursorY);
+        }
+
+        /**
+         * Mark the text written at the cursor as dirty.
+         *
+         * @param length The length of the text written.
+         */
+        private void markCursorSpan(int length) {
+            if (cursorY < 0 || cursorY >= height) return;
+
+            var startX = Math.max(cursorX, 0);
+            var endX = (int) Math.min((long) cursorX + length, width) - 1;
+            if (startX <= endX) markDirty(cursorY, cursorY, startX, endX);
+        }
+
+        private void markAll() {
+            if (height > 0) markDirty(0, height - 1);
+        }
+
+        private void clearDirty() {
+            dirtyFirst = dirtyStartX = Integer.MAX_VALUE;
+            dirtyLast = dirtyEndX = -1;
+        }
+
+        synchronized @Nullable Object[] takeDirty() {
+            if (dirtyLast < dirtyFirst || dirtyEndX < dirtyStartX) return null;
+
+            var result = new Object[]{ dirtyFirst + 1, dirtyLast + 1, dirtyStartX + 1, dirtyEndX + 1 };
+            clearDirty();
+            return result;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            markAll();
+        }
+
+        @Override
+        public synchronized void resize(int width, int height) {
+            super.resize(width, height);
+            // Lines past the end of the new terminal are no longer valid, so just mark everything as dirty.
+            clearDirty();
+            markAll();
+        }
+
+        @Override
+        public synchronized void blit(ByteBuffer text, ByteBuffer textColour, ByteBuffer backgroundColour) {
+            var length = text.remaining();
+            super.blit(text, textColour, backgroundColour);
+            markCursorSpan(length);
+        }
+
+        @Override
+        public synchronized void write(String text) {
+            super.write(text);
+            markCursorSpan(text.length());
+        }
+
+        @Override
+        public synchronized void scroll(int yDiff) {
+            super.scroll(yDiff);
+            if (yDiff != 0) markAll();
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+            markAll();
+        }
+
+        @Override
+        public synchronized void clearLine() {
+            super.clearLine();
+            markCursorLine();
+        }
+
+        @Override
+        public synchronized void setLine(int y, String text, String textColour, String backgroundColour) {
+            super.setLine(y, text, textColour, backgroundColour);
+            markDirty(y, y);
+        }
+    }
+}
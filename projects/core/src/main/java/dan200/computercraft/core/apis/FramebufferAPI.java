@@ -0,0 +1,40 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.ILuaAPI;
+import dan200.computercraft.api.lua.LuaFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Provides native {@linkplain Framebuffer framebuffers} for the {@code window} API. This should not be used directly.
+ *
+ * @cc.module cc.internal.framebuffer
+ * @hidden
+ */
+public class FramebufferAPI implements ILuaAPI {
+    @Override
+    public String[] getNames() {
+        return new String[0];
+    }
+
+    @Override
+    public String getModuleName() {
+        return "cc.internal.framebuffer";
+    }
+
+    /**
+     * Create a new framebuffer.
+     *
+     * @param width  The width of the framebuffer.
+     * @param height The height of the framebuffer.
+     * @return The new framebuffer, or {@code nil} if the size is invalid or too large.
+     */
+    @LuaFunction
+    public final @Nullable Framebuffer create(double width, double height) {
+        return Framebuffer.create(width, height);
+    }
+}
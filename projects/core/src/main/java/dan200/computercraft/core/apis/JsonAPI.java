@@ -0,0 +1,45 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.IArguments;
+import dan200.computercraft.api.lua.ILuaAPI;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.core.lua.LuaJson;
+
+import javax.annotation.Nullable;
+
+/**
+ * A native implementation of textutils's JSON functions. This is used by {@code textutils.serialiseJSON} and
+ * {@code textutils.unserialiseJSON}, and should not be used directly.
+ * <p>
+ * Both functions may return {@code nil}, in which case textutils falls back to its own implementation. See
+ * {@link LuaJson} for more details.
+ *
+ * @cc.module cc.internal.json
+ * @hidden
+ */
+public class JsonAPI implements ILuaAPI {
+    @Override
+    public String[] getNames() {
+        return new String[0];
+    }
+
+    @Override
+    public String getModuleName() {
+        return "cc.internal.json";
+    }
+
+    @LuaFunction
+    public final @Nullable Object encode(IArguments args) throws LuaException {
+        return LuaJson.encode(args);
+    }
+
+    @LuaFunction
+    public final @Nullable Object[] decode(IArguments args) throws LuaException {
+        return LuaJson.decode(args);
+    }
+}
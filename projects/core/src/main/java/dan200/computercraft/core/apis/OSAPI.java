@@ -37,12 +37,21 @@ public class OSAPI implements ILuaAPI {
 
     private int nextAlarmToken = 0;
 
-    private record Alarm(double time, int day) implements Comparable<Alarm> {
+    /**
+     * Pending alarms, ordered by the time they fire. This allows {@link #update()} to only look at alarms which are
+     * due, rather than every alarm.
+     */
+    private final NavigableSet<Alarm> pendingAlarms = new TreeSet<>();
+
+    private record Alarm(double time, int day, int token) implements Comparable<Alarm> {
+        double absoluteTime() {
+            return day * 24.0 + time;
+        }
+
         @Override
         public int compareTo(Alarm o) {
-            var t = day * 24.0 + time;
-            var ot = day * 24.0 + time;
-            return Double.compare(t, ot);
+            var result = Double.compare(absoluteTime(), o.absoluteTime());
+            return result != 0 ? result : Integer.compare(token, o.token);
         }
     }
 
@@ -63,6 +72,7 @@ public void startup() {
 
         synchronized (alarms) {
             alarms.clear();
+            pendingAlarms.clear();
         }
     }
 
@@ -79,15 +89,10 @@ public void update() {
 
             if (time > previousTime || day > previousDay) {
                 var now = this.day * 24.0 + this.time;
-                Iterator<Int2ObjectMap.Entry<Alarm>> it = alarms.int2ObjectEntrySet().iterator();
-                while (it.hasNext()) {
-                    var entry = it.next();
-                    var alarm = entry.getValue();
-                    var t = alarm.day * 24.0 + alarm.time;
-                    if (now >= t) {
-                        apiEnvironment.queueEvent("alarm", entry.getIntKey());
-                        it.remove();
-                    }
+                while (!pendingAlarms.isEmpty() && now >= pendingAlarms.first().absoluteTime()) {
+                    var alarm = pendingAlarms.pollFirst();
+                    alarms.remove(alarm.token());
+                    apiEnvironment.queueEvent("alarm", alarm.token());
                 }
             }
 
@@ -100,6 +105,7 @@ public void update() {
     public void shutdown() {
         synchronized (alarms) {
             alarms.clear();
+            pendingAlarms.clear();
         }
     }
 
@@ -192,7 +198,9 @@ public final int setAlarm(double time) throws LuaException {
         if (time < 0.0 || time >= 24.0) throw new LuaException("Number out of range");
         synchronized (alarms) {
             var day = time > this.time ? this.day : this.day + 1;
-            alarms.put(nextAlarmToken, new Alarm(time, day));
+            var alarm = new Alarm(time, day, nextAlarmToken);
+            alarms.put(alarm.token(), alarm);
+            pendingAlarms.add(alarm);
             return nextAlarmToken++;
         }
     }
@@ -208,7 +216,8 @@ public final int setAlarm(double time) throws LuaException {
     @LuaFunction
     public final void cancelAlarm(int token) {
         synchronized (alarms) {
-            alarms.remove(token);
+            var alarm = alarms.remove(token);
+            if (alarm != null) pendingAlarms.remove(alarm);
         }
     }
 
@@ -34,19 +34,21 @@ private class PeripheralWrapper extends ComputerAccess implements GuardedLuaCont
         private final String type;
         private final Set<String> additionalTypes;
         private final Map<String, PeripheralMethod> methodMap;
-        private boolean attached = false;
+        private final BoundPeripheral bound;
+        private volatile boolean attached = false;
 
         private @Nullable GuardedLuaContext contextWrapper;
 
-        PeripheralWrapper(IPeripheral peripheral, String side) {
+        PeripheralWrapper(IPeripheral peripheral, ComputerSide side) {
             super(environment);
-            this.side = side;
+            this.side = side.getName();
             this.peripheral = peripheral;
 
             type = Objects.requireNonNull(peripheral.getType(), "Peripheral type cannot be null");
             additionalTypes = peripheral.getAdditionalTypes();
 
             methodMap = peripheralMethods.getSelfMethods(peripheral);
+            bound = new BoundPeripheral(this, side);
         }
 
         public IPeripheral getPeripheral() {
@@ -65,7 +67,7 @@ public Collection<String> getMethods() {
             return methodMap.keySet();
         }
 
-        public synchronized boolean isAttached() {
+        public boolean isAttached() {
             return attached;
         }
 
@@ -87,13 +89,12 @@ public void detach() {
         }
 
         public MethodResult call(ILuaContext context, String methodName, IArguments arguments) throws LuaException {
-            PeripheralMethod method;
-            synchronized (this) {
-                method = methodMap.get(methodName);
-            }
-
+            var method = methodMap.get(methodName);
             if (method == null) throw new LuaException("No such method " + methodName);
+            return call(context, method, arguments);
+        }
 
+        public MethodResult call(ILuaContext context, PeripheralMethod method, IArguments arguments) throws LuaException {
             // Wrap the ILuaContext. We try to reuse the previous context where possible to avoid allocations - this
             // should be pretty common as ILuaMachine uses a constant context.
             var contextWrapper = this.contextWrapper;
@@ -185,6 +186,54 @@ public WorkMonitor getMainThreadMonitor() {
         }
     }
 
+    /**
+     * The methods of a peripheral, bound directly to that peripheral. This is returned by {@link #wrap(String)}, and
+     * allows {@code peripheral.wrap} to avoid going through {@link #call(ILuaContext, IArguments)}, which must find the
+     * peripheral and then look up the method by name on each call.
+     * <p>
+     * If the peripheral is detached, we fall back to calling the method by name on whichever peripheral is now attached
+     * to this side (much like {@link #call(ILuaContext, IArguments)}), or error if there is none.
+     */
+    private final class BoundPeripheral implements IDynamicLuaObject {
+        private final PeripheralWrapper wrapper;
+        private final ComputerSide side;
+        private final String[] names;
+        private final PeripheralMethod[] methods;
+
+        BoundPeripheral(PeripheralWrapper wrapper, ComputerSide side) {
+            this.wrapper = wrapper;
+            this.side = side;
+
+            var methodMap = wrapper.methodMap;
+            names = new String[methodMap.size()];
+            methods = new PeripheralMethod[methodMap.size()];
+            var i = 0;
+            for (var method : methodMap.entrySet()) {
+                names[i] = method.getKey();
+                methods[i] = method.getValue();
+                i++;
+            }
+        }
+
+        @Override
+        public String[] getMethodNames() {
+            return names;
+        }
+
+        @Override
+        public MethodResult callMethod(ILuaContext context, int method, IArguments arguments) throws LuaException {
+            if (wrapper.isAttached()) return wrapper.call(context, methods[method], arguments);
+
+            PeripheralWrapper current;
+            synchronized (peripherals) {
+                current = peripherals[side.ordinal()];
+            }
+            if (current == null || !current.isAttached()) throw new LuaException("No peripheral attached");
+
+            return current.call(context, names[method], arguments);
+        }
+    }
+
     private final IAPIEnvironment environment;
     private final MethodSupplier<PeripheralMethod> peripheralMethods;
     private final PeripheralWrapper[] peripherals = new PeripheralWrapper[6];
@@ -214,7 +263,7 @@ public void onPeripheralChanged(ComputerSide side, @Nullable IPeripheral newPeri
 
             // Assign the new peripheral
             peripherals[index] = newPeripheral == null ? null
-                : new PeripheralWrapper(newPeripheral, side.getName());
+                : new PeripheralWrapper(newPeripheral, side);
 
             if (peripherals[index] != null) {
                 // Queue an attachment
@@ -308,6 +357,18 @@ public final Object[] getMethods(String sideName) {
         return null;
     }
 
+    @Nullable
+    @LuaFunction
+    public final IDynamicLuaObject wrap(String sideName) {
+        var side = ComputerSide.valueOfInsensitive(sideName);
+        if (side == null) return null;
+
+        synchronized (peripherals) {
+            var p = peripherals[side.ordinal()];
+            return p == null ? null : p.bound;
+        }
+    }
+
     @LuaFunction
     public final MethodResult call(ILuaContext context, IArguments args) throws LuaException {
         var side = ComputerSide.valueOfInsensitive(args.getString(0));
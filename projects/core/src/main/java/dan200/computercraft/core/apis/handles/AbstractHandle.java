@@ -8,11 +8,13 @@
 import dan200.computercraft.api.lua.IArguments;
 import dan200.computercraft.api.lua.LuaException;
 import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.api.lua.OwnedBytes;
 import dan200.computercraft.core.filesystem.TrackingCloseable;
 import dan200.computercraft.core.util.IoUtil;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -23,6 +25,11 @@
 
 /**
  * The base class for all file handle types.
+ * <p>
+ * Reads are served from an internal buffer, which is filled a block at a time from the underlying channel. This means
+ * methods like {@link #readLine(Optional)} can scan the buffer directly, rather than reading the channel a byte at a
+ * time. As the channel's position may be ahead of the handle's position, the buffer is discarded (and the channel
+ * rewound) before any seek or write.
  */
 public abstract class AbstractHandle {
     private static final int BUFFER_SIZE = 8192;
@@ -33,6 +40,12 @@ public abstract class AbstractHandle {
 
     private final ByteBuffer single = ByteBuffer.allocate(1);
 
+    /**
+     * Bytes which have been read from the channel, but not yet consumed. This is allocated the first time the handle
+     * is read from.
+     */
+    private @Nullable ByteBuffer readBuffer;
+
     protected AbstractHandle(SeekableByteChannel channel, TrackingCloseable closeable, boolean binary) {
         this.channel = channel;
         this.closeable = closeable;
@@ -82,6 +95,7 @@ public Object[] seek(Optional<String> whence, Optional<Long> offset) throws LuaE
         checkOpen();
         long actualOffset = offset.orElse(0L);
         try {
+            discardReadBuffer();
             switch (whence.orElse("cur")) {
                 case "set" -> channel.position(actualOffset);
                 case "cur" -> channel.position(channel.position() + actualOffset);
@@ -116,30 +130,30 @@ public Object[] read(Optional<Integer> countArg) throws LuaException {
         checkOpen();
         try {
             if (binary && countArg.isEmpty()) {
-                single.clear();
-                var b = channel.read(single);
-                return b == -1 ? null : new Object[]{ single.get(0) & 0xFF };
+                var buffer = fillReadBuffer();
+                return buffer == null ? null : new Object[]{ buffer.get() & 0xFF };
             } else {
                 int count = countArg.orElse(1);
                 if (count < 0) throw new LuaException("Cannot read a negative number of bytes");
-                if (count == 0) return channel.position() >= channel.size() ? null : new Object[]{ "" };
+                if (count == 0) return hasBufferedBytes() || channel.position() < channel.size() ? new Object[]{ "" } : null;
 
                 if (count <= BUFFER_SIZE) {
                     var buffer = ByteBuffer.allocate(count);
 
-                    var read = channel.read(buffer);
+                    var read = readBuffered(buffer);
                     if (read < 0) return null;
-                    buffer.flip();
-                    return new Object[]{ buffer };
+                    return new Object[]{ OwnedBytes.of(buffer.array(), 0, buffer.position()) };
                 } else {
                     // Read the initial set of characters, failing if none are read.
                     var buffer = ByteBuffer.allocate(BUFFER_SIZE);
-                    var read = channel.read(buffer);
+                    var read = readBuffered(buffer);
                     if (read < 0) return null;
                     buffer.flip();
 
                     // If we failed to read "enough" here, let's just abort
-                    if (read >= count || read < BUFFER_SIZE) return new Object[]{ buffer };
+                    if (read >= count || read < BUFFER_SIZE) {
+                        return new Object[]{ OwnedBytes.of(buffer.array(), 0, buffer.limit()) };
+                    }
 
                     // Build up an array of ByteBuffers. Hopefully this means we can perform less allocation
                     // than doubling up the buffer each time.
@@ -166,7 +180,7 @@ public Object[] read(Optional<Integer> countArg) throws LuaException {
                         pos += length;
                     }
                     assert pos == totalRead;
-                    return new Object[]{ bytes };
+                    return new Object[]{ OwnedBytes.of(bytes) };
                 }
             }
         } catch (IOException e) {
@@ -186,11 +200,25 @@ public Object[] read(Optional<Integer> countArg) throws LuaException {
     public Object[] readAll() throws LuaException {
         checkOpen();
         try {
+            // Array-backed channels (such as HTTP responses) can share their contents with Lua directly.
+            if (channel instanceof ArrayByteChannel array) {
+                discardReadBuffer();
+                return new Object[]{ array.readRemaining() };
+            }
+
+            var buffered = readBuffer;
+            var bufferedBytes = buffered == null ? 0 : buffered.remaining();
+
             var expected = 32;
-            expected = Math.max(expected, (int) (channel.size() - channel.position()));
-            var stream = new ByteArrayOutputStream(expected);
+            expected = Math.max(expected, (int) (channel.size() - channel.position()) + bufferedBytes);
+            var stream = new OwnedByteArrayOutputStream(expected);
+
+            if (buffered != null && bufferedBytes > 0) {
+                stream.write(buffered.array(), buffered.position(), bufferedBytes);
+                buffered.position(buffered.limit());
+            }
 
-            var buf = ByteBuffer.allocate(8192);
+            var buf = ByteBuffer.allocate(BUFFER_SIZE);
             while (true) {
                 buf.clear();
                 var r = channel.read(buf);
@@ -198,7 +226,7 @@ public Object[] readAll() throws LuaException {
 
                 stream.write(buf.array(), 0, r);
             }
-            return new Object[]{ stream.toByteArray() };
+            return new Object[]{ stream.toOwnedBytes() };
         } catch (IOException e) {
             return null;
         }
@@ -223,9 +251,8 @@ public Object[] readLine(Optional<Boolean> withTrailingArg) throws LuaException
 
             boolean readAnything = false, readRc = false;
             while (true) {
-                single.clear();
-                var read = channel.read(single);
-                if (read <= 0) {
+                var buffer = fillReadBuffer();
+                if (buffer == null) {
                     // Nothing else to read, and we saw no \n. Return the array. If we saw a \r, then add it
                     // back.
                     if (readRc) stream.write('\r');
@@ -234,21 +261,38 @@ public Object[] readLine(Optional<Boolean> withTrailingArg) throws LuaException
 
                 readAnything = true;
 
-                var chr = single.get(0);
-                if (chr == '\n') {
+                // Find the next \n within the buffer, and consume everything up to (and including) it.
+                var bytes = buffer.array();
+                var start = buffer.position();
+                var limit = buffer.limit();
+                var newline = start;
+                while (newline < limit && bytes[newline] != '\n') newline++;
+
+                var end = newline;
+                buffer.position(newline < limit ? newline + 1 : limit);
+
+                // We want to skip \r\n, but obviously need to include cases where \r is not followed by \n.
+                // Note, this behaviour is non-standard compliant (strictly speaking we should have no
+                // special logic for \r), but we preserve compatibility with EncodedReadableHandle and
+                // previous behaviour of the io library.
+                // A \r at the end of the previous block is only written once we know it isn't followed by a \n, and
+                // likewise we hold back a \r at the end of this block.
+                if (readRc && end > start) {
+                    stream.write('\r');
+                    readRc = false;
+                }
+                if (end > start && bytes[end - 1] == '\r') {
+                    readRc = true;
+                    end--;
+                }
+                stream.write(bytes, start, end - start);
+
+                if (newline < limit) {
                     if (withTrailing) {
                         if (readRc) stream.write('\r');
-                        stream.write(chr);
+                        stream.write('\n');
                     }
                     return new Object[]{ stream.toByteArray() };
-                } else {
-                    // We want to skip \r\n, but obviously need to include cases where \r is not followed by \n.
-                    // Note, this behaviour is non-standard compliant (strictly speaking we should have no
-                    // special logic for \r), but we preserve compatibility with EncodedReadableHandle and
-                    // previous behaviour of the io library.
-                    if (readRc) stream.write('\r');
-                    readRc = chr == '\r';
-                    if (!readRc) stream.write(chr);
                 }
             }
         } catch (IOException e) {
@@ -268,6 +312,7 @@ public Object[] readLine(Optional<Boolean> withTrailingArg) throws LuaException
     public void write(IArguments arguments) throws LuaException {
         checkOpen();
         try {
+            discardReadBuffer();
             var arg = arguments.get(0);
             if (binary && arg instanceof Number) {
                 var number = ((Number) arg).intValue();
@@ -289,6 +334,7 @@ public void write(IArguments arguments) throws LuaException {
     public void writeLine(Coerced<ByteBuffer> text) throws LuaException {
         checkOpen();
         try {
+            discardReadBuffer();
             channel.write(text.value());
             writeSingle((byte) '\n');
         } catch (IOException e) {
@@ -296,6 +342,69 @@ public void writeLine(Coerced<ByteBuffer> text) throws LuaException {
         }
     }
 
+    /**
+     * Get the read buffer, filling it from the channel if it is empty.
+     *
+     * @return The read buffer, with at least one byte remaining, or {@code null} if at the end of the file.
+     * @throws IOException If the channel could not be read.
+     */
+    private @Nullable ByteBuffer fillReadBuffer() throws IOException {
+        var buffer = readBuffer;
+        if (buffer == null) {
+            buffer = readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        } else if (buffer.hasRemaining()) {
+            return buffer;
+        } else {
+            buffer.clear();
+        }
+
+        var read = channel.read(buffer);
+        buffer.flip();
+        return read <= 0 ? null : buffer;
+    }
+
+    private boolean hasBufferedBytes() {
+        var buffer = readBuffer;
+        return buffer != null && buffer.hasRemaining();
+    }
+
+    /**
+     * Read bytes into a buffer, first taking any bytes from the read buffer, and then reading from the channel.
+     *
+     * @param target The buffer to read into.
+     * @return The number of bytes read, or {@code -1} if at the end of the file.
+     * @throws IOException If the channel could not be read.
+     */
+    private int readBuffered(ByteBuffer target) throws IOException {
+        // Small reads are served from the read buffer, so that subsequent reads don't need to touch the channel.
+        var buffer = target.remaining() < BUFFER_SIZE ? fillReadBuffer() : readBuffer;
+
+        var read = 0;
+        if (buffer != null && buffer.hasRemaining()) {
+            read = Math.min(buffer.remaining(), target.remaining());
+            target.put(buffer.slice(buffer.position(), read));
+            buffer.position(buffer.position() + read);
+            if (!target.hasRemaining()) return read;
+        }
+
+        var channelRead = channel.read(target);
+        if (channelRead < 0) return read == 0 ? -1 : read;
+        return read + channelRead;
+    }
+
+    /**
+     * Discard any unconsumed bytes in the read buffer, rewinding the channel so its position matches the handle's.
+     *
+     * @throws IOException If the channel could not be rewound.
+     */
+    private void discardReadBuffer() throws IOException {
+        var buffer = readBuffer;
+        if (buffer == null || !buffer.hasRemaining()) return;
+
+        channel.position(channel.position() - buffer.remaining());
+        buffer.position(buffer.limit());
+    }
+
     private void writeSingle(byte value) throws IOException {
         single.clear();
         single.put(value);
@@ -311,10 +420,24 @@ private void writeSingle(byte value) throws IOException {
     public void flush() throws LuaException {
         checkOpen();
         try {
+            if (channel instanceof Flushable flushable) flushable.flush();
             // Technically this is not needed
             if (channel instanceof FileChannel channel) channel.force(false);
         } catch (IOException e) {
             throw new LuaException(e.getMessage());
         }
     }
+
+    /**
+     * A {@link ByteArrayOutputStream} whose contents can be handed to Lua without copying them.
+     */
+    private static final class OwnedByteArrayOutputStream extends ByteArrayOutputStream {
+        OwnedByteArrayOutputStream(int size) {
+            super(size);
+        }
+
+        OwnedBytes toOwnedBytes() {
+            return OwnedBytes.of(buf, 0, count);
+        }
+    }
 }
@@ -4,6 +4,8 @@
 
 package dan200.computercraft.core.apis.handles;
 
+import dan200.computercraft.api.lua.OwnedBytes;
+
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NonWritableChannelException;
@@ -19,6 +21,12 @@ public class ArrayByteChannel implements SeekableByteChannel {
 
     private final byte[] backing;
 
+    /**
+     * Create a new channel.
+     *
+     * @param backing The contents of this channel. This must not be modified once the channel has been created, as
+     *                {@link #readRemaining()} may share it with Lua.
+     */
     public ArrayByteChannel(byte[] backing) {
         this.backing = backing;
     }
@@ -36,6 +44,20 @@ public int read(ByteBuffer destination) throws ClosedChannelException {
         return remaining;
     }
 
+    /**
+     * Read the remainder of this channel, without copying it.
+     *
+     * @return The remaining contents of this channel.
+     * @throws ClosedChannelException If the channel is closed.
+     */
+    OwnedBytes readRemaining() throws ClosedChannelException {
+        if (closed) throw new ClosedChannelException();
+
+        var start = Math.min(position, backing.length);
+        position = Math.max(position, backing.length);
+        return OwnedBytes.of(backing, start, backing.length - start);
+    }
+
     @Override
     public int write(ByteBuffer src) throws ClosedChannelException {
         if (closed) throw new ClosedChannelException();
@@ -4,6 +4,7 @@
 
 package dan200.computercraft.core.apis.http.websocket;
 
+import dan200.computercraft.api.lua.OwnedBytes;
 import dan200.computercraft.core.apis.http.NetworkUtils;
 import dan200.computercraft.core.apis.http.options.Options;
 import dan200.computercraft.core.metrics.Metrics;
@@ -54,12 +55,12 @@ public void channelRead0(ChannelHandlerContext ctx, Object msg) {
             var data = NetworkUtils.toBytes(textFrame.content());
 
             websocket.environment().observe(Metrics.WEBSOCKET_INCOMING, data.length);
-            websocket.environment().queueEvent(MESSAGE_EVENT, websocket.address(), data, false);
+            websocket.environment().queueEvent(MESSAGE_EVENT, websocket.address(), OwnedBytes.of(data), false);
         } else if (frame instanceof BinaryWebSocketFrame) {
             var data = NetworkUtils.toBytes(frame.content());
 
             websocket.environment().observe(Metrics.WEBSOCKET_INCOMING, data.length);
-            websocket.environment().queueEvent(MESSAGE_EVENT, websocket.address(), data, true);
+            websocket.environment().queueEvent(MESSAGE_EVENT, websocket.address(), OwnedBytes.of(data), true);
         } else if (frame instanceof CloseWebSocketFrame closeFrame) {
             websocket.close(closeFrame.statusCode(), closeFrame.reasonText());
         }
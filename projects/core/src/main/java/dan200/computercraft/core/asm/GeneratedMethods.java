@@ -0,0 +1,140 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.asm;
+
+import dan200.computercraft.api.lua.IArguments;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.api.lua.MethodResult;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds adapters for {@link LuaFunction}-annotated methods which were generated at compile time.
+ * <p>
+ * The {@code cc.tweaked.processor.LuaFunctionProcessor} annotation processor generates a {@code Foo$$LuaAdapter}
+ * class for each class {@code Foo} containing Lua functions. Using these avoids building (and then invoking) a chain of
+ * method handles for each method. Instead, we just need to bind the adapter's static method to an interface.
+ * <p>
+ * Classes compiled without the annotation processor (or methods it could not handle) have no adapter, in which case
+ * {@link Generator} falls back to generating the method at runtime.
+ */
+final class GeneratedMethods {
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedMethods.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    static final String SUFFIX = "$$LuaAdapter";
+
+    private static final MethodType ADAPTER_TYPE = MethodType.methodType(
+        MethodResult.class, Object.class, ILuaContext.class, IComputerAccess.class, IArguments.class
+    );
+    private static final MethodType GENERIC_ADAPTER_TYPE = ADAPTER_TYPE.insertParameterTypes(0, Object.class);
+
+    private static final ClassValue<Optional<Class<?>>> adapterClasses = new ClassValue<>() {
+        @Override
+        protected Optional<Class<?>> computeValue(Class<?> type) {
+            try {
+                return Optional.of(Class.forName(type.getName() + SUFFIX, false, type.getClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    /**
+     * A Lua function, with the arguments of both {@link dan200.computercraft.core.methods.LuaMethod} and
+     * {@link dan200.computercraft.core.methods.PeripheralMethod}.
+     */
+    @FunctionalInterface
+    interface Adapter {
+        MethodResult apply(Object target, ILuaContext context, @Nullable IComputerAccess computer, IArguments args) throws LuaException;
+    }
+
+    private GeneratedMethods() {
+    }
+
+    /**
+     * Find the adapter for an instance method.
+     *
+     * @param method  The method to find an adapter for.
+     * @param context The context arguments available to this method.
+     * @return The adapter, or {@code null} if none is available.
+     */
+    static @Nullable Adapter getInstanceMethod(Method method, List<Class<?>> context) {
+        if (!hasContext(method, context)) return null;
+        return find(method, ADAPTER_TYPE, null);
+    }
+
+    /**
+     * Find the adapter for a generic method, bound to its source.
+     *
+     * @param method  The method to find an adapter for.
+     * @param context The context arguments available to this method.
+     * @return The adapter, or {@code null} if none is available.
+     */
+    static @Nullable Adapter getGenericMethod(GenericMethod method, List<Class<?>> context) {
+        if (!hasContext(method.method, context)) return null;
+        return find(method.method, GENERIC_ADAPTER_TYPE, method.source);
+    }
+
+    /**
+     * Adapters accept every context argument, but the reflective generator only supports those in its context (for
+     * instance, {@link IComputerAccess} cannot be used in a {@link dan200.computercraft.core.methods.LuaMethod}).
+     * Skip adapters for these methods, so that an error is reported instead.
+     *
+     * @param method  The method to check.
+     * @param context The available context arguments.
+     * @return Whether every context argument the method requires is available.
+     */
+    private static boolean hasContext(Method method, List<Class<?>> context) {
+        for (var type : method.getParameterTypes()) {
+            if ((type == ILuaContext.class || type == IComputerAccess.class) && !context.contains(type)) return false;
+        }
+        return true;
+    }
+
+    private static @Nullable Adapter find(Method method, MethodType type, @Nullable Object source) {
+        var adapterClass = adapterClasses.get(method.getDeclaringClass()).orElse(null);
+        if (adapterClass == null) return null;
+
+        Method adapterMethod;
+        try {
+            adapterMethod = adapterClass.getMethod(method.getName(), type.parameterArray());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        if (!Modifier.isStatic(adapterMethod.getModifiers()) || adapterMethod.getReturnType() != MethodResult.class) {
+            return null;
+        }
+
+        try {
+            adapterMethod.setAccessible(true);
+            var handle = LOOKUP.unreflect(adapterMethod);
+            var factoryType = source == null
+                ? MethodType.methodType(Adapter.class)
+                : MethodType.methodType(Adapter.class, Object.class);
+            var site = LambdaMetafactory.metafactory(LOOKUP, "apply", factoryType, ADAPTER_TYPE, handle, ADAPTER_TYPE);
+
+            return source == null
+                ? (Adapter) site.getTarget().invokeExact()
+                : (Adapter) site.getTarget().invokeExact(source);
+        } catch (Throwable e) {
+            LOG.warn("Cannot use generated adapter for {}.{}. Falling back to runtime generation.", method.getDeclaringClass().getName(), method.getName(), e);
+            return null;
+        }
+    }
+}
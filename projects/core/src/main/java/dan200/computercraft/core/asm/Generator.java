@@ -26,13 +26,16 @@
 /**
  * The underlying generator for {@link LuaFunction}-annotated methods.
  * <p>
- * The constructor {@link Generator#Generator(List, Function, Function)} takes in the type of interface to generate
- * (i.e. {@link LuaMethod}), the context arguments for this function (in the case of {@link LuaMethod}, this will just
- * be {@link ILuaContext}), a factory function (which invokes a method handle), and a "wrapper" function to lift a
- * function to execute on the main thread.
+ * The constructor {@link Generator#Generator(List, Function, Function, Function, boolean)} takes in the type of
+ * interface to generate (i.e. {@link LuaMethod}), the context arguments for this function (in the case of
+ * {@link LuaMethod}, this will just be {@link ILuaContext}), a factory function (which invokes a method handle), a
+ * factory function for generated adapters, and a "wrapper" function to lift a function to execute on the main thread.
  * <p>
  * For each input function, the generator then fabricates a {@link MethodHandle} which performs the argument validation,
  * and then calls the factory function to convert it to the desired interface.
+ * <p>
+ * If the method's class was compiled with our annotation processor, we use its {@linkplain GeneratedMethods generated
+ * adapter} instead, which avoids the cost of building method handles at runtime.
  *
  * @param <T> The type of the interface the generated classes implement.
  */
@@ -101,7 +104,9 @@ static void addArgType(Map<Class<?>, ArgMethods> types, Class<?> type, String na
     private final List<MethodHandle> contextGetters;
 
     private final Function<MethodHandle, T> factory;
+    private final Function<GeneratedMethods.Adapter, T> adapterFactory;
     private final Function<T, T> wrap;
+    private final boolean useAdapters;
 
     private final LoadingCache<Method, Optional<T>> instanceCache = CacheBuilder
         .newBuilder()
@@ -112,10 +117,15 @@ static void addArgType(Map<Class<?>, ArgMethods> types, Class<?> type, String na
         .weakKeys()
         .build(CacheLoader.from(catching(this::buildGenericMethod, Optional.empty())));
 
-    Generator(List<Class<?>> context, Function<MethodHandle, T> factory, Function<T, T> wrap) {
+    Generator(
+        List<Class<?>> context, Function<MethodHandle, T> factory, Function<GeneratedMethods.Adapter, T> adapterFactory,
+        Function<T, T> wrap, boolean useAdapters
+    ) {
         this.context = context;
         this.factory = factory;
+        this.adapterFactory = adapterFactory;
         this.wrap = wrap;
+        this.useAdapters = useAdapters;
 
         var contextWithArguments = this.contextWithArguments = new ArrayList<>(context.size() + 1);
         contextWithArguments.addAll(context);
@@ -181,6 +191,9 @@ private boolean checkMethod(Method method) {
     private Optional<T> buildInstanceMethod(Method method) {
         if (!checkMethod(method)) return Optional.empty();
 
+        var adapter = useAdapters ? GeneratedMethods.getInstanceMethod(method, context) : null;
+        if (adapter != null) return Optional.of(wrapAdapter(method, adapter));
+
         var handle = tryUnreflect(method);
         if (handle == null) return Optional.empty();
 
@@ -190,6 +203,9 @@ private Optional<T> buildInstanceMethod(Method method) {
     private Optional<T> buildGenericMethod(GenericMethod method) {
         if (!checkMethod(method.method)) return Optional.empty();
 
+        var adapter = useAdapters ? GeneratedMethods.getGenericMethod(method, context) : null;
+        if (adapter != null) return Optional.of(wrapAdapter(method.method, adapter));
+
         var handle = tryUnreflect(method.method);
         if (handle == null) return Optional.empty();
 
@@ -201,6 +217,13 @@ private Optional<T> buildGenericMethod(GenericMethod method) {
         );
     }
 
+    private T wrapAdapter(Method method, GeneratedMethods.Adapter adapter) {
+        LOG.debug("Using generated adapter for {}.{}.", method.getDeclaringClass().getName(), method.getName());
+
+        var instance = adapterFactory.apply(adapter);
+        return method.getAnnotation(LuaFunction.class).mainThread() ? wrap.apply(instance) : instance;
+    }
+
     /**
      * Generate our {@link T} instance for a specific method.
      * <p>
@@ -21,19 +21,7 @@
  * method supplier}. It should not be used directly.
  */
 public final class LuaMethodSupplier {
-    private static final Generator<LuaMethod> GENERATOR = new Generator<>(List.of(ILuaContext.class),
-        m -> (target, context, args) -> {
-            try {
-                return (MethodResult) m.invokeExact(target, context, args);
-            } catch (Throwable t) {
-                throw ResultHelpers.throwUnchecked(t);
-            }
-        },
-        m -> (target, context, args) -> {
-            var escArgs = args.escapes();
-            return context.executeMainThreadTask(() -> ResultHelpers.checkNormalResult(m.apply(target, context, escArgs)));
-        }
-    );
+    private static final Generator<LuaMethod> GENERATOR = createGenerator(true);
     private static final IntCache<LuaMethod> DYNAMIC = new IntCache<>(
         method -> (instance, context, args) -> ((IDynamicLuaObject) instance).callMethod(context, method, args)
     );
@@ -41,6 +29,30 @@ public final class LuaMethodSupplier {
     private LuaMethodSupplier() {
     }
 
+    /**
+     * Create a generator for {@link LuaMethod}s.
+     *
+     * @param useAdapters Whether to use {@linkplain GeneratedMethods generated adapters} when available.
+     * @return The new generator.
+     */
+    static Generator<LuaMethod> createGenerator(boolean useAdapters) {
+        return new Generator<>(List.of(ILuaContext.class),
+            m -> (target, context, args) -> {
+                try {
+                    return (MethodResult) m.invokeExact(target, context, args);
+                } catch (Throwable t) {
+                    throw ResultHelpers.throwUnchecked(t);
+                }
+            },
+            m -> (target, context, args) -> m.apply(target, context, null, args),
+            m -> (target, context, args) -> {
+                var escArgs = args.escapes();
+                return context.executeMainThreadTask(() -> ResultHelpers.checkNormalResult(m.apply(target, context, escArgs)));
+            },
+            useAdapters
+        );
+    }
+
     public static MethodSupplier<LuaMethod> create(List<GenericMethod> genericMethods) {
         return new MethodSupplierImpl<>(genericMethods, GENERATOR, DYNAMIC, x -> x instanceof IDynamicLuaObject dynamic
             ? Objects.requireNonNull(dynamic.getMethodNames(), "Dynamic methods cannot be null")
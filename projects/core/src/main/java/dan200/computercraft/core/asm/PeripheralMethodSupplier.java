@@ -22,19 +22,7 @@
  * method supplier}. It should not be used directly.
  */
 public final class PeripheralMethodSupplier {
-    private static final Generator<PeripheralMethod> GENERATOR = new Generator<>(List.of(ILuaContext.class, IComputerAccess.class),
-        m -> (target, context, computer, args) -> {
-            try {
-                return (MethodResult) m.invokeExact(target, context, computer, args);
-            } catch (Throwable t) {
-                throw ResultHelpers.throwUnchecked(t);
-            }
-        },
-        m -> (target, context, computer, args) -> {
-            var escArgs = args.escapes();
-            return context.executeMainThreadTask(() -> ResultHelpers.checkNormalResult(m.apply(target, context, computer, escArgs)));
-        }
-    );
+    private static final Generator<PeripheralMethod> GENERATOR = createGenerator(true);
     private static final IntCache<PeripheralMethod> DYNAMIC = new IntCache<>(
         method -> (instance, context, computer, args) -> ((IDynamicPeripheral) instance).callMethod(computer, context, method, args)
     );
@@ -42,6 +30,30 @@ public final class PeripheralMethodSupplier {
     private PeripheralMethodSupplier() {
     }
 
+    /**
+     * Create a generator for {@link PeripheralMethod}s.
+     *
+     * @param useAdapters Whether to use {@linkplain GeneratedMethods generated adapters} when available.
+     * @return The new generator.
+     */
+    static Generator<PeripheralMethod> createGenerator(boolean useAdapters) {
+        return new Generator<>(List.of(ILuaContext.class, IComputerAccess.class),
+            m -> (target, context, computer, args) -> {
+                try {
+                    return (MethodResult) m.invokeExact(target, context, computer, args);
+                } catch (Throwable t) {
+                    throw ResultHelpers.throwUnchecked(t);
+                }
+            },
+            m -> m::apply,
+            m -> (target, context, computer, args) -> {
+                var escArgs = args.escapes();
+                return context.executeMainThreadTask(() -> ResultHelpers.checkNormalResult(m.apply(target, context, computer, escArgs)));
+            },
+            useAdapters
+        );
+    }
+
     public static MethodSupplier<PeripheralMethod> create(List<GenericMethod> genericMethods) {
         return new MethodSupplierImpl<>(genericMethods, GENERATOR, DYNAMIC, x -> x instanceof IDynamicPeripheral dynamic
             ? Objects.requireNonNull(dynamic.getMethodNames(), "Dynamic methods cannot be null")
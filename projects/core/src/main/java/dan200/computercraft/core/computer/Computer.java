@@ -12,6 +12,7 @@
 import dan200.computercraft.core.apis.IAPIEnvironment;
 import dan200.computercraft.core.computer.mainthread.MainThreadScheduler;
 import dan200.computercraft.core.filesystem.FileSystem;
+import dan200.computercraft.core.lua.LuaProfiler;
 import dan200.computercraft.core.terminal.Terminal;
 
 import javax.annotation.Nullable;
@@ -68,7 +69,7 @@ public Computer(ComputerContext context, ComputerEnvironment environment, Termin
 
         internalEnvironment = new Environment(this, environment);
         executor = new ComputerExecutor(this, environment, context);
-        serverExecutor = context.mainThreadScheduler().createExecutor(environment.getMetrics());
+        serverExecutor = context.mainThreadScheduler().createExecutor(environment);
     }
 
     GlobalEnvironment getGlobalEnvironment() {
@@ -129,6 +130,26 @@ public WorkMonitor getMainThreadMonitor() {
         return serverExecutor;
     }
 
+    /**
+     * Get the profiler currently attached to this computer.
+     *
+     * @return The current profiler, or {@code null} if this computer is not being profiled.
+     * @see #setProfiler(LuaProfiler)
+     */
+    public @Nullable LuaProfiler getProfiler() {
+        return executor.timeoutState().getProfiler();
+    }
+
+    /**
+     * Start or stop profiling this computer. While a profiler is attached, the computer's Lua call stack will be
+     * periodically sampled.
+     *
+     * @param profiler The profiler to attach, or {@code null} to stop profiling.
+     */
+    public void setProfiler(@Nullable LuaProfiler profiler) {
+        executor.timeoutState().setProfiler(profiler);
+    }
+
     public int getID() {
         return id;
     }
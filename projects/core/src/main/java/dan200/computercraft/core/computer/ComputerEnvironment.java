@@ -5,10 +5,13 @@
 package dan200.computercraft.core.computer;
 
 import dan200.computercraft.api.filesystem.WritableMount;
+import dan200.computercraft.core.computer.computerthread.ComputerScheduler;
+import dan200.computercraft.core.computer.mainthread.MainThreadScheduler;
 import dan200.computercraft.core.filesystem.WritableFileMount;
 import dan200.computercraft.core.metrics.MetricsObserver;
 
 import javax.annotation.Nullable;
+import java.util.UUID;
 
 public interface ComputerEnvironment {
     /**
@@ -41,4 +44,20 @@ public interface ComputerEnvironment {
      */
     @Nullable
     WritableMount createRootMount();
+
+    /**
+     * Get the owner of this computer, such as the player who placed it.
+     * <p>
+     * Computers with the same owner are grouped together by the {@linkplain ComputerScheduler computer} and
+     * {@linkplain MainThreadScheduler main thread} schedulers, with execution time shared fairly between each owner
+     * first, and then between that owner's computers. Computers without an owner are scheduled individually.
+     * <p>
+     * This may change over the lifetime of the computer, though will only be observed the next time the computer is
+     * queued for work.
+     *
+     * @return The owner of this computer, or {@code null} if it has no owner.
+     */
+    default @Nullable UUID getOwner() {
+        return null;
+    }
 }
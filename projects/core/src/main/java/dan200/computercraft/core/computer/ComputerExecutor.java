@@ -33,6 +33,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -161,6 +162,9 @@ final class ComputerExecutor implements ComputerScheduler.Worker {
         addApi(new FSAPI(environment));
         addApi(new PeripheralAPI(environment, context.peripheralMethods()));
         addApi(new OSAPI(environment));
+        addApi(new JsonAPI());
+        addApi(new DfpwmAPI());
+        addApi(new FramebufferAPI());
         if (CoreConfig.httpEnabled) addApi(new HTTPAPI(environment));
     }
 
@@ -169,6 +173,11 @@ public int getComputerID() {
         return computer.getID();
     }
 
+    @Override
+    public @Nullable UUID getOwner() {
+        return computerEnvironment.getOwner();
+    }
+
     boolean isOn() {
         return isOn;
     }
@@ -260,6 +269,10 @@ private void immediateFail(StateCommand command) {
         }
     }
 
+    TimeoutState timeoutState() {
+        return executor.timeoutState();
+    }
+
     /**
      * Queue an event if the computer is on.
      *
@@ -12,12 +12,9 @@
 import dan200.computercraft.core.metrics.MetricsObserver;
 import dan200.computercraft.core.terminal.Terminal;
 import dan200.computercraft.core.util.PeripheralHelpers;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
-import java.util.Iterator;
 
 /**
  * Represents the "environment" that a {@link Computer} exists in.
@@ -37,6 +34,10 @@
  *
  * <h1>Peripheral</h1>
  * We also keep track of peripherals. These are read on both threads, and only written on the main thread.
+ *
+ * <h1>Timers</h1>
+ * Timers are stored in a {@link TimerWheel}, keyed by the tick they fire on. This means the cost of {@link #tick()} is
+ * proportional to the number of timers which fire, rather than the number of pending timers.
  */
 public final class Environment implements IAPIEnvironment {
     private final Computer computer;
@@ -57,7 +58,7 @@ public final class Environment implements IAPIEnvironment {
     private final IPeripheral[] peripherals = new IPeripheral[ComputerSide.COUNT];
     private @Nullable IPeripheralChangeListener peripheralListener = null;
 
-    private final Int2ObjectMap<Timer> timers = new Int2ObjectOpenHashMap<>();
+    private final TimerWheel timers = new TimerWheel();
     private int nextTimerToken = 0;
 
     Environment(Computer computer, ComputerEnvironment environment) {
@@ -203,18 +204,8 @@ void tick() {
         }
 
         synchronized (timers) {
-            // Countdown all of our active timers
-            Iterator<Int2ObjectMap.Entry<Timer>> it = timers.int2ObjectEntrySet().iterator();
-            while (it.hasNext()) {
-                var entry = it.next();
-                var timer = entry.getValue();
-                timer.ticksLeft--;
-                if (timer.ticksLeft <= 0) {
-                    // Queue the "timer" event
-                    queueEvent(TIMER_EVENT, entry.getIntKey());
-                    it.remove();
-                }
-            }
+            // Advance our timers, queuing a "timer" event for any which have expired.
+            timers.advance(id -> queueEvent(TIMER_EVENT, id));
         }
     }
 
@@ -297,7 +288,7 @@ public void setLabel(@Nullable String label) {
     @Override
     public int startTimer(long ticks) {
         synchronized (timers) {
-            timers.put(nextTimerToken, new Timer(ticks));
+            timers.add(nextTimerToken, ticks);
             return nextTimerToken++;
         }
     }
@@ -305,7 +296,7 @@ public int startTimer(long ticks) {
     @Override
     public void cancelTimer(int id) {
         synchronized (timers) {
-            timers.remove(id);
+            timers.cancel(id);
         }
     }
 
@@ -313,12 +304,4 @@ public void cancelTimer(int id) {
     public MetricsObserver metrics() {
         return metrics;
     }
-
-    private static class Timer {
-        long ticksLeft;
-
-        Timer(long ticksLeft) {
-            this.ticksLeft = ticksLeft;
-        }
-    }
 }
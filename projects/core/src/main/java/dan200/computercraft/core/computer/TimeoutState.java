@@ -8,8 +8,10 @@
 import dan200.computercraft.core.computer.computerthread.ComputerScheduler;
 import dan200.computercraft.core.computer.computerthread.ManagedTimeoutState;
 import dan200.computercraft.core.lua.ILuaMachine;
+import dan200.computercraft.core.lua.LuaProfiler;
 import dan200.computercraft.core.lua.MachineResult;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -32,6 +34,12 @@
  * The Lua runtime is also allowed to pause execution if there are other computers contesting for work. All computers
  * are guaranteed to run for some time. After that period, if any computers are waiting to be executed then we'll set
  * the paused flag to true ({@link #isPaused()}.
+ * <p>
+ * Finally, if a {@linkplain #setProfiler(LuaProfiler) profiler is attached}, the scheduler will periodically request
+ * that the Lua machine records a sample of its current call stack ({@link #consumeSampleRequest()}).
+ * <p>
+ * The scheduler also periodically asks running machines to re-estimate the size of their heap
+ * ({@link #consumeHeapCheckRequest()}), so that memory usage can be limited in much the same way as execution time.
  *
  * @see ComputerScheduler
  * @see ManagedTimeoutState
@@ -66,6 +74,10 @@ public abstract class TimeoutState {
     protected boolean paused;
     protected boolean softAbort;
     protected volatile boolean hardAbort;
+    protected volatile boolean sampleRequested;
+    protected volatile boolean heapCheckRequested;
+
+    private volatile @Nullable LuaProfiler profiler;
 
     /**
      * Recompute the {@link #isSoftAborted()} and {@link #isPaused()} flags.
@@ -105,6 +117,66 @@ public final boolean isHardAborted() {
         return hardAbort;
     }
 
+    /**
+     * Get the profiler attached to this computer.
+     *
+     * @return The current profiler, or {@code null} if this computer is not being profiled.
+     */
+    public final @Nullable LuaProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Attach or detach a profiler from this computer.
+     *
+     * @param profiler The profiler to attach, or {@code null} to stop profiling.
+     */
+    public final void setProfiler(@Nullable LuaProfiler profiler) {
+        this.profiler = profiler;
+        if (profiler == null) sampleRequested = false;
+    }
+
+    /**
+     * Determine if the machine should record a sample for the current {@linkplain #getProfiler() profiler}, clearing
+     * the request if so.
+     *
+     * @return {@code true} if the machine should record a sample.
+     */
+    public final boolean consumeSampleRequest() {
+        if (!sampleRequested) return false;
+        sampleRequested = false;
+        return true;
+    }
+
+    /**
+     * Whether a sample has been requested, but not yet {@linkplain #consumeSampleRequest() consumed}.
+     *
+     * @return Whether a sample has been requested.
+     */
+    public final boolean isSampleRequested() {
+        return sampleRequested;
+    }
+
+    /**
+     * Determine if the machine should estimate the size of its heap, clearing the request if so.
+     *
+     * @return {@code true} if the machine should check its heap.
+     */
+    public final boolean consumeHeapCheckRequest() {
+        if (!heapCheckRequested) return false;
+        heapCheckRequested = false;
+        return true;
+    }
+
+    /**
+     * Whether a heap check has been requested, but not yet {@linkplain #consumeHeapCheckRequest() consumed}.
+     *
+     * @return Whether a heap check has been requested.
+     */
+    public final boolean isHeapCheckRequested() {
+        return heapCheckRequested;
+    }
+
     @GuardedBy("this")
     protected final void updateListeners() {
         for (var listener : listeners) listener.run();
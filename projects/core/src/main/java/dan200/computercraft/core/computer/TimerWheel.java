@@ -0,0 +1,191 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.computer;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.util.function.IntConsumer;
+
+/**
+ * A hierarchical timer wheel, used to store the {@linkplain Environment#startTimer(long) timers} of a computer.
+ * <p>
+ * Timers are keyed by the absolute tick at which they fire. The wheel is split into several levels, each of which
+ * has {@link #LEVEL_SIZE} slots. Level 0 holds timers which fire within the current "rotation" of the wheel, with
+ * higher levels each covering a {@link #LEVEL_SIZE} times larger range. When the lower digits of the current tick wrap
+ * around, the matching slot from the level above is cascaded down into lower levels.
+ * <p>
+ * This means that {@linkplain #advance(IntConsumer) advancing} the wheel only touches timers which are about to fire
+ * (or be cascaded), rather than every outstanding timer. Each timer is stored in an intrusive linked list, and so
+ * {@linkplain #add(int, long) adding} and {@linkplain #cancel(int) cancelling} timers is O(1).
+ * <p>
+ * This class is not thread safe, and should be externally synchronised.
+ */
+final class TimerWheel {
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+
+    /**
+     * The number of levels needed to cover the full range of a {@code long}.
+     */
+    private static final int LEVELS = (Long.SIZE + LEVEL_BITS - 1) / LEVEL_BITS;
+
+    private final Int2ObjectMap<Entry> entries = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * The slots in each level. Levels are allocated lazily, as most computers only use short timers.
+     */
+    private final Entry[][] levels = new Entry[LEVELS][];
+
+    /**
+     * The current tick. All timers in the wheel will fire strictly after this tick.
+     */
+    private long now = 0;
+
+    /**
+     * Get the number of pending timers.
+     *
+     * @return The number of pending timers.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Add a new timer to the wheel.
+     *
+     * @param id    The id of this timer.
+     * @param ticks The number of ticks until this timer fires. Timers with a delay of 0 or less will fire on the next
+     *              call to {@link #advance(IntConsumer)}.
+     */
+    void add(int id, long ticks) {
+        var deadline = ticks <= 1 ? now + 1 : ticks > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ticks;
+
+        var entry = new Entry(id, deadline);
+        var previous = entries.put(id, entry);
+        if (previous != null) unlink(previous);
+
+        insert(entry);
+    }
+
+    /**
+     * Cancel a pending timer.
+     *
+     * @param id The id of the timer to cancel.
+     */
+    void cancel(int id) {
+        var entry = entries.remove(id);
+        if (entry != null) unlink(entry);
+    }
+
+    /**
+     * Remove all pending timers.
+     */
+    void clear() {
+        entries.clear();
+        for (var i = 0; i < LEVELS; i++) levels[i] = null;
+    }
+
+    /**
+     * Advance the wheel by one tick, firing any timers which have now expired.
+     *
+     * @param fire The function to call for every expired timer.
+     */
+    void advance(IntConsumer fire) {
+        var now = ++this.now;
+        if (entries.isEmpty()) return;
+
+        // Find the highest level which has wrapped around on this tick, and then cascade the current slot from each
+        // level down. We do this from the top down, so timers moved from a high level to a lower one are then cascaded
+        // again (or fired) if required.
+        var cascadeLevels = 1;
+        while (cascadeLevels < LEVELS && (now & ((1L << (cascadeLevels * LEVEL_BITS)) - 1)) == 0) cascadeLevels++;
+
+        for (var level = cascadeLevels - 1; level >= 1; level--) {
+            var entry = take(level, slot(now, level));
+            while (entry != null) {
+                var next = entry.next;
+                entry.next = entry.previous = null;
+                insert(entry);
+                entry = next;
+            }
+        }
+
+        var entry = take(0, slot(now, 0));
+        while (entry != null) {
+            var next = entry.next;
+            entry.next = entry.previous = null;
+            entry.level = -1;
+            entries.remove(entry.id);
+            fire.accept(entry.id);
+            entry = next;
+        }
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >>> (level * LEVEL_BITS)) & LEVEL_MASK;
+    }
+
+    private void insert(Entry entry) {
+        // Timers are stored in the level of the highest digit where they differ from the current time. Timers which
+        // fire on this tick are placed in level 0.
+        var difference = entry.deadline ^ now;
+        var level = difference == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(difference)) / LEVEL_BITS;
+        var slot = slot(entry.deadline, level);
+
+        var slots = levels[level];
+        if (slots == null) slots = levels[level] = new Entry[LEVEL_SIZE];
+
+        var head = slots[slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.next = head;
+        if (head != null) head.previous = entry;
+        slots[slot] = entry;
+    }
+
+    private @Nullable Entry take(int level, int slot) {
+        var slots = levels[level];
+        if (slots == null) return null;
+
+        var head = slots[slot];
+        slots[slot] = null;
+        return head;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.level < 0) return;
+
+        var next = entry.next;
+        var previous = entry.previous;
+        if (next != null) next.previous = previous;
+        if (previous != null) {
+            previous.next = next;
+        } else {
+            var slots = levels[entry.level];
+            if (slots != null && slots[entry.slot] == entry) slots[entry.slot] = next;
+        }
+
+        entry.next = entry.previous = null;
+        entry.level = -1;
+    }
+
+    private static final class Entry {
+        final int id;
+        final long deadline;
+
+        int level = -1;
+        int slot;
+        @Nullable Entry previous;
+        @Nullable Entry next;
+
+        Entry(int id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -7,6 +7,8 @@
 import dan200.computercraft.core.computer.TimeoutState;
 import dan200.computercraft.core.metrics.MetricsObserver;
 
+import javax.annotation.Nullable;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -99,6 +101,15 @@ interface Worker {
          */
         int getComputerID();
 
+        /**
+         * Get the owner of this computer. Computers with the same owner share execution time between them.
+         *
+         * @return This computer's owner, or {@code null} if it should be scheduled on its own.
+         * @see dan200.computercraft.core.computer.ComputerEnvironment#getOwner()
+         */
+        @Nullable
+        UUID getOwner();
+
         /**
          * Write any useful debugging information computer to the provided buffer. This is used in log messages when the
          * computer has run for too long.
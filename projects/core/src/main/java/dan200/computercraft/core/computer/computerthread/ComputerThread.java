@@ -5,6 +5,7 @@
 package dan200.computercraft.core.computer.computerthread;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
 import com.google.errorprone.annotations.Keep;
 import dan200.computercraft.core.ComputerContext;
 import dan200.computercraft.core.Logging;
@@ -19,8 +20,10 @@
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +53,17 @@
  * <p>
  * In reality, it's unlikely that more than a few computers are waiting to execute at once, so this will not have much
  * effect unless you have a computer hogging execution time. However, it is pretty effective in those situations.
+ * <p>
+ * Computers with the same {@linkplain Worker#getOwner() owner} are placed into a single {@link ExecutorGroup}. We run
+ * the above algorithm twice: first picking the group with the least virtual runtime, and then the computer within that
+ * group with the least virtual runtime. This means execution time is shared evenly between owners (rather than between
+ * computers), so a player cannot claim more time by placing more computers. Computers without an owner are placed in a
+ * group on their own, and so are scheduled exactly as before.
+ * <p>
+ * The number of workers may change over time, between the {@link ComputerThreadConfig#minThreads()} and
+ * {@link ComputerThreadConfig#maxThreads()} limits. The {@link Monitor} adds a worker when computers have been waiting
+ * to run for a while, and removes one when workers have been idle for a while (or when the rest of the host is busy).
+ * Unneeded workers stop once they finish their current task. See {@link Monitor#adjustWorkers(long)}.
  */
 public final class ComputerThread implements ComputerScheduler {
     private static final Logger LOG = LoggerFactory.getLogger(ComputerThread.class);
@@ -71,6 +85,22 @@ public final class ComputerThread implements ComputerScheduler {
      */
     private static final long MONITOR_WAKEUP = TimeUnit.MILLISECONDS.toNanos(100);
 
+    /**
+     * The minimum time between two samples when {@linkplain TimeoutState#getProfiler() profiling} a computer.
+     * <p>
+     * The monitor may run more often than this when the computer thread is busy. We keep a fixed sample rate, so that
+     * samples taken under load are not over-represented.
+     *
+     * @see Monitor
+     */
+    private static final long SAMPLE_INTERVAL = MONITOR_WAKEUP;
+
+    /**
+     * The minimum time between two {@linkplain ManagedTimeoutState#requestHeapCheck() heap checks} of a running
+     * computer.
+     */
+    private static final long HEAP_CHECK_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
     /**
      * The target latency between executing two tasks on a single machine.
      * <p>
@@ -132,8 +162,16 @@ public final class ComputerThread implements ComputerScheduler {
 
     private final Condition shutdown = threadLock.newCondition();
 
-    private final long latency;
-    private final long minPeriod;
+    private final ComputerThreadConfig config;
+
+    /**
+     * The number of workers we want to be running. This is between {@link ComputerThreadConfig#minThreads()} and the
+     * length of {@link #workers}, and is only changed by the {@link Monitor}.
+     */
+    private volatile int targetWorkers;
+
+    private volatile long latency;
+    private volatile long minPeriod;
 
     private final ReentrantLock computerLock = new ReentrantLock();
     private final @GuardedBy("computerLock") Condition workerWakeup = computerLock.newCondition();
@@ -142,10 +180,25 @@ public final class ComputerThread implements ComputerScheduler {
     private final AtomicInteger idleWorkers = new AtomicInteger(0);
 
     /**
-     * Active queues to execute.
+     * Groups with at least one executor waiting to run.
+     * <p>
+     * A group is on this queue iff its {@linkplain ExecutorGroup#queue own queue} is non-empty.
+     */
+    @GuardedBy("computerLock")
+    private final TreeSet<ExecutorGroup> groupQueue = new TreeSet<>(ComputerThread::compareGroups);
+
+    /**
+     * All groups with an owner, used to find the group for a newly queued executor. Groups are held by their
+     * executors, and so are removed once none of the owner's computers are loaded.
      */
     @GuardedBy("computerLock")
-    private final TreeSet<ExecutorImpl> computerQueue = new TreeSet<>(ComputerThread::compareExecutors);
+    private final Map<UUID, ExecutorGroup> groups = new MapMaker().weakValues().makeMap();
+
+    /**
+     * The total number of executors waiting to run, across all groups.
+     */
+    @GuardedBy("computerLock")
+    private int queuedExecutors = 0;
 
     @SuppressWarnings("GuardedBy")
     private static int compareExecutors(ExecutorImpl a, ExecutorImpl b) {
@@ -156,17 +209,57 @@ private static int compareExecutors(ExecutorImpl a, ExecutorImpl b) {
         return at < bt ? -1 : 1;
     }
 
+    private static int compareGroups(ExecutorGroup a, ExecutorGroup b) {
+        if (a == b) return 0;
+
+        long at = a.virtualRuntime, bt = b.virtualRuntime;
+        if (at == bt) return Integer.compare(a.hashCode(), b.hashCode());
+        return at < bt ? -1 : 1;
+    }
+
     /**
-     * The minimum {@link ExecutorImpl#virtualRuntime} time on the tree.
+     * The minimum {@link ExecutorGroup#virtualRuntime} time on the tree.
      */
     private long minimumVirtualRuntime = 0;
 
+    /**
+     * Create a new computer thread with a fixed number of workers.
+     *
+     * @param threadCount The number of worker threads.
+     */
     public ComputerThread(int threadCount) {
-        workers = new WorkerThread[threadCount];
+        this(new ComputerThreadConfig.Basic(
+            threadCount, threadCount, ComputerThreadConfig.DEFAULT_GROW_DELAY, ComputerThreadConfig.DEFAULT_SHRINK_DELAY
+        ));
+    }
+
+    /**
+     * Create a new computer thread, whose number of workers changes with the current load.
+     *
+     * @param config The config for this computer thread.
+     */
+    public ComputerThread(ComputerThreadConfig config) {
+        var minThreads = config.minThreads();
+        var maxThreads = config.maxThreads();
+        if (minThreads < 1) throw new IllegalArgumentException("minThreads must be >= 1");
+        if (maxThreads < minThreads) throw new IllegalArgumentException("maxThreads must be >= minThreads");
+
+        this.config = config;
+        workers = new WorkerThread[maxThreads];
+        setTargetWorkers(minThreads);
+    }
+
+    /**
+     * Set the number of workers we want to run, and update the {@link #latency} and {@link #minPeriod} to match.
+     *
+     * @param target The number of workers.
+     */
+    private void setTargetWorkers(int target) {
+        targetWorkers = target;
 
         // latency and minPeriod are scaled by 1 + floor(log2(threads)). We can afford to execute tasks for
         // longer when executing on more than one thread.
-        var factor = 64 - Long.numberOfLeadingZeros(workers.length);
+        var factor = 64 - Long.numberOfLeadingZeros(target);
         latency = DEFAULT_LATENCY * factor;
         minPeriod = DEFAULT_MIN_PERIOD * factor;
     }
@@ -200,14 +293,14 @@ private WorkerThread[] workersReadOnly() {
     private void ensureRunning() {
         // Don't even enter the lock if we've a monitor and don't need to/can't spawn an additional worker.
         // We'll be holding the computer lock at this point, so there's no problems with idleWorkers being wrong.
-        if (monitor != null && (idleWorkers.get() > 0 || workerCount() == workersReadOnly().length)) return;
+        if (monitor != null && (idleWorkers.get() > 0 || workerCount() >= targetWorkers)) return;
 
         threadLock.lock();
         try {
             LOG.trace("Possibly spawning a worker or monitor.");
 
             if (monitor == null || !monitor.isAlive()) (monitor = monitorFactory.newThread(new Monitor())).start();
-            if (idleWorkers.get() == 0 || workerCount < workers.length) {
+            if (workerCount < targetWorkers) {
                 for (var i = 0; i < workers.length; i++) {
                     if (workers[i] == null) {
                         addWorker(i);
@@ -303,23 +396,26 @@ void queue(ExecutorImpl executor) {
 
             updateRuntimes(null);
 
+            // Move the executor to its owner's group, if it has changed since it was last queued.
+            var group = executor.group;
+            var owner = executor.worker.getOwner();
+            if (!Objects.equals(owner, group.owner)) {
+                executor.group = group = owner == null ? new ExecutorGroup(null) : groups.computeIfAbsent(owner, ExecutorGroup::new);
+                executor.virtualRuntime = 0;
+            }
+
             // We're not currently on the queue, so update its current execution time to
             // ensure its at least as high as the minimum.
-            var newRuntime = minimumVirtualRuntime;
+            executor.virtualRuntime = adjustRuntime(executor.virtualRuntime, group.minimumVirtualRuntime);
 
-            if (executor.virtualRuntime == 0) {
-                // Slow down new computers a little bit.
-                newRuntime += scaledPeriod();
-            } else {
-                // Give a small boost to computers which have slept a little.
-                newRuntime -= latency / 2;
+            // If the group has no other work queued, do the same for the group's execution time.
+            if (group.queue.isEmpty()) {
+                group.virtualRuntime = adjustRuntime(group.virtualRuntime, minimumVirtualRuntime);
             }
 
-            executor.virtualRuntime = Math.max(newRuntime, executor.virtualRuntime);
-
             var wasBusy = isBusy();
             // Add to the queue, and signal the workers.
-            computerQueue.add(executor);
+            addToQueue(executor);
             workerWakeup.signal();
 
             // If we've transitioned into a busy state, notify the monitor. This will cause it to sleep for scaledPeriod
@@ -332,8 +428,21 @@ void queue(ExecutorImpl executor) {
 
 
     /**
-     * Update the {@link ExecutorImpl#virtualRuntime}s of all running tasks, and then update the
-     * {@link #minimumVirtualRuntime} based on the current tasks.
+     * Compute the new virtual runtime of an executor or group which is about to be added to the queue.
+     *
+     * @param runtime The current virtual runtime.
+     * @param minimum The minimum virtual runtime of its peers.
+     * @return The new virtual runtime.
+     */
+    private long adjustRuntime(long runtime, long minimum) {
+        // Slow down new computers a little bit, and give a small boost to computers which have slept a little.
+        var newRuntime = runtime == 0 ? minimum + scaledPeriod() : minimum - latency / 2;
+        return Math.max(newRuntime, runtime);
+    }
+
+    /**
+     * Update the {@link ExecutorImpl#virtualRuntime}s (and the {@link ExecutorGroup#virtualRuntime}s of their groups)
+     * of all running tasks, and then update the {@link #minimumVirtualRuntime} based on the current tasks.
      * <p>
      * This is called before queueing tasks, to ensure that {@link #minimumVirtualRuntime} is up-to-date.
      *
@@ -343,12 +452,11 @@ void queue(ExecutorImpl executor) {
     private void updateRuntimes(@Nullable ExecutorImpl current) {
         var minRuntime = Long.MAX_VALUE;
 
-        // If we've a task on the queue, use that as our base time.
-        if (!computerQueue.isEmpty()) minRuntime = computerQueue.first().virtualRuntime;
+        // If we've a group on the queue, use that as our base time.
+        if (!groupQueue.isEmpty()) minRuntime = groupQueue.first().virtualRuntime;
 
         // Update all the currently executing tasks
         var now = System.nanoTime();
-        var tasks = 1 + computerQueue.size();
         for (@Nullable var runner : workersReadOnly()) {
             if (runner == null) continue;
             var executor = runner.currentExecutor.get();
@@ -356,20 +464,75 @@ private void updateRuntimes(@Nullable ExecutorImpl current) {
 
             // We do two things here: first we update the task's virtual runtime based on when we
             // last checked, and then we check the minimum.
-            minRuntime = Math.min(minRuntime, executor.virtualRuntime += (now - executor.vRuntimeStart) / tasks);
+            minRuntime = Math.min(minRuntime, updateRuntime(executor, now));
             executor.vRuntimeStart = now;
         }
 
         // And update the most recently executed one (if set).
-        if (current != null) {
-            minRuntime = Math.min(minRuntime, current.virtualRuntime += (now - current.vRuntimeStart) / tasks);
-        }
+        if (current != null) minRuntime = Math.min(minRuntime, updateRuntime(current, now));
 
         if (minRuntime > minimumVirtualRuntime && minRuntime < Long.MAX_VALUE) {
             minimumVirtualRuntime = minRuntime;
         }
     }
 
+    /**
+     * Update the virtual runtime of a running executor and its group.
+     *
+     * @param executor The executor to update.
+     * @param now      The current time.
+     * @return The new virtual runtime of the executor's group.
+     */
+    @GuardedBy("computerLock")
+    private long updateRuntime(ExecutorImpl executor, long now) {
+        var elapsed = now - executor.vRuntimeStart;
+        var group = executor.group;
+
+        // Update the executor's runtime, sharing the time between all the group's tasks.
+        executor.virtualRuntime += elapsed / (1 + group.queue.size());
+        group.updateMinimum(executor.virtualRuntime);
+
+        // Then the group's runtime. The group may be on the queue (if it has other work waiting), so we need to remove
+        // it before updating its runtime.
+        var queued = !group.queue.isEmpty();
+        if (queued) groupQueue.remove(group);
+        group.virtualRuntime += elapsed / (1 + groupQueue.size());
+        if (queued) groupQueue.add(group);
+
+        return group.virtualRuntime;
+    }
+
+    /**
+     * Add an executor to its group's queue, adding the group to the {@link #groupQueue} if needed.
+     *
+     * @param executor The executor to add.
+     */
+    @GuardedBy("computerLock")
+    private void addToQueue(ExecutorImpl executor) {
+        var group = executor.group;
+        var wasEmpty = group.queue.isEmpty();
+        group.queue.add(executor);
+        if (wasEmpty) groupQueue.add(group);
+        queuedExecutors++;
+    }
+
+    /**
+     * Take the next executor to run from the queue. This picks the group with the lowest virtual runtime, and then the
+     * executor within that group with the lowest virtual runtime.
+     *
+     * @return The next executor to run, or {@code null} if the queue is empty.
+     */
+    @GuardedBy("computerLock")
+    private @Nullable ExecutorImpl pollQueue() {
+        var group = groupQueue.pollFirst();
+        if (group == null) return null;
+
+        var executor = group.queue.pollFirst();
+        if (!group.queue.isEmpty()) groupQueue.add(group);
+        queuedExecutors--;
+        return executor;
+    }
+
     /**
      * Ensure the "currently working" state of the executor is reset, the timings are updated, and then requeue the
      * executor if needed.
@@ -385,7 +548,7 @@ private void afterWork(ExecutorImpl executor) {
             if (!executor.afterWork() || state.get() != RUNNING) return;
 
             // Otherwise, add to the queue, and signal any waiting workers.
-            computerQueue.add(executor);
+            addToQueue(executor);
             workerWakeup.signal();
         } finally {
             computerLock.unlock();
@@ -396,7 +559,7 @@ private void afterWork(ExecutorImpl executor) {
     private int computerQueueSize() {
         // FIXME: We access this on other threads (in TimeoutState), so their reads won't be consistent. This isn't
         //  "critical" behaviour, so not clear if it matters too much.
-        return computerQueue.size();
+        return queuedExecutors;
     }
 
     /**
@@ -423,6 +586,35 @@ boolean hasPendingWork() {
         return computerQueueSize() > 0;
     }
 
+    /**
+     * Get the number of worker threads which are currently running.
+     *
+     * @return The number of worker threads.
+     */
+    public int getWorkerCount() {
+        return workerCount();
+    }
+
+    /**
+     * Get the number of computers waiting to run.
+     *
+     * @return The number of queued computers.
+     */
+    public int getQueueSize() {
+        return computerQueueSize();
+    }
+
+    /**
+     * Get the time a computer may currently run for before being paused, in nanoseconds. This changes with the
+     * {@linkplain #getQueueSize() number of queued computers} and the number of workers.
+     *
+     * @return The current period.
+     * @see #scaledPeriod()
+     */
+    public long getPeriod() {
+        return scaledPeriod();
+    }
+
     /**
      * Check if we have more work queued than we have capacity for. Effectively a more fine-grained version of
      * {@link #hasPendingWork()}.
@@ -450,9 +642,8 @@ private void workerFinished(WorkerThread worker) {
             if (workers[worker.index] != worker) {
                 assert false : "workerFinished but inconsistent worker";
                 LOG.error("Worker {} closed, but new runner has been spawned.", worker.index);
-            } else if (state.get() == RUNNING || (state.get() == STOPPING && hasPendingWork())) {
+            } else if ((state.get() == RUNNING && workerCount < targetWorkers) || (state.get() == STOPPING && hasPendingWork())) {
                 addWorker(worker.index);
-                workerCount++;
             } else {
                 workers[worker.index] = null;
             }
@@ -461,6 +652,30 @@ private void workerFinished(WorkerThread worker) {
         }
     }
 
+    /**
+     * Stop a worker if more are running than we {@linkplain #targetWorkers need}.
+     *
+     * @param worker The worker to stop. This should not be running a task.
+     * @return Whether this worker should stop.
+     */
+    @GuardedBy("computerLock")
+    private boolean tryRetire(WorkerThread worker) {
+        // Avoid taking the lock in the common case, where the number of workers has not changed.
+        if (workerCount() <= targetWorkers) return false;
+
+        threadLock.lock();
+        try {
+            if (workerCount <= targetWorkers || !worker.running.compareAndSet(true, false)) return false;
+
+            LOG.trace("Worker {} no longer needed, stopping.", worker.index);
+            workerCount--;
+            if (workers[worker.index] == worker) workers[worker.index] = null;
+            return true;
+        } finally {
+            threadLock.unlock();
+        }
+    }
+
     /**
      * Observes all currently active {@link WorkerThread}s and terminates their tasks once they have exceeded the hard
      * abort limit.
@@ -468,6 +683,29 @@ private void workerFinished(WorkerThread worker) {
      * @see TimeoutState
      */
     private final class Monitor implements Runnable {
+        /**
+         * The last time we {@linkplain ManagedTimeoutState#requestSample() requested a sample} from running computers.
+         */
+        private long lastSample = System.nanoTime();
+
+        /**
+         * The last time we {@linkplain ManagedTimeoutState#requestHeapCheck() requested a heap check} from running
+         * computers.
+         */
+        private long lastHeapCheck = System.nanoTime();
+
+        /**
+         * Whether we want more workers, and when we started wanting them.
+         */
+        private boolean wantsGrow = false;
+        private long growStart;
+
+        /**
+         * Whether we want fewer workers, and when we started wanting them.
+         */
+        private boolean wantsShrink = false;
+        private long shrinkStart;
+
         @Override
         public void run() {
             LOG.trace("Monitor starting.");
@@ -497,6 +735,61 @@ private void runImpl() {
                 }
 
                 checkRunners(workerThreadIds);
+                adjustWorkers(System.nanoTime());
+            }
+        }
+
+        /**
+         * Add or remove a worker if the load has been consistently high or low.
+         * <p>
+         * We want more workers if computers are waiting to run, and fewer if a worker is idle or the host is busy. This
+         * must hold every time the monitor wakes up for {@link ComputerThreadConfig#growDelay()} (or
+         * {@link ComputerThreadConfig#shrinkDelay()}) before we change the number of workers, so that short spikes of
+         * work do not cause threads to be constantly created and destroyed.
+         *
+         * @param now The current time.
+         */
+        private void adjustWorkers(long now) {
+            var target = targetWorkers;
+            var hostBusy = config.isHostBusy();
+
+            var grow = target < workersReadOnly().length && !hostBusy && isBusy();
+            if (!grow) {
+                wantsGrow = false;
+            } else if (!wantsGrow) {
+                wantsGrow = true;
+                growStart = now;
+            } else if (now - growStart >= config.growDelay()) {
+                LOG.trace("Computer thread is busy, increasing workers to {}.", target + 1);
+                wantsGrow = false;
+
+                computerLock.lock();
+                try {
+                    setTargetWorkers(target + 1);
+                    ensureRunning();
+                } finally {
+                    computerLock.unlock();
+                }
+            }
+
+            var shrink = target > config.minThreads() && (hostBusy || (idleWorkers.get() > 0 && !hasPendingWork()));
+            if (!shrink) {
+                wantsShrink = false;
+            } else if (!wantsShrink) {
+                wantsShrink = true;
+                shrinkStart = now;
+            } else if (now - shrinkStart >= config.shrinkDelay()) {
+                LOG.trace("Computer thread is {}, decreasing workers to {}.", hostBusy ? "throttled" : "idle", target - 1);
+                wantsShrink = false;
+
+                // Wake up any idle workers, so one of them can stop.
+                computerLock.lock();
+                try {
+                    setTargetWorkers(target - 1);
+                    workerWakeup.signalAll();
+                } finally {
+                    computerLock.unlock();
+                }
             }
         }
 
@@ -521,6 +814,12 @@ private void checkRunners(long[] workerThreadIds) {
             }
             var allocationTime = System.nanoTime();
 
+            var sample = allocationTime - lastSample >= SAMPLE_INTERVAL;
+            if (sample) lastSample = allocationTime;
+
+            var heapCheck = allocationTime - lastHeapCheck >= HEAP_CHECK_INTERVAL;
+            if (heapCheck) lastHeapCheck = allocationTime;
+
             for (var i = 0; i < workers.length; i++) {
                 var runner = workers[i];
                 if (runner == null) continue;
@@ -532,6 +831,12 @@ private void checkRunners(long[] workerThreadIds) {
                 // Refresh the timeout state. Will set the pause/soft timeout flags as appropriate.
                 executor.timeout.refresh();
 
+                // If this computer is being profiled, ask it to record its current call stack.
+                if (sample) executor.timeout.requestSample();
+
+                // Periodically ask the computer to re-estimate its heap size, so we can enforce memory limits.
+                if (heapCheck) executor.timeout.requestHeapCheck();
+
                 // And track the allocated memory.
                 if (allocations != null) {
                     executor.updateAllocations(new ThreadAllocation(workerThreadIds[i], allocations[i], allocationTime));
@@ -568,7 +873,7 @@ private void checkRunners(long[] workerThreadIds) {
     }
 
     /**
-     * Pulls tasks from the {@link #computerQueue} queue and runs them.
+     * Pulls tasks from the {@link #groupQueue} queue and runs them.
      * <p>
      * This is responsible for running the {@link ComputerScheduler.Worker#work()}, {@link ExecutorImpl#beforeWork()}
      * and {@link ExecutorImpl#afterWork()} functions. Everything else is either handled by the executor,
@@ -624,7 +929,12 @@ private void runImpl() {
                 computerLock.lock();
                 try {
                     idleWorkers.getAndIncrement();
-                    while ((executor = computerQueue.pollFirst()) == null) {
+                    while (true) {
+                        // If we have more workers than needed, stop this one. We keep all workers when stopping, so
+                        // any remaining work is finished quickly.
+                        if (state.get() == RUNNING && tryRetire(this)) return;
+
+                        if ((executor = pollQueue()) != null) break;
                         if (state.get() >= STOPPING) return;
 
                         // We should never interrupt() the worker, so this should be fine.
@@ -803,6 +1113,13 @@ private final class ExecutorImpl implements Executor {
          */
         long vRuntimeStart;
 
+        /**
+         * The group this executor belongs to. This is only changed when the executor is queued.
+         *
+         * @see #queue(ExecutorImpl)
+         */
+        ExecutorGroup group = new ExecutorGroup(null);
+
         ExecutorImpl(Worker worker, MetricsObserver metrics) {
             this.worker = worker;
             this.metrics = metrics;
@@ -902,6 +1219,44 @@ public void setRemainingTime(long time) {
         }
     }
 
+    /**
+     * A group of executors with the same {@linkplain Worker#getOwner() owner}.
+     *
+     * @see ComputerThread
+     */
+    private static final class ExecutorGroup {
+        final @Nullable UUID owner;
+
+        /**
+         * The executors in this group which are waiting to run.
+         */
+        final TreeSet<ExecutorImpl> queue = new TreeSet<>(ComputerThread::compareExecutors);
+
+        /**
+         * The amount of time this group has used on a theoretical machine which shares work evenly amongst owners.
+         */
+        long virtualRuntime = 0;
+
+        /**
+         * The minimum {@link ExecutorImpl#virtualRuntime} of executors in this group.
+         */
+        long minimumVirtualRuntime = 0;
+
+        ExecutorGroup(@Nullable UUID owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Update the {@link #minimumVirtualRuntime} after a running executor's runtime has changed.
+         *
+         * @param runtime The running executor's virtual runtime.
+         */
+        void updateMinimum(long runtime) {
+            var minRuntime = queue.isEmpty() ? runtime : Math.min(runtime, queue.first().virtualRuntime);
+            if (minRuntime > minimumVirtualRuntime) minimumVirtualRuntime = minRuntime;
+        }
+    }
+
     private final class TimeoutImpl extends ManagedTimeoutState {
         @Override
         protected boolean shouldPause() {
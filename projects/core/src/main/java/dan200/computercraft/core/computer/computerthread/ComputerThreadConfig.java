@@ -0,0 +1,88 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.computer.computerthread;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options to configure the {@link ComputerThread}.
+ * <p>
+ * The computer thread runs between {@link #minThreads()} and {@link #maxThreads()} worker threads. It starts with the
+ * minimum number of workers, adding another one when computers have been waiting to run for at least
+ * {@link #growDelay()}, and removing one when a worker has been idle (or {@linkplain #isHostBusy() the host is busy})
+ * for at least {@link #shrinkDelay()}.
+ */
+public interface ComputerThreadConfig {
+    /**
+     * The default value for {@link #growDelay()}.
+     */
+    long DEFAULT_GROW_DELAY = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The default value for {@link #shrinkDelay()}.
+     */
+    long DEFAULT_SHRINK_DELAY = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The minimum number of worker threads. This must be at least 1.
+     * <p>
+     * This is only read when the {@link ComputerThread} is created.
+     *
+     * @return The minimum number of worker threads.
+     */
+    int minThreads();
+
+    /**
+     * The maximum number of worker threads. If this is the same as {@link #minThreads()}, the number of workers is
+     * fixed.
+     * <p>
+     * This is only read when the {@link ComputerThread} is created.
+     *
+     * @return The maximum number of worker threads.
+     */
+    int maxThreads();
+
+    /**
+     * How long computers must be waiting for a worker before we add another one, in nanoseconds.
+     *
+     * @return The delay before adding a worker.
+     */
+    long growDelay();
+
+    /**
+     * How long workers must be idle (or {@linkplain #isHostBusy() the host busy}) before we remove a worker, in
+     * nanoseconds.
+     * <p>
+     * This should be longer than {@link #growDelay()}, to avoid repeatedly starting and stopping threads under a
+     * fluctuating load.
+     *
+     * @return The delay before removing a worker.
+     */
+    long shrinkDelay();
+
+    /**
+     * Whether the rest of the host is under load, and so computers should use fewer threads. For instance, this may
+     * return {@code true} when the server's tick time is too high.
+     * <p>
+     * While this is true, we will not add any workers, and will gradually remove workers down to
+     * {@link #minThreads()}.
+     *
+     * @return Whether the host is busy.
+     */
+    default boolean isHostBusy() {
+        return false;
+    }
+
+    /**
+     * A basic implementation of {@link ComputerThreadConfig}, which works on constant values.
+     *
+     * @param minThreads  See {@link ComputerThreadConfig#minThreads()}.
+     * @param maxThreads  See {@link ComputerThreadConfig#maxThreads()}.
+     * @param growDelay   See {@link ComputerThreadConfig#growDelay()}.
+     * @param shrinkDelay See {@link ComputerThreadConfig#shrinkDelay()}.
+     */
+    record Basic(int minThreads, int maxThreads, long growDelay, long shrinkDelay) implements ComputerThreadConfig {
+    }
+}
@@ -98,6 +98,32 @@ public final void hardAbort() {
         }
     }
 
+    /**
+     * Request that the machine records a sample for its {@linkplain #getProfiler() profiler}. This does nothing if no
+     * profiler is attached.
+     */
+    public final void requestSample() {
+        if (getProfiler() == null || sampleRequested) return;
+        sampleRequested = true;
+        synchronized (this) {
+            updateListeners();
+        }
+    }
+
+    /**
+     * Request that the machine re-estimates the size of its heap.
+     * <p>
+     * Unlike other flags, this is not cleared by {@link #reset()}: if the machine finishes its current task before
+     * handling the request, it will instead be handled once the task has finished.
+     */
+    public final void requestHeapCheck() {
+        if (heapCheckRequested) return;
+        heapCheckRequested = true;
+        synchronized (this) {
+            updateListeners();
+        }
+    }
+
     /**
      * Start this timer, recording the current start time, and deadline before a computer may be paused.
      *
@@ -111,10 +137,10 @@ public final synchronized void startTimer(long pauseTimeout) {
     }
 
     /**
-     * Clear the paused and abort flags.
+     * Clear the paused, abort and sample flags.
      */
     public final synchronized void reset() {
-        paused = softAbort = hardAbort = false;
+        paused = softAbort = hardAbort = sampleRequested = false;
         updateListeners();
     }
 
@@ -4,10 +4,15 @@
 
 package dan200.computercraft.core.computer.mainthread;
 
-import dan200.computercraft.core.metrics.MetricsObserver;
+import com.google.common.collect.MapMaker;
+import dan200.computercraft.core.computer.ComputerEnvironment;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.TreeSet;
+import java.util.UUID;
 
 /**
  * Runs tasks on the main (server) thread, ticks {@link MainThreadExecutor}s, and limits how much time is used this
@@ -21,12 +26,32 @@
  * <p>
  * Next tick, we add {@link MainThreadConfig#maxGlobalTime()} to our budget (clamp it to that value too). If we're still
  * over budget, then we should not execute <em>any</em> work (either as part of {@link MainThread} or externally).
+ * <p>
+ * If the config has a {@linkplain MainThreadConfig#targetTickTime() target tick time}, the global and per-computer
+ * time limits are {@linkplain #updateBudget() scaled down} while the server is lagging, and back up once it recovers.
+ * <p>
+ * Like {@link dan200.computercraft.core.computer.computerthread.ComputerThread}, executors with the same
+ * {@linkplain ComputerEnvironment#getOwner() owner} are placed into a single {@link ExecutorGroup}. We pick the group
+ * which has spent the least time executing, and then the executor within that group which has spent the least time
+ * executing.
  */
 public final class MainThread implements MainThreadScheduler {
     /**
-     * The queue of {@link MainThreadExecutor}s with tasks to perform.
+     * How much we reduce {@link Limits#scale()} by on each tick the server is over its target tick time.
+     */
+    private static final double BUDGET_DECREASE = 0.9;
+
+    /**
+     * How much we increase {@link Limits#scale()} by on each tick the server is under its target tick time.
+     */
+    private static final double BUDGET_INCREASE = 0.01;
+
+    /**
+     * The queue of {@link ExecutorGroup}s with tasks to perform.
+     * <p>
+     * A group is on this queue iff its {@linkplain ExecutorGroup#executors own queue} is non-empty.
      */
-    private final TreeSet<MainThreadExecutor> executors = new TreeSet<>((a, b) -> {
+    private final TreeSet<ExecutorGroup> queue = new TreeSet<>((a, b) -> {
         if (a == b) return 0; // Should never happen, but let's be consistent here
 
         long at = a.virtualTime, bt = b.virtualTime;
@@ -34,7 +59,13 @@ public final class MainThread implements MainThreadScheduler {
         return at < bt ? -1 : 1;
     });
 
-    final MainThreadConfig config;
+    /**
+     * All groups with an owner, used to find the group for a newly queued executor. Groups are held by their
+     * executors, and so are removed once none of the owner's computers are loaded.
+     */
+    private final Map<UUID, ExecutorGroup> groups = new MapMaker().weakValues().makeMap();
+
+    private final MainThreadConfig config;
 
     /**
      * The set of executors which went over budget in a previous tick, and are waiting for their time to run down.
@@ -66,31 +97,86 @@ public final class MainThread implements MainThreadScheduler {
 
     private long minimumTime = 0;
 
+    /**
+     * The current time limits. This is written on the server thread, but may be read from any thread (for instance,
+     * by computers queuing new tasks), so the limits are published together as a single immutable value.
+     *
+     * @see #updateBudget()
+     */
+    private volatile Limits limits;
+
     public MainThread() {
         this(MainThreadConfig.DEFAULT);
     }
 
     public MainThread(MainThreadConfig config) {
         this.config = config;
+        limits = new Limits(1, config.maxGlobalTime(), config.maxComputerTime());
     }
 
     void queue(MainThreadExecutor executor) {
-        synchronized (executors) {
+        synchronized (queue) {
             if (executor.onQueue) throw new IllegalStateException("Cannot queue already queued executor");
             executor.onQueue = true;
+
+            // Move the executor to its owner's group, if it has changed since it was last queued.
+            var group = executor.group;
+            var owner = executor.getOwner();
+            if (!Objects.equals(owner, group.owner)) {
+                executor.group = group = owner == null ? new ExecutorGroup(null) : groups.computeIfAbsent(owner, ExecutorGroup::new);
+                executor.virtualTime = 0;
+            }
+
+            var oldTime = executor.virtualTime;
             executor.updateTime();
+            addTime(group, executor.virtualTime - oldTime);
 
             // We're not currently on the queue, so update its current execution time to
-            // ensure it's at least as high as the minimum.
-            var newRuntime = minimumTime;
+            // ensure it's at least as high as the minimum. If the group has no other work queued, we do the same for
+            // the group too.
+            if (group.executors.isEmpty()) group.virtualTime = adjustTime(group.virtualTime, minimumTime);
+            executor.virtualTime = adjustTime(executor.virtualTime, group.minimumTime);
 
-            // Slow down new computers a little bit.
-            if (executor.virtualTime == 0) newRuntime += config.maxComputerTime();
+            addToQueue(executor);
+        }
+    }
 
-            executor.virtualTime = Math.max(newRuntime, executor.virtualTime);
+    private long adjustTime(long time, long minimum) {
+        // Slow down new computers a little bit.
+        var newTime = time == 0 ? minimum + maxComputerTime() : minimum;
+        return Math.max(newTime, time);
+    }
 
-            executors.add(executor);
-        }
+    /**
+     * Add some execution time to a group.
+     *
+     * @param group The group to update.
+     * @param time  The time to add.
+     */
+    private void addTime(ExecutorGroup group, long time) {
+        if (time == 0) return;
+
+        // If the group is on the queue, we need to remove it before changing its time.
+        var queued = !group.executors.isEmpty();
+        if (queued) queue.remove(group);
+        group.virtualTime += time;
+        if (queued) queue.add(group);
+    }
+
+    private void addToQueue(MainThreadExecutor executor) {
+        var group = executor.group;
+        var wasEmpty = group.executors.isEmpty();
+        group.executors.add(executor);
+        if (wasEmpty) queue.add(group);
+    }
+
+    private @Nullable MainThreadExecutor pollQueue() {
+        var group = queue.pollFirst();
+        if (group == null) return null;
+
+        var executor = group.executors.pollFirst();
+        if (!group.executors.isEmpty()) queue.add(group);
+        return executor;
     }
 
     void cooling(MainThreadExecutor executor) {
@@ -109,6 +195,64 @@ int currentTick() {
         return currentTick;
     }
 
+    /**
+     * The current maximum time a computer can execute for in a tick.
+     *
+     * @return The max time a computer can execute in a single tick.
+     * @see MainThreadConfig#maxComputerTime()
+     */
+    long maxComputerTime() {
+        return limits.maxComputerTime();
+    }
+
+    /**
+     * Get the current maximum time that can be spent executing tasks in a tick, in nanoseconds. This is normally
+     * {@link MainThreadConfig#maxGlobalTime()}, but may be lower when the server is lagging.
+     *
+     * @return The max time that can be spent executing tasks in a single tick.
+     */
+    public long getGlobalBudget() {
+        return limits.maxGlobalTime();
+    }
+
+    /**
+     * Get the current maximum time a computer can execute for in a tick, in nanoseconds. This is normally
+     * {@link MainThreadConfig#maxComputerTime()}, but may be lower when the server is lagging.
+     *
+     * @return The max time a computer can execute in a single tick.
+     */
+    public long getComputerBudget() {
+        return limits.maxComputerTime();
+    }
+
+    /**
+     * Update the current {@link #limits} for this tick.
+     * <p>
+     * If we have a {@linkplain MainThreadConfig#targetTickTime() target tick time}, we adjust {@link Limits#scale()}
+     * based on the server's current tick time. This uses additive-increase/multiplicative-decrease: we quickly back off
+     * when the server is lagging, and then slowly increase our budget again once it has recovered. The budget never
+     * drops below {@link MainThreadConfig#minGlobalTime()}.
+     */
+    private Limits updateBudget() {
+        var maxGlobal = config.maxGlobalTime();
+        var target = config.targetTickTime();
+        double scale;
+        if (target <= 0) {
+            scale = 1;
+        } else {
+            var minScale = Math.min(1, (double) config.minGlobalTime() / maxGlobal);
+            scale = config.tickTime() > target
+                ? Math.max(minScale, limits.scale() * BUDGET_DECREASE)
+                : Math.min(1, limits.scale() + BUDGET_INCREASE);
+        }
+
+        return limits = new Limits(
+            scale,
+            Math.max(1, (long) (maxGlobal * scale)),
+            Math.max(1, (long) (config.maxComputerTime() * scale))
+        );
+    }
+
     public void tick() {
         // Move onto the next tick and cool down the global executor. We're allowed to execute if we have _any_ time
         // allocated for this tick. This means we'll stick much closer to doing MAX_TICK_TIME work every tick.
@@ -116,7 +260,7 @@ public void tick() {
         // Of course, we'll go over the MAX_TICK_TIME most of the time, but eventually that overrun will accumulate
         // and we'll skip a whole tick - bringing the average back down again.
         currentTick++;
-        var maxGlobal = config.maxGlobalTime();
+        var maxGlobal = updateBudget().maxGlobalTime();
         budget = Math.min(budget + maxGlobal, maxGlobal);
         canExecute = budget > 0;
 
@@ -130,8 +274,8 @@ public void tick() {
         var deadline = start + budget;
         while (true) {
             MainThreadExecutor executor;
-            synchronized (executors) {
-                executor = executors.pollFirst();
+            synchronized (queue) {
+                executor = pollQueue();
             }
             if (executor == null) break;
 
@@ -139,17 +283,24 @@ public void tick() {
             executor.execute();
 
             var taskStop = System.nanoTime();
-            synchronized (executors) {
-                if (executor.afterExecute(taskStop - taskStart)) executors.add(executor);
-
-                // Compute the new minimum time (including the next task on the queue too). Note that this may also include
-                // time spent in external tasks.
+            synchronized (queue) {
+                var group = executor.group;
+                var oldTime = executor.virtualTime;
+                var requeue = executor.afterExecute(taskStop - taskStart);
+                addTime(group, executor.virtualTime - oldTime);
+                if (requeue) addToQueue(executor);
+
+                // Compute the new minimum time for the group and executor (including the next task on the queue too).
+                // Note that this may also include time spent in external tasks.
                 var newMinimum = executor.virtualTime;
-                if (!executors.isEmpty()) {
-                    var next = executors.first();
-                    if (next.virtualTime < newMinimum) newMinimum = next.virtualTime;
-                }
-                minimumTime = Math.max(minimumTime, newMinimum);
+                var next = group.executors.isEmpty() ? null : group.executors.first();
+                if (next != null && next.virtualTime < newMinimum) newMinimum = next.virtualTime;
+                group.minimumTime = Math.max(group.minimumTime, newMinimum);
+
+                var newGroupMinimum = group.virtualTime;
+                var nextGroup = queue.isEmpty() ? null : queue.first();
+                if (nextGroup != null && nextGroup.virtualTime < newGroupMinimum) newGroupMinimum = nextGroup.virtualTime;
+                minimumTime = Math.max(minimumTime, newGroupMinimum);
             }
 
             if (taskStop >= deadline) break;
@@ -159,7 +310,50 @@ public void tick() {
     }
 
     @Override
-    public Executor createExecutor(MetricsObserver metrics) {
-        return new MainThreadExecutor(metrics, this);
+    public Executor createExecutor(ComputerEnvironment environment) {
+        return new MainThreadExecutor(environment, this);
+    }
+
+    /**
+     * A group of executors with the same {@linkplain ComputerEnvironment#getOwner() owner}.
+     */
+    static final class ExecutorGroup {
+        final @Nullable UUID owner;
+
+        /**
+         * The executors in this group with tasks to perform.
+         */
+        final TreeSet<MainThreadExecutor> executors = new TreeSet<>((a, b) -> {
+            if (a == b) return 0;
+
+            long at = a.virtualTime, bt = b.virtualTime;
+            if (at == bt) return Integer.compare(a.hashCode(), b.hashCode());
+            return at < bt ? -1 : 1;
+        });
+
+        /**
+         * The total time executors in this group have spent executing.
+         */
+        long virtualTime;
+
+        /**
+         * The minimum {@link MainThreadExecutor#virtualTime} of executors in this group.
+         */
+        long minimumTime;
+
+        ExecutorGroup(@Nullable UUID owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * The time limits for the current tick.
+     *
+     * @param scale           The fraction of {@link MainThreadConfig#maxGlobalTime()} and
+     *                        {@link MainThreadConfig#maxComputerTime()} which may currently be used.
+     * @param maxGlobalTime   The maximum time that can be spent executing tasks in a tick.
+     * @param maxComputerTime The maximum time a computer can execute for in a tick.
+     */
+    private record Limits(double scale, long maxGlobalTime, long maxComputerTime) {
     }
 }
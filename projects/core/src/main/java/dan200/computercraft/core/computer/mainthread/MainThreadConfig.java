@@ -20,6 +20,11 @@ public interface MainThreadConfig {
      */
     long DEFAULT_MAX_COMPUTER_TIME = TimeUnit.MILLISECONDS.toNanos(5);
 
+    /**
+     * The default value for {@link #minGlobalTime()}.
+     */
+    long DEFAULT_MIN_GLOBAL_TIME = TimeUnit.MILLISECONDS.toNanos(1);
+
     /**
      * The default config.
      */
@@ -39,6 +44,40 @@ public interface MainThreadConfig {
      */
     long maxComputerTime();
 
+    /**
+     * The target duration of a server tick, in nanoseconds, or {@code 0} to disable.
+     * <p>
+     * When the server's {@linkplain #tickTime() tick time} is above this value, we gradually reduce
+     * {@link #maxGlobalTime()} and {@link #maxComputerTime()}, raising them back again once the tick time has
+     * recovered.
+     *
+     * @return The target tick time.
+     */
+    default long targetTickTime() {
+        return 0;
+    }
+
+    /**
+     * The smallest amount of time we will reduce {@link #maxGlobalTime()} to when the server is over its
+     * {@linkplain #targetTickTime() target tick time}, in nanoseconds. This ensures computers can always do some work,
+     * even when the server is lagging.
+     *
+     * @return The minimum time that can be spent executing tasks in a single tick.
+     */
+    default long minGlobalTime() {
+        return DEFAULT_MIN_GLOBAL_TIME;
+    }
+
+    /**
+     * The server's recent (e.g. exponentially averaged) tick time, in nanoseconds. This is compared against the
+     * {@link #targetTickTime()}, and so is only needed when that is set.
+     *
+     * @return The current tick time.
+     */
+    default long tickTime() {
+        return 0;
+    }
+
     /**
      * A basic implementation of {@link MainThreadConfig}, which works on constant values.
      *
@@ -6,11 +6,14 @@
 
 import dan200.computercraft.api.peripheral.WorkMonitor;
 import dan200.computercraft.core.computer.Computer;
+import dan200.computercraft.core.computer.ComputerEnvironment;
 import dan200.computercraft.core.metrics.Metrics;
 import dan200.computercraft.core.metrics.MetricsObserver;
 
+import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -52,6 +55,7 @@ final class MainThreadExecutor implements MainThreadScheduler.Executor {
      */
     private static final int MAX_TASKS = 5000;
 
+    private final ComputerEnvironment environment;
     private final MetricsObserver metrics;
 
     /**
@@ -103,15 +107,39 @@ final class MainThreadExecutor implements MainThreadScheduler.Executor {
 
     private long pendingTime;
 
+    /**
+     * Whether we are currently running one of our {@link #tasks}.
+     */
+    private boolean executing;
+
+    /**
+     * The time passed to {@link #trackWork(long, TimeUnit)} by the currently running task. This has already been
+     * removed from our {@link #budget}, and so is not counted again in {@link #afterExecute(long)}.
+     */
+    private long trackedTaskTime;
+
     long virtualTime;
 
+    /**
+     * The group this executor belongs to. This is only changed when the executor is queued.
+     *
+     * @see MainThread#queue(MainThreadExecutor)
+     */
+    MainThread.ExecutorGroup group = new MainThread.ExecutorGroup(null);
+
     private final MainThread scheduler;
 
-    MainThreadExecutor(MetricsObserver metrics, MainThread scheduler) {
-        this.metrics = metrics;
+    MainThreadExecutor(ComputerEnvironment environment, MainThread scheduler) {
+        this.environment = environment;
+        metrics = environment.getMetrics();
         this.scheduler = scheduler;
     }
 
+    @Nullable
+    UUID getOwner() {
+        return environment.getOwner();
+    }
+
     /**
      * Push a task onto this executor's queue, pushing it onto the {@link MainThread} if needed.
      *
@@ -135,7 +163,14 @@ void execute() {
             task = tasks.poll();
         }
 
-        if (task != null) task.run();
+        if (task == null) return;
+
+        executing = true;
+        try {
+            task.run();
+        } finally {
+            executing = false;
+        }
     }
 
     /**
@@ -145,10 +180,13 @@ void execute() {
      * @return Whether this should be added back to the queue.
      */
     boolean afterExecute(long time) {
-        consumeTime(time);
+        // Any work the task tracked itself has already been removed from our budget.
+        var taskTime = Math.max(time, trackedTaskTime);
+        consumeTime(taskTime - trackedTaskTime);
+        trackedTaskTime = 0;
 
         synchronized (queueLock) {
-            virtualTime += time;
+            virtualTime += taskTime;
             updateTime();
             if (state != State.COOL || tasks.isEmpty()) return onQueue = false;
             return true;
@@ -173,6 +211,15 @@ public boolean shouldWork() {
     @Override
     public void trackWork(long time, TimeUnit unit) {
         var nanoTime = unit.toNanos(time);
+        if (executing) {
+            // This work is part of the current task, and so MainThread will already count it towards this executor's
+            // virtual time and the global budget. We only need to update our budget now, so canWork and shouldWork
+            // reflect the time spent so far.
+            consumeTime(nanoTime);
+            trackedTaskTime += nanoTime;
+            return;
+        }
+
         synchronized (queueLock) {
             pendingTime += nanoTime;
         }
@@ -188,7 +235,7 @@ private void consumeTime(long time) {
         // #tickCooling() isn't called, and so we didn't overrun the previous tick.
         if (currentTick != scheduler.currentTick()) {
             currentTick = scheduler.currentTick();
-            budget = scheduler.config.maxComputerTime();
+            budget = scheduler.maxComputerTime();
         }
 
         budget -= time;
@@ -208,7 +255,7 @@ private void consumeTime(long time) {
     boolean tickCooling() {
         state = State.COOLING;
         currentTick = scheduler.currentTick();
-        var maxTime = scheduler.config.maxComputerTime();
+        var maxTime = scheduler.maxComputerTime();
         budget = Math.min(budget + maxTime, maxTime);
         if (budget < maxTime) return false;
 
@@ -5,7 +5,7 @@
 package dan200.computercraft.core.computer.mainthread;
 
 import dan200.computercraft.api.peripheral.WorkMonitor;
-import dan200.computercraft.core.metrics.MetricsObserver;
+import dan200.computercraft.core.computer.ComputerEnvironment;
 
 import java.util.OptionalLong;
 
@@ -19,10 +19,12 @@ public interface MainThreadScheduler {
     /**
      * Create an executor for a computer. This should only be called once for a single computer.
      *
-     * @param observer A sink for metrics, used to monitor task timings.
+     * @param environment The computer's environment. This is used to {@linkplain ComputerEnvironment#getMetrics()
+     *                    monitor task timings}, and to find the computer's {@linkplain ComputerEnvironment#getOwner()
+     *                    owner}.
      * @return The executor for this computer.
      */
-    Executor createExecutor(MetricsObserver observer);
+    Executor createExecutor(ComputerEnvironment environment);
 
     /**
      * An {@link Executor} is responsible for managing scheduled tasks for a single computer.
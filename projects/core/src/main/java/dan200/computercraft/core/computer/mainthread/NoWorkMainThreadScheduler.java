@@ -4,7 +4,7 @@
 
 package dan200.computercraft.core.computer.mainthread;
 
-import dan200.computercraft.core.metrics.MetricsObserver;
+import dan200.computercraft.core.computer.ComputerEnvironment;
 
 import java.util.concurrent.TimeUnit;
 
@@ -15,7 +15,7 @@
  */
 public final class NoWorkMainThreadScheduler implements MainThreadScheduler {
     @Override
-    public Executor createExecutor(MetricsObserver observer) {
+    public Executor createExecutor(ComputerEnvironment environment) {
         return new ExecutorImpl();
     }
 
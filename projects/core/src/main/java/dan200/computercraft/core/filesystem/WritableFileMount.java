@@ -10,13 +10,17 @@
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import static dan200.computercraft.api.filesystem.MountConstants.*;
@@ -28,10 +32,26 @@
 public class WritableFileMount extends FileMount implements WritableMount {
     private static final Logger LOG = LoggerFactory.getLogger(WritableFileMount.class);
 
+    /**
+     * The size of each channel's write buffer. Writes at least this large skip the buffer entirely.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     protected final File rootFile;
     private final long capacity;
+
+    /**
+     * A lock guarding {@link #usedSpace} and all open files. The same mount may be shared between several computers
+     * (for instance, a floppy disk in a disk drive), and so may be accessed from multiple threads at once.
+     */
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
     private long usedSpace;
 
+    @GuardedBy("lock")
+    private final Map<Path, OpenFile> openFiles = new HashMap<>();
+
     public WritableFileMount(File rootFile, long capacity) {
         super(rootFile.toPath());
         this.rootFile = rootFile;
@@ -43,6 +63,27 @@ protected File resolveFile(String path) {
         return new File(rootFile, path);
     }
 
+    /**
+     * Write any buffered data for a file to disk, so that its size and contents may be read.
+     *
+     * @param path The mount-relative path, used for error messages.
+     * @param file The resolved path to the file.
+     * @return The state for the open file, or {@code null} if the file is not open.
+     * @throws FileOperationException If the data could not be written.
+     */
+    @GuardedBy("lock")
+    private @Nullable OpenFile flushOpenFile(String path, Path file) throws FileOperationException {
+        var openFile = openFiles.get(file);
+        if (openFile == null) return null;
+
+        try {
+            openFile.flush();
+        } catch (IOException e) {
+            throw remapException(path, e);
+        }
+        return openFile;
+    }
+
     private void create() throws FileOperationException {
         try {
             Files.createDirectories(root);
@@ -53,7 +94,9 @@ private void create() throws FileOperationException {
 
     @Override
     public long getRemainingSpace() {
-        return Math.max(capacity - usedSpace, 0);
+        synchronized (lock) {
+            return Math.max(capacity - usedSpace, 0);
+        }
     }
 
     @Override
@@ -73,41 +116,59 @@ public boolean isReadOnly(String path) {
 
     @Override
     public void makeDirectory(String path) throws IOException {
-        create();
-        var file = resolveFile(path);
-        if (file.exists()) {
-            if (!file.isDirectory()) throw new FileOperationException(path, FILE_EXISTS);
-            return;
-        }
+        synchronized (lock) {
+            create();
+            var file = resolveFile(path);
+            if (file.exists()) {
+                if (!file.isDirectory()) throw new FileOperationException(path, FILE_EXISTS);
+                return;
+            }
 
-        var dirsToCreate = 1;
-        var parent = file.getParentFile();
-        while (!parent.exists()) {
-            ++dirsToCreate;
-            parent = parent.getParentFile();
-        }
+            var dirsToCreate = 1;
+            var parent = file.getParentFile();
+            while (!parent.exists()) {
+                ++dirsToCreate;
+                parent = parent.getParentFile();
+            }
 
-        if (getRemainingSpace() < dirsToCreate * MINIMUM_FILE_SIZE) {
-            throw new FileOperationException(path, OUT_OF_SPACE);
-        }
+            if (getRemainingSpace() < dirsToCreate * MINIMUM_FILE_SIZE) {
+                throw new FileOperationException(path, OUT_OF_SPACE);
+            }
 
-        if (file.mkdirs()) {
-            usedSpace += dirsToCreate * MINIMUM_FILE_SIZE;
-        } else {
-            throw new FileOperationException(path, ACCESS_DENIED);
+            if (file.mkdirs()) {
+                usedSpace += dirsToCreate * MINIMUM_FILE_SIZE;
+            } else {
+                throw new FileOperationException(path, ACCESS_DENIED);
+            }
         }
     }
 
     @Override
     public void delete(String path) throws IOException {
-        if (path.isEmpty()) throw new FileOperationException(path, ACCESS_DENIED);
-
-        if (created()) {
-            var file = resolveFile(path);
-            if (file.exists()) deleteRecursively(file);
+        synchronized (lock) {
+            if (path.isEmpty()) throw new FileOperationException(path, ACCESS_DENIED);
+
+            if (created()) {
+                var file = resolveFile(path);
+                if (!file.exists()) return;
+
+                // Write any buffered data first, so the deleted files' sizes are correct.
+                var filePath = file.toPath();
+                for (var openFile : openFiles.values()) {
+                    if (openFile.path.startsWith(filePath)) openFile.flush();
+                }
+
+                try {
+                    deleteRecursively(file);
+                } finally {
+                    // Any channels which are still open now refer to a different file to the one at this path.
+                    openFiles.values().removeIf(x -> x.path.startsWith(filePath) && !Files.exists(x.path));
+                }
+            }
         }
     }
 
+    @GuardedBy("lock")
     private void deleteRecursively(File file) throws IOException {
         // Empty directories first
         if (file.isDirectory()) {
@@ -129,20 +190,46 @@ private void deleteRecursively(File file) throws IOException {
 
     @Override
     public void rename(String source, String dest) throws FileOperationException {
-        var sourceFile = resolvePath(source);
-        var destFile = resolvePath(dest);
-        if (!Files.exists(sourceFile)) throw new FileOperationException(source, NO_SUCH_FILE);
-        if (Files.exists(destFile)) throw new FileOperationException(dest, FILE_EXISTS);
+        synchronized (lock) {
+            var sourceFile = resolvePath(source);
+            var destFile = resolvePath(dest);
+            if (!Files.exists(sourceFile)) throw new FileOperationException(source, NO_SUCH_FILE);
+            if (Files.exists(destFile)) throw new FileOperationException(dest, FILE_EXISTS);
+
+            if (destFile.startsWith(sourceFile)) {
+                throw new FileOperationException(source, "Cannot move a directory inside itself");
+            }
 
-        if (destFile.startsWith(sourceFile)) {
-            throw new FileOperationException(source, "Cannot move a directory inside itself");
+            try {
+                Files.move(sourceFile, destFile);
+            } catch (IOException e) {
+                throw remapException(source, e);
+            }
+
+            // Open channels follow the file, so update their paths too.
+            var moved = openFiles.values().stream().filter(x -> x.path.startsWith(sourceFile)).toList();
+            for (var openFile : moved) openFiles.remove(openFile.path);
+            for (var openFile : moved) {
+                openFile.path = destFile.resolve(sourceFile.relativize(openFile.path));
+                openFiles.put(openFile.path, openFile);
+            }
         }
+    }
 
-        try {
-            Files.move(sourceFile, destFile);
-        } catch (IOException e) {
-            throw remapException(source, e);
+    @Override
+    public BasicFileAttributes getAttributes(String path) throws FileOperationException {
+        synchronized (lock) {
+            flushOpenFile(path, resolvePath(path));
         }
+        return super.getAttributes(path);
+    }
+
+    @Override
+    public SeekableByteChannel openForRead(String path) throws FileOperationException {
+        synchronized (lock) {
+            flushOpenFile(path, resolvePath(path));
+        }
+        return super.openForRead(path);
     }
 
     private @Nullable BasicFileAttributes tryGetAttributes(String path, Path resolved) throws FileOperationException {
@@ -169,65 +256,189 @@ public SeekableByteChannel openForAppend(String path) throws IOException {
 
     @Override
     public SeekableByteChannel openFile(String path, Set<OpenOption> options) throws IOException {
-        var flags = FileFlags.of(options);
+        synchronized (lock) {
+            var flags = FileFlags.of(options);
 
-        if (path.isEmpty()) {
-            throw new FileOperationException(path, flags.create() ? CANNOT_WRITE_TO_DIRECTORY : NOT_A_FILE);
-        }
+            if (path.isEmpty()) {
+                throw new FileOperationException(path, flags.create() ? CANNOT_WRITE_TO_DIRECTORY : NOT_A_FILE);
+            }
+
+            create();
+
+            var file = resolvePath(path);
+            var openFile = flushOpenFile(path, file);
+            var attributes = tryGetAttributes(path, file);
+            if (attributes != null && attributes.isDirectory()) {
+                throw new FileOperationException(path, flags.create() ? CANNOT_WRITE_TO_DIRECTORY : NOT_A_FILE);
+            }
+
+            if (attributes == null) {
+                if (!flags.create()) throw new FileOperationException(path, NO_SUCH_FILE);
 
-        create();
+                if (getRemainingSpace() < MINIMUM_FILE_SIZE) throw new FileOperationException(path, OUT_OF_SPACE);
+                usedSpace += MINIMUM_FILE_SIZE;
+            } else if (flags.truncate()) {
+                usedSpace -= Math.max(attributes.size(), MINIMUM_FILE_SIZE);
+                usedSpace += MINIMUM_FILE_SIZE;
+            }
+
+            // Allowing seeking when appending is not recommended, so we use a separate channel.
+            SeekableByteChannel channel;
+            try {
+                channel = Files.newByteChannel(file, options);
+            } catch (IOException e) {
+                throw remapException(path, e);
+            }
 
-        var file = resolvePath(path);
-        var attributes = tryGetAttributes(path, file);
-        if (attributes != null && attributes.isDirectory()) {
-            throw new FileOperationException(path, flags.create() ? CANNOT_WRITE_TO_DIRECTORY : NOT_A_FILE);
+            if (openFile == null) {
+                openFile = new OpenFile(file);
+                openFiles.put(file, openFile);
+            }
+            openFile.size = attributes == null || flags.truncate() ? 0 : attributes.size();
+            openFile.channels++;
+            return new CountingChannel(openFile, channel, flags.append());
         }
+    }
 
-        if (attributes == null) {
-            if (!flags.create()) throw new FileOperationException(path, NO_SUCH_FILE);
+    /**
+     * The state shared between all channels open on a single file.
+     * <p>
+     * Channels track the file's size themselves, rather than querying the OS on every write. To keep {@link #usedSpace}
+     * exact when multiple channels are open on the same file, they share a single size. Similarly, only one channel
+     * may have unwritten data at once, so that writes from different channels hit the disk in the order they were made.
+     * <p>
+     * All fields (and those of {@link CountingChannel}) are guarded by the mount's {@link #lock}.
+     */
+    private final class OpenFile {
+        private Path path;
+        private long size;
+        private int channels;
+        private @Nullable CountingChannel pending;
+
+        OpenFile(Path path) {
+            this.path = path;
+        }
 
-            if (getRemainingSpace() < MINIMUM_FILE_SIZE) throw new FileOperationException(path, OUT_OF_SPACE);
-            usedSpace += MINIMUM_FILE_SIZE;
-        } else if (flags.truncate()) {
-            usedSpace -= Math.max(attributes.size(), MINIMUM_FILE_SIZE);
-            usedSpace += MINIMUM_FILE_SIZE;
+        void flush() throws IOException {
+            var pending = this.pending;
+            if (pending != null) pending.flushBuffer();
         }
 
-        // Allowing seeking when appending is not recommended, so we use a separate channel.
-        try {
-            return new CountingChannel(Files.newByteChannel(file, options));
-        } catch (IOException e) {
-            throw remapException(path, e);
+        void release() {
+            channels--;
+            if (channels == 0 && openFiles.get(path) == this) openFiles.remove(path);
         }
     }
 
-    private class CountingChannel implements SeekableByteChannel {
+    /**
+     * A channel which tracks the amount of space used, and coalesces small writes into a single larger one.
+     * <p>
+     * Space for buffered data is reserved when it is written, so that {@link #getRemainingSpace()} stays accurate. If
+     * the data cannot be written to disk, this reservation is released again.
+     */
+    private final class CountingChannel implements SeekableByteChannel, Flushable {
+        private final OpenFile file;
         private final SeekableByteChannel channel;
+        private final boolean append;
+
+        private long position;
+        private long channelPosition;
 
-        CountingChannel(SeekableByteChannel channel) {
+        private @Nullable ByteBuffer buffer;
+        private long bufferStart;
+
+        /**
+         * The size of the file before we started buffering data, and the amount of space reserved for buffered data.
+         * These are used to undo our accounting if the buffer cannot be written.
+         */
+        private long bufferFileSize;
+        private long bufferReserved;
+
+        CountingChannel(OpenFile file, SeekableByteChannel channel, boolean append) {
+            this.file = file;
             this.channel = channel;
+            this.append = append;
         }
 
         @Override
         public int write(ByteBuffer b) throws IOException {
-            var toWrite = b.remaining();
-
-            // If growing the file, make sure we have space for it.
-            var newPosition = Math.addExact(channel.position(), toWrite);
-            var newBytes = newPosition - Math.max(MINIMUM_FILE_SIZE, channel.size());
-            if (newBytes > 0) {
-                var newUsedSpace = Math.addExact(usedSpace, newBytes);
-                if (newUsedSpace > capacity) throw new IOException(OUT_OF_SPACE);
-                usedSpace = newUsedSpace;
+            synchronized (lock) {
+                if (!isOpen()) throw new ClosedChannelException();
+
+                var toWrite = b.remaining();
+                var start = position();
+
+                // Any data buffered by another channel must be written first, otherwise it may overwrite ours.
+                var pending = file.pending;
+                if (pending != null && pending != this) pending.flushBuffer();
+
+                var buffer = this.buffer;
+                if (buffer != null && buffer.position() > 0 && bufferStart + buffer.position() != start) flushBuffer();
+
+                // If growing the file, make sure we have space for it.
+                var newPosition = Math.addExact(start, toWrite);
+                var newBytes = Math.max(0, newPosition - Math.max(MINIMUM_FILE_SIZE, file.size));
+                if (newBytes > 0 && Math.addExact(usedSpace, newBytes) > capacity) throw new IOException(OUT_OF_SPACE);
+
+                if (toWrite >= BUFFER_SIZE) {
+                    flushBuffer();
+                    writeFully(start, b);
+                } else {
+                    if (buffer == null) buffer = this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    if (toWrite > buffer.remaining()) flushBuffer();
+
+                    if (buffer.position() == 0) {
+                        bufferStart = start;
+                        bufferFileSize = file.size;
+                    }
+                    buffer.put(b);
+                    bufferReserved += newBytes;
+                    file.pending = this;
+                }
+
+                usedSpace += newBytes;
+                position = newPosition;
+                if (newPosition > file.size) file.size = newPosition;
+                return toWrite;
             }
+        }
+
+        private void writeFully(long start, ByteBuffer b) throws IOException {
+            if (!append && channelPosition != start) channel.position(start);
 
+            var toWrite = b.remaining();
             var written = channel.write(b);
+            channelPosition = start + written;
 
             // Some safety checks to check our file size accounting is reasonable.
             if (written != toWrite) throw new IllegalStateException("Not all bytes were written");
-            assert channel.position() == newPosition : "Position is consistent";
+        }
+
+        void flushBuffer() throws IOException {
+            var buffer = this.buffer;
+            if (buffer == null || buffer.position() == 0) return;
+
+            buffer.flip();
+            try {
+                writeFully(bufferStart, buffer);
+            } catch (IOException | RuntimeException e) {
+                // The buffered data never reached the disk, so release the space we reserved for it.
+                usedSpace -= bufferReserved;
+                if (file.size > bufferFileSize) file.size = bufferFileSize;
+                throw e;
+            } finally {
+                buffer.clear();
+                bufferReserved = 0;
+                if (file.pending == this) file.pending = null;
+            }
+        }
 
-            return written;
+        @Override
+        public void flush() throws IOException {
+            synchronized (lock) {
+                if (!isOpen()) throw new ClosedChannelException();
+                flushBuffer();
+            }
         }
 
         @Override
@@ -237,7 +448,16 @@ public boolean isOpen() {
 
         @Override
         public void close() throws IOException {
-            channel.close();
+            synchronized (lock) {
+                if (!isOpen()) return;
+
+                try {
+                    flushBuffer();
+                } finally {
+                    file.release();
+                    channel.close();
+                }
+            }
         }
 
         @Override
@@ -245,7 +465,13 @@ public SeekableByteChannel position(long newPosition) throws IOException {
             if (!isOpen()) throw new ClosedChannelException();
             if (newPosition < 0) throw new IllegalArgumentException("Cannot seek before the beginning of the stream");
 
-            return channel.position(newPosition);
+            synchronized (lock) {
+                if (newPosition != position) {
+                    flushBuffer();
+                    position = newPosition;
+                }
+            }
+            return this;
         }
 
         @Override
@@ -255,17 +481,36 @@ public SeekableByteChannel truncate(long size) throws IOException {
 
         @Override
         public int read(ByteBuffer dst) throws IOException {
-            return channel.read(dst);
+            if (!isOpen()) throw new ClosedChannelException();
+
+            synchronized (lock) {
+                file.flush();
+                if (channelPosition != position) {
+                    channel.position(position);
+                    channelPosition = position;
+                }
+
+                var read = channel.read(dst);
+                if (read > 0) position = channelPosition = position + read;
+                return read;
+            }
         }
 
         @Override
         public long position() throws IOException {
-            return channel.position();
+            if (!isOpen()) throw new ClosedChannelException();
+            synchronized (lock) {
+                // Appending channels always write to the end of the file.
+                return append ? file.size : position;
+            }
         }
 
         @Override
         public long size() throws IOException {
-            return channel.size();
+            if (!isOpen()) throw new ClosedChannelException();
+            synchronized (lock) {
+                return file.size;
+            }
         }
     }
 
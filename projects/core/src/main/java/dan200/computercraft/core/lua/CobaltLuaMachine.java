@@ -8,11 +8,15 @@
 import dan200.computercraft.api.lua.ILuaAPI;
 import dan200.computercraft.api.lua.ILuaContext;
 import dan200.computercraft.api.lua.ILuaFunction;
+import dan200.computercraft.api.lua.OwnedBytes;
 import dan200.computercraft.core.CoreConfig;
 import dan200.computercraft.core.Logging;
 import dan200.computercraft.core.computer.TimeoutState;
 import dan200.computercraft.core.methods.LuaMethod;
 import dan200.computercraft.core.methods.MethodSupplier;
+import dan200.computercraft.core.methods.ObjectSource;
+import dan200.computercraft.core.metrics.Metrics;
+import dan200.computercraft.core.metrics.MetricsObserver;
 import dan200.computercraft.core.util.LuaUtil;
 import dan200.computercraft.core.util.Nullability;
 import dan200.computercraft.core.util.SanitisedError;
@@ -21,6 +25,7 @@
 import org.squiddev.cobalt.*;
 import org.squiddev.cobalt.compiler.CompileException;
 import org.squiddev.cobalt.compiler.LoadState;
+import org.squiddev.cobalt.debug.DebugFrame;
 import org.squiddev.cobalt.interrupt.InterruptAction;
 import org.squiddev.cobalt.lib.Bit32Lib;
 import org.squiddev.cobalt.lib.CoreLibraries;
@@ -36,23 +41,69 @@ public class CobaltLuaMachine implements ILuaMachine {
 
     private static final LuaMethod FUNCTION_METHOD = (target, context, args) -> ((ILuaFunction) target).call(args);
 
+    /**
+     * The error message to display when a computer exceeds its memory limit.
+     */
+    static final String OUT_OF_MEMORY_MESSAGE = "Out of memory";
+
+    /**
+     * The amount of {@linkplain LuaHeapEstimator#step(int, long) work} to do on each heap check. Larger heaps are
+     * walked over several checks, rather than blocking the computer for a long time.
+     */
+    private static final int HEAP_CHECK_BUDGET = 100_000;
+
+    /**
+     * The maximum number of heap checks to skip after a walk finishes.
+     */
+    private static final int MAX_SKIPPED_HEAP_CHECKS = 3;
+
+    /**
+     * The number of heap checks to skip after a walk finishes, when no memory limit is set. We still occasionally
+     * estimate the heap's size in this case, so that it can be reported in the {@link Metrics#LUA_HEAP} metric.
+     */
+    private static final int UNLIMITED_SKIPPED_HEAP_CHECKS = 15;
+
     private final TimeoutState timeout;
     private final Runnable timeoutListener = this::updateTimeout;
     private final ILuaContext context;
     private final MethodSupplier<LuaMethod> luaMethods;
+    private final MetricsObserver metrics;
+
+    /**
+     * The {@linkplain ObjectPrototype prototypes} for objects converted to Lua tables, keyed by their class.
+     */
+    private final Map<Class<?>, ObjectPrototype> prototypes = new HashMap<>();
 
     private final LuaState state;
     private final LuaThread mainRoutine;
+    private final LuaHeapEstimator heapEstimator;
 
     private volatile boolean isDisposed = false;
     private boolean thrownSoftAbort;
 
+    /**
+     * Set when the heap has exceeded the soft memory limit, and we should throw an error on the next interrupt.
+     */
+    private boolean memoryErrorPending;
+    private boolean thrownMemoryError;
+
+    /**
+     * Set when the heap has exceeded the hard memory limit, and the machine should be shut down.
+     */
+    private boolean outOfMemory;
+
+    /**
+     * The number of heap check requests to ignore before starting the next walk.
+     */
+    private int skippedHeapChecks;
+
     private @Nullable String eventFilter = null;
 
     public CobaltLuaMachine(MachineEnvironment environment, InputStream bios) throws MachineException {
         timeout = environment.timeout();
         context = environment.context();
         luaMethods = environment.luaMethods();
+        metrics = environment.metrics();
 
         // Create an environment to run in
         var state = this.state = LuaState.builder()
@@ -62,6 +113,15 @@ public CobaltLuaMachine(MachineEnvironment environment, InputStream bios) throws
                     thrownSoftAbort = true;
                     throw new LuaError(TimeoutState.ABORT_MESSAGE);
                 }
+                if (timeout.consumeSampleRequest()) recordSample();
+
+                if (timeout.consumeHeapCheckRequest()) checkHeap();
+                if (outOfMemory) throw new HardAbortError();
+                if (memoryErrorPending) {
+                    memoryErrorPending = false;
+                    thrownMemoryError = true;
+                    throw new LuaError(OUT_OF_MEMORY_MESSAGE);
+                }
 
                 return timeout.isPaused() ? InterruptAction.SUSPEND : InterruptAction.CONTINUE;
             })
@@ -86,6 +146,7 @@ public CobaltLuaMachine(MachineEnvironment environment, InputStream bios) throws
             // And load the BIOS
             var value = LoadState.load(state, bios, "@bios.lua", globals);
             mainRoutine = new LuaThread(state, value);
+            heapEstimator = new LuaHeapEstimator(state, mainRoutine);
         } catch (LuaError | CompileException e) {
             throw new MachineException(Nullability.assertNonNull(e.getMessage()));
         }
@@ -108,7 +169,94 @@ private void addAPI(LuaState state, LuaTable globals, ILuaAPI api) throws LuaErr
     private void updateTimeout() {
         if (isDisposed) return;
         if (!timeout.isSoftAborted()) thrownSoftAbort = false;
-        if (timeout.isSoftAborted() || timeout.isPaused()) state.interrupt();
+        if (timeout.isSoftAborted() || timeout.isPaused() || timeout.isSampleRequested() || timeout.isHeapCheckRequested()) {
+            state.interrupt();
+        }
+    }
+
+    /**
+     * Estimate the size of the Lua heap, and check it against the configured memory limits.
+     * <p>
+     * If the heap exceeds the {@linkplain CoreConfig#luaMemorySoftLimit soft limit}, we throw an error inside the
+     * currently running coroutine (much like {@link TimeoutState#ABORT_MESSAGE}), giving the program a chance to release
+     * memory. If the heap exceeds the {@linkplain CoreConfig#luaMemoryHardLimit hard limit}, the machine is shut down.
+     * <p>
+     * Each check only does a limited amount of work (see {@link #HEAP_CHECK_BUDGET}), so larger heaps are walked over
+     * several checks. Once a walk has finished, we skip further checks depending on how far the heap is from the limit.
+     * If there is no limit, we still walk the heap now and then, in order to report its size to the metrics system.
+     */
+    private void checkHeap() {
+        var softLimit = CoreConfig.luaMemorySoftLimit;
+        var hardLimit = CoreConfig.luaMemoryHardLimit;
+
+        if (skippedHeapChecks > 0) {
+            skippedHeapChecks--;
+            return;
+        }
+
+        var finished = heapEstimator.step(HEAP_CHECK_BUDGET, hardLimit > 0 ? hardLimit : Long.MAX_VALUE);
+
+        // While the walk is in progress, the size is a lower bound, so we can still detect when we're over the limit.
+        var size = heapEstimator.size();
+        if (hardLimit > 0 && size > hardLimit) {
+            outOfMemory = true;
+        } else if (softLimit > 0 && size > softLimit) {
+            if (!thrownMemoryError) memoryErrorPending = true;
+        } else if (finished) {
+            thrownMemoryError = false;
+        }
+
+        if (!finished) {
+            // If we're over the limit, start from scratch next time, as the program may release some memory.
+            if (memoryErrorPending) heapEstimator.reset();
+            return;
+        }
+
+        metrics.observe(Metrics.LUA_HEAP, size);
+
+        // The heap must roughly double in size before it can reach the limit again, which takes longer the further
+        // away from the limit we are. Skip one check for every doubling of headroom (beyond the first).
+        var limit = softLimit > 0 && (hardLimit <= 0 || softLimit < hardLimit) ? softLimit : hardLimit;
+        if (limit <= 0) {
+            skippedHeapChecks = UNLIMITED_SKIPPED_HEAP_CHECKS;
+            return;
+        }
+
+        var headroom = limit / Math.max(size, 1);
+        skippedHeapChecks = headroom <= 1 ? 0 : Math.min(MAX_SKIPPED_HEAP_CHECKS, 62 - Long.numberOfLeadingZeros(headroom));
+    }
+
+    /**
+     * Record the current call stack to the computer's {@link LuaProfiler}.
+     * <p>
+     * This is called from the interrupt handler, and so the currently executing function is always the innermost
+     * frame.
+     */
+    private void recordSample() {
+        var profiler = timeout.getProfiler();
+        var thread = state.getCurrentThread();
+        if (profiler == null || thread == null) return;
+
+        var debug = thread.getDebugState();
+        List<String> frames = new ArrayList<>();
+        for (var level = 0; level < LuaProfiler.MAX_DEPTH; level++) {
+            var frame = debug.getFrame(level);
+            if (frame == null) break;
+            frames.add(describeFrame(frame));
+        }
+
+        profiler.addSample(frames);
+    }
+
+    private static String describeFrame(DebugFrame frame) {
+        var closure = frame.closure;
+        if (closure == null) return "[C]";
+
+        // Identify functions by where they are defined, much like the chunk names in error messages.
+        var prototype = closure.getPrototype();
+        var source = prototype.source.toString();
+        var name = source.startsWith("@") || source.startsWith("=") ? source.substring(1) : "[string]";
+        return name + ":" + prototype.lineDefined;
     }
 
     @Override
@@ -122,6 +270,9 @@ public MachineResult handleEvent(@Nullable String eventName, @Nullable Object[]
         try {
             var resumeArgs = eventName == null ? Constants.NONE : ValueFactory.varargsOf(ValueFactory.valueOf(eventName), toValues(arguments));
 
+            // If we exceeded the soft memory limit while idle, raise the error as soon as we resume.
+            if (memoryErrorPending) state.interrupt();
+
             // Resume the current thread, or the main one when first starting off.
             var thread = state.getCurrentThread();
             if (thread == null || thread == state.getMainThread()) thread = mainRoutine;
@@ -136,12 +287,19 @@ public MachineResult handleEvent(@Nullable String eventName, @Nullable Object[]
             if (!mainRoutine.isAlive()) {
                 close();
                 return MachineResult.GENERIC_ERROR;
-            } else {
-                return MachineResult.OK;
             }
+
+            // If a heap check was requested but the task finished before it could be handled, do it now.
+            if (timeout.consumeHeapCheckRequest()) checkHeap();
+            if (outOfMemory) {
+                close();
+                return MachineResult.error(OUT_OF_MEMORY_MESSAGE);
+            }
+
+            return MachineResult.OK;
         } catch (HardAbortError e) {
             close();
-            return MachineResult.TIMEOUT;
+            return outOfMemory ? MachineResult.error(OUT_OF_MEMORY_MESSAGE) : MachineResult.TIMEOUT;
         } catch (LuaError e) {
             close();
             LOG.warn("Top level coroutine errored: {}", new SanitisedError(e));
@@ -172,12 +330,37 @@ private boolean makeLuaObject(Object object, LuaTable table) {
             table.rawset(name, new ResultInterpreterFunction(this, method, target, context, name)));
     }
 
+    /**
+     * Convert an object with methods to a Lua table.
+     *
+     * @param object The object to convert.
+     * @return The converted table, or {@code null} if the object has no methods.
+     * @throws LuaError If the table could not be created.
+     */
+    private @Nullable LuaTable createLuaObject(Object object) throws LuaError {
+        // Objects with extra methods may differ from other instances of the same class, so can't share a prototype.
+        if (object instanceof ObjectSource) {
+            var table = new LuaTable();
+            return makeLuaObject(object, table) ? table : null;
+        }
+
+        var prototype = prototypes.get(object.getClass());
+        if (prototype == null) {
+            prototype = ObjectPrototype.create(this, context, luaMethods, object);
+            prototypes.put(object.getClass(), prototype);
+        }
+
+        return prototype.isEmpty() ? null : prototype.create(object);
+    }
+
     private LuaValue toValue(@Nullable Object object, @Nullable IdentityHashMap<Object, LuaValue> values) throws LuaError {
         if (object == null) return Constants.NIL;
+        if (object instanceof LuaValue value) return value; // Values produced by natively implemented APIs (LuaJson).
         if (object instanceof Number num) return ValueFactory.valueOf(num.doubleValue());
         if (object instanceof Boolean bool) return ValueFactory.valueOf(bool);
         if (object instanceof String str) return ValueFactory.valueOf(str);
         if (object instanceof byte[] b) return ValueFactory.valueOf(Arrays.copyOf(b, b.length));
+        if (object instanceof OwnedBytes b) return LuaString.valueOf(b.array(), b.offset(), b.length());
         if (object instanceof ByteBuffer b) {
             var bytes = new byte[b.remaining()];
             b.get(bytes);
@@ -241,8 +424,8 @@ private LuaValue toValue(@Nullable Object object, @Nullable IdentityHashMap<Obje
             return table;
         }
 
-        var table = new LuaTable();
-        if (makeLuaObject(object, table)) {
+        var table = createLuaObject(object);
+        if (table != null) {
             values.put(object, table);
             return table;
         }
@@ -0,0 +1,153 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.IArguments;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.LuaFunction;
+import org.squiddev.cobalt.LuaNumber;
+import org.squiddev.cobalt.LuaTable;
+import org.squiddev.cobalt.ValueFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * A native implementation of the DFPWM encoder and decoder in {@code cc.audio.dfpwm}.
+ * <p>
+ * This is a port of the Lua implementation, and so produces identical output. Like {@link LuaJson}, these operate
+ * directly on Lua tables, avoiding the cost of converting a table of samples to and from Java objects.
+ *
+ * @see dan200.computercraft.core.apis.DfpwmAPI
+ */
+public final class LuaDfpwm {
+    private static final int PREC = 10;
+    private static final int LPF_STRENGTH = 140;
+
+    private LuaDfpwm() {
+    }
+
+    /**
+     * The DFPWM predictor, shared by the encoder and decoder.
+     */
+    private abstract static class Predictor {
+        private int charge = 0; // q
+        private int strength = 0; // s
+        private boolean previousBit = false;
+
+        final int predict(boolean currentBit) {
+            var target = currentBit ? 127 : -128;
+
+            // q' <- q + (s * (t - q) + 128)/256
+            var nextCharge = charge + ((strength * (target - charge) + (1 << (PREC - 1))) >> PREC);
+            if (nextCharge == charge && nextCharge != target) nextCharge += currentBit ? 1 : -1;
+
+            var z = currentBit == previousBit ? (1 << PREC) - 1 : 0;
+
+            var nextStrength = strength;
+            if (strength != z) nextStrength += currentBit == previousBit ? 1 : -1;
+            if (nextStrength < 2 << (PREC - 8)) nextStrength = 2 << (PREC - 8);
+
+            charge = nextCharge;
+            strength = nextStrength;
+            previousBit = currentBit;
+            return charge;
+        }
+    }
+
+    /**
+     * A stateful DFPWM encoder.
+     */
+    public static final class Encoder extends Predictor {
+        private int previousCharge = 0;
+
+        /**
+         * Encode a table of amplitudes.
+         * <p>
+         * The input must be a table without a metatable, whose values are numbers between -128 and 127. If this is not
+         * the case, we return {@code nil} without modifying the encoder's state, and the caller should normalise the
+         * input (reporting any errors) and try again.
+         *
+         * @param arguments The table of amplitudes.
+         * @return The encoded audio, or {@code nil} if the input could not be encoded.
+         */
+        @LuaFunction
+        public final @Nullable Object encode(IArguments arguments) {
+            if (!(arguments instanceof VarargArguments args)) return null;
+            if (!(args.getRaw(0) instanceof LuaTable table) || table.getMetatable(null) != null) return null;
+
+            // Read and validate the whole input first, so we never leave the encoder in a partially updated state.
+            // Like the Lua implementation, the input is padded to a multiple of 8 samples.
+            var length = table.length();
+            var samples = new double[(length + 7) & ~7];
+            for (var i = 0; i < samples.length; i++) {
+                var value = table.rawget(i + 1);
+                if (value.isNil()) continue;
+                if (!(value instanceof LuaNumber)) return null;
+
+                var sample = Math.floor(value.toDouble());
+                if (sample > 127 || sample < -128) return null;
+                samples[i] = sample;
+            }
+
+            var output = new byte[samples.length / 8];
+            for (var i = 0; i < output.length; i++) {
+                var thisByte = 0;
+                for (var j = 0; j < 8; j++) {
+                    var sample = samples[i * 8 + j];
+                    var currentBit = sample > previousCharge || (sample == previousCharge && sample == 127);
+                    thisByte = (thisByte >> 1) + (currentBit ? 128 : 0);
+                    previousCharge = predict(currentBit);
+                }
+
+                output[i] = (byte) thisByte;
+            }
+
+            return ValueFactory.valueOf(output);
+        }
+    }
+
+    /**
+     * A stateful DFPWM decoder.
+     */
+    public static final class Decoder extends Predictor {
+        private int lowPassCharge = 0;
+        private int previousCharge = 0;
+        private boolean previousBit = false;
+
+        /**
+         * Decode a string of DFPWM audio.
+         *
+         * @param arguments The string to decode.
+         * @return A table of amplitudes, each between -128 and 127.
+         * @throws LuaException If the input is not a string.
+         */
+        @LuaFunction
+        public final Object decode(IArguments arguments) throws LuaException {
+            var input = arguments.getBytes(0);
+
+            var length = input.remaining();
+            var output = new LuaTable(length * 8, 0);
+            var index = 0;
+            for (var i = 0; i < length; i++) {
+                var inputByte = input.get() & 0xFF;
+                for (var j = 0; j < 8; j++) {
+                    var currentBit = (inputByte & 1) != 0;
+                    var charge = predict(currentBit);
+
+                    var antijerk = currentBit != previousBit ? (charge + previousCharge + 1) >> 1 : charge;
+                    previousCharge = charge;
+                    previousBit = currentBit;
+
+                    lowPassCharge += ((antijerk - lowPassCharge) * LPF_STRENGTH + 0x80) >> 8;
+                    output.rawset(++index, ValueFactory.valueOf(lowPassCharge));
+
+                    inputByte >>= 1;
+                }
+            }
+
+            return output;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import org.squiddev.cobalt.*;
+import org.squiddev.cobalt.function.LuaInterpretedFunction;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimates the amount of memory retained by a Lua machine.
+ * <p>
+ * Cobalt allocates Lua values directly on the Java heap, so there's no allocator we can hook into to track memory
+ * usage. Instead, we walk every value reachable from the machine's globals, registry and coroutines, and sum an
+ * approximate size for each one.
+ * <p>
+ * Walking a large heap is expensive, so this is done incrementally: each call to {@link #step(int, long)} only visits a
+ * limited number of values, and the walk is resumed on the next call. The heap may change in between steps, so values
+ * added to an already-visited table will be missed until the next walk.
+ * <p>
+ * The sizes used here are deliberately rough (roughly those of a 64-bit JVM with compressed pointers), and ignore any
+ * memory shared with the host, such as Java functions. The estimate is only intended to distinguish reasonable
+ * programs from ones which are accumulating unbounded amounts of data.
+ */
+final class LuaHeapEstimator {
+    private static final int OBJECT_SIZE = 16;
+    private static final int STRING_SIZE = 40;
+    private static final int TABLE_SIZE = 64;
+    private static final int TABLE_ENTRY_SIZE = 32;
+    private static final int CLOSURE_SIZE = 32;
+    private static final int UPVALUE_SIZE = 24;
+    private static final int PROTOTYPE_SIZE = 128;
+    private static final int THREAD_SIZE = 256;
+    private static final int STACK_SLOT_SIZE = 8;
+
+    private final LuaState state;
+    private final LuaThread main;
+
+    private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private boolean walking;
+    private long size;
+    private int work;
+
+    /**
+     * Create a new heap estimator.
+     *
+     * @param state The Lua state to estimate.
+     * @param main  The main coroutine, which may not be reachable from the state otherwise.
+     */
+    LuaHeapEstimator(LuaState state, LuaThread main) {
+        this.state = state;
+        this.main = main;
+    }
+
+    /**
+     * Continue estimating the size of all values reachable from the Lua state, starting a new walk if needed.
+     *
+     * @param budget The amount of work to do before returning. Visiting a value, table entry or stack slot each count
+     *               as one unit of work. Values are never partially visited, so this may be exceeded slightly.
+     * @param limit  The size at which to stop estimating. There's little point continuing once we know we're over the
+     *               limit.
+     * @return Whether the walk has finished, either because all values have been visited or we have exceeded the limit.
+     * After finishing, the next call to this method will start a new walk.
+     */
+    boolean step(int budget, long limit) {
+        if (!walking) {
+            walking = true;
+            size = 0;
+            enqueue(state.globals());
+            enqueue(state.registry());
+            enqueue(main);
+        }
+
+        // The current coroutine may have changed since the last step, so make sure we visit it.
+        var current = state.getCurrentThread();
+        if (current != null) enqueue(current);
+
+        work = 0;
+        Object next;
+        while (size <= limit && work < budget && (next = queue.poll()) != null) visit(next);
+
+        if (size <= limit && !queue.isEmpty()) return false;
+
+        reset();
+        return true;
+    }
+
+    /**
+     * The estimated size of the heap, in bytes. While a walk is in progress, this is the size of the values visited so
+     * far, and so is a lower bound on the actual size. Once the walk has finished, this may be larger than the limit
+     * given to {@link #step(int, long)}, but is not guaranteed to be precise if so.
+     *
+     * @return The estimated size of the heap.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Abandon the current walk (if any), so that the next call to {@link #step(int, long)} starts from scratch.
+     */
+    void reset() {
+        walking = false;
+        seen.clear();
+        queue.clear();
+    }
+
+    private void enqueue(Object object) {
+        if (seen.add(object)) queue.add(object);
+    }
+
+    private void enqueue(LuaValue value) {
+        // Numbers, booleans and nil are either shared or small enough to ignore.
+        switch (value.type()) {
+            case Constants.TNIL, Constants.TBOOLEAN, Constants.TINT, Constants.TNUMBER -> {
+            }
+            default -> enqueue((Object) value);
+        }
+    }
+
+    private void visit(Object next) {
+        work++;
+        if (next instanceof LuaString string) {
+            size += STRING_SIZE + string.length();
+        } else if (next instanceof LuaTable table) {
+            visitTable(table);
+        } else if (next instanceof LuaInterpretedFunction closure) {
+            visitClosure(closure);
+        } else if (next instanceof Prototype prototype) {
+            visitPrototype(prototype);
+        } else if (next instanceof LuaThread thread) {
+            visitThread(thread);
+        } else {
+            size += OBJECT_SIZE;
+        }
+    }
+
+    private void visitTable(LuaTable table) {
+        size += TABLE_SIZE;
+
+        var metatable = table.getMetatable(null);
+        if (metatable != null) enqueue(metatable);
+
+        var key = Constants.NIL;
+        while (true) {
+            Varargs entry;
+            try {
+                entry = table.next(key);
+            } catch (LuaError e) {
+                break;
+            }
+
+            key = entry.first();
+            if (key.isNil()) break;
+
+            size += TABLE_ENTRY_SIZE;
+            work++;
+            enqueue(key);
+            enqueue(entry.arg(2));
+        }
+    }
+
+    private void visitClosure(LuaInterpretedFunction closure) {
+        size += CLOSURE_SIZE;
+
+        var prototype = closure.getPrototype();
+        enqueue(prototype);
+
+        for (var i = 0; i < prototype.upvalues(); i++) {
+            var upvalue = closure.getUpvalue(i);
+            if (upvalue == null || !seen.add(upvalue)) continue;
+
+            size += UPVALUE_SIZE;
+            enqueue(upvalue.getValue());
+        }
+    }
+
+    private void visitPrototype(Prototype prototype) {
+        size += PROTOTYPE_SIZE + prototype.code.length * 4L;
+        if (prototype.lineInfo != null) size += prototype.lineInfo.length * 4L;
+        if (prototype.children != null) {
+            for (var child : prototype.children) enqueue(child);
+        }
+    }
+
+    private void visitThread(LuaThread thread) {
+        size += THREAD_SIZE;
+
+        var debug = thread.getDebugState();
+        for (var level = 0; ; level++) {
+            var frame = debug.getFrame(level);
+            if (frame == null) break;
+
+            if (frame.func != null) enqueue(frame.func);
+
+            var stack = frame.stack;
+            if (stack == null) continue;
+
+            size += (long) stack.length * STACK_SLOT_SIZE;
+            work += stack.length;
+            for (var value : stack) {
+                if (value != null) enqueue(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,720 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.IArguments;
+import dan200.computercraft.api.lua.LuaException;
+import org.squiddev.cobalt.*;
+
+import javax.annotation.Nullable;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * A native implementation of {@code textutils.serialiseJSON} and {@code textutils.unserialiseJSON}.
+ * <p>
+ * Unlike most Java functions, these operate directly on Lua values, rather than converting them to and from Java
+ * objects. This allows us to compare against textutils's {@code json_null} and {@code empty_json_array} sentinels by
+ * identity, and to build tables directly when decoding.
+ * <p>
+ * This only implements the "happy path" of textutils. If the input is malformed, or is something we do not handle in
+ * exactly the same way as the Lua implementation (for instance, tables with metatables, or invalid UTF-8 when
+ * {@code unicode_strings} is set), we return {@code nil}, and textutils falls back to its Lua implementation. This
+ * ensures that error messages, and other edge cases, behave identically.
+ *
+ * @see dan200.computercraft.core.apis.JsonAPI
+ */
+public final class LuaJson {
+    /**
+     * The maximum depth of tables we will encode or decode before falling back to the Lua implementation.
+     */
+    private static final int MAX_DEPTH = 128;
+
+    /**
+     * The maximum array index we will encode. Larger indices are left to the Lua implementation, which will generally
+     * time out.
+     */
+    private static final int MAX_ARRAY_INDEX = 1 << 20;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private LuaJson() {
+    }
+
+    /**
+     * Serialise a Lua value to JSON.
+     *
+     * @param arguments The arguments to this function: the value to serialise, the {@code nbt_style},
+     *                  {@code unicode_strings} and {@code allow_repetitions} flags, and then the {@code json_null} and
+     *                  {@code empty_json_array} sentinels.
+     * @return The serialised string, or {@code null} if the Lua implementation should be used instead.
+     * @throws LuaException If the arguments are of the wrong type.
+     */
+    public static @Nullable Object encode(IArguments arguments) throws LuaException {
+        if (!(arguments instanceof VarargArguments args)) return null;
+
+        var encoder = new Encoder(
+            args.optBoolean(1, false), args.optBoolean(2, false), args.optBoolean(3, false),
+            args.getRaw(4), args.getRaw(5)
+        );
+        try {
+            encoder.encode(args.getRaw(0), 0);
+        } catch (Unsupported e) {
+            return null;
+        }
+
+        return ValueFactory.valueOf(encoder.out.toByteArray());
+    }
+
+    /**
+     * Parse a JSON string into a Lua value.
+     *
+     * @param arguments The arguments to this function: the string to parse, the {@code nbt_style}, {@code parse_null}
+     *                  and {@code parse_empty_array} flags, and then the {@code json_null} and
+     *                  {@code empty_json_array} sentinels.
+     * @return {@code true} and the parsed value, or {@code null} if the Lua implementation should be used instead.
+     * @throws LuaException If the arguments are of the wrong type.
+     */
+    public static @Nullable Object[] decode(IArguments arguments) throws LuaException {
+        if (!(arguments instanceof VarargArguments args)) return null;
+
+        var decoder = new Decoder(
+            args.getBytes(0), args.optBoolean(1, false), args.optBoolean(2, false), args.optBoolean(3, true),
+            args.getRaw(4), args.getRaw(5)
+        );
+        try {
+            return new Object[]{ true, decoder.decodeAll() };
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    private static final class Encoder {
+        private final boolean nbtStyle;
+        private final boolean unicodeStrings;
+        private final boolean allowRepetitions;
+        private final LuaValue jsonNull;
+        private final LuaValue emptyArray;
+
+        /**
+         * Tables we have visited. Tables which are currently being serialised map to {@code true}, those which have
+         * been serialised map to {@code false}.
+         */
+        private final IdentityHashMap<LuaTable, Boolean> tracking = new IdentityHashMap<>();
+
+        final Output out = new Output();
+
+        Encoder(boolean nbtStyle, boolean unicodeStrings, boolean allowRepetitions, LuaValue jsonNull, LuaValue emptyArray) {
+            this.nbtStyle = nbtStyle;
+            this.unicodeStrings = unicodeStrings;
+            this.allowRepetitions = allowRepetitions;
+            this.jsonNull = jsonNull;
+            this.emptyArray = emptyArray;
+        }
+
+        void encode(LuaValue value, int depth) {
+            if (value == emptyArray) {
+                out.append("[]");
+                return;
+            } else if (value == jsonNull) {
+                out.append("null");
+                return;
+            }
+
+            switch (value.type()) {
+                case Constants.TTABLE -> encodeTable((LuaTable) value, depth);
+                case Constants.TSTRING -> encodeString(((LuaString) value).toBuffer());
+                case Constants.TINT, Constants.TNUMBER, Constants.TBOOLEAN -> out.append(value.toString());
+                default -> throw Unsupported.INSTANCE;
+            }
+        }
+
+        private void encodeTable(LuaTable table, int depth) {
+            if (depth >= MAX_DEPTH || table.getMetatable(null) != null || tracking.containsKey(table)) {
+                throw Unsupported.INSTANCE;
+            }
+            tracking.put(table, true);
+
+            var entry = next(table, Constants.NIL);
+            if (entry.first().isNil()) {
+                out.append("{}");
+            } else {
+                // Like textutils, we serialise both the object and array parts of the table, and then pick whichever
+                // is appropriate. We write the array directly after the object, and then discard whichever is unused.
+                var start = out.size();
+                var objectSize = 0;
+                double largestIndex = 0;
+
+                out.append('{');
+                for (; !entry.first().isNil(); entry = next(table, entry.first())) {
+                    var key = entry.first();
+                    if (key instanceof LuaString keyString) {
+                        if (objectSize > 0) out.append(',');
+                        if (nbtStyle) {
+                            out.append(keyString.toBuffer());
+                        } else {
+                            encodeString(keyString.toBuffer());
+                        }
+                        out.append(':');
+                        encode(entry.arg(2), depth + 1);
+                        objectSize++;
+                    } else if (key instanceof LuaNumber && key.toDouble() > largestIndex) {
+                        largestIndex = key.toDouble();
+                    }
+                }
+                out.append('}');
+                var objectEnd = out.size();
+
+                if (largestIndex > MAX_ARRAY_INDEX) throw Unsupported.INSTANCE;
+                var arraySize = (int) largestIndex;
+
+                out.append('[');
+                for (var i = 1; i <= arraySize; i++) {
+                    if (i > 1) out.append(',');
+
+                    var value = table.rawget(i);
+                    if (value.isNil()) {
+                        out.append("null");
+                    } else {
+                        encode(value, depth + 1);
+                    }
+                }
+                out.append(']');
+
+                if (objectSize > 0 || arraySize == 0) {
+                    out.truncate(objectEnd);
+                } else {
+                    out.remove(start, objectEnd);
+                }
+            }
+
+            if (allowRepetitions) {
+                tracking.remove(table);
+            } else {
+                tracking.put(table, false);
+            }
+        }
+
+        private static Varargs next(LuaTable table, LuaValue key) {
+            try {
+                return table.next(key);
+            } catch (LuaError e) {
+                throw Unsupported.INSTANCE;
+            }
+        }
+
+        private void encodeString(ByteBuffer string) {
+            out.append('"');
+            if (unicodeStrings && hasNonAscii(string)) {
+                encodeUnicodeString(string);
+            } else {
+                for (int i = string.position(), limit = string.limit(); i < limit; i++) {
+                    var c = string.get(i) & 0xFF;
+                    if (c >= 0x7F) {
+                        escape(c);
+                    } else {
+                        appendChar(c);
+                    }
+                }
+            }
+            out.append('"');
+        }
+
+        private void encodeUnicodeString(ByteBuffer string) {
+            var i = string.position();
+            var limit = string.limit();
+            while (i < limit) {
+                // Decode a single UTF-8 codepoint. We only accept well-formed UTF-8 - anything else is left to the Lua
+                // implementation.
+                var c = string.get(i) & 0xFF;
+                int codepoint, length;
+                if (c < 0x80) {
+                    codepoint = c;
+                    length = 1;
+                } else if (c >= 0xC2 && c <= 0xDF) {
+                    codepoint = c & 0x1F;
+                    length = 2;
+                } else if (c >= 0xE0 && c <= 0xEF) {
+                    codepoint = c & 0x0F;
+                    length = 3;
+                } else if (c >= 0xF0 && c <= 0xF4) {
+                    codepoint = c & 0x07;
+                    length = 4;
+                } else {
+                    throw Unsupported.INSTANCE;
+                }
+
+                if (i + length > limit) throw Unsupported.INSTANCE;
+                for (var j = 1; j < length; j++) {
+                    var continuation = string.get(i + j) & 0xFF;
+                    if ((continuation & 0xC0) != 0x80) throw Unsupported.INSTANCE;
+                    codepoint = (codepoint << 6) | (continuation & 0x3F);
+                }
+
+                if (
+                    (length == 3 && codepoint < 0x800) || (length == 4 && codepoint < 0x10000)
+                        || (codepoint >= 0xD800 && codepoint <= 0xDFFF) || codepoint > 0x10FFFF
+                ) {
+                    throw Unsupported.INSTANCE;
+                }
+                i += length;
+
+                if (codepoint > 0xFFFF) {
+                    // Encode the codepoint as a UTF-16 surrogate pair
+                    codepoint -= 0x10000;
+                    escape(0xD800 + (codepoint >> 10));
+                    escape(0xDC00 + (codepoint & 0x3FF));
+                } else if (codepoint >= 0x7F) {
+                    escape(codepoint);
+                } else {
+                    appendChar(codepoint);
+                }
+            }
+        }
+
+        /**
+         * Append an ASCII character, escaping it if needed.
+         *
+         * @param c The character to append.
+         */
+        private void appendChar(int c) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escape(c);
+                    } else {
+                        out.append((byte) c);
+                    }
+                }
+            }
+        }
+
+        private void escape(int c) {
+            out.append('\\');
+            out.append('u');
+            out.append(HEX[(c >> 12) & 0xF]);
+            out.append(HEX[(c >> 8) & 0xF]);
+            out.append(HEX[(c >> 4) & 0xF]);
+            out.append(HEX[c & 0xF]);
+        }
+
+        private static boolean hasNonAscii(ByteBuffer string) {
+            for (int i = string.position(), limit = string.limit(); i < limit; i++) {
+                if (string.get(i) < 0) return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer input;
+        private final int limit;
+        private final boolean nbtStyle;
+        private final boolean parseNull;
+        private final boolean parseEmptyArray;
+        private final LuaValue jsonNull;
+        private final LuaValue emptyArray;
+
+        private final Output buffer = new Output();
+        private int pos;
+
+        Decoder(ByteBuffer input, boolean nbtStyle, boolean parseNull, boolean parseEmptyArray, LuaValue jsonNull, LuaValue emptyArray) {
+            this.input = input;
+            this.nbtStyle = nbtStyle;
+            this.parseNull = parseNull;
+            this.parseEmptyArray = parseEmptyArray;
+            this.jsonNull = jsonNull;
+            this.emptyArray = emptyArray;
+
+            pos = input.position();
+            limit = input.limit();
+        }
+
+        LuaValue decodeAll() {
+            skip();
+            var value = decode(0);
+            skip();
+            if (pos < limit) throw Unsupported.INSTANCE;
+            return value;
+        }
+
+        /**
+         * Peek at the current character.
+         *
+         * @return The current character, or {@code -1} if at the end of the input.
+         */
+        private int peek() {
+            return pos < limit ? input.get(pos) & 0xFF : -1;
+        }
+
+        private int peek(int offset) {
+            return pos + offset < limit ? input.get(pos + offset) & 0xFF : -1;
+        }
+
+        private void skip() {
+            while (pos < limit) {
+                var c = input.get(pos);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') break;
+                pos++;
+            }
+        }
+
+        private void expectLiteral(String literal) {
+            for (var i = 0; i < literal.length(); i++) {
+                if (peek(i) != literal.charAt(i)) throw Unsupported.INSTANCE;
+            }
+            pos += literal.length();
+        }
+
+        private LuaValue decode(int depth) {
+            var c = peek();
+            switch (c) {
+                case '"':
+                    pos++;
+                    return decodeString('"');
+                case '\'':
+                    if (!nbtStyle) throw Unsupported.INSTANCE;
+                    pos++;
+                    return decodeString('\'');
+                case 't':
+                    expectLiteral("true");
+                    return ValueFactory.valueOf(true);
+                case 'f':
+                    expectLiteral("false");
+                    return ValueFactory.valueOf(false);
+                case 'n':
+                    expectLiteral("null");
+                    return parseNull ? jsonNull : Constants.NIL;
+                case '{':
+                    return decodeObject(depth);
+                case '[':
+                    return decodeArray(depth);
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) return decodeNumber();
+                    throw Unsupported.INSTANCE;
+            }
+        }
+
+        private LuaValue decodeObject(int depth) {
+            if (depth >= MAX_DEPTH) throw Unsupported.INSTANCE;
+
+            var object = new LuaTable();
+            pos++;
+            skip();
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+
+            while (true) {
+                LuaValue key;
+                if (peek() == '"') {
+                    pos++;
+                    key = decodeString('"');
+                } else if (nbtStyle) {
+                    key = decodeIdent();
+                } else {
+                    throw Unsupported.INSTANCE;
+                }
+
+                skip();
+                if (peek() != ':') throw Unsupported.INSTANCE;
+                pos++;
+                skip();
+
+                rawset(object, key, decode(depth + 1));
+
+                skip();
+                var c = peek();
+                if (c == '}') {
+                    pos++;
+                    return object;
+                } else if (c == ',') {
+                    pos++;
+                    skip();
+                } else {
+                    throw Unsupported.INSTANCE;
+                }
+            }
+        }
+
+        private LuaValue decodeArray(int depth) {
+            if (depth >= MAX_DEPTH) throw Unsupported.INSTANCE;
+
+            pos++;
+            skip();
+
+            // Skip the type prefix of NBT arrays ([I;1,2,3]).
+            var c = peek();
+            if (nbtStyle && (c == 'I' || c == 'L' || c == 'B') && peek(1) == ';') {
+                pos += 2;
+                skip();
+            }
+
+            if (peek() == ']') {
+                pos++;
+                return parseEmptyArray ? emptyArray : new LuaTable();
+            }
+
+            var array = new LuaTable();
+            for (var n = 1; ; n++) {
+                var value = decode(depth + 1);
+                if (!value.isNil()) array.rawset(n, value);
+
+                skip();
+                c = peek();
+                if (c == ']') {
+                    pos++;
+                    return array;
+                } else if (c == ',') {
+                    pos++;
+                    skip();
+                } else {
+                    throw Unsupported.INSTANCE;
+                }
+            }
+        }
+
+        private LuaValue decodeString(int terminator) {
+            // Find the end of the string. If it contains no escapes, we can copy it directly from the input.
+            var start = pos;
+            while (true) {
+                var c = peek();
+                if (c == terminator) {
+                    pos++;
+                    return ValueFactory.valueOf(copy(start, pos - 1));
+                } else if (c == '\\') {
+                    break;
+                } else if (c < 0x20) {
+                    throw Unsupported.INSTANCE; // Also handles the end of input.
+                }
+                pos++;
+            }
+
+            var buffer = this.buffer;
+            buffer.truncate(0);
+            buffer.append(input, start, pos);
+            while (true) {
+                var c = peek();
+                if (c == terminator) {
+                    pos++;
+                    return ValueFactory.valueOf(buffer.toByteArray());
+                } else if (c == '\\') {
+                    var escape = peek(1);
+                    switch (escape) {
+                        case 'b' -> buffer.append('\b');
+                        case 'f' -> buffer.append('\f');
+                        case 'n' -> buffer.append('\n');
+                        case 'r' -> buffer.append('\r');
+                        case 't' -> buffer.append('\t');
+                        case '"', '/', '\\' -> buffer.append((byte) escape);
+                        case 'u' -> {
+                            var codepoint = (hex(peek(2)) << 12) | (hex(peek(3)) << 8) | (hex(peek(4)) << 4) | hex(peek(5));
+                            appendUtf8(buffer, codepoint);
+                            pos += 4;
+                        }
+                        default -> throw Unsupported.INSTANCE;
+                    }
+                    pos += 2;
+                } else if (c < 0x20) {
+                    throw Unsupported.INSTANCE;
+                } else {
+                    buffer.append((byte) c);
+                    pos++;
+                }
+            }
+        }
+
+        private static void rawset(LuaTable table, LuaValue key, LuaValue value) {
+            try {
+                table.rawset(key, value);
+            } catch (LuaError e) {
+                throw Unsupported.INSTANCE;
+            }
+        }
+
+        private LuaValue decodeIdent() {
+            var start = pos;
+            if (!isAlpha(peek())) throw Unsupported.INSTANCE;
+            pos++;
+
+            while (true) {
+                var c = peek();
+                if (!isAlpha(c) && !isDigit(c) && c != '_') break;
+                pos++;
+            }
+
+            return ValueFactory.valueOf(copy(start, pos));
+        }
+
+        private LuaValue decodeNumber() {
+            // This mirrors the '^(-?%d+%.?%d*[eE]?[+-]?%d*)' pattern used by textutils, and then checks the resulting
+            // string is one which tonumber would accept.
+            var start = pos;
+            if (peek() == '-') pos++;
+            if (!isDigit(peek())) throw Unsupported.INSTANCE;
+            while (isDigit(peek())) pos++;
+
+            if (peek() == '.') pos++;
+            while (isDigit(peek())) pos++;
+
+            var hasExponent = peek() == 'e' || peek() == 'E';
+            if (hasExponent) pos++;
+
+            var hasSign = peek() == '+' || peek() == '-';
+            if (hasSign) pos++;
+
+            var exponentStart = pos;
+            while (isDigit(peek())) pos++;
+
+            if (hasExponent ? pos == exponentStart : hasSign) throw Unsupported.INSTANCE;
+
+            double value;
+            try {
+                value = Double.parseDouble(new String(copy(start, pos), StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw Unsupported.INSTANCE;
+            }
+
+            // Skip NBT type suffixes (1b, 2.0f, etc...)
+            if (nbtStyle) {
+                switch (peek()) {
+                    case 'b', 'B', 's', 'S', 'l', 'L', 'f', 'F', 'd', 'D' -> pos++;
+                    default -> {
+                    }
+                }
+            }
+
+            return ValueFactory.valueOf(value);
+        }
+
+        private byte[] copy(int start, int end) {
+            var result = new byte[end - start];
+            input.get(start, result);
+            return result;
+        }
+
+        private static int hex(int c) {
+            if (c >= '0' && c <= '9') return c - '0';
+            if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+            if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+            throw Unsupported.INSTANCE;
+        }
+
+        private static boolean isDigit(int c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isAlpha(int c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        /**
+         * Append a codepoint as UTF-8, like {@code utf8.char}. Note that this does not check for surrogates, and so
+         * will happily encode unpaired surrogates.
+         *
+         * @param out       The buffer to append to.
+         * @param codepoint The codepoint to append, between 0 and 0xFFFF.
+         */
+        private static void appendUtf8(Output out, int codepoint) {
+            if (codepoint < 0x80) {
+                out.append((byte) codepoint);
+            } else if (codepoint < 0x800) {
+                out.append((byte) (0xC0 | (codepoint >> 6)));
+                out.append((byte) (0x80 | (codepoint & 0x3F)));
+            } else {
+                out.append((byte) (0xE0 | (codepoint >> 12)));
+                out.append((byte) (0x80 | ((codepoint >> 6) & 0x3F)));
+                out.append((byte) (0x80 | (codepoint & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * A growable byte buffer.
+     */
+    private static final class Output {
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+
+        void append(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        void append(char c) {
+            append((byte) c);
+        }
+
+        void append(String string) {
+            var length = string.length();
+            ensure(length);
+            for (var i = 0; i < length; i++) bytes[size + i] = (byte) string.charAt(i);
+            size += length;
+        }
+
+        void append(ByteBuffer buffer) {
+            append(buffer, buffer.position(), buffer.limit());
+        }
+
+        void append(ByteBuffer buffer, int start, int end) {
+            var length = end - start;
+            ensure(length);
+            buffer.get(start, bytes, size, length);
+            size += length;
+        }
+
+        void truncate(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Remove a range of bytes from this buffer, moving any later bytes down.
+         *
+         * @param start The start of the range to remove.
+         * @param end   The end of the range to remove.
+         */
+        void remove(int start, int end) {
+            System.arraycopy(bytes, end, bytes, start, size - end);
+            size -= end - start;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Thrown when we cannot handle some input, and should fall back to the Lua implementation.
+     */
+    private static final class Unsupported extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = -2297932432418018040L;
+
+        static final Unsupported INSTANCE = new Unsupported();
+
+        private Unsupported() {
+            super("Unsupported JSON input", null, false, false);
+        }
+    }
+}
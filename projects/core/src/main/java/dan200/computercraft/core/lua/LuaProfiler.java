@@ -0,0 +1,103 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import dan200.computercraft.core.computer.TimeoutState;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A sampling profiler for a single computer.
+ * <p>
+ * When a profiler is {@linkplain TimeoutState#setProfiler(LuaProfiler) attached} to a computer, the computer thread
+ * periodically {@linkplain dan200.computercraft.core.computer.computerthread.ManagedTimeoutState#requestSample()
+ * requests a sample}. The Lua machine then interrupts itself, and records its current call stack with
+ * {@link #addSample(List)}.
+ * <p>
+ * Samples are aggregated in the "collapsed stack" format used by most flame graph tools: each distinct stack is written
+ * as a list of frames (outermost first) separated by {@code ;}, followed by the number of times that stack was
+ * sampled.
+ */
+public final class LuaProfiler {
+    /**
+     * The maximum number of frames we record for a single sample. Any deeper frames are discarded.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * The maximum number of distinct stacks we track. Once this is reached, any new stacks are recorded as
+     * {@link #TRUNCATED}.
+     */
+    private static final int MAX_STACKS = 4096;
+
+    static final String TRUNCATED = "[truncated]";
+
+    @GuardedBy("this")
+    private final Map<String, Long> stacks = new HashMap<>();
+
+    @GuardedBy("this")
+    private long samples;
+
+    /**
+     * Record a single sample.
+     *
+     * @param frames The frames in the current call stack, with the innermost (currently executing) frame first.
+     */
+    public void addSample(List<String> frames) {
+        var stack = new StringBuilder();
+        for (var i = frames.size() - 1; i >= 0; i--) {
+            if (!stack.isEmpty()) stack.append(';');
+            appendFrame(stack, frames.get(i));
+        }
+
+        var key = stack.toString();
+        synchronized (this) {
+            samples++;
+            if (stacks.size() >= MAX_STACKS && !stacks.containsKey(key)) key = TRUNCATED;
+            stacks.merge(key, 1L, Long::sum);
+        }
+    }
+
+    private static void appendFrame(StringBuilder out, String frame) {
+        // Semicolons and newlines would corrupt the collapsed format, so replace them.
+        for (var i = 0; i < frame.length(); i++) {
+            var c = frame.charAt(i);
+            out.append(c == ';' ? ',' : c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    /**
+     * Get the total number of samples recorded.
+     *
+     * @return The number of samples.
+     */
+    public synchronized long getSampleCount() {
+        return samples;
+    }
+
+    /**
+     * Get a snapshot of all recorded stacks.
+     *
+     * @return A map of collapsed stacks to the number of times they were sampled.
+     */
+    public synchronized Map<String, Long> getStacks() {
+        return new HashMap<>(stacks);
+    }
+
+    /**
+     * Write all recorded stacks in the collapsed stack format, with the most common stacks first.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output could not be written to.
+     */
+    public void write(Appendable out) throws IOException {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(getStacks().entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        for (var entry : entries) out.append(entry.getKey()).append(' ').append(entry.getValue().toString()).append('\n');
+    }
+}
@@ -0,0 +1,82 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.core.methods.LuaMethod;
+import dan200.computercraft.core.methods.MethodSupplier;
+import org.squiddev.cobalt.LuaError;
+import org.squiddev.cobalt.LuaString;
+import org.squiddev.cobalt.LuaTable;
+
+import java.util.ArrayList;
+
+/**
+ * The methods available on a class, used to convert instances of that class to Lua tables.
+ * <p>
+ * Lua functions are called without a {@code self} argument (e.g. {@code handle.readLine()} rather than
+ * {@code handle:readLine()}), and so every object needs its own set of functions. However, everything except the
+ * object itself (the method names, the generated method and the machine's context) is the same for all instances of a
+ * class. We compute this once per class (and machine), so converting an object only needs to allocate its table and
+ * one small function per method.
+ * <p>
+ * This should not be used for objects whose methods vary between instances, such as
+ * {@link dan200.computercraft.api.lua.IDynamicLuaObject} or {@link dan200.computercraft.core.methods.ObjectSource}.
+ */
+final class ObjectPrototype {
+    private static final ObjectPrototype EMPTY = new ObjectPrototype(new LuaString[0], new ResultInterpreterFunction.Shared[0]);
+
+    private final LuaString[] names;
+    private final ResultInterpreterFunction.Shared[] methods;
+
+    private ObjectPrototype(LuaString[] names, ResultInterpreterFunction.Shared[] methods) {
+        this.names = names;
+        this.methods = methods;
+    }
+
+    /**
+     * Compute the prototype for an object.
+     *
+     * @param machine The machine this prototype will be used on.
+     * @param context The context to call methods with.
+     * @param methods The supplier to find methods with.
+     * @param object  An instance of the class to compute the prototype for.
+     * @return The object's prototype.
+     */
+    static ObjectPrototype create(CobaltLuaMachine machine, ILuaContext context, MethodSupplier<LuaMethod> methods, Object object) {
+        var names = new ArrayList<LuaString>();
+        var shared = new ArrayList<ResultInterpreterFunction.Shared>();
+        methods.forEachSelfMethod(object, (name, method, info) -> {
+            names.add(LuaString.valueOf(name));
+            shared.add(new ResultInterpreterFunction.Shared(machine, method, context, name));
+        });
+
+        return names.isEmpty() ? EMPTY : new ObjectPrototype(
+            names.toArray(LuaString[]::new), shared.toArray(ResultInterpreterFunction.Shared[]::new)
+        );
+    }
+
+    /**
+     * Whether this class has no methods, and so cannot be converted to a Lua object.
+     *
+     * @return Whether this prototype is empty.
+     */
+    boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    /**
+     * Create a Lua table for an instance of this class.
+     *
+     * @param instance The instance to bind methods to.
+     * @return The Lua table.
+     * @throws LuaError If the table could not be populated. This should never happen.
+     */
+    LuaTable create(Object instance) throws LuaError {
+        var table = new LuaTable(0, names.length);
+        for (var i = 0; i < names.length; i++) table.rawset(names[i], new ResultInterpreterFunction(methods[i], instance));
+        return table;
+    }
+}
@@ -34,18 +34,34 @@ static class Container {
         }
     }
 
-    private final CobaltLuaMachine machine;
-    private final LuaMethod method;
+    /**
+     * The parts of a function which do not depend on the object it is called on. These are shared between all
+     * functions for the same method on a given machine.
+     */
+    static final class Shared {
+        final CobaltLuaMachine machine;
+        final LuaMethod method;
+        final ILuaContext context;
+        final String name;
+
+        Shared(CobaltLuaMachine machine, LuaMethod method, ILuaContext context, String name) {
+            this.machine = machine;
+            this.method = method;
+            this.context = context;
+            this.name = name;
+        }
+    }
+
+    private final Shared shared;
     private final Object instance;
-    private final ILuaContext context;
-    private final String funcName;
 
-    ResultInterpreterFunction(CobaltLuaMachine machine, LuaMethod method, Object instance, ILuaContext context, String name) {
-        this.machine = machine;
-        this.method = method;
+    ResultInterpreterFunction(Shared shared, Object instance) {
+        this.shared = shared;
         this.instance = instance;
-        this.context = context;
-        funcName = name;
+    }
+
+    ResultInterpreterFunction(CobaltLuaMachine machine, LuaMethod method, Object instance, ILuaContext context, String name) {
+        this(new Shared(machine, method, context, name), instance);
     }
 
     @Override
@@ -53,18 +69,18 @@ protected Varargs invoke(LuaState state, DebugFrame debugFrame, Varargs args) th
         var arguments = VarargArguments.of(args);
         MethodResult results;
         try {
-            results = method.apply(instance, context, arguments);
+            results = shared.method.apply(instance, shared.context, arguments);
         } catch (LuaException e) {
             throw wrap(e, 0);
         } catch (Throwable t) {
-            LOG.error(Logging.JAVA_ERROR, "Error calling {} on {}", funcName, instance, t);
+            LOG.error(Logging.JAVA_ERROR, "Error calling {} on {}", shared.name, instance, t);
             throw new LuaError("Java Exception Thrown: " + t, 0);
         } finally {
             arguments.close();
         }
 
         var callback = results.getCallback();
-        var ret = machine.toValues(results.getResult());
+        var ret = shared.machine.toValues(results.getResult());
 
         if (callback == null) return ret;
 
@@ -81,11 +97,11 @@ public Varargs resume(LuaState state, Container container, Varargs args) throws
         } catch (LuaException e) {
             throw wrap(e, container.errorAdjust);
         } catch (Throwable t) {
-            LOG.error(Logging.JAVA_ERROR, "Error calling {} on {}", funcName, container.callback, t);
+            LOG.error(Logging.JAVA_ERROR, "Error calling {} on {}", shared.name, container.callback, t);
             throw new LuaError("Java Exception Thrown: " + t, 0);
         }
 
-        var ret = machine.toValues(results.getResult());
+        var ret = shared.machine.toValues(results.getResult());
 
         var callback = results.getCallback();
         if (callback == null) return ret;
@@ -106,6 +106,17 @@ public Object get(int index) {
         return converted;
     }
 
+    /**
+     * Get the raw Lua value of an argument, without converting it to a Java object.
+     *
+     * @param index The argument number.
+     * @return The argument's value.
+     */
+    LuaValue getRaw(int index) {
+        if (isClosed()) throw new IllegalStateException("Cannot access raw values after IArguments has been closed.");
+        return varargs.arg(index + 1);
+    }
+
     @Override
     public String getStringCoerced(int index) {
         checkAccessible();
@@ -15,6 +15,7 @@ private Metrics() {
     public static final Metric.Event SERVER_TASKS = new Metric.Event("server_tasks", "ns", Metric::formatTime);
 
     public static final Metric.Event JAVA_ALLOCATION = new Metric.Event("java_allocation", "bytes", Metric::formatBytes);
+    public static final Metric.Event LUA_HEAP = new Metric.Event("lua_heap", "bytes", Metric::formatBytes);
 
     public static final Metric.Event PERIPHERAL_OPS = new Metric.Event("peripheral", "ns", Metric::formatTime);
     public static final Metric.Event FS_OPS = new Metric.Event("fs", "ns", Metric::formatTime);
@@ -28,6 +29,9 @@ private Metrics() {
 
     public static final Metric.Counter TURTLE_OPS = new Metric.Counter("turtle_ops");
 
+    public static final Metric.Event TERMINAL_ENCODED = new Metric.Event("terminal_encoded", "bytes", Metric::formatBytes);
+    public static final Metric.Event TERMINAL_SENT = new Metric.Event("terminal_sent", "bytes", Metric::formatBytes);
+
     /**
      * Ensures metrics are registered.
      */
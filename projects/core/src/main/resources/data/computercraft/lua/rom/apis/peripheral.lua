@@ -281,26 +281,31 @@ end
 function wrap(name)
     expect(1, name, "string")
 
-    local methods = peripheral.getMethods(name)
-    if not methods then
-        return nil
+    -- Local peripherals can be bound directly, which avoids going through peripheral.call for each method call.
+    local result = native.wrap(name)
+    if not result then
+        local methods = peripheral.getMethods(name)
+        if not methods then
+            return nil
+        end
+
+        result = {}
+        for _, method in ipairs(methods) do
+            result[method] = function(...)
+                return peripheral.call(name, method, ...)
+            end
+        end
     end
 
     -- We store our types array as a list (for getType) and a lookup table (for hasType).
     local types = { peripheral.getType(name) }
     for i = 1, #types do types[types[i]] = true end
-    local result = setmetatable({}, {
+    return setmetatable(result, {
         __name = "peripheral",
         name = name,
         type = types[1],
         types = types,
     })
-    for _, method in ipairs(methods) do
-        result[method] = function(...)
-            return peripheral.call(name, method, ...)
-        end
-    end
-    return result
 end
 
 --[[- Find all peripherals of a specific type, and return the
@@ -15,6 +15,11 @@ local expect = require("cc.expect")
 local expect, field = expect.expect, expect.field
 local wrap = require("cc.strings").wrap
 
+-- Serialising and parsing JSON is much faster in Java, so use the native implementation when it is available. Its
+-- functions may return nil for values they do not support, in which case we fall back to the Lua implementation.
+local has_native_json, native_json = pcall(require, "cc.internal.json")
+if not has_native_json then native_json = nil end
+
 --- Slowly writes string text at current cursor position,
 -- character-by-character.
 --
@@ -766,6 +771,14 @@ do
             options = {}
         end
 
+        if native_json then
+            local ok, res = native_json.decode(
+                s, options.nbt_style, options.parse_null, options.parse_empty_array ~= false,
+                json_null, empty_json_array
+            )
+            if ok then return res end
+        end
+
         local ok, res, pos = pcall(decode_impl, s, skip(s, 1), options)
         if not ok then
             if type(res) == "table" and getmetatable(res) == mt then
@@ -927,6 +940,13 @@ function serializeJSON(t, options)
         options = {}
     end
 
+    if native_json then
+        local result = native_json.encode(
+            t, options.nbt_style, options.unicode_strings, options.allow_repetitions, json_null, empty_json_array
+        )
+        if result then return result end
+    end
+
     local tTracking = {}
     return serializeJSONImpl(t, tTracking, options)
 end
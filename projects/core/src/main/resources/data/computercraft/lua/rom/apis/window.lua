@@ -58,6 +58,22 @@ local type = type
 local string_rep = string.rep
 local string_sub = string.sub
 
+-- Windows keep a copy of everything drawn to them, so they can be redrawn later. If the computer provides a native
+-- framebuffer, we store this copy there. Otherwise, each line is stored as three Lua strings (see tLines below).
+local native_framebuffer
+do
+    local require = dofile("rom/modules/main/cc/require.lua").make(setmetatable({}, { __index = _ENV }), "rom/modules/main")
+    local ok, framebuffer = pcall(require, "cc.internal.framebuffer")
+    if ok then native_framebuffer = framebuffer end
+end
+
+--- Clamp a cursor position so it can be passed to the native framebuffer.
+local function clamp_pos(pos)
+    if pos ~= pos or pos < -0x40000000 then return -0x40000000 end
+    if pos > 0x40000000 then return 0x40000000 end
+    return pos
+end
+
 --- A custom version of [`colors.toBlit`], specialised for the window API.
 local function parse_color(color)
     if type(color) ~= "number" then
@@ -126,7 +142,9 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
         end
     end
 
-    createEmptyLines(nWidth)
+    -- The native framebuffer holding this window's contents. If this is nil (the native framebuffer is unavailable,
+    -- or this window is too large), the contents are stored in tLines instead.
+    local fb = native_framebuffer and native_framebuffer.create(nWidth, nHeight)
 
     -- Setup
     local bVisible = bStartVisible ~= false
@@ -138,11 +156,14 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
     local tLines = {}
     local tPalette = {}
     do
-        local sEmptyText = sEmptySpaceLine
-        local sEmptyTextColor = tEmptyColorLines[nTextColor]
-        local sEmptyBackgroundColor = tEmptyColorLines[nBackgroundColor]
-        for y = 1, nHeight do
-            tLines[y] = { sEmptyText, sEmptyTextColor, sEmptyBackgroundColor }
+        if not fb then
+            createEmptyLines(nWidth)
+            local sEmptyText = sEmptySpaceLine
+            local sEmptyTextColor = tEmptyColorLines[nTextColor]
+            local sEmptyBackgroundColor = tEmptyColorLines[nBackgroundColor]
+            for y = 1, nHeight do
+                tLines[y] = { sEmptyText, sEmptyTextColor, sEmptyBackgroundColor }
+            end
         end
 
         for i = 0, 15 do
@@ -170,17 +191,52 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
     end
 
     local function redrawLine(n)
-        local tLine = tLines[n]
         parent.setCursorPos(nX, nY + n - 1)
-        parent.blit(tLine[1], tLine[2], tLine[3])
+        if fb then
+            parent.blit(fb.getLine(n))
+        else
+            local tLine = tLines[n]
+            parent.blit(tLine[1], tLine[2], tLine[3])
+        end
     end
 
     local function redraw()
+        if fb then fb.getDirty() end
         for n = 1, nHeight do
             redrawLine(n)
         end
     end
 
+    -- Redraw the parts of the framebuffer which have changed since we last drew it.
+    local function redrawDirty()
+        local first, last, startX, endX = fb.getDirty()
+        if not first or not bVisible then return end
+
+        if startX == 1 and endX == nWidth then
+            for n = first, last do redrawLine(n) end
+        else
+            for n = first, last do
+                local sText, sTextColor, sBackgroundColor = fb.getLine(n)
+                parent.setCursorPos(nX + startX - 1, nY + n - 1)
+                parent.blit(
+                    string_sub(sText, startX, endX),
+                    string_sub(sTextColor, startX, endX),
+                    string_sub(sBackgroundColor, startX, endX)
+                )
+            end
+        end
+    end
+
+    -- Move the cursor after writing to the framebuffer, and redraw any changed lines.
+    local function finishFramebufferWrite(nLength)
+        nCursorX = nCursorX + nLength
+        redrawDirty()
+        if bVisible then
+            updateCursorColor()
+            updateCursorPos()
+        end
+    end
+
     local function updatePalette()
         for k, v in pairs(tPalette) do
             parent.setPaletteColour(k, v[1], v[2], v[3])
@@ -188,6 +244,11 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
     end
 
     local function internalBlit(sText, sTextColor, sBackgroundColor)
+        if fb then
+            fb.blit(sText, sTextColor, sBackgroundColor)
+            return finishFramebufferWrite(#sText)
+        end
+
         local nStart = nCursorX
         local nEnd = nStart + #sText - 1
         if nCursorY >= 1 and nCursorY <= nHeight then
@@ -267,6 +328,11 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
 
     function window.write(sText)
         sText = tostring(sText)
+        if fb then
+            fb.write(sText)
+            return finishFramebufferWrite(#sText)
+        end
+
         internalBlit(sText, string_rep(tHex[nTextColor], #sText), string_rep(tHex[nBackgroundColor], #sText))
     end
 
@@ -283,6 +349,16 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
     end
 
     function window.clear()
+        if fb then
+            fb.clear()
+            redrawDirty()
+            if bVisible then
+                updateCursorColor()
+                updateCursorPos()
+            end
+            return
+        end
+
         local sEmptyText = sEmptySpaceLine
         local sEmptyTextColor = tEmptyColorLines[nTextColor]
         local sEmptyBackgroundColor = tEmptyColorLines[nBackgroundColor]
@@ -301,6 +377,16 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
 
     function window.clearLine()
         if nCursorY >= 1 and nCursorY <= nHeight then
+            if fb then
+                fb.clearLine()
+                redrawDirty()
+                if bVisible then
+                    updateCursorColor()
+                    updateCursorPos()
+                end
+                return
+            end
+
             local line = tLines[nCursorY]
             line[1] = sEmptySpaceLine
             line[2] = tEmptyColorLines[nTextColor]
@@ -322,6 +408,7 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
         if type(y) ~= "number" then expect(2, y, "number") end
         nCursorX = math.floor(x)
         nCursorY = math.floor(y)
+        if fb then fb.setCursorPos(clamp_pos(nCursorX), clamp_pos(nCursorY)) end
         if bVisible then
             updateCursorPos()
         end
@@ -355,6 +442,7 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
         if tHex[color] == nil then color = parse_color(color) end
 
         nTextColor = color
+        if fb and tHex[color] then fb.setTextColour(color) end
         if bVisible then
             updateCursorColor()
         end
@@ -399,6 +487,7 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
     local function setBackgroundColor(color)
         if tHex[color] == nil then color = parse_color(color) end
         nBackgroundColor = color
+        if fb and tHex[color] then fb.setBackgroundColour(color) end
     end
 
     window.setBackgroundColor = setBackgroundColor
@@ -410,7 +499,14 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
 
     function window.scroll(n)
         if type(n) ~= "number" then expect(1, n, "number") end
-        if n ~= 0 then
+        if n ~= 0 and fb then
+            fb.scroll(clamp_pos(n))
+            redrawDirty()
+            if bVisible then
+                updateCursorColor()
+                updateCursorPos()
+            end
+        elseif n ~= 0 then
             local tNewLines = {}
             local sEmptyText = sEmptySpaceLine
             local sEmptyTextColor = tEmptyColorLines[nTextColor]
@@ -463,6 +559,8 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
             error("Line is out of range.", 2)
         end
 
+        if fb then return fb.getLine(y) end
+
         local line = tLines[y]
         return line[1], line[2], line[3]
     end
@@ -552,7 +650,17 @@ function create(parent, nX, nY, nWidth, nHeight, bStartVisible)
 
         if new_parent then parent = new_parent end
 
-        if new_width and new_height then
+        if new_width and new_height and fb and not fb.resize(new_width, new_height) then
+            -- This window is too large for the native framebuffer. Copy its contents into tLines, and store the
+            -- buffer in Lua from now on.
+            for y = 1, nHeight do tLines[y] = { fb.getLine(y) } end
+            fb = nil
+        end
+
+        if new_width and new_height and fb then
+            nWidth = new_width
+            nHeight = new_height
+        elseif new_width and new_height then
             local tNewLines = {}
             createEmptyLines(new_width)
             local sEmptyText = sEmptySpaceLine
@@ -63,6 +63,11 @@ local expect = require "cc.expect".expect
 
 local char, byte, floor, band, rshift = string.char, string.byte, math.floor, bit32.band, bit32.arshift
 
+-- The codec does a little work for every sample, which adds up quickly when streaming audio. Use the native codec if
+-- the computer provides one, and otherwise fall back to the Lua implementation below.
+local has_native, native = pcall(require, "cc.internal.dfpwm")
+if not has_native then native = nil end
+
 local PREC = 10
 local PREC_POW = 2 ^ PREC
 local PREC_POW_HALF = 2 ^ (PREC - 1)
@@ -102,6 +107,29 @@ returns the encoded DFPWM data.
 @see encode A helper function for encoding an entire file of audio at once.
 ]]
 local function make_encoder()
+    if native then
+        local encode = native.make_encoder().encode
+        return function(input)
+            expect(1, input, "table")
+
+            local output = encode(input)
+            if output then return output end
+
+            -- The native encoder only accepts plain tables of in-range numbers. Otherwise normalise the input in the
+            -- same way as the Lua encoder (reporting the same errors), and try again.
+            local normalised, length = {}, #input
+            for i = 1, length + (-length % 8) do
+                local inp_charge = floor(input[i] or 0)
+                if inp_charge > 127 or inp_charge < -128 then
+                    error(("Amplitude at position %d was %d, but should be between -128 and 127"):format(i, inp_charge), 2)
+                end
+                normalised[i] = inp_charge
+            end
+
+            return encode(normalised)
+        end
+    end
+
     local predictor = make_predictor()
     local previous_charge = 0
 
@@ -160,6 +188,14 @@ end
 ```
 ]]
 local function make_decoder()
+    if native then
+        local decode = native.make_decoder().decode
+        return function(input)
+            expect(1, input, "string")
+            return decode(input)
+        end
+    end
+
     local predictor = make_predictor()
     local low_pass_charge = 0
     local previous_charge, previous_bit = 0, false
@@ -0,0 +1,95 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.Coerced;
+import dan200.computercraft.api.lua.LuaException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramebufferTest {
+    private static Framebuffer create(int width, int height) {
+        var framebuffer = Framebuffer.create(width, height);
+        assertNotNull(framebuffer);
+        framebuffer.getDirty();
+        return framebuffer;
+    }
+
+    @Test
+    public void testTracksWrittenLines() throws LuaException {
+        var framebuffer = create(5, 5);
+        assertNull(framebuffer.getDirty(), "A new framebuffer is not dirty");
+
+        framebuffer.setCursorPos(1, 2);
+        framebuffer.write(new Coerced<>("Hi"));
+        framebuffer.setCursorPos(1, 4);
+        framebuffer.clearLine();
+
+        assertArrayEquals(new Object[]{ 2, 4, 1, 5 }, framebuffer.getDirty());
+        assertNull(framebuffer.getDirty(), "Dirty lines are reset");
+    }
+
+    @Test
+    public void testTracksWrittenSpan() throws LuaException {
+        var framebuffer = create(5, 5);
+
+        framebuffer.setCursorPos(2, 3);
+        framebuffer.write(new Coerced<>("Hi"));
+        assertArrayEquals(new Object[]{ 3, 3, 2, 3 }, framebuffer.getDirty(), "Only the written text is dirty");
+
+        framebuffer.setCursorPos(4, 1);
+        framebuffer.write(new Coerced<>("Hello"));
+        framebuffer.setCursorPos(-1, 2);
+        framebuffer.write(new Coerced<>("Hello"));
+        assertArrayEquals(new Object[]{ 1, 2, 1, 5 }, framebuffer.getDirty(), "Spans are clipped and combined");
+    }
+
+    @Test
+    public void testIgnoresOffscreenWrites() throws LuaException {
+        var framebuffer = create(5, 5);
+        framebuffer.setCursorPos(1, 6);
+        framebuffer.write(new Coerced<>("Hi"));
+
+        assertNull(framebuffer.getDirty());
+    }
+
+    @Test
+    public void testScrollMarksAll() throws LuaException {
+        var framebuffer = create(5, 5);
+        framebuffer.scroll(1);
+        assertArrayEquals(new Object[]{ 1, 5, 1, 5 }, framebuffer.getDirty());
+    }
+
+    @Test
+    public void testGetLine() throws LuaException {
+        var framebuffer = create(5, 2);
+        framebuffer.setCursorPos(2, 2);
+        framebuffer.setTextColour(1 << 10);
+        framebuffer.write(new Coerced<>("Hi"));
+
+        assertArrayEquals(new Object[]{ " Hi  ", "0aa00", "fffff" }, framebuffer.getLine(2));
+        assertThrows(LuaException.class, () -> framebuffer.getLine(3));
+    }
+
+    @Test
+    public void testResize() throws LuaException {
+        var framebuffer = create(5, 2);
+        framebuffer.write(new Coerced<>("Hello"));
+
+        assertTrue(framebuffer.resize(3, 3));
+        assertArrayEquals(new Object[]{ 1, 3, 1, 3 }, framebuffer.getDirty());
+        assertEquals("Hel", framebuffer.getLine(1)[0]);
+
+        assertFalse(framebuffer.resize(1 << 16, 1 << 16), "Cannot resize to a huge framebuffer");
+    }
+
+    @Test
+    public void testRejectsInvalidSizes() {
+        assertNull(Framebuffer.create(-1, 5));
+        assertNull(Framebuffer.create(Double.NaN, 5));
+        assertNull(Framebuffer.create(1 << 16, 1 << 16));
+    }
+}
@@ -0,0 +1,102 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis;
+
+import dan200.computercraft.api.lua.*;
+import dan200.computercraft.api.peripheral.IPeripheral;
+import dan200.computercraft.core.asm.PeripheralMethodSupplier;
+import dan200.computercraft.core.computer.ComputerSide;
+import dan200.computercraft.test.core.apis.BasicApiEnvironment;
+import dan200.computercraft.test.core.computer.BasicEnvironment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of calling a trivial peripheral method.
+ * <p>
+ * This compares calling by name through {@link PeripheralAPI#call(ILuaContext, IArguments)} (as
+ * {@code peripheral.call} does) against the bound methods returned by {@link PeripheralAPI#wrap(String)} (as used by
+ * {@code peripheral.wrap}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class PeripheralCallBenchmark {
+    private static final ILuaContext CONTEXT = new ILuaContext() {
+        @Override
+        public long issueMainThreadTask(LuaTask task) {
+            return 0;
+        }
+    };
+
+    private PeripheralAPI api;
+    private IDynamicLuaObject wrapped;
+    private int method;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(PeripheralCallBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Setup
+    public void setup() {
+        var environment = new BasicApiEnvironment(new BasicEnvironment()) {
+            @Override
+            public void queueEvent(String event, @Nullable Object... args) {
+            }
+        };
+        api = new PeripheralAPI(environment, PeripheralMethodSupplier.create(List.of()));
+        api.onPeripheralChanged(ComputerSide.TOP, new Adder());
+        api.startup();
+
+        wrapped = Objects.requireNonNull(api.wrap("top"));
+        method = Arrays.asList(wrapped.getMethodNames()).indexOf("add");
+    }
+
+    @TearDown
+    public void tearDown() {
+        api.shutdown();
+    }
+
+    @Benchmark
+    public MethodResult byName() throws LuaException {
+        return api.call(CONTEXT, new ObjectArguments("top", "add", 1, 2));
+    }
+
+    @Benchmark
+    public MethodResult bound() throws LuaException {
+        return wrapped.callMethod(CONTEXT, method, new ObjectArguments(1, 2));
+    }
+
+    public static class Adder implements IPeripheral {
+        @LuaFunction
+        public final int add(int x, int y) {
+            return x + y;
+        }
+
+        @Override
+        public String getType() {
+            return "adder";
+        }
+
+        @Override
+        public boolean equals(@Nullable IPeripheral other) {
+            return this == other;
+        }
+    }
+}
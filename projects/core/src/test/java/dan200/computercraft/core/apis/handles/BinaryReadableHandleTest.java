@@ -5,13 +5,19 @@
 package dan200.computercraft.core.apis.handles;
 
 import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.ObjectArguments;
+import dan200.computercraft.api.lua.OwnedBytes;
+import dan200.computercraft.core.filesystem.MemoryMount;
+import dan200.computercraft.core.filesystem.TrackingCloseable;
 import org.junit.jupiter.api.Test;
 
 import javax.annotation.Nullable;
-import java.nio.ByteBuffer;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,31 +31,31 @@ public void testReadChar() throws LuaException {
     @Test
     public void testReadShortComplete() throws LuaException {
         var handle = fromLength(10);
-        assertEquals(5, cast(ByteBuffer.class, handle.read(Optional.of(5))).remaining());
+        assertEquals(5, cast(OwnedBytes.class, handle.read(Optional.of(5))).length());
     }
 
     @Test
     public void testReadShortPartial() throws LuaException {
         var handle = fromLength(5);
-        assertEquals(5, cast(ByteBuffer.class, handle.read(Optional.of(10))).remaining());
+        assertEquals(5, cast(OwnedBytes.class, handle.read(Optional.of(10))).length());
     }
 
     @Test
     public void testReadLongComplete() throws LuaException {
         var handle = fromLength(10000);
-        assertEquals(9000, cast(byte[].class, handle.read(Optional.of(9000))).length);
+        assertEquals(9000, cast(OwnedBytes.class, handle.read(Optional.of(9000))).length());
     }
 
     @Test
     public void testReadLongPartial() throws LuaException {
         var handle = fromLength(10000);
-        assertEquals(10000, cast(byte[].class, handle.read(Optional.of(11000))).length);
+        assertEquals(10000, cast(OwnedBytes.class, handle.read(Optional.of(11000))).length());
     }
 
     @Test
     public void testReadLongPartialSmaller() throws LuaException {
         var handle = fromLength(1000);
-        assertEquals(1000, cast(ByteBuffer.class, handle.read(Optional.of(11000))).remaining());
+        assertEquals(1000, cast(OwnedBytes.class, handle.read(Optional.of(11000))).length());
     }
 
     @Test
@@ -68,6 +74,55 @@ public void testReadLineTrailing() throws LuaException {
         assertNull(handle.readLine(Optional.of(true)));
     }
 
+    @Test
+    public void testReadLineAcrossBuffer() throws LuaException {
+        // Place a \r\n across the boundary of the read buffer.
+        var line = "A".repeat(8191);
+        var handle = new ReadHandle(new ArrayByteChannel((line + "\r\n" + line + "\r").getBytes(StandardCharsets.UTF_8)), false);
+        assertArrayEquals(line.getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+        assertArrayEquals((line + "\r").getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+        assertNull(handle.readLine(Optional.empty()));
+    }
+
+    @Test
+    public void testReadAllAfterReadLine() throws LuaException {
+        var contents = "hello\nworld\n".getBytes(StandardCharsets.UTF_8);
+        var handle = new ReadHandle(new ArrayByteChannel(contents), false);
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+
+        // The contents of array-backed channels should be shared rather than copied.
+        var rest = cast(OwnedBytes.class, handle.readAll());
+        assertSame(contents, rest.array());
+        assertArrayEquals("world\n".getBytes(StandardCharsets.UTF_8), rest.toByteArray());
+
+        assertEquals(0, cast(OwnedBytes.class, handle.readAll()).length());
+    }
+
+    @Test
+    public void testSeekAfterRead() throws LuaException {
+        var handle = new ReadHandle(new ArrayByteChannel("hello\nworld\n".getBytes(StandardCharsets.UTF_8)), false);
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+        assertEquals(6L, cast(Long.class, handle.seek(Optional.empty(), Optional.empty())));
+
+        assertEquals(3L, cast(Long.class, handle.seek(Optional.of("set"), Optional.of(3L))));
+        assertArrayEquals("lo".getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+    }
+
+    @Test
+    public void testWriteAfterRead() throws IOException, LuaException {
+        var channel = new MemoryMount().addFile("test.txt", "hello\nworld\n")
+            .openFile("test.txt", Set.of(StandardOpenOption.READ, StandardOpenOption.WRITE));
+        var handle = new ReadWriteHandle(channel, new TrackingCloseable.Impl(channel), false);
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), cast(byte[].class, handle.readLine(Optional.empty())));
+
+        // Writes should happen at the handle's position, not the position of the underlying channel.
+        handle.write(new ObjectArguments("WORLD"));
+        assertEquals(11L, cast(Long.class, handle.seek(Optional.empty(), Optional.empty())));
+
+        handle.seek(Optional.of("set"), Optional.of(0L));
+        assertArrayEquals("hello\nWORLD\n".getBytes(StandardCharsets.UTF_8), cast(OwnedBytes.class, handle.readAll()).toByteArray());
+    }
+
     private static ReadHandle fromLength(int length) {
         var input = new byte[length];
         Arrays.fill(input, (byte) 'A');
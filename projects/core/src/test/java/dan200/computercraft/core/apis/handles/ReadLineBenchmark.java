@@ -0,0 +1,119 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.apis.handles;
+
+import dan200.computercraft.api.filesystem.Mount;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.core.filesystem.FileMount;
+import dan200.computercraft.core.filesystem.MemoryMount;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly {@link ReadHandle#readLine(Optional)} can read a file, in lines per second.
+ * <p>
+ * This compares the buffered implementation against a baseline which reads the channel a single byte at a time (as
+ * file handles used to).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class ReadLineBenchmark {
+    private static final int LINES = 10_000;
+    private static final String FILE = "log.txt";
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(ReadLineBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public int buffered(Source source) throws IOException, LuaException {
+        var handle = new ReadHandle(source.mount.openForRead(FILE), false);
+        var lines = 0;
+        while (handle.readLine(Optional.empty()) != null) lines++;
+        handle.close();
+        return lines;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public int unbuffered(Source source) throws IOException {
+        try (var channel = source.mount.openForRead(FILE)) {
+            var lines = 0;
+            while (readLineUnbuffered(channel) != null) lines++;
+            return lines;
+        }
+    }
+
+    private static byte[] readLineUnbuffered(SeekableByteChannel channel) throws IOException {
+        var single = ByteBuffer.allocate(1);
+        var stream = new ByteArrayOutputStream();
+        var readAnything = false;
+        while (true) {
+            single.clear();
+            if (channel.read(single) <= 0) return readAnything ? stream.toByteArray() : null;
+
+            readAnything = true;
+            var chr = single.get(0);
+            if (chr == '\n') return stream.toByteArray();
+            stream.write(chr);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Source {
+        @Param({ "FILE", "MEMORY" })
+        MountType type;
+
+        Mount mount;
+        private Path root;
+
+        @Setup
+        public void setup() throws IOException {
+            var contents = new StringBuilder();
+            for (var i = 0; i < LINES; i++) contents.append("[INFO] Processed item ").append(i).append(" of ").append(LINES).append('\n');
+
+            switch (type) {
+                case FILE -> {
+                    root = Files.createTempDirectory("cc-benchmark");
+                    Files.writeString(root.resolve(FILE), contents);
+                    mount = new FileMount(root);
+                }
+                case MEMORY -> mount = new MemoryMount().addFile(FILE, contents.toString());
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            if (root == null) return;
+            try (var paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+            }
+        }
+    }
+
+    public enum MountType {
+        FILE,
+        MEMORY,
+    }
+}
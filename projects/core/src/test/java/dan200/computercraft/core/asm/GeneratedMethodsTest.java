@@ -0,0 +1,231 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.asm;
+
+import dan200.computercraft.api.lua.*;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import dan200.computercraft.core.apis.OSAPI;
+import dan200.computercraft.core.computer.ComputerSide;
+import dan200.computercraft.core.methods.LuaMethod;
+import dan200.computercraft.core.methods.PeripheralMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks that the adapters generated by our annotation processor are used, and behave identically to methods generated
+ * at runtime.
+ */
+public class GeneratedMethodsTest {
+    private static final List<Class<?>> LUA_CONTEXT = List.of(ILuaContext.class);
+    private static final List<Class<?>> PERIPHERAL_CONTEXT = List.of(ILuaContext.class, IComputerAccess.class);
+
+    private static final Generator<PeripheralMethod> GENERATED = PeripheralMethodSupplier.createGenerator(true);
+    private static final Generator<PeripheralMethod> REFLECTIVE = PeripheralMethodSupplier.createGenerator(false);
+
+    @Test
+    public void testCoreApisHaveAdapters() throws ReflectiveOperationException {
+        assertThat(GeneratedMethods.getInstanceMethod(OSAPI.class.getMethod("getComputerID"), LUA_CONTEXT), notNullValue());
+    }
+
+    @Test
+    public void testGenericHasAdapters() {
+        var methods = GenericMethod.getMethods(new Generic()).toList();
+        assertThat(methods, hasSize(2));
+        for (var method : methods) {
+            assertThat(method.method.getName(), GeneratedMethods.getGenericMethod(method, LUA_CONTEXT), notNullValue());
+        }
+    }
+
+    @Test
+    public void testOverloadsHaveNoAdapter() throws ReflectiveOperationException {
+        var method = Kinds.class.getMethod("overloaded", int.class);
+        assertThat(GeneratedMethods.getInstanceMethod(method, PERIPHERAL_CONTEXT), nullValue());
+        assertThat(GENERATED.getInstanceMethod(method).isPresent(), is(true));
+    }
+
+    @Test
+    public void testMissingContext() throws ReflectiveOperationException {
+        var method = Kinds.class.getMethod("computer", IComputerAccess.class);
+        assertThat(GeneratedMethods.getInstanceMethod(method, PERIPHERAL_CONTEXT), notNullValue());
+        assertThat(GeneratedMethods.getInstanceMethod(method, LUA_CONTEXT), nullValue());
+
+        Generator<LuaMethod> generator = LuaMethodSupplier.createGenerator(true);
+        assertThat(generator.getInstanceMethod(method).isPresent(), is(false));
+    }
+
+    @Test
+    public void testMainThread() throws ReflectiveOperationException, LuaException {
+        var method = GENERATED.getInstanceMethod(Kinds.class.getMethod("mainThread")).orElseThrow();
+        var result = method.apply(new Kinds(), CONTEXT, null, new ObjectArguments());
+        assertThat(result.getCallback(), notNullValue());
+    }
+
+    public static Stream<Arguments> getCalls() {
+        return Stream.of(
+            Arguments.of("add", new Object[]{ 1, 2 }),
+            Arguments.of("add", new Object[]{ 1, "x" }),
+            Arguments.of("primitives", new Object[]{ 2.5, 1L << 40, true }),
+            Arguments.of("optionals", new Object[]{ 1, 2.5, true, 3 }),
+            Arguments.of("optionals", new Object[]{}),
+            Arguments.of("optionals", new Object[]{ "x" }),
+            Arguments.of("strings", new Object[]{ "a", "b" }),
+            Arguments.of("strings", new Object[]{ "a" }),
+            Arguments.of("strings", new Object[]{ 1 }),
+            Arguments.of("bytes", new Object[]{ "abc", "de" }),
+            Arguments.of("enums", new Object[]{ "left", "right" }),
+            Arguments.of("enums", new Object[]{ "up" }),
+            Arguments.of("coerced", new Object[]{ 12 }),
+            Arguments.of("table", new Object[]{ Map.of(1, 2) }),
+            Arguments.of("table", new Object[]{ false }),
+            Arguments.of("object", new Object[]{ "x" }),
+            Arguments.of("empty", new Object[]{}),
+            Arguments.of("multiple", new Object[]{}),
+            Arguments.of("result", new Object[]{ 1, 2, 3 }),
+            Arguments.of("computer", new Object[]{}),
+            Arguments.of("error", new Object[]{})
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("getCalls")
+    public void testMatchesReflective(String name, Object[] args) throws ReflectiveOperationException {
+        var method = Arrays.stream(Kinds.class.getMethods()).filter(x -> x.getName().equals(name)).findFirst().orElseThrow();
+        assertThat(GeneratedMethods.getInstanceMethod(method, PERIPHERAL_CONTEXT), notNullValue());
+
+        var generated = call(GENERATED.getInstanceMethod(method).orElseThrow(), args);
+        var reflective = call(REFLECTIVE.getInstanceMethod(method).orElseThrow(), args);
+        assertThat(generated, equalTo(reflective));
+    }
+
+    private static List<Object> call(PeripheralMethod method, Object[] args) {
+        try {
+            var result = method.apply(new Kinds(), CONTEXT, null, new ObjectArguments(args)).getResult();
+            return result == null ? List.of() : Arrays.stream(result).map(x -> x instanceof ByteBuffer b ? b.remaining() : x).toList();
+        } catch (LuaException e) {
+            return List.of("error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    public static class Kinds {
+        @LuaFunction
+        public final int add(int x, int y) {
+            return x + y;
+        }
+
+        @LuaFunction
+        public final String primitives(double x, long y, boolean z) {
+            return x + ":" + y + ":" + z;
+        }
+
+        @LuaFunction
+        public final String optionals(Optional<Integer> x, Optional<Double> y, Optional<Boolean> z, Optional<Long> w) {
+            return x + ":" + y + ":" + z + ":" + w;
+        }
+
+        @LuaFunction
+        public final String strings(String x, Optional<String> y) {
+            return x + y.orElse("?");
+        }
+
+        @LuaFunction
+        public final int bytes(ByteBuffer x, Optional<ByteBuffer> y) {
+            return x.remaining() + y.map(ByteBuffer::remaining).orElse(0);
+        }
+
+        @LuaFunction
+        public final String enums(ComputerSide x, Optional<ComputerSide> y) {
+            return x + ":" + y.map(ComputerSide::name).orElse("?");
+        }
+
+        @LuaFunction
+        public final String coerced(Coerced<String> x) {
+            return x.value();
+        }
+
+        @LuaFunction
+        public final int table(Map<?, ?> x) {
+            return x.size();
+        }
+
+        @LuaFunction
+        public final Object object(Object x) {
+            return x;
+        }
+
+        @LuaFunction
+        public final void empty() {
+        }
+
+        @LuaFunction
+        public final Object[] multiple() {
+            return new Object[]{ 1, "two" };
+        }
+
+        @LuaFunction
+        public final MethodResult result(ILuaContext context, IArguments args) {
+            return MethodResult.of(args.count());
+        }
+
+        @LuaFunction
+        public final String computer(IComputerAccess computer) {
+            return String.valueOf(computer);
+        }
+
+        @LuaFunction
+        public final void error() throws LuaException {
+            throw new LuaException("Oh no");
+        }
+
+        @LuaFunction
+        public final int overloaded(int x) {
+            return x;
+        }
+
+        @LuaFunction
+        public final int overloaded(int x, int y) {
+            return x + y;
+        }
+
+        @LuaFunction(mainThread = true)
+        public final void mainThread() {
+        }
+    }
+
+    public static class Generic implements GenericSource {
+        @Override
+        public String id() {
+            return "generic";
+        }
+
+        @LuaFunction
+        public static int staticLength(String target) {
+            return target.length();
+        }
+
+        @LuaFunction
+        public final int instanceLength(String target) {
+            return target.length();
+        }
+    }
+
+    private static final ILuaContext CONTEXT = new ILuaContext() {
+        @Override
+        public long issueMainThreadTask(LuaTask task) {
+            return 0;
+        }
+    };
+}
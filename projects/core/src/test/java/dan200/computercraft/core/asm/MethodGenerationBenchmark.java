@@ -0,0 +1,65 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.asm;
+
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.core.apis.*;
+import dan200.computercraft.core.apis.handles.ReadHandle;
+import dan200.computercraft.core.apis.handles.ReadWriteHandle;
+import dan200.computercraft.core.apis.handles.WriteHandle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to generate the methods of our built-in APIs, as happens when a computer first boots.
+ * <p>
+ * This compares using the adapters generated by our annotation processor against building method handles at runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MethodGenerationBenchmark {
+    private static final List<Method> METHODS = List.of(
+        FSAPI.class, HTTPAPI.class, OSAPI.class, PeripheralAPI.class, RedstoneAPI.class, TermAPI.class,
+        ReadHandle.class, WriteHandle.class, ReadWriteHandle.class
+    ).stream().flatMap(x -> Arrays.stream(x.getMethods())).filter(x -> x.isAnnotationPresent(LuaFunction.class)).toList();
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(MethodGenerationBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    public int generated() {
+        return build(true);
+    }
+
+    @Benchmark
+    public int reflective() {
+        return build(false);
+    }
+
+    private static int build(boolean useAdapters) {
+        // Create a new generator each time, so that we don't just hit the cache.
+        var generator = LuaMethodSupplier.createGenerator(useAdapters);
+        var count = 0;
+        for (var method : METHODS) {
+            if (generator.getInstanceMethod(method).isPresent()) count++;
+        }
+        return count;
+    }
+}
@@ -10,6 +10,7 @@
 import dan200.computercraft.api.peripheral.IPeripheral;
 import dan200.computercraft.core.computer.ComputerBootstrap;
 import dan200.computercraft.core.computer.ComputerSide;
+import dan200.computercraft.core.computer.Environment;
 import dan200.computercraft.core.methods.ObjectSource;
 import org.junit.jupiter.api.Test;
 
@@ -74,6 +75,25 @@ public void testPeripheralThrow() {
         );
     }
 
+    @Test
+    public void testWrappedPeripheralDetach() {
+        ComputerBootstrap.run(
+            """
+            local p = peripheral.wrap('top')
+            assert(p.go() == 123)
+
+            swap.detach()
+            local ok, err = pcall(function() return p.go() end)
+            assert(not ok and err:find("No peripheral attached", 1, true), err)
+
+            swap.attach()
+            assert(p.go() == 123)
+            """,
+            x -> x.addApi(new SwapPeripheral(x.getEnvironment())),
+            50
+        );
+    }
+
     @Test
     public void testMany() {
         ComputerBootstrap.run(
@@ -89,6 +109,22 @@ public void testFunction() {
             x -> x.addApi(new ReturnFunction()), 50);
     }
 
+    @Test
+    public void testSameClassObjects() {
+        ComputerBootstrap.run(
+            """
+            local a, b = counters.create(1), counters.create(2)
+            assert(a.get() == 1 and b.get() == 2, "bound to the wrong object")
+            assert(a.get ~= b.get, "functions are shared")
+            assert(a.get == a.get, "functions are not stable")
+
+            local names = {}
+            for k, v in pairs(a) do names[#names + 1] = k end
+            table.sort(names)
+            assert(table.concat(names, ",") == "get,value", table.concat(names, ","))
+            """,
+            x -> x.addApi(new Counters()), 50);
+    }
 
     @Test
     public void testModule() {
@@ -207,6 +243,47 @@ public boolean equals(@Nullable IPeripheral other) {
         }
     }
 
+    public static class SwapPeripheral implements ILuaAPI {
+        private final Environment environment;
+
+        SwapPeripheral(Environment environment) {
+            this.environment = environment;
+            attach();
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[]{ "swap" };
+        }
+
+        @LuaFunction
+        public final void attach() {
+            environment.setPeripheral(ComputerSide.TOP, new Constant());
+        }
+
+        @LuaFunction
+        public final void detach() {
+            environment.setPeripheral(ComputerSide.TOP, null);
+        }
+    }
+
+    public static class Constant implements IPeripheral {
+        @LuaFunction
+        public final int go() {
+            return 123;
+        }
+
+        @Override
+        public String getType() {
+            return "constant";
+        }
+
+        @Override
+        public boolean equals(@Nullable IPeripheral other) {
+            return this == other;
+        }
+    }
+
     public static class ManyMethods implements IDynamicLuaObject, ILuaAPI {
         @Override
         public String[] getMethodNames() {
@@ -238,6 +315,31 @@ public String[] getNames() {
         }
     }
 
+    public static class Counters implements ILuaAPI {
+        @LuaFunction
+        public final Counter create(int value) {
+            return new Counter(value);
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[]{ "counters" };
+        }
+    }
+
+    public static class Counter {
+        private final int value;
+
+        Counter(int value) {
+            this.value = value;
+        }
+
+        @LuaFunction({ "get", "value" })
+        public final int get() {
+            return value;
+        }
+    }
+
     public static class IsModule implements ILuaAPI {
         @Override
         public String[] getNames() {
@@ -7,6 +7,8 @@
 import com.google.common.io.CharStreams;
 import dan200.computercraft.api.lua.ILuaAPI;
 import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.core.CoreConfig;
+import dan200.computercraft.core.lua.LuaProfiler;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -17,6 +19,7 @@
 
 import static java.time.Duration.ofSeconds;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ComputerTest {
     @Test
@@ -53,6 +56,68 @@ public final Object[] getObjects() {
             """, i -> i.addApi(new CustomApi()), 50);
     }
 
+    @Test
+    public void testProfiler() {
+        var profiler = new LuaProfiler();
+        ComputerBootstrap.run("""
+            local function spin()
+              local finish = os.clock() + 1
+              while os.clock() < finish do end
+            end
+            spin()
+            """, c -> c.setProfiler(profiler), ComputerBootstrap.MAX_TIME);
+
+        assertTrue(profiler.getSampleCount() > 0, "Expected at least one sample");
+        assertTrue(
+            profiler.getStacks().keySet().stream().anyMatch(x -> x.endsWith("test.lua:1")),
+            () -> "Expected spin() to be sampled, got " + profiler.getStacks()
+        );
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        var softLimit = CoreConfig.luaMemorySoftLimit;
+        CoreConfig.luaMemorySoftLimit = 16 * 1024 * 1024;
+        try {
+            ComputerBootstrap.run("""
+                local t = {}
+                local ok, err = pcall(function()
+                  for i = 1, 1e7 do
+                    t[i] = i
+                    if i % 10000 == 0 then os.sleep(0) end
+                  end
+                end)
+                t = nil
+
+                assert(not ok, "Expected an error")
+                assert(err:find("Out of memory", 1, true), err)
+                """, ComputerBootstrap.MAX_TIME);
+        } finally {
+            CoreConfig.luaMemorySoftLimit = softLimit;
+        }
+    }
+
+    @Test
+    public void testMemoryHardLimit() {
+        var hardLimit = CoreConfig.luaMemoryHardLimit;
+        CoreConfig.luaMemoryHardLimit = 16 * 1024 * 1024;
+        try {
+            ComputerBootstrap.run("""
+                assertion.assert(true)
+
+                local t = {}
+                for i = 1, 1e7 do
+                  t[i] = i
+                  if i % 10000 == 0 then os.sleep(0) end
+                end
+
+                assertion.assert(false, "Expected computer to shut down")
+                """, ComputerBootstrap.MAX_TIME);
+        } finally {
+            CoreConfig.luaMemoryHardLimit = hardLimit;
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         var stream = ComputerTest.class.getClassLoader().getResourceAsStream("benchmark.lua");
         try (var reader = new InputStreamReader(Objects.requireNonNull(stream), StandardCharsets.UTF_8)) {
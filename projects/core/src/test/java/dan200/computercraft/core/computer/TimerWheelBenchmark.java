@@ -0,0 +1,82 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.computer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of advancing a {@link TimerWheel} with a large number of outstanding timers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class TimerWheelBenchmark {
+    private static final int TIMERS = 100_000;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(TimerWheelBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    /**
+     * Advance the wheel by one tick. Every timer which fires is immediately replaced, so the number of outstanding
+     * timers remains constant.
+     *
+     * @param state     The current timer wheel.
+     * @param blackhole The blackhole to consume fired timers.
+     */
+    @Benchmark
+    public void tick(OutstandingTimers state, Blackhole blackhole) {
+        var wheel = state.wheel;
+        wheel.advance(id -> {
+            blackhole.consume(id);
+            wheel.add(id, state.nextDelay());
+        });
+    }
+
+    /**
+     * Start and then cancel a timer.
+     *
+     * @param state The current timer wheel.
+     */
+    @Benchmark
+    public void startAndCancel(OutstandingTimers state) {
+        var wheel = state.wheel;
+        wheel.add(TIMERS, state.nextDelay());
+        wheel.cancel(TIMERS);
+    }
+
+    @State(Scope.Thread)
+    public static class OutstandingTimers {
+        final Random random = new Random(0);
+        TimerWheel wheel;
+
+        @Setup
+        public void setup() {
+            wheel = new TimerWheel();
+            for (var i = 0; i < TIMERS; i++) wheel.add(i, nextDelay());
+        }
+
+        /**
+         * Pick a delay between 1 tick and 10 minutes.
+         *
+         * @return The delay for this timer.
+         */
+        int nextDelay() {
+            return 1 + random.nextInt(20 * 60 * 10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.computer;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+    @Test
+    public void testFiresAfterDelay() {
+        var wheel = new TimerWheel();
+        wheel.add(0, 0);
+        wheel.add(1, 1);
+        wheel.add(2, 3);
+
+        assertEquals(IntArrayList.of(0, 1), sorted(advance(wheel)));
+        assertEquals(IntArrayList.of(), advance(wheel));
+        assertEquals(IntArrayList.of(2), advance(wheel));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancel() {
+        var wheel = new TimerWheel();
+        wheel.add(0, 5);
+        wheel.add(1, 5);
+        wheel.cancel(0);
+
+        for (var i = 0; i < 4; i++) assertEquals(IntArrayList.of(), advance(wheel));
+        assertEquals(IntArrayList.of(1), advance(wheel));
+    }
+
+    @Test
+    public void testLongTimers() {
+        var wheel = new TimerWheel();
+        wheel.add(0, Long.MAX_VALUE);
+        wheel.add(1, 100_000);
+
+        for (var i = 1; i < 100_000; i++) assertEquals(IntArrayList.of(), advance(wheel));
+        assertEquals(IntArrayList.of(1), advance(wheel));
+        assertEquals(1, wheel.size());
+    }
+
+    /**
+     * Compare the wheel against a simple countdown, using a random mixture of short and long timers.
+     */
+    @Test
+    public void testMatchesCountdown() {
+        var random = new Random(0);
+        var wheel = new TimerWheel();
+        var expected = new HashMap<Integer, Long>();
+        var nextId = 0;
+
+        for (var tick = 1L; tick <= 200_000; tick++) {
+            for (var i = random.nextInt(3); i > 0; i--) {
+                var delay = switch (random.nextInt(3)) {
+                    case 0 -> random.nextInt(4);
+                    case 1 -> random.nextInt(5000);
+                    default -> random.nextInt(300_000);
+                };
+                wheel.add(nextId, delay);
+                expected.put(nextId, tick - 1 + Math.max(delay, 1));
+                nextId++;
+            }
+
+            if (random.nextInt(4) == 0) {
+                var id = random.nextInt(nextId);
+                wheel.cancel(id);
+                expected.remove(id);
+            }
+
+            for (var id : advance(wheel)) assertEquals(tick, expected.remove(id), "Timer fired at the wrong time");
+            assertEquals(expected.size(), wheel.size());
+        }
+
+        for (var entry : expected.entrySet()) assertTrue(entry.getValue() > 200_000, "Timer never fired");
+    }
+
+    private static IntArrayList advance(TimerWheel wheel) {
+        var fired = new IntArrayList();
+        wheel.advance(fired::add);
+        return fired;
+    }
+
+    private static IntArrayList sorted(IntArrayList list) {
+        list.sort(null);
+        return list;
+    }
+}
@@ -9,8 +9,10 @@
 import dan200.computercraft.core.metrics.MetricsObserver;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import java.util.Arrays;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -26,7 +28,15 @@ public class ComputerThreadRunner implements AutoCloseable {
     private @MonotonicNonNull Throwable error = null;
 
     public ComputerThreadRunner() {
-        this.thread = new ComputerThread(1);
+        this(new ComputerThread(1));
+    }
+
+    public ComputerThreadRunner(ComputerThreadConfig config) {
+        this(new ComputerThread(config));
+    }
+
+    private ComputerThreadRunner(ComputerThread thread) {
+        this.thread = thread;
     }
 
     public ComputerThread thread() {
@@ -45,14 +55,20 @@ public void close() {
     }
 
     public Worker createWorker(BiConsumer<ComputerScheduler.Executor, TimeoutState> action) {
-        return new Worker(thread, e -> action.accept(e, e.timeoutState()));
+        return new Worker(thread, null, e -> action.accept(e, e.timeoutState()));
     }
 
     public void createLoopingComputer() {
-        new Worker(thread, e -> {
+        createLoopingComputer(null);
+    }
+
+    public Worker createLoopingComputer(@Nullable UUID owner) {
+        var worker = new Worker(thread, owner, e -> {
             Thread.sleep(100);
             e.submit();
-        }).executor().submit();
+        });
+        worker.executor().submit();
+        return worker;
     }
 
     public void startAndWait(Worker worker) throws Exception {
@@ -85,12 +101,14 @@ private interface Task {
 
     public final class Worker implements ComputerScheduler.Worker, MetricsObserver {
         private final Task run;
+        private final @Nullable UUID owner;
         private final ComputerScheduler.Executor executor;
         private long[] totals = new long[16];
         private volatile boolean executed = false;
 
-        private Worker(ComputerScheduler scheduler, Task run) {
+        private Worker(ComputerScheduler scheduler, @Nullable UUID owner, Task run) {
             this.run = run;
+            this.owner = owner;
             this.executor = scheduler.createExecutor(this, this);
         }
 
@@ -126,6 +144,11 @@ public int getComputerID() {
             return 0;
         }
 
+        @Override
+        public @Nullable UUID getOwner() {
+            return owner;
+        }
+
         @Override
         public void writeState(StringBuilder output) {
         }
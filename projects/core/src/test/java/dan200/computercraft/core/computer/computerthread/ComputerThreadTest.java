@@ -14,9 +14,13 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -92,6 +96,86 @@ public void testPauseIfSomeOtherMachine() throws Exception {
         manager.startAndWait(computer);
     }
 
+    @Test
+    public void testOwnersShareTime() throws Exception {
+        var owner = UUID.randomUUID();
+        var owned = List.of(
+            manager.createLoopingComputer(owner), manager.createLoopingComputer(owner), manager.createLoopingComputer(owner)
+        );
+        var other = manager.createLoopingComputer(UUID.randomUUID());
+
+        Thread.sleep(3000);
+
+        // Each owner should get roughly half the time, rather than the three computers getting three-quarters of it.
+        var ownedTime = owned.stream().mapToLong(x -> x.getMetric(Metrics.COMPUTER_TASKS)).sum();
+        var otherTime = other.getMetric(Metrics.COMPUTER_TASKS);
+        LOG.info("Owned computers ran for {}ms, other computer for {}ms", ownedTime / 1_000_000, otherTime / 1_000_000);
+        assertThat("Other owner should get a fair share", otherTime * 2, greaterThan(ownedTime));
+    }
+
+    @Test
+    public void testAdaptiveWorkers() throws Exception {
+        var config = new ComputerThreadConfig.Basic(1, 3, TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(200));
+        try (var runner = new ComputerThreadRunner(config)) {
+            var thread = runner.thread();
+            var running = new AtomicBoolean(true);
+            for (var i = 0; i < 4; i++) {
+                runner.createWorker((executor, timeout) -> {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                    if (running.get()) executor.submit();
+                }).executor().submit();
+            }
+
+            assertTrue(ConcurrentHelpers.waitUntil(() -> thread.getWorkerCount() == 3, 5, TimeUnit.SECONDS), "Should add workers when busy");
+
+            running.set(false);
+            assertTrue(ConcurrentHelpers.waitUntil(() -> thread.getWorkerCount() == 1, 5, TimeUnit.SECONDS), "Should remove workers when idle");
+        }
+    }
+
+    @Test
+    public void testAdaptiveWorkersHostBusy() throws Exception {
+        var config = new ComputerThreadConfig() {
+            volatile boolean hostBusy = false;
+
+            @Override
+            public int minThreads() {
+                return 1;
+            }
+
+            @Override
+            public int maxThreads() {
+                return 3;
+            }
+
+            @Override
+            public long growDelay() {
+                return TimeUnit.MILLISECONDS.toNanos(50);
+            }
+
+            @Override
+            public long shrinkDelay() {
+                return TimeUnit.MILLISECONDS.toNanos(200);
+            }
+
+            @Override
+            public boolean isHostBusy() {
+                return hostBusy;
+            }
+        };
+
+        try (var runner = new ComputerThreadRunner(config)) {
+            var thread = runner.thread();
+            for (var i = 0; i < 4; i++) runner.createLoopingComputer();
+
+            assertTrue(ConcurrentHelpers.waitUntil(() -> thread.getWorkerCount() == 3, 5, TimeUnit.SECONDS), "Should add workers when busy");
+
+            config.hostBusy = true;
+            assertTrue(ConcurrentHelpers.waitUntil(() -> thread.getWorkerCount() == 1, 5, TimeUnit.SECONDS), "Should remove workers when host is busy");
+            assertThat("Should have work queued", thread.getQueueSize(), greaterThan(0));
+        }
+    }
+
     @Test
     public void testAllocationTracking() throws Exception {
         Assumptions.assumeTrue(ThreadAllocations.isSupported(), "Allocation tracking is supported");
@@ -0,0 +1,183 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.computer.mainthread;
+
+import dan200.computercraft.api.filesystem.WritableMount;
+import dan200.computercraft.core.computer.ComputerEnvironment;
+import dan200.computercraft.core.metrics.MetricsObserver;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MainThreadTest {
+    /**
+     * The number of tasks each computer enqueues per tick. The global budget only allows running about four tasks a
+     * tick, so this ensures there is always more work than capacity, however many computers are running.
+     */
+    private static final int TASKS_PER_TICK = 3;
+
+    /**
+     * Run several computers which always have work, with enough budget for only some of them each tick.
+     *
+     * @param owners The owner of each computer.
+     * @return The number of tasks each computer ran.
+     */
+    private static int[] runContended(@Nullable UUID... owners) {
+        var mainThread = new MainThread(new MainThreadConfig.Basic(TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(5)));
+
+        var counts = new int[owners.length];
+        var executors = new MainThreadScheduler.Executor[owners.length];
+        for (var i = 0; i < owners.length; i++) executors[i] = mainThread.createExecutor(new Environment(owners[i]));
+
+        for (var tick = 0; tick < 200; tick++) {
+            for (var i = 0; i < owners.length; i++) {
+                var index = i;
+                for (var task = 0; task < TASKS_PER_TICK; task++) {
+                    executors[i].enqueue(() -> {
+                        spin(TimeUnit.MICROSECONDS.toNanos(500));
+                        counts[index]++;
+                    });
+                }
+            }
+
+            mainThread.tick();
+        }
+
+        return counts;
+    }
+
+    private static void spin(long time) {
+        var start = System.nanoTime();
+        while (System.nanoTime() - start < time) Thread.onSpinWait();
+    }
+
+    @Test
+    public void testComputersShareTime() {
+        var counts = runContended(null, null, null, null, null, null);
+        assertThat(counts[0], greaterThan(0));
+        assertThat((double) counts[0], closeTo(counts[1], counts[1] * 0.25));
+    }
+
+    @Test
+    public void testOwnersShareTime() {
+        var owner = UUID.randomUUID();
+        var counts = runContended(owner, owner, owner, UUID.randomUUID());
+
+        // Each owner should get roughly half the time, rather than the three computers getting three-quarters of it.
+        var owned = counts[0] + counts[1] + counts[2];
+        assertThat("Owners should get the same share", (double) counts[3], closeTo(owned, owned * 0.25));
+        assertThat("Owned computers should share time", (double) counts[0], closeTo(counts[1], counts[1] * 0.25));
+    }
+
+    /**
+     * Tasks may track their own work (for instance, to stop early once out of time). This should not be counted twice.
+     */
+    @Test
+    public void testTrackWorkInTask() {
+        var mainThread = new MainThread(MainThreadConfig.DEFAULT);
+        var executor = (MainThreadExecutor) mainThread.createExecutor(new Environment(null));
+
+        var canWork = new boolean[4];
+        executor.enqueue(() -> {
+            executor.trackWork(3, TimeUnit.MILLISECONDS);
+            canWork[0] = executor.canWork();
+            canWork[1] = executor.shouldWork();
+
+            executor.trackWork(3, TimeUnit.MILLISECONDS);
+            canWork[2] = executor.canWork();
+            canWork[3] = executor.shouldWork();
+        });
+
+        var virtualTime = executor.virtualTime;
+        var start = System.nanoTime();
+        mainThread.tick();
+        var elapsed = System.nanoTime() - start;
+
+        assertTrue(canWork[0], "Can work within budget");
+        assertTrue(canWork[1], "Should work within budget");
+        assertTrue(canWork[2], "Can work once over budget");
+        assertFalse(canWork[3], "Should not work once over budget");
+
+        assertThat(
+            "Tracked work is not counted twice",
+            executor.virtualTime - virtualTime, lessThanOrEqualTo(Math.max(elapsed, TimeUnit.MILLISECONDS.toNanos(6)))
+        );
+    }
+
+    @Test
+    public void testBudgetFollowsTickTime() {
+        var config = new LaggyConfig();
+        var mainThread = new MainThread(config);
+
+        config.tickTime = TimeUnit.MILLISECONDS.toNanos(80);
+        for (var tick = 0; tick < 50; tick++) mainThread.tick();
+        assertEquals(MainThreadConfig.DEFAULT_MIN_GLOBAL_TIME, mainThread.getGlobalBudget(), "Budget should drop to the minimum");
+        assertThat(mainThread.getComputerBudget(), lessThan(MainThreadConfig.DEFAULT_MAX_COMPUTER_TIME));
+
+        config.tickTime = TimeUnit.MILLISECONDS.toNanos(20);
+        for (var tick = 0; tick < 200; tick++) mainThread.tick();
+        assertEquals(MainThreadConfig.DEFAULT_MAX_GLOBAL_TIME, mainThread.getGlobalBudget(), "Budget should recover");
+        assertEquals(MainThreadConfig.DEFAULT_MAX_COMPUTER_TIME, mainThread.getComputerBudget(), "Budget should recover");
+    }
+
+    private static final class LaggyConfig implements MainThreadConfig {
+        long tickTime;
+
+        @Override
+        public long maxGlobalTime() {
+            return DEFAULT_MAX_GLOBAL_TIME;
+        }
+
+        @Override
+        public long maxComputerTime() {
+            return DEFAULT_MAX_COMPUTER_TIME;
+        }
+
+        @Override
+        public long targetTickTime() {
+            return TimeUnit.MILLISECONDS.toNanos(50);
+        }
+
+        @Override
+        public long tickTime() {
+            return tickTime;
+        }
+    }
+
+    private record Environment(@Nullable UUID owner) implements ComputerEnvironment {
+        @Override
+        public @Nullable UUID getOwner() {
+            return owner;
+        }
+
+        @Override
+        public int getDay() {
+            return 0;
+        }
+
+        @Override
+        public double getTimeOfDay() {
+            return 0;
+        }
+
+        @Override
+        public MetricsObserver getMetrics() {
+            return MetricsObserver.discard();
+        }
+
+        @Override
+        public @Nullable WritableMount createRootMount() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.filesystem;
+
+import dan200.computercraft.api.filesystem.MountConstants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly small writes (such as those from {@code handle.writeLine}) can be made to a
+ * {@link WritableFileMount}, in lines per second.
+ * <p>
+ * This compares the mount's channel against a baseline which writes directly to the underlying file channel (as the
+ * mount used to).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SmallWriteBenchmark {
+    private static final int LINES = 10_000;
+    private static final String FILE = "log.txt";
+
+    private static final byte[] LINE = "[INFO] Processed another item".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEWLINE = { '\n' };
+
+    private Path root;
+    private WritableFileMount mount;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(SmallWriteBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("cc-benchmark");
+        mount = new WritableFileMount(root.toFile(), Long.MAX_VALUE / 2);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void coalesced() throws IOException {
+        try (var channel = mount.openFile(FILE, MountConstants.WRITE_OPTIONS)) {
+            writeLines(channel);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void direct() throws IOException {
+        try (var channel = Files.newByteChannel(root.resolve(FILE), MountConstants.WRITE_OPTIONS)) {
+            writeLines(channel);
+        }
+    }
+
+    private static void writeLines(SeekableByteChannel channel) throws IOException {
+        // Mirror writeLine, which writes the contents and newline separately.
+        for (var i = 0; i < LINES; i++) {
+            channel.write(ByteBuffer.wrap(LINE));
+            channel.write(ByteBuffer.wrap(NEWLINE));
+        }
+    }
+}
@@ -15,10 +15,15 @@
 import org.junit.jupiter.api.condition.OS;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class WritableFileMountTest implements WritableMountContract {
     private final List<Path> cleanup = new ArrayList<>();
@@ -42,6 +47,53 @@ public void Writing_uses_latest_file_size() throws IOException {
         WritableMountContract.super.Writing_uses_latest_file_size();
     }
 
+    /**
+     * A disk may be shared between multiple computers, and so its mount may be written to from multiple threads.
+     */
+    @Test
+    public void Concurrent_writes_to_same_file() throws Exception {
+        var access = createMount(1_000_000);
+        var mount = access.mount();
+
+        var writes = 2000;
+        var executor = Executors.newFixedThreadPool(2);
+        try (var first = mount.openForAppend("file"); var second = mount.openForAppend("file")) {
+            Callable<Void> writeA = () -> {
+                for (var i = 0; i < writes; i++) first.write(ByteBuffer.wrap(new byte[]{ 'a', 'a' }));
+                return null;
+            };
+            Callable<Void> writeB = () -> {
+                for (var i = 0; i < writes; i++) second.write(ByteBuffer.wrap(new byte[]{ 'b', 'b' }));
+                return null;
+            };
+
+            for (var result : executor.invokeAll(List.of(writeA, writeB))) result.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        byte[] contents;
+        try (var channel = mount.openForRead("file")) {
+            var buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read the whole file.
+            }
+            contents = buffer.array();
+        }
+        assertEquals(writes * 4, contents.length, "File has all written bytes");
+
+        // Each write should have been appended atomically, and so neither channel may overwrite the other's data.
+        var counts = new int[2];
+        for (var i = 0; i < contents.length; i += 2) {
+            assertEquals(contents[i], contents[i + 1], "Writes are not interleaved");
+            counts[contents[i] - 'a']++;
+        }
+        assertEquals(writes, counts[0], "Count of 'a' writes");
+        assertEquals(writes, counts[1], "Count of 'b' writes");
+
+        assertEquals(access.computeRemainingSpace(), mount.getRemainingSpace(), "Remaining space is accurate");
+    }
+
     private static final class MountAccessImpl implements MountAccess {
         private final Path root;
         private final long capacity;
@@ -0,0 +1,143 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.ILuaAPI;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.lua.LuaFunction;
+import dan200.computercraft.api.lua.LuaTask;
+import dan200.computercraft.core.asm.LuaMethodSupplier;
+import dan200.computercraft.core.computer.TimeoutState;
+import dan200.computercraft.core.metrics.MetricsObserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CobaltLuaMachine} for benchmarking Lua code, including the ROM's APIs and modules.
+ * <p>
+ * This runs without a computer, and so without a filesystem or the usual BIOS. Instead, the program is given a
+ * {@code load_rom(path, module, use_native)} function, which loads a file from the ROM. If {@code use_native} is false,
+ * the native implementation {@code module} (such as {@code cc.internal.json}) is hidden while loading the file, so that
+ * it uses its Lua fallback instead.
+ * <p>
+ * The program is started with the arguments given to the constructor. It should set itself up, and then repeatedly
+ * {@code coroutine.yield()}, handling the returned event (see {@link #run(String)}).
+ */
+public final class BenchmarkMachine implements AutoCloseable {
+    private static final ILuaContext CONTEXT = new ILuaContext() {
+        @Override
+        public long issueMainThreadTask(LuaTask task) {
+            return 0;
+        }
+    };
+
+    private static final String PRELUDE = """
+        local function load_file(path, env)
+            return assert(load(rom.read(path), "@/" .. path, "t", env))
+        end
+
+        -- A minimal version of cc.require, which loads modules directly from the ROM. Like cc.require, native modules
+        -- are taken from the registry.
+        local function make_require(env)
+            local loaded = {}
+            return function(name)
+                if loaded[name] == nil then
+                    loaded[name] = debug.getregistry()._LOADED[name]
+                        or load_file("rom/modules/main/" .. name:gsub("%.", "/") .. ".lua", env)()
+                end
+                return loaded[name]
+            end
+        end
+
+        local function load_rom(path, module, use_native)
+            local loaded = debug.getregistry()._LOADED
+            local native = loaded[module]
+            if not use_native then loaded[module] = nil end
+
+            local env = setmetatable({}, { __index = _G })
+            env.require = make_require(env)
+            env.dofile = function(path)
+                if path == "rom/modules/main/cc/require.lua" then return { make = make_require } end
+                return load_file(path, env)()
+            end
+
+            local ok, result = pcall(load_file(path, env))
+            loaded[module] = native
+            if not ok then error(result, 0) end
+
+            -- APIs define globals, while modules return a table.
+            if result == nil then return env else return result end
+        end
+        """;
+
+    private final CobaltLuaMachine machine;
+
+    /**
+     * Create a new machine and start the given program.
+     *
+     * @param apis    Additional APIs to add to the machine, such as the native modules used by the program.
+     * @param program The program to run.
+     * @param args    Arguments to pass to the program.
+     * @throws MachineException If the machine could not be created.
+     */
+    public BenchmarkMachine(List<ILuaAPI> apis, String program, Object... args) throws MachineException {
+        var allApis = new ArrayList<ILuaAPI>(apis);
+        allApis.add(new RomAPI());
+
+        var environment = new MachineEnvironment(
+            CONTEXT, MetricsObserver.discard(), new TimeoutState() {
+                @Override
+                public void refresh() {
+                }
+            },
+            allApis, LuaMethodSupplier.create(List.of()), "benchmark"
+        );
+        machine = new CobaltLuaMachine(environment, new ByteArrayInputStream((PRELUDE + program).getBytes(StandardCharsets.UTF_8)));
+        check(machine.handleEvent("setup", args));
+    }
+
+    /**
+     * Resume the program with the given event, and wait for it to yield again.
+     *
+     * @param event The event to send to the program.
+     */
+    public void run(String event) {
+        check(machine.handleEvent(event, null));
+    }
+
+    private static void check(MachineResult result) {
+        if (result.isError()) throw new IllegalStateException("Program failed: " + result.getMessage());
+    }
+
+    @Override
+    public void close() {
+        machine.close();
+    }
+
+    /**
+     * Provides read-only access to the ROM, loaded from the classpath.
+     */
+    public static final class RomAPI implements ILuaAPI {
+        @Override
+        public String[] getNames() {
+            return new String[]{ "rom" };
+        }
+
+        @LuaFunction
+        public final String read(String path) throws LuaException {
+            try (var stream = RomAPI.class.getResourceAsStream("/data/computercraft/lua/" + path)) {
+                if (stream == null) throw new LuaException("No such file " + path);
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new LuaException("Cannot read " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.core.apis.DfpwmAPI;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.squiddev.cobalt.LuaTable;
+import org.squiddev.cobalt.LuaValue;
+import org.squiddev.cobalt.ValueFactory;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the DFPWM codec, in samples per second.
+ * <p>
+ * The {@code encode} and {@code decode} benchmarks call {@link LuaDfpwm} directly. The {@code encodeModule} and
+ * {@code decodeModule} benchmarks instead use the {@code cc.audio.dfpwm} module from Lua, either delegating to the
+ * native codec or using the original Lua implementation (see {@link Lua#useNative}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class DfpwmBenchmark {
+    /**
+     * The number of samples in each chunk of audio. This matches the maximum size of a call to
+     * {@code speaker.playAudio}.
+     */
+    private static final int SAMPLES = 128 * 1024;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(DfpwmBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public @Nullable Object encode(Audio audio) {
+        return audio.encoder.encode(VarargArguments.of(audio.samples));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public Object decode(Audio audio) throws LuaException {
+        return audio.decoder.decode(VarargArguments.of(audio.encoded));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void encodeModule(Lua lua) {
+        lua.machine.run("encode");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void decodeModule(Lua lua) {
+        lua.machine.run("decode");
+    }
+
+    /**
+     * A chunk of audio (a sine wave), and the codec state used to process it.
+     */
+    @State(Scope.Thread)
+    public static class Audio {
+        final LuaDfpwm.Encoder encoder = new LuaDfpwm.Encoder();
+        final LuaDfpwm.Decoder decoder = new LuaDfpwm.Decoder();
+        LuaTable samples;
+        LuaValue encoded;
+
+        @Setup
+        public void setup() {
+            samples = new LuaTable(SAMPLES, 0);
+            for (var i = 1; i <= SAMPLES; i++) samples.rawset(i, ValueFactory.valueOf((int) (Math.sin(i / 16.0) * 100)));
+
+            var encoded = new LuaDfpwm.Encoder().encode(VarargArguments.of(samples));
+            if (encoded == null) throw new IllegalStateException("Cannot encode audio");
+            this.encoded = (LuaValue) encoded;
+        }
+    }
+
+    /**
+     * A Lua machine with {@code cc.audio.dfpwm} loaded, and a similar chunk of audio to {@link Audio}.
+     */
+    @State(Scope.Thread)
+    public static class Lua {
+        private static final String PROGRAM = """
+            local _, use_native, samples = ...
+            local dfpwm = load_rom("rom/modules/main/cc/audio/dfpwm.lua", "cc.internal.dfpwm", use_native)
+
+            local audio = {}
+            for i = 1, samples do audio[i] = math.floor(math.sin(i / 16) * 100) end
+
+            local encoder, decoder = dfpwm.make_encoder(), dfpwm.make_decoder()
+            local encoded = dfpwm.encode(audio)
+
+            while true do
+                local event = coroutine.yield()
+                if event == "encode" then
+                    encoder(audio)
+                elseif event == "decode" then
+                    decoder(encoded)
+                end
+            end
+            """;
+
+        /**
+         * Whether {@code cc.audio.dfpwm} should delegate to the native codec, or use its Lua implementation.
+         */
+        @Param({ "true", "false" })
+        public boolean useNative;
+
+        BenchmarkMachine machine;
+
+        @Setup
+        public void setup() throws MachineException {
+            machine = new BenchmarkMachine(List.of(new DfpwmAPI()), PROGRAM, useNative, SAMPLES);
+        }
+
+        @TearDown
+        public void tearDown() {
+            machine.close();
+        }
+    }
+}
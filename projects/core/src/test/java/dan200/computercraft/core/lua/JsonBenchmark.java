@@ -0,0 +1,145 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.core.apis.JsonAPI;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.squiddev.cobalt.LuaError;
+import org.squiddev.cobalt.LuaTable;
+import org.squiddev.cobalt.LuaValue;
+import org.squiddev.cobalt.ValueFactory;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of encoding and decoding a moderately sized JSON document.
+ * <p>
+ * The {@code encode} and {@code decode} benchmarks call {@link LuaJson} directly. The {@code serialise} and
+ * {@code unserialise} benchmarks instead call {@code textutils.serialiseJSON} and {@code textutils.unserialiseJSON} from
+ * Lua, using either the native implementation or the Lua fallback (see {@link Lua#useNative}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class JsonBenchmark {
+    private static final int ITEMS = 500;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(JsonBenchmark.class.getName() + "\\..*")
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Benchmark
+    public @Nullable Object encode(Document document) throws LuaException {
+        return LuaJson.encode(VarargArguments.of(ValueFactory.varargsOf(
+            document.table, ValueFactory.valueOf(false), ValueFactory.valueOf(false), ValueFactory.valueOf(false),
+            document.jsonNull, document.emptyArray
+        )));
+    }
+
+    @Benchmark
+    public @Nullable Object[] decode(Document document) throws LuaException {
+        return LuaJson.decode(VarargArguments.of(ValueFactory.varargsOf(
+            document.json, ValueFactory.valueOf(false), ValueFactory.valueOf(false), ValueFactory.valueOf(true),
+            document.jsonNull, document.emptyArray
+        )));
+    }
+
+    @Benchmark
+    public void serialise(Lua lua) {
+        lua.machine.run("serialise");
+    }
+
+    @Benchmark
+    public void unserialise(Lua lua) {
+        lua.machine.run("unserialise");
+    }
+
+    /**
+     * A document resembling a typical inventory listing: an array of objects, each with a handful of fields.
+     */
+    @State(Scope.Thread)
+    public static class Document {
+        final LuaTable jsonNull = new LuaTable();
+        final LuaTable emptyArray = new LuaTable();
+        LuaTable table;
+        LuaValue json;
+
+        @Setup
+        public void setup() throws LuaError, LuaException {
+            table = new LuaTable();
+            for (var i = 1; i <= ITEMS; i++) {
+                var item = new LuaTable();
+                item.rawset(ValueFactory.valueOf("name"), ValueFactory.valueOf("minecraft:item_" + i));
+                item.rawset(ValueFactory.valueOf("count"), ValueFactory.valueOf(i % 64));
+                item.rawset(ValueFactory.valueOf("damage"), ValueFactory.valueOf(i * 0.5));
+                item.rawset(ValueFactory.valueOf("enchanted"), ValueFactory.valueOf(i % 3 == 0));
+                item.rawset(ValueFactory.valueOf("tags"), emptyArray);
+                table.rawset(i, item);
+            }
+
+            var encoded = new JsonBenchmark().encode(this);
+            if (encoded == null) throw new IllegalStateException("Cannot encode document");
+            json = (LuaValue) encoded;
+        }
+    }
+
+    /**
+     * A Lua machine with {@code textutils} loaded, and the same document as {@link Document}.
+     */
+    @State(Scope.Thread)
+    public static class Lua {
+        private static final String PROGRAM = """
+            local _, use_native, items = ...
+            local textutils = load_rom("rom/apis/textutils.lua", "cc.internal.json", use_native)
+
+            local document = {}
+            for i = 1, items do
+                document[i] = {
+                    name = "minecraft:item_" .. i, count = i % 64, damage = i * 0.5, enchanted = i % 3 == 0,
+                    tags = textutils.empty_json_array,
+                }
+            end
+            local json = textutils.serialiseJSON(document)
+
+            while true do
+                local event = coroutine.yield()
+                if event == "serialise" then
+                    textutils.serialiseJSON(document)
+                elseif event == "unserialise" then
+                    textutils.unserialiseJSON(json)
+                end
+            end
+            """;
+
+        /**
+         * Whether to use the native implementation of the JSON functions, or the Lua fallback.
+         */
+        @Param({ "true", "false" })
+        public boolean useNative;
+
+        BenchmarkMachine machine;
+
+        @Setup
+        public void setup() throws MachineException {
+            machine = new BenchmarkMachine(List.of(new JsonAPI()), PROGRAM, useNative, ITEMS);
+        }
+
+        @TearDown
+        public void tearDown() {
+            machine.close();
+        }
+    }
+}
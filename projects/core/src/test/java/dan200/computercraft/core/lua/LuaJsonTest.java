@@ -0,0 +1,94 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.LuaException;
+import org.junit.jupiter.api.Test;
+import org.squiddev.cobalt.LuaError;
+import org.squiddev.cobalt.LuaTable;
+import org.squiddev.cobalt.LuaValue;
+import org.squiddev.cobalt.ValueFactory;
+
+import javax.annotation.Nullable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuaJsonTest {
+    private static final LuaTable JSON_NULL = new LuaTable();
+    private static final LuaTable EMPTY_ARRAY = new LuaTable();
+
+    private static @Nullable Object encode(LuaValue value, boolean nbt, boolean unicode) throws LuaException {
+        return LuaJson.encode(VarargArguments.of(ValueFactory.varargsOf(
+            value, ValueFactory.valueOf(nbt), ValueFactory.valueOf(unicode), ValueFactory.valueOf(false), JSON_NULL, EMPTY_ARRAY
+        )));
+    }
+
+    private static @Nullable Object decode(String json, boolean parseNull) throws LuaException {
+        var result = LuaJson.decode(VarargArguments.of(ValueFactory.varargsOf(
+            ValueFactory.valueOf(json), ValueFactory.valueOf(false), ValueFactory.valueOf(parseNull), ValueFactory.valueOf(true), JSON_NULL, EMPTY_ARRAY
+        )));
+        if (result == null) return null;
+
+        assertEquals(true, result[0]);
+        return result[1];
+    }
+
+    @Test
+    public void testEncodeArray() throws LuaException, LuaError {
+        var table = new LuaTable();
+        table.rawset(1, ValueFactory.valueOf(5));
+        table.rawset(2, ValueFactory.valueOf("test"));
+        table.rawset(5, JSON_NULL);
+        assertEquals(ValueFactory.valueOf("[5,\"test\",null,null,null]"), encode(table, false, false));
+    }
+
+    @Test
+    public void testEncodeObject() throws LuaException, LuaError {
+        var table = new LuaTable();
+        table.rawset(ValueFactory.valueOf("test"), EMPTY_ARRAY);
+        assertEquals(ValueFactory.valueOf("{\"test\":[]}"), encode(table, false, false));
+        assertEquals(ValueFactory.valueOf("{test:[]}"), encode(table, true, false));
+    }
+
+    @Test
+    public void testEncodeUnicode() throws LuaException {
+        assertEquals(ValueFactory.valueOf("\"\\uD83D\\uDE2F\""), encode(ValueFactory.valueOf("😯"), false, true));
+    }
+
+    @Test
+    public void testEncodeFallsBack() throws LuaException, LuaError {
+        var recursive = new LuaTable();
+        recursive.rawset(1, recursive);
+        assertNull(encode(recursive, false, false), "Recursive tables use the Lua implementation");
+
+        var invalid = ValueFactory.valueOf(new byte[]{ (byte) 0xFF });
+        assertNull(encode(invalid, false, true), "Invalid UTF-8 uses the Lua implementation");
+    }
+
+    @Test
+    public void testDecode() throws LuaException, LuaError {
+        var result = assertInstanceOf(LuaTable.class, decode("{ \"a\": [1, 2.5, true, \"x\"], \"b\": [] }", false));
+
+        var array = assertInstanceOf(LuaTable.class, result.rawget(ValueFactory.valueOf("a")));
+        assertEquals("1", array.rawget(1).toString());
+        assertEquals("2.5", array.rawget(2).toString());
+        assertEquals(ValueFactory.valueOf(true), array.rawget(3));
+        assertEquals(ValueFactory.valueOf("x"), array.rawget(4));
+
+        assertSame(EMPTY_ARRAY, result.rawget(ValueFactory.valueOf("b")));
+    }
+
+    @Test
+    public void testDecodeNull() throws LuaException {
+        assertSame(JSON_NULL, decode("null", true));
+        assertNull(decode("null", false));
+    }
+
+    @Test
+    public void testDecodeFallsBack() throws LuaException {
+        assertNull(decode("[1, 2", false), "Truncated input uses the Lua implementation");
+        assertNull(decode("[1] x", false), "Trailing characters use the Lua implementation");
+    }
+}
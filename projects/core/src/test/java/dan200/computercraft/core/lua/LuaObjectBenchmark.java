@@ -0,0 +1,93 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.lua.LuaTask;
+import dan200.computercraft.core.apis.handles.ArrayByteChannel;
+import dan200.computercraft.core.apis.handles.ReadHandle;
+import dan200.computercraft.core.asm.LuaMethodSupplier;
+import dan200.computercraft.core.computer.TimeoutState;
+import dan200.computercraft.core.methods.LuaMethod;
+import dan200.computercraft.core.methods.MethodSupplier;
+import dan200.computercraft.core.metrics.MetricsObserver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.squiddev.cobalt.LuaError;
+import org.squiddev.cobalt.LuaTable;
+import org.squiddev.cobalt.LuaValue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of converting a Java object (in this case, a file handle) into a Lua table.
+ * <p>
+ * This compares sharing an {@link ObjectPrototype} between objects of the same class against building each table
+ * from scratch (as we used to). This is best run with the GC profiler (enabled by default when running
+ * {@link #main(String[])}), which reports the bytes allocated per conversion as {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class LuaObjectBenchmark {
+    private static final ILuaContext CONTEXT = new ILuaContext() {
+        @Override
+        public long issueMainThreadTask(LuaTask task) {
+            return 0;
+        }
+    };
+
+    private final MethodSupplier<LuaMethod> methods = LuaMethodSupplier.create(List.of());
+    private final ReadHandle handle = new ReadHandle(new ArrayByteChannel(new byte[0]), false);
+    private CobaltLuaMachine machine;
+
+    public static void main(String[] args) throws RunnerException {
+        var opts = new OptionsBuilder()
+            .include(LuaObjectBenchmark.class.getName() + "\\..*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+        new Runner(opts).run();
+    }
+
+    @Setup
+    public void setup() throws MachineException {
+        var environment = new MachineEnvironment(
+            CONTEXT, MetricsObserver.discard(), new TimeoutState() {
+                @Override
+                public void refresh() {
+                }
+            },
+            List.of(), methods, "benchmark"
+        );
+        machine = new CobaltLuaMachine(environment, new ByteArrayInputStream("return".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        machine.close();
+    }
+
+    @Benchmark
+    public LuaValue prototype() throws LuaError {
+        return machine.toValues(new Object[]{ handle }).first();
+    }
+
+    @Benchmark
+    public LuaValue perObject() {
+        var table = new LuaTable();
+        methods.forEachMethod(handle, (target, name, method, info) ->
+            table.rawset(name, new ResultInterpreterFunction(machine, method, target, CONTEXT, name)));
+        return table;
+    }
+}
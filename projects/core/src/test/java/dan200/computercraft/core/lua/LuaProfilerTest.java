@@ -0,0 +1,49 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package dan200.computercraft.core.lua;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LuaProfilerTest {
+    @Test
+    public void testCollapsesStacks() throws IOException {
+        var profiler = new LuaProfiler();
+        profiler.addSample(List.of("a.lua:3", "a.lua:1", "bios.lua:0"));
+        profiler.addSample(List.of("b.lua:2", "bios.lua:0"));
+        profiler.addSample(List.of("a.lua:3", "a.lua:1", "bios.lua:0"));
+
+        assertEquals(3, profiler.getSampleCount());
+        assertEquals(Map.of("bios.lua:0;a.lua:1;a.lua:3", 2L, "bios.lua:0;b.lua:2", 1L), profiler.getStacks());
+
+        var out = new StringBuilder();
+        profiler.write(out);
+        assertEquals("bios.lua:0;a.lua:1;a.lua:3 2\nbios.lua:0;b.lua:2 1\n", out.toString());
+    }
+
+    @Test
+    public void testEscapesFrames() {
+        var profiler = new LuaProfiler();
+        profiler.addSample(List.of("a;b.lua:1", "c\nd.lua:0"));
+
+        assertEquals(Map.of("c d.lua:0;a,b.lua:1", 1L), profiler.getStacks());
+    }
+
+    @Test
+    public void testTruncatesStacks() {
+        var profiler = new LuaProfiler();
+        for (var i = 0; i < 5000; i++) profiler.addSample(List.of("a.lua:" + i));
+
+        var stacks = profiler.getStacks();
+        assertEquals(5000, profiler.getSampleCount());
+        assertEquals(4096 + 1, stacks.size());
+        assertEquals(5000 - 4096, stacks.get(LuaProfiler.TRUNCATED));
+    }
+}
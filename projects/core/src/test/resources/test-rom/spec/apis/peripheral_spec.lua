@@ -139,6 +139,12 @@ describe("The peripheral library", function()
             expect(type(next(p))):eq("string")
         end)
 
+        it_remote("can call methods on a wrapped local peripheral", function()
+            local p = peripheral.wrap("bottom")
+            expect(p.getNamesRemote()):same { "remote_1" }
+            expect(peripheral.getName(p)):eq("bottom")
+        end)
+
         it_remote("wraps a remote peripheral", function()
             local p = peripheral.wrap("remote_1")
             expect(type(p)):eq("table")
@@ -211,6 +211,16 @@ describe("The textutils library", function()
             recurse[1] = recurse
             expect.error(textutils.serialiseJSON, recurse, { allow_repetitions = true }):eq("Cannot serialize table with recursive entries")
         end)
+
+        it("round-trips nested values", function()
+            local value = { name = "Steve", items = { 1, 2.5, "three", { four = true } }, empty = textutils.empty_json_array }
+            expect(textutils.unserializeJSON(textutils.serializeJSON(value))):same(value)
+        end)
+
+        it("serializes tables with metatables", function()
+            local value = setmetatable({ 1, 2 }, { __index = function() return 0 end })
+            expect(textutils.serializeJSON(value)):eq("[1,2]")
+        end)
     end)
 
     describe("textutils.unserializeJSON", function()
@@ -111,6 +111,30 @@ describe("The window library", function()
         end)
     end)
 
+    describe("Window.scroll", function()
+        it("moves the buffer's contents", function()
+            local w = mk()
+            w.setCursorPos(1, 2) w.write("Line2")
+            w.setBackgroundColour(colours.red)
+            w.scroll(1)
+
+            expect({ w.getLine(1) }):same { "Line2", "00000", "fffff" }
+            expect({ w.getLine(5) }):same { "     ", "00000", "eeeee" }
+        end)
+    end)
+
+    describe("Window.reposition", function()
+        it("preserves contents when resizing a large window", function()
+            local w = window.create(term.current(), 1, 1, 5, 5, false)
+            w.write("Hello")
+            w.reposition(1, 1, 1000, 1000)
+            w.setCursorPos(996, 1000) w.write("World")
+
+            expect((w.getLine(1))):eq("Hello" .. (" "):rep(995))
+            expect((w.getLine(1000))):eq((" "):rep(995) .. "World")
+        end)
+    end)
+
     describe("Window.setVisible", function()
         it("validates arguments", function()
             local w = mk()
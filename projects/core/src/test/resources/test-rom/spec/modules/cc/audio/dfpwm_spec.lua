@@ -26,5 +26,25 @@ describe("cc.audio.dfpwm", function()
             expect(#encoded):describe("The lengths match"):eq(#output)
             for i = 1, #encoded do expect(encoded:byte(i)):describe("Item at #" .. i):eq(output[i] % 256) end
         end)
+
+        it("encodes in chunks", function()
+            local input = {}
+            for i = 1, 256 do input[i] = math.floor(math.sin(i / 8) * 100) end
+
+            local encoder = dfpwm.make_encoder()
+            local first, second = {}, {}
+            for i = 1, 128 do first[i], second[i] = input[i], input[i + 128] end
+
+            expect(encoder(first) .. encoder(second)):eq(dfpwm.encode(input))
+        end)
+
+        it("accepts non-integer amplitudes", function()
+            expect(dfpwm.encode({ 1.5, "2", false, 5 })):eq(dfpwm.encode({ 1, 2, 0, 5 }))
+        end)
+
+        it("errors on out of range amplitudes", function()
+            expect.error(dfpwm.make_encoder(), { 0, 200 })
+                :str_match("Amplitude at position 2 was 200, but should be between %-128 and 127$")
+        end)
     end)
 end)
@@ -4,11 +4,14 @@
 
 package dan200.computercraft.test.core.filesystem;
 
+import dan200.computercraft.api.filesystem.Mount;
 import dan200.computercraft.api.filesystem.MountConstants;
 import dan200.computercraft.api.filesystem.WritableMount;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -31,4 +34,28 @@ public static void writeFile(WritableMount mount, String path, String contents)
             handle.write(contents);
         }
     }
+
+    /**
+     * Read a file from this mount.
+     *
+     * @param mount The mount to read from.
+     * @param path  The path to read.
+     * @return The contents of this file.
+     * @throws IOException If reading fails.
+     */
+    public static String readFile(Mount mount, String path) throws IOException {
+        try (var handle = mount.openForRead(path)) {
+            return new String(Channels.newInputStream(handle).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Write any data buffered by a channel to its underlying storage.
+     *
+     * @param channel The channel to flush.
+     * @throws IOException If flushing fails.
+     */
+    public static void flush(SeekableByteChannel channel) throws IOException {
+        if (channel instanceof Flushable flushable) flushable.flush();
+    }
 }
@@ -15,6 +15,10 @@
 import org.opentest4j.TestAbortedException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static dan200.computercraft.api.filesystem.MountConstants.MINIMUM_FILE_SIZE;
@@ -122,12 +126,14 @@ default void Writing_uses_latest_file_size() throws IOException {
         var handle = mount.openFile("file.txt", MountConstants.WRITE_OPTIONS);
         handle.write(LuaValues.encode(LONG_CONTENTS));
         assertEquals(CAPACITY - LONG_CONTENTS.length(), mount.getRemainingSpace());
+        Mounts.flush(handle);
         assertEquals(access.computeRemainingSpace(), access.mount().getRemainingSpace(), "Free space is inconsistent");
 
         var handle2 = mount.openFile("file.txt", MountConstants.WRITE_OPTIONS);
 
         handle.write(LuaValues.encode("test"));
         assertEquals(CAPACITY - LONG_CONTENTS.length() - 4, mount.getRemainingSpace());
+        Mounts.flush(handle);
         assertEquals(access.computeRemainingSpace(), access.mount().getRemainingSpace(), "Free space is inconsistent");
 
         handle2.close();
@@ -154,6 +160,81 @@ default void Append_jumps_to_file_end() throws IOException {
         assertEquals(12, mount.getSize("a.txt"));
     }
 
+    @Test
+    default void Small_writes_update_size_and_free_space() throws IOException {
+        var access = createExisting(CAPACITY);
+        var mount = access.mount();
+
+        try (var handle = mount.openFile("log.txt", MountConstants.WRITE_OPTIONS)) {
+            for (var i = 0; i < LONG_CONTENTS.length(); i++) {
+                handle.write(LuaValues.encode(LONG_CONTENTS.substring(i, i + 1)));
+                assertEquals(CAPACITY - Math.max(MINIMUM_FILE_SIZE, i + 1), mount.getRemainingSpace());
+            }
+
+            assertEquals(LONG_CONTENTS.length(), handle.size());
+            assertEquals(LONG_CONTENTS.length(), mount.getSize("log.txt"));
+        }
+
+        assertEquals(LONG_CONTENTS, Mounts.readFile(mount, "log.txt"));
+        assertEquals(access.computeRemainingSpace(), access.mount().getRemainingSpace(), "Free space is inconsistent");
+    }
+
+    @Test
+    default void Seek_and_overwrite() throws IOException {
+        var access = createExisting(CAPACITY);
+        var mount = access.mount();
+
+        try (var handle = mount.openFile("file.txt", MountConstants.WRITE_OPTIONS)) {
+            handle.write(LuaValues.encode("Hello, world!"));
+            handle.position(7);
+            handle.write(LuaValues.encode("there"));
+            assertEquals(12, handle.position());
+            assertEquals(13, handle.size());
+
+            handle.position(13);
+            handle.write(LuaValues.encode("?"));
+        }
+
+        assertEquals("Hello, there!?", Mounts.readFile(mount, "file.txt"));
+        assertEquals(CAPACITY - MINIMUM_FILE_SIZE, mount.getRemainingSpace());
+        assertEquals(access.computeRemainingSpace(), access.mount().getRemainingSpace(), "Free space is inconsistent");
+    }
+
+    @Test
+    default void Read_after_write() throws IOException {
+        var access = createExisting(CAPACITY);
+        var mount = access.mount();
+
+        try (var handle = mount.openFile("file.txt", Set.of(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE))) {
+            handle.write(LuaValues.encode("Hello, world!"));
+            handle.position(7);
+
+            var buffer = ByteBuffer.allocate(16);
+            assertEquals(6, handle.read(buffer));
+            assertEquals("world!", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+            assertEquals(13, handle.position());
+        }
+    }
+
+    @Test
+    default void Writes_from_multiple_handles_are_ordered() throws IOException {
+        var access = createExisting(CAPACITY);
+        var mount = access.mount();
+
+        try (
+            var first = mount.openFile("file.txt", MountConstants.WRITE_OPTIONS);
+            var second = mount.openFile("file.txt", Set.of(StandardOpenOption.WRITE))
+        ) {
+            first.write(LuaValues.encode("aaaa"));
+            second.write(LuaValues.encode("bb"));
+            first.write(LuaValues.encode("cc"));
+            assertEquals(6, second.size());
+        }
+
+        assertEquals("bbaacc", Mounts.readFile(mount, "file.txt"));
+        assertEquals(access.computeRemainingSpace(), access.mount().getRemainingSpace(), "Free space is inconsistent");
+    }
+
     @ParameterizedTest(name = "\"{0}\"")
     @MethodSource("fileContents")
     default void Move_file(String contents) throws IOException {
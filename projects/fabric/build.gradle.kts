@@ -95,6 +95,7 @@ fun addRemappedConfiguration(name: String) {
     implementation(project(":core")) { cct.exclude(this) }
 
     annotationProcessorEverywhere(libs.autoService)
+    annotationProcessorEverywhere(project(":processor"))
 
     testModImplementation(testFixtures(project(":core")))
     testModImplementation(testFixtures(project(":fabric")))
@@ -25,6 +25,7 @@
 import dan200.computercraft.shared.platform.FabricConfigFile;
 import dan200.computercraft.shared.platform.FabricMessageType;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
@@ -114,6 +115,8 @@ public static void init() {
             entries.getContext(), entries
         ));
 
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> CommonHooks.onTagsUpdated());
+
         CommonHooks.onDatapackReload((name, listener) -> ResourceManagerHelper.get(PackType.SERVER_DATA).registerReloadListener(new ReloadListener(name, listener)));
 
         FabricDetailRegistries.FLUID_VARIANT.addProvider(FluidDetails::fill);
@@ -7,7 +7,6 @@
 import dan200.computercraft.api.detail.VanillaDetailRegistries;
 import dan200.computercraft.api.lua.LuaException;
 import dan200.computercraft.api.lua.LuaFunction;
-import dan200.computercraft.api.peripheral.IComputerAccess;
 import dan200.computercraft.api.peripheral.IPeripheral;
 import dan200.computercraft.shared.platform.FabricContainerTransfer;
 import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
@@ -24,9 +23,7 @@
 import net.minecraft.world.level.block.state.BlockState;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 import static dan200.computercraft.core.util.ArgumentHelpers.assertBetween;
 
@@ -75,23 +72,18 @@ public int hashCode() {
     }
 
     @Override
-    @LuaFunction(mainThread = true)
-    public int size(StorageWrapper inventory) {
-        return inventory.storage().getSlots().size();
+    protected int getSize(StorageWrapper inventory) {
+        return inventory.storage().getSlotCount();
     }
 
     @Override
-    @LuaFunction(mainThread = true)
-    public Map<Integer, Map<String, ?>> list(StorageWrapper inventory) {
-        Map<Integer, Map<String, ?>> result = new HashMap<>();
-        var slots = inventory.storage().getSlots();
-        var size = slots.size();
-        for (var i = 0; i < size; i++) {
-            var stack = toStack(slots.get(i));
-            if (!stack.isEmpty()) result.put(i + 1, VanillaDetailRegistries.ITEM_STACK.getBasicDetails(stack));
-        }
+    protected ItemStack getStack(StorageWrapper inventory, int slot) {
+        return toStack(inventory.storage().getSlot(slot));
+    }
 
-        return result;
+    @Override
+    protected long getSlotLimit(StorageWrapper inventory, int slot) {
+        return inventory.storage().getSlot(slot).getCapacity();
     }
 
     @Override
@@ -104,61 +96,6 @@ public int size(StorageWrapper inventory) {
         return stack.isEmpty() ? null : VanillaDetailRegistries.ITEM_STACK.getDetails(stack);
     }
 
-    @Override
-    @LuaFunction(mainThread = true)
-    public long getItemLimit(StorageWrapper inventory, int slot) throws LuaException {
-        assertBetween(slot, 1, inventory.storage().getSlotCount(), "Slot out of range (%s)");
-        return inventory.storage().getSlot(slot - 1).getCapacity();
-    }
-
-    @Override
-    @LuaFunction(mainThread = true)
-    public int pushItems(
-        StorageWrapper from, IComputerAccess computer,
-        String toName, int fromSlot, Optional<Integer> limit, Optional<Integer> toSlot
-    ) throws LuaException {
-        // Find location to transfer to
-        var location = computer.getAvailablePeripheral(toName);
-        if (location == null) throw new LuaException("Target '" + toName + "' does not exist");
-
-        var to = extractHandler(location);
-        if (to == null) throw new LuaException("Target '" + toName + "' is not an inventory");
-
-        var fromStorage = from.storage();
-
-        // Validate slots
-        int actualLimit = limit.orElse(Integer.MAX_VALUE);
-        assertBetween(fromSlot, 1, fromStorage.getSlotCount(), "From slot out of range (%s)");
-        if (toSlot.isPresent()) assertBetween(toSlot.get(), 1, to.getSlots().size(), "To slot out of range (%s)");
-
-        if (actualLimit <= 0) return 0;
-        return moveItem(fromStorage, fromSlot - 1, to, toSlot.orElse(0) - 1, actualLimit);
-    }
-
-    @Override
-    @LuaFunction(mainThread = true)
-    public int pullItems(
-        StorageWrapper to, IComputerAccess computer,
-        String fromName, int fromSlot, Optional<Integer> limit, Optional<Integer> toSlot
-    ) throws LuaException {
-        // Find location to transfer to
-        var location = computer.getAvailablePeripheral(fromName);
-        if (location == null) throw new LuaException("Source '" + fromName + "' does not exist");
-
-        var toStorage = to.storage();
-
-        var from = extractHandler(location);
-        if (from == null) throw new LuaException("Source '" + fromName + "' is not an inventory");
-
-        // Validate slots
-        int actualLimit = limit.orElse(Integer.MAX_VALUE);
-        assertBetween(fromSlot, 1, from.getSlots().size(), "From slot out of range (%s)");
-        if (toSlot.isPresent()) assertBetween(toSlot.get(), 1, toStorage.getSlotCount(), "To slot out of range (%s)");
-
-        if (actualLimit <= 0) return 0;
-        return moveItem(from, fromSlot - 1, toStorage, toSlot.orElse(0) - 1, actualLimit);
-    }
-
     public static @Nullable StorageWrapper extractContainer(Level level, BlockPos pos, BlockState state, @Nullable BlockEntity blockEntity, @Nullable Direction direction) {
         var storage = extractContainerImpl(level, pos, state, blockEntity, direction);
         return storage == null ? null : new StorageWrapper(storage);
@@ -177,34 +114,25 @@ public int pullItems(
         return null;
     }
 
-    @Nullable
-    private static SlottedStorage<ItemVariant> extractHandler(IPeripheral peripheral) {
+    @Override
+    protected @Nullable StorageWrapper extractInventory(IPeripheral peripheral) {
         var object = peripheral.getTarget();
         var direction = peripheral instanceof dan200.computercraft.shared.peripheral.generic.GenericPeripheral sided ? sided.side() : null;
 
         if (object instanceof BlockEntity blockEntity) {
             if (blockEntity.isRemoved()) return null;
 
-            var found = extractContainerImpl(blockEntity.getLevel(), blockEntity.getBlockPos(), blockEntity.getBlockState(), blockEntity, direction);
+            var found = extractContainer(blockEntity.getLevel(), blockEntity.getBlockPos(), blockEntity.getBlockState(), blockEntity, direction);
             if (found != null) return found;
         }
 
         return null;
     }
 
-    /**
-     * Move an item from one handler to another.
-     *
-     * @param from     The handler to move from.
-     * @param fromSlot The slot to move from.
-     * @param to       The handler to move to.
-     * @param toSlot   The slot to move to. Use any number < 0 to represent any slot.
-     * @param limit    The max number to move. {@link Integer#MAX_VALUE} for no limit.
-     * @return The number of items moved.
-     */
-    private static int moveItem(SlottedStorage<ItemVariant> from, int fromSlot, SlottedStorage<ItemVariant> to, int toSlot, final int limit) {
-        var fromWrapper = FabricContainerTransfer.of(from).singleSlot(fromSlot);
-        var toWrapper = FabricContainerTransfer.of(to);
+    @Override
+    protected int moveItem(StorageWrapper from, int fromSlot, StorageWrapper to, int toSlot, int limit) {
+        var fromWrapper = FabricContainerTransfer.of(from.storage()).singleSlot(fromSlot);
+        var toWrapper = FabricContainerTransfer.of(to.storage());
 
         return Math.max(0, fromWrapper.moveTo(toSlot >= 0 ? toWrapper.singleSlot(toSlot) : toWrapper, limit));
     }
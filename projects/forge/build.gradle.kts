@@ -120,6 +120,7 @@
 dependencies {
     compileOnly(libs.jetbrainsAnnotations)
     annotationProcessorEverywhere(libs.autoService)
+    annotationProcessorEverywhere(project(":processor"))
 
     clientCompileOnly(variantOf(libs.emi) { classifier("api") })
     libs.bundles.externalMods.forge.compile.get().map { compileOnly(fg.deobf(it)) }
@@ -100,6 +100,11 @@ public static void onAddReloadListeners(AddReloadListenerEvent event) {
         CommonHooks.onDatapackReload((id, listener) -> event.addListener(listener));
     }
 
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        CommonHooks.onTagsUpdated();
+    }
+
     @SubscribeEvent
     public static void onDatapackSync(OnDatapackSyncEvent event) {
         var packet = new UpgradesLoadedMessage();
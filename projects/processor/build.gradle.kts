@@ -0,0 +1,14 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+plugins {
+    id("cc-tweaked.java-convention")
+    id("cc-tweaked.publishing")
+}
+
+dependencies {
+    compileOnly(libs.bundles.annotations)
+    compileOnly(libs.autoService)
+    annotationProcessor(libs.autoService)
+}
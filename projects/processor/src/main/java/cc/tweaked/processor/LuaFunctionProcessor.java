@@ -0,0 +1,353 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package cc.tweaked.processor;
+
+import com.google.auto.service.AutoService;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Generates adapters for {@code @LuaFunction}-annotated methods at compile time.
+ * <p>
+ * For each class {@code Foo} with {@code @LuaFunction} methods, we generate a {@code Foo$$LuaAdapter} class, with one
+ * static method for each Lua function. These read arguments from {@code IArguments}, call the original method, and wrap
+ * the result in a {@code MethodResult}, in the same way that {@code dan200.computercraft.core.asm.Generator} does at
+ * runtime.
+ * <p>
+ * Instance methods are converted to a method of type {@code (Object target, ILuaContext, IComputerAccess, IArguments)},
+ * and methods on a {@code GenericSource} to {@code (Object source, Object target, ILuaContext, IComputerAccess, IArguments)}.
+ * <p>
+ * Generated code only depends on CC: Tweaked's public API, and so this may also be used by add-ons. Methods which cannot
+ * be converted (for instance, because they take an unsupported argument type) are skipped, and will be generated at
+ * runtime instead. This means that any errors are reported in the same way as before.
+ */
+@AutoService(Processor.class)
+@SupportedAnnotationTypes(LuaFunctionProcessor.LUA_FUNCTION)
+public final class LuaFunctionProcessor extends AbstractProcessor {
+    static final String LUA_FUNCTION = "dan200.computercraft.api.lua.LuaFunction";
+
+    /**
+     * The suffix added to a class's binary name to get the name of its adapter class.
+     */
+    public static final String SUFFIX = "$$LuaAdapter";
+
+    private static final String LUA = "dan200.computercraft.api.lua.";
+    private static final String ARGUMENTS = LUA + "IArguments";
+    private static final String CONTEXT = LUA + "ILuaContext";
+    private static final String COMPUTER = "dan200.computercraft.api.peripheral.IComputerAccess";
+    private static final String METHOD_RESULT = LUA + "MethodResult";
+    private static final String LUA_EXCEPTION = LUA + "LuaException";
+    private static final String LUA_TABLE = LUA + "LuaTable";
+    private static final String COERCED = LUA + "Coerced";
+    private static final String GENERIC_SOURCE = LUA + "GenericSource";
+
+    private static final Map<String, String> ARGUMENT_GETTERS = Map.of(
+        "java.lang.String", "String",
+        "java.util.Map", "Table",
+        "java.nio.ByteBuffer", "Bytes"
+    );
+
+    private static final Map<String, String> OPTIONAL_GETTERS = Map.of(
+        "java.lang.Integer", "Int",
+        "java.lang.Boolean", "Boolean",
+        "java.lang.Double", "Double",
+        "java.lang.Long", "Long",
+        "java.lang.String", "String",
+        "java.util.Map", "Table",
+        "java.nio.ByteBuffer", "Bytes"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var luaFunction = processingEnv.getElementUtils().getTypeElement(LUA_FUNCTION);
+        if (luaFunction == null) return false;
+
+        Map<TypeElement, List<ExecutableElement>> methods = new LinkedHashMap<>();
+        for (var element : roundEnv.getElementsAnnotatedWith(luaFunction)) {
+            if (element instanceof ExecutableElement method && method.getEnclosingElement() instanceof TypeElement type) {
+                methods.computeIfAbsent(type, x -> new ArrayList<>()).add(method);
+            }
+        }
+
+        for (var entry : methods.entrySet()) {
+            try {
+                writeAdapter(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write Lua adapter: " + e.getMessage(), entry.getKey());
+            }
+        }
+
+        // Don't claim the annotation, so other processors may still handle it.
+        return false;
+    }
+
+    private void writeAdapter(TypeElement type, List<ExecutableElement> methods) throws IOException {
+        var elements = processingEnv.getElementUtils();
+        var pkg = elements.getPackageOf(type);
+        if (!isAccessible(type, pkg)) return;
+
+        var genericSource = elements.getTypeElement(GENERIC_SOURCE);
+        var isGeneric = genericSource != null && processingEnv.getTypeUtils().isAssignable(
+            processingEnv.getTypeUtils().erasure(type.asType()),
+            processingEnv.getTypeUtils().erasure(genericSource.asType())
+        );
+
+        // Overloaded methods can't be distinguished by name, so just leave them to be generated at runtime.
+        Map<String, Integer> names = new HashMap<>();
+        for (var method : methods) names.merge(method.getSimpleName().toString(), 1, Integer::sum);
+
+        var body = new StringBuilder();
+        for (var method : methods) {
+            if (names.get(method.getSimpleName().toString()) != 1) continue;
+
+            var adapter = writeMethod(type, pkg, method, isGeneric);
+            if (adapter != null) body.append(adapter);
+        }
+
+        if (body.isEmpty()) return;
+
+        var binaryName = elements.getBinaryName(type).toString();
+        var packageName = pkg.getQualifiedName().toString();
+        var className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+
+        var file = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type);
+        try (var writer = file.openWriter()) {
+            if (!packageName.isEmpty()) writer.append("package ").append(packageName).append(";\n\n");
+            writer
+                .append("@javax.annotation.processing.Generated(\"").append(LuaFunctionProcessor.class.getName()).append("\")\n")
+                .append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n")
+                .append("public final class ").append(className).append(" {\n")
+                .append("    private ").append(className).append("() {\n    }\n")
+                .append(body)
+                .append("}\n");
+        }
+    }
+
+    private @Nullable String writeMethod(TypeElement type, PackageElement pkg, ExecutableElement method, boolean isGeneric) {
+        var modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || !method.getTypeParameters().isEmpty()) return null;
+
+        // Static methods are only allowed on generic sources.
+        var isStatic = modifiers.contains(Modifier.STATIC);
+        if (isStatic && !isGeneric) return null;
+
+        for (var exception : method.getThrownTypes()) {
+            if (!isType(exception, LUA_EXCEPTION)) return null;
+        }
+
+        var annotation = getAnnotation(method);
+        if (annotation == null) return null;
+        var unsafe = getFlag(annotation, "unsafe");
+        if (unsafe && getFlag(annotation, "mainThread")) return null;
+
+        var parameters = method.getParameters();
+        var arguments = new ArrayList<String>(parameters.size());
+
+        String receiver;
+        if (isGeneric) {
+            // Generic methods take the target as the first argument.
+            if (parameters.isEmpty()) return null;
+            var target = parameters.get(0).asType();
+            if (!(target instanceof DeclaredType targetType) || !hasWildcardArguments(targetType)) return null;
+            if (!isAccessible((TypeElement) targetType.asElement(), pkg)) return null;
+
+            arguments.add("(" + erasure(target) + ") target");
+            parameters = parameters.subList(1, parameters.size());
+            receiver = isStatic ? erasure(type.asType()) : "((" + erasure(type.asType()) + ") source)";
+        } else {
+            receiver = "((" + erasure(type.asType()) + ") target)";
+        }
+
+        var argIndex = 0;
+        for (var parameter : parameters) {
+            var paramType = parameter.asType();
+            String argument;
+            if (isType(paramType, ARGUMENTS)) {
+                argument = "args";
+            } else if (isType(paramType, CONTEXT)) {
+                argument = "context";
+            } else if (isType(paramType, COMPUTER)) {
+                argument = "computer";
+            } else {
+                argument = loadArgument(pkg, paramType, argIndex++, unsafe);
+                if (argument == null) return null;
+            }
+
+            arguments.add(argument);
+        }
+
+        var call = receiver + "." + method.getSimpleName() + "(" + String.join(", ", arguments) + ")";
+
+        var out = new StringBuilder()
+            .append("\n    public static ").append(METHOD_RESULT).append(" ").append(method.getSimpleName()).append("(")
+            .append(isGeneric ? "Object source, " : "")
+            .append("Object target, ").append(CONTEXT).append(" context, ").append(COMPUTER).append(" computer, ")
+            .append(ARGUMENTS).append(" args) throws ").append(LUA_EXCEPTION).append(" {\n");
+
+        // Convert the return value in the same way as Generator.
+        var returnType = method.getReturnType();
+        if (returnType.getKind() == TypeKind.VOID) {
+            out.append("        ").append(call).append(";\n        return ").append(METHOD_RESULT).append(".of();\n");
+        } else if (isType(returnType, METHOD_RESULT)) {
+            out.append("        return ").append(call).append(";\n");
+        } else if (returnType instanceof ArrayType array && isType(array.getComponentType(), "java.lang.Object")) {
+            out.append("        return ").append(METHOD_RESULT).append(".of(").append(call).append(");\n");
+        } else if (isType(returnType, "java.lang.Object")) {
+            out.append("        return ").append(METHOD_RESULT).append(".of(").append(call).append(");\n");
+        } else {
+            // Cast to Object, so that arrays are not passed as varargs.
+            out.append("        return ").append(METHOD_RESULT).append(".of((Object) ").append(call).append(");\n");
+        }
+
+        return out.append("    }\n").toString();
+    }
+
+    /**
+     * Generate an expression to load an argument from {@code IArguments}. This mirrors {@code Generator.loadArg}.
+     *
+     * @param pkg      The package the adapter is defined in.
+     * @param type     The type of the parameter.
+     * @param argIndex The index of the argument.
+     * @param unsafe   Whether unsafe argument getters may be used.
+     * @return The expression to load this argument, or {@code null} if this type is not supported.
+     */
+    private @Nullable String loadArgument(PackageElement pkg, TypeMirror type, int argIndex, boolean unsafe) {
+        var primitive = switch (type.getKind()) {
+            case INT -> "Int";
+            case BOOLEAN -> "Boolean";
+            case DOUBLE -> "Double";
+            case LONG -> "Long";
+            default -> null;
+        };
+        if (primitive != null) return "args.get" + primitive + "(" + argIndex + ")";
+        if (!(type instanceof DeclaredType declared)) return null;
+
+        var element = (TypeElement) declared.asElement();
+        var name = element.getQualifiedName().toString();
+
+        if (name.equals(COERCED)) {
+            var inner = typeArgument(declared);
+            if (inner == null) return null;
+            if (isType(inner, "java.lang.String")) return "new " + COERCED + "<>(args.getStringCoerced(" + argIndex + "))";
+            if (isType(inner, "java.nio.ByteBuffer")) return "new " + COERCED + "<>(args.getBytesCoerced(" + argIndex + "))";
+            return null;
+        }
+
+        if (name.equals("java.util.Optional")) {
+            var inner = typeArgument(declared);
+            if (inner == null || !hasWildcardArguments(inner)) return null;
+
+            var innerElement = (TypeElement) inner.asElement();
+            if (innerElement.getKind() == ElementKind.ENUM) {
+                if (!isAccessible(innerElement, pkg)) return null;
+                return "args.optEnum(" + argIndex + ", " + erasure(inner) + ".class)";
+            }
+
+            var innerName = innerElement.getQualifiedName().toString();
+            var getter = OPTIONAL_GETTERS.get(innerName);
+            if (getter == null && unsafe && innerName.equals(LUA_TABLE)) getter = "TableUnsafe";
+            if (getter == null) return null;
+
+            return "(java.util.Optional) args.opt" + getter + "(" + argIndex + ")";
+        }
+
+        if (element.getKind() == ElementKind.ENUM) {
+            if (!isAccessible(element, pkg)) return null;
+            return "args.getEnum(" + argIndex + ", " + erasure(type) + ".class)";
+        }
+
+        if (name.equals("java.lang.Object")) return "args.get(" + argIndex + ")";
+
+        if (!hasWildcardArguments(declared)) return null;
+
+        var getter = ARGUMENT_GETTERS.get(name);
+        if (getter == null && unsafe && name.equals(LUA_TABLE)) getter = "TableUnsafe";
+        if (getter == null) return null;
+
+        // Generic types (such as Map) are returned with wildcard arguments, so cast them to the raw type. Other types are
+        // returned as-is, so don't cast them, to avoid redundant cast warnings.
+        var load = "args.get" + getter + "(" + argIndex + ")";
+        return element.getTypeParameters().isEmpty() ? load : "(" + erasure(type) + ") " + load;
+    }
+
+    private static @Nullable DeclaredType typeArgument(DeclaredType type) {
+        var arguments = type.getTypeArguments();
+        return arguments.size() == 1 && arguments.get(0) instanceof DeclaredType argument ? argument : null;
+    }
+
+    /**
+     * Check whether all type arguments to this type are wildcards, as required by {@code Reflect.getRawType}.
+     *
+     * @param type The type to check.
+     * @return Whether this type only has wildcard arguments.
+     */
+    private static boolean hasWildcardArguments(DeclaredType type) {
+        for (var argument : type.getTypeArguments()) {
+            if (argument.getKind() != TypeKind.WILDCARD) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a type can be referenced from generated code in the given package.
+     *
+     * @param type The type to check.
+     * @param pkg  The package of the generated code.
+     * @return Whether this type is accessible.
+     */
+    private boolean isAccessible(TypeElement type, PackageElement pkg) {
+        var samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(pkg);
+
+        Element element = type;
+        while (element instanceof TypeElement current) {
+            var nesting = current.getNestingKind();
+            if (nesting != NestingKind.TOP_LEVEL && nesting != NestingKind.MEMBER) return false;
+
+            var modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) return false;
+
+            element = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private boolean isType(TypeMirror type, String name) {
+        return type instanceof DeclaredType declared && ((TypeElement) declared.asElement()).getQualifiedName().contentEquals(name);
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static @Nullable AnnotationMirror getAnnotation(ExecutableElement method) {
+        for (var annotation : method.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(LUA_FUNCTION)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private boolean getFlag(AnnotationMirror annotation, String name) {
+        for (var entry : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return Boolean.TRUE.equals(entry.getValue().getValue());
+        }
+        return false;
+    }
+}
@@ -51,3 +51,18 @@
     workingDir = rootProject.projectDir
     args = listOf("-r", project(":core").layout.projectDirectory.dir("src/main/resources").asFile.absolutePath)
 }
+
+tasks.register("loadTest", JavaExec::class.java) {
+    description = "Run a headless load test of many computers."
+    group = "application"
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("cc.tweaked.standalone.LoadTest")
+    workingDir = rootProject.projectDir
+    args = listOf(
+        "-r", project(":core").layout.projectDirectory.dir("src/main/resources").asFile.absolutePath,
+        "-w", layout.projectDirectory.file("workloads/busy.lua").asFile.absolutePath,
+        "-w", layout.projectDirectory.file("workloads/timers.lua").asFile.absolutePath,
+        "-w", layout.projectDirectory.file("workloads/files.lua").asFile.absolutePath,
+    )
+}
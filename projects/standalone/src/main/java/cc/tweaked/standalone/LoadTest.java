@@ -0,0 +1,255 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package cc.tweaked.standalone;
+
+import dan200.computercraft.api.filesystem.WritableMount;
+import dan200.computercraft.core.ComputerContext;
+import dan200.computercraft.core.computer.Computer;
+import dan200.computercraft.core.computer.ComputerEnvironment;
+import dan200.computercraft.core.computer.mainthread.MainThread;
+import dan200.computercraft.core.filesystem.MemoryMount;
+import dan200.computercraft.core.metrics.MetricsObserver;
+import dan200.computercraft.core.terminal.Terminal;
+import org.apache.commons.cli.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A headless load-testing harness for CC: Tweaked computers.
+ * <p>
+ * This starts a fleet of computers sharing a single {@link ComputerContext}, each running a Lua workload loaded from
+ * disk. Computers are then driven by a fixed-rate tick loop, which mirrors how the server ticks computers: we first run
+ * the {@link MainThread} (processing any main-thread tasks), and then {@linkplain Computer#tick() tick} each computer
+ * in turn.
+ * <p>
+ * Once every computer has shut down (or the tick limit has been reached), we print a summary of the run (see
+ * {@link LoadTestMetrics}).
+ */
+public final class LoadTest {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final long TICK_TIME = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Computers are started asynchronously, so we wait a few ticks before checking if every computer has shut down.
+     */
+    private static final int STARTUP_TICKS = 20;
+
+    /**
+     * The event queued on computers to measure scheduler latency. Workloads should ignore this event.
+     */
+    private static final String PROBE_EVENT = "load_test_probe";
+
+    private LoadTest() {
+    }
+
+    private static Path parsePath(String path) throws ParseException {
+        try {
+            return Path.of(path);
+        } catch (InvalidPathException e) {
+            throw new ParseException("'" + path + "' is not a valid path (" + e.getReason() + ")");
+        }
+    }
+
+    private static int parsePositive(CommandLine cli, Option option, int def) throws ParseException {
+        if (!cli.hasOption(option)) return def;
+
+        var value = cli.getOptionValue(option);
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException("'" + value + "' is not a number.");
+        }
+
+        if (parsed <= 0) throw new ParseException("--" + option.getLongOpt() + " must be positive.");
+        return parsed;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var options = new Options();
+        Option resourceOpt, workloadOpt, computersOpt, threadsOpt, ticksOpt, probeOpt, unthrottledOpt, helpOpt;
+        options.addOption(resourceOpt = Option.builder("r").argName("PATH").longOpt("resources").hasArg()
+            .desc("The path to the resources directory")
+            .build());
+        options.addOption(workloadOpt = Option.builder("w").argName("PATH").longOpt("workload").hasArg()
+            .desc("A Lua file to run on each computer. If given multiple times, workloads are assigned to computers in turn.")
+            .build());
+        options.addOption(computersOpt = Option.builder("n").argName("COUNT").longOpt("computers").hasArg()
+            .desc("The number of computers to run, defaults to 100.")
+            .build());
+        options.addOption(threadsOpt = Option.builder().argName("COUNT").longOpt("threads").hasArg()
+            .desc("The number of computer threads, defaults to 1.")
+            .build());
+        options.addOption(ticksOpt = Option.builder().argName("COUNT").longOpt("ticks").hasArg()
+            .desc("The maximum number of ticks to run for, defaults to 1200 (one minute).")
+            .build());
+        options.addOption(probeOpt = Option.builder().argName("TICKS").longOpt("probe-interval").hasArg()
+            .desc("How often to measure scheduler latency, defaults to every 5 ticks.")
+            .build());
+        options.addOption(unthrottledOpt = Option.builder().longOpt("unthrottled")
+            .desc("Run ticks back-to-back, rather than waiting 50ms between each one.")
+            .build());
+        options.addOption(helpOpt = Option.builder("h").longOpt("help")
+            .desc("Print help message")
+            .build());
+
+        Path resourcesDirectory;
+        List<String> workloads;
+        int computerCount, threads, maxTicks, probeInterval;
+        boolean unthrottled;
+        try {
+            var cli = new DefaultParser().parse(options, args);
+            if (cli.hasOption(helpOpt)) {
+                new HelpFormatter().printHelp("standalone.jar", options, true);
+                return;
+            }
+            if (!cli.hasOption(resourceOpt)) throw new ParseException("--resources directory is required");
+            if (!cli.hasOption(workloadOpt)) throw new ParseException("At least one --workload is required");
+
+            resourcesDirectory = parsePath(cli.getOptionValue(resourceOpt));
+            workloads = new ArrayList<>();
+            for (var workload : cli.getOptionValues(workloadOpt)) workloads.add(readWorkload(parsePath(workload)));
+
+            computerCount = parsePositive(cli, computersOpt, 100);
+            threads = parsePositive(cli, threadsOpt, 1);
+            maxTicks = parsePositive(cli, ticksOpt, 1200);
+            probeInterval = parsePositive(cli, probeOpt, 5);
+            unthrottled = cli.hasOption(unthrottledOpt);
+        } catch (ParseException e) {
+            System.err.println(e.getLocalizedMessage());
+
+            var writer = new PrintWriter(System.err, false, StandardCharsets.UTF_8);
+            new HelpFormatter().printUsage(writer, HelpFormatter.DEFAULT_WIDTH, "standalone.jar", options);
+            writer.flush();
+
+            System.exit(1);
+            return;
+        }
+
+        var mainThread = new MainThread();
+        var context = ComputerContext.builder(new StandaloneGlobalEnvironment(resourcesDirectory))
+            .computerThreads(threads)
+            .mainThreadScheduler(mainThread)
+            .build();
+        var metrics = new LoadTestMetrics();
+
+        try {
+            List<Computer> computers = new ArrayList<>(computerCount);
+            List<LoadTestMetrics.Computer> computerMetrics = new ArrayList<>(computerCount);
+            for (var i = 0; i < computerCount; i++) {
+                var observer = metrics.createComputer();
+                var computer = new Computer(
+                    context, new Environment(workloads.get(i % workloads.size()), observer),
+                    new Terminal(51, 19, true), i
+                );
+                computer.turnOn();
+
+                computers.add(computer);
+                computerMetrics.add(observer);
+            }
+
+            LOG.info("Starting {} computers with {} workload(s)", computerCount, workloads.size());
+            var start = System.nanoTime();
+            var nextTick = start;
+            for (var tick = 0; tick < maxTicks; tick++) {
+                var tickStart = System.nanoTime();
+
+                mainThread.tick();
+
+                var anyOn = false;
+                for (var i = 0; i < computers.size(); i++) {
+                    var computer = computers.get(i);
+                    computer.tick();
+                    if (tick < STARTUP_TICKS || computer.isOn()) anyOn = true;
+
+                    if (tick % probeInterval == 0 && computer.isOn() && computerMetrics.get(i).queueProbe()) {
+                        computer.queueEvent(PROBE_EVENT, null);
+                    }
+                }
+
+                metrics.observeTick(System.nanoTime() - tickStart, TICK_TIME);
+
+                if (!anyOn) break;
+
+                // Then wait for the next tick. If we've fallen behind, run the next tick immediately (much like the
+                // server does).
+                nextTick += TICK_TIME;
+                if (unthrottled) continue;
+
+                var now = System.nanoTime();
+                if (nextTick > now) {
+                    LockSupport.parkNanos(nextTick - now);
+                } else {
+                    nextTick = now;
+                }
+            }
+
+            var elapsed = System.nanoTime() - start;
+            for (var computer : computers) computer.unload();
+
+            metrics.report(System.out, computerCount, elapsed);
+        } catch (RuntimeException e) {
+            LOG.error("A fatal error occurred", e);
+            System.exit(1);
+        } finally {
+            context.ensureClosed(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String readWorkload(Path path) throws ParseException {
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new ParseException("Cannot read workload '" + path + "' (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * The {@link ComputerEnvironment} for computers in a load test.
+     * <p>
+     * Each computer has a fresh in-memory root, containing the workload as its startup file.
+     */
+    private static final class Environment implements ComputerEnvironment {
+        private final String workload;
+        private final MetricsObserver metrics;
+
+        Environment(String workload, MetricsObserver metrics) {
+            this.workload = workload;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int getDay() {
+            return 0;
+        }
+
+        @Override
+        public double getTimeOfDay() {
+            return 0;
+        }
+
+        @Override
+        public WritableMount createRootMount() {
+            return new MemoryMount().addFile("startup.lua", workload);
+        }
+
+        @Override
+        public MetricsObserver getMetrics() {
+            return metrics;
+        }
+    }
+}
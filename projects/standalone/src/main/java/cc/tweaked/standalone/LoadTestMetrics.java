@@ -0,0 +1,224 @@
+// SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+//
+// SPDX-License-Identifier: MPL-2.0
+
+package cc.tweaked.standalone;
+
+import dan200.computercraft.core.metrics.Metric;
+import dan200.computercraft.core.metrics.Metrics;
+import dan200.computercraft.core.metrics.MetricsObserver;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates metrics across every computer in a {@linkplain LoadTest load test}, and prints a summary once the test
+ * has finished.
+ * <p>
+ * Most metrics come from the built-in {@link Metrics}, which are reported via each computer's {@link MetricsObserver}.
+ * In addition to these, we track:
+ * <ul>
+ *     <li>The time taken by each tick of the harness, and how many ticks ran over their allotted time.</li>
+ *     <li>
+ *         The scheduler latency: the time between an event being queued on a computer, and that computer next starting
+ *         a task. This is measured by periodically queuing a probe event (see {@link Computer#queueProbe()}), and then
+ *         waiting for the next {@link Metrics#COMPUTER_TASKS} observation.
+ *     </li>
+ * </ul>
+ */
+final class LoadTestMetrics {
+    private final Samples computerTasks = new Samples();
+    private final Samples serverTasks = new Samples();
+    private final Samples ticks = new Samples();
+    private final Samples latency = new Samples();
+
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder peripheralOps = new LongAdder();
+    private final LongAdder fsOps = new LongAdder();
+    private long overrunTicks;
+
+    /**
+     * Create a metrics observer for a single computer.
+     *
+     * @return The new metrics observer.
+     */
+    Computer createComputer() {
+        return new Computer();
+    }
+
+    /**
+     * Record the time taken by a single tick of the harness.
+     *
+     * @param time   The time taken, in nanoseconds.
+     * @param budget The time each tick is allotted, in nanoseconds.
+     */
+    void observeTick(long time, long budget) {
+        ticks.add(time);
+        if (time > budget) overrunTicks++;
+    }
+
+    /**
+     * Print a summary of this load test.
+     *
+     * @param out         The stream to print to.
+     * @param computers   The number of computers in this test.
+     * @param elapsedTime The wall-clock duration of this test, in nanoseconds.
+     */
+    void report(PrintStream out, int computers, long elapsedTime) {
+        var seconds = elapsedTime / (double) TimeUnit.SECONDS.toNanos(1);
+        var tickCount = ticks.size();
+
+        out.printf("Ran %d computers for %d ticks in %.2fs (%.1f ticks/s)%n", computers, tickCount, seconds, tickCount / seconds);
+        out.printf("Tick overruns: %d (%.1f%%)%n", overrunTicks, tickCount == 0 ? 0 : 100.0 * overrunTicks / tickCount);
+        out.println();
+
+        out.printf("%-16s %10s %10s %10s %10s %10s %10s%n", "Metric", "Count", "Rate/s", "p50", "p90", "p99", "Max");
+        ticks.print(out, "Tick time", seconds);
+        computerTasks.print(out, "Computer tasks", seconds);
+        serverTasks.print(out, "Server tasks", seconds);
+        latency.print(out, "Sched. latency", seconds);
+        out.println();
+
+        out.printf("Computer time: %s/s%n", Metric.formatTime((long) (computerTasks.sum() / seconds)));
+        out.printf("Server time: %s/s%n", Metric.formatTime((long) (serverTasks.sum() / seconds)));
+        out.printf("Allocations: %s/s%n", Metric.formatBytes((long) (allocations.sum() / seconds)));
+        out.printf("Peripheral calls: %.1f/s, filesystem calls: %.1f/s%n", peripheralOps.sum() / seconds, fsOps.sum() / seconds);
+    }
+
+    /**
+     * The metrics for a single computer.
+     */
+    final class Computer implements MetricsObserver {
+        /**
+         * The time the last probe event was queued, or {@code 0} if there is no outstanding probe.
+         */
+        private final AtomicLong probeTime = new AtomicLong();
+
+        private Computer() {
+        }
+
+        /**
+         * Mark that a probe event is about to be queued on this computer.
+         *
+         * @return Whether a probe should be queued. This is false if a previous probe has not been observed yet.
+         */
+        boolean queueProbe() {
+            return probeTime.compareAndSet(0, System.nanoTime());
+        }
+
+        @Override
+        public void observe(Metric.Counter counter) {
+        }
+
+        @Override
+        public void observe(Metric.Event event, long value) {
+            if (event == Metrics.COMPUTER_TASKS) {
+                computerTasks.add(value);
+
+                var probe = probeTime.get();
+                var taskStart = System.nanoTime() - value;
+                if (probe != 0 && probe <= taskStart && probeTime.compareAndSet(probe, 0)) latency.add(taskStart - probe);
+            } else if (event == Metrics.SERVER_TASKS) {
+                serverTasks.add(value);
+            } else if (event == Metrics.JAVA_ALLOCATION) {
+                allocations.add(value);
+            } else if (event == Metrics.PERIPHERAL_OPS) {
+                peripheralOps.increment();
+            } else if (event == Metrics.FS_OPS) {
+                fsOps.increment();
+            }
+        }
+    }
+
+    /**
+     * A lock-free histogram of samples, from which we compute approximate percentiles.
+     * <p>
+     * Samples are recorded from every computer thread, so we avoid taking a lock. Instead, values are counted in
+     * log-linear buckets (much like HdrHistogram): each power of two is split into {@link #SUB_BUCKETS} equally sized
+     * buckets, so percentiles are accurate to within about 3%. The count, sum and maximum are tracked exactly.
+     */
+    private static final class Samples {
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void add(long value) {
+            value = Math.max(value, 0);
+            buckets.incrementAndGet(bucket(value));
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        long size() {
+            return count.sum();
+        }
+
+        long sum() {
+            return sum.sum();
+        }
+
+        void print(PrintStream out, String name, double seconds) {
+            var counts = new long[BUCKETS];
+            long total = 0;
+            for (var i = 0; i < BUCKETS; i++) total += counts[i] = buckets.get(i);
+
+            if (total == 0) {
+                out.printf("%-16s %10d%n", name, 0);
+                return;
+            }
+
+            out.printf(
+                "%-16s %10d %10.1f %10s %10s %10s %10s%n", name, total, total / seconds,
+                Metric.formatTime(percentile(counts, total, 0.5)), Metric.formatTime(percentile(counts, total, 0.9)),
+                Metric.formatTime(percentile(counts, total, 0.99)), Metric.formatTime(max.get())
+            );
+        }
+
+        private static long percentile(long[] counts, long total, double percentile) {
+            var rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (var i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return lowerBound(i);
+            }
+            return lowerBound(counts.length - 1);
+        }
+
+        /**
+         * Get the bucket a value belongs to. Values smaller than {@link #SUB_BUCKETS} have their own bucket. Larger
+         * values are grouped by their highest {@link #SUB_BUCKET_BITS} + 1 bits.
+         *
+         * @param value The value, which must be non-negative.
+         * @return The index of this value's bucket.
+         */
+        private static int bucket(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+
+            var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+        }
+
+        /**
+         * Get the smallest value in a bucket. This is the inverse of {@link #bucket(long)}.
+         *
+         * @param bucket The index of the bucket.
+         * @return The smallest value in this bucket.
+         */
+        private static long lowerBound(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+
+            var shift = bucket / SUB_BUCKETS - 1;
+            return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        }
+    }
+}
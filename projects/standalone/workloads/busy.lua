@@ -0,0 +1,24 @@
+-- SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+--
+-- SPDX-License-Identifier: MPL-2.0
+
+-- A CPU-bound workload, which repeatedly computes primes and yields between each batch.
+
+local function is_prime(n)
+    for i = 2, math.floor(math.sqrt(n)) do
+        if n % i == 0 then return false end
+    end
+    return true
+end
+
+local found = 0
+for batch = 1, 200 do
+    for n = batch * 1000, batch * 1000 + 999 do
+        if is_prime(n) then found = found + 1 end
+    end
+
+    os.queueEvent("busy")
+    os.pullEvent("busy")
+end
+
+os.shutdown()
@@ -0,0 +1,22 @@
+-- SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+--
+-- SPDX-License-Identifier: MPL-2.0
+
+-- A filesystem-heavy workload, which repeatedly writes and reads back a small file.
+
+local contents = ("x"):rep(4096)
+for i = 1, 200 do
+    local path = ("data/%d.txt"):format(i % 8)
+
+    local handle = fs.open(path, "w")
+    handle.write(contents)
+    handle.close()
+
+    handle = fs.open(path, "r")
+    assert(handle.readAll() == contents)
+    handle.close()
+
+    sleep(0)
+end
+
+os.shutdown()
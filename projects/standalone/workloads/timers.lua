@@ -0,0 +1,15 @@
+-- SPDX-FileCopyrightText: 2026 The CC: Tweaked Developers
+--
+-- SPDX-License-Identifier: MPL-2.0
+
+-- An event-driven workload, which sleeps on timers and redraws the terminal, much like a typical status display.
+
+for i = 1, 200 do
+    term.clear()
+    term.setCursorPos(1, 1)
+    term.write(("Tick %d at %.2f"):format(i, os.clock()))
+
+    sleep(0.05 * (i % 4))
+end
+
+os.shutdown()
@@ -69,6 +69,7 @@
 include(":forge")
 
 include(":lints")
+include(":processor")
 include(":standalone")
 include(":web")
 